@@ -1,9 +1,18 @@
 package controller;
 
 import model.Emprunt;
+import model.Bibliotheque;
+import model.ResultatOperation;
 import model.EmpruntModel;
+import model.EcouteurModele;
 
+import util.OptionsExport;
+import util.Page;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,14 +20,16 @@ import java.util.List;
  * Fournit une interface entre la vue et le modèle des emprunts.
  */
 public class EmpruntController {
-    private EmpruntModel empruntModel; // Modèle des emprunts utilisé pour les opérations
+    private final EmpruntModel empruntModel; // Modèle des emprunts utilisé pour les opérations
 
     /**
      * Constructeur de la classe EmpruntController.
-     * Initialise le modèle des emprunts.
+     * Utilise le modèle partagé du contexte de la bibliothèque.
+     *
+     * @param bibliotheque Le contexte partagé de la bibliothèque.
      */
-    public EmpruntController() {
-        this.empruntModel = new EmpruntModel();
+    public EmpruntController(Bibliotheque bibliotheque) {
+        this.empruntModel = bibliotheque.getEmpruntModel();
     }
 
     /**
@@ -30,6 +41,16 @@ public class EmpruntController {
         empruntModel.ajouterEmprunt(emprunt);
     }
 
+    /**
+     * Ajoute plusieurs emprunts en une seule opération, écrite une seule fois.
+     *
+     * @param lot Les emprunts à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> ajouterEmprunts(Collection<Emprunt> lot) {
+        return empruntModel.ajouterEmprunts(lot);
+    }
+
     /**
      * Enregistre le retour d'un emprunt en mettant à jour la date de retour effective.
      *
@@ -49,6 +70,49 @@ public class EmpruntController {
         return empruntModel.listerEmprunts();
     }
 
+    /**
+     * Obtient le nombre de emprunts, sans copier la liste.
+     *
+     * @return Le nombre de emprunts.
+     */
+    public int compterEmprunts() {
+        return empruntModel.compterEmprunts();
+    }
+
+    /**
+     * Récupère une page de emprunts, par identifiant croissant.
+     *
+     * @param debut  Le rang du premier emprunt, à partir de 0.
+     * @param limite Le nombre maximal de emprunts.
+     * @return Les emprunts de la page.
+     */
+    public List<Emprunt> listerEmprunts(int debut, int limite) {
+        return empruntModel.listerEmprunts(debut, limite);
+    }
+
+    /**
+     * Récupère la page de emprunts qui suit un curseur, par identifiant croissant.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de emprunts.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     */
+    public Page<Emprunt> parcourirEmprunts(String curseur, int limite) {
+        return empruntModel.parcourirEmprunts(curseur, limite);
+    }
+
+    /**
+     * Exporte les emprunts en flux, en CSV ou en JSON Lines, sans copier la liste.
+     *
+     * @param sortie  La destination ; elle n'est pas fermée.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de emprunts exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public long exporterEmprunts(OutputStream sortie, OptionsExport options) throws IOException {
+        return empruntModel.exporterEmprunts(sortie, options);
+    }
+
     /**
      * Recherche des emprunts en fonction d'une requête.
      * Si la requête est numérique, elle cherche les emprunts par utilisateur ou par livre.
@@ -67,4 +131,61 @@ public class EmpruntController {
             return empruntModel.listerEmprunts(); // Retourne tous les emprunts si la requête n'est pas numérique
         }
     }
+
+    /**
+     * Récupère les emprunts en cours, sans parcourir les emprunts retournés.
+     *
+     * @return Les emprunts non retournés, par date de retour prévue croissante.
+     */
+    public List<Emprunt> listerEmpruntsEnCours() {
+        return empruntModel.listerEmpruntsEnCours();
+    }
+
+    /**
+     * Recherche les emprunts en retard à une date.
+     *
+     * @param date La date de référence.
+     * @return Les emprunts non retournés dont la date de retour prévue est passée.
+     */
+    public List<Emprunt> chercherEmpruntsEnRetard(LocalDate date) {
+        return empruntModel.chercherEmpruntsEnRetard(date);
+    }
+
+    /**
+     * Recherche les emprunts en cours à rendre dans les prochains jours.
+     *
+     * @param date  La date de référence.
+     * @param jours Le nombre de jours après la date de référence.
+     * @return Les emprunts non retournés à rendre entre ces deux dates, bornes incluses.
+     */
+    public List<Emprunt> chercherEmpruntsAEcheance(LocalDate date, int jours) {
+        return empruntModel.chercherEmpruntsAEcheance(date, jours);
+    }
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain emprunt ajouté.
+     *
+     * @return Un nouvel identifiant unique.
+     */
+    public int prochainId() {
+        return empruntModel.prochainId();
+    }
+
+    /**
+     * Inscrit un écouteur des modifications des emprunts, appelé sur le thread qui modifie.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    public void ajouterEcouteur(EcouteurModele<Emprunt> ecouteur) {
+        empruntModel.ajouterEcouteur(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur des modifications des emprunts.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    public void retirerEcouteur(EcouteurModele<Emprunt> ecouteur) {
+        empruntModel.retirerEcouteur(ecouteur);
+    }
 }
@@ -0,0 +1,653 @@
+package controller;
+
+import model.Bibliotheque;
+import model.Livre;
+import model.LivreModel;
+import model.ResultatOperation;
+import model.Utilisateur;
+import model.UtilisateurModel;
+import util.ChargeurCsvParallele;
+import util.CsvReader;
+import util.Isbn;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Contrôleur d'import en masse de catalogues externes (livres ou utilisateurs) au format CSV.
+ * <p>
+ * Le fichier traverse un pipeline borné : il est découpé en blocs d'enregistrements complets par
+ * {@link ChargeurCsvParallele#decouper}, un thread soumet les blocs à l'analyse,
+ * les blocs sont analysés et validés en parallèle sur tous les cœurs, puis le thread appelant élimine les
+ * doublons et applique les lignes retenues par lots, via les opérations groupées des modèles. La file des
+ * blocs en cours d'analyse est bornée : la mémoire utilisée ne dépend pas de la taille du fichier.
+ * <p>
+ * La première ligne du fichier est un en-tête nommant les colonnes, dans un ordre quelconque. Les colonnes
+ * inconnues sont ignorées ; les identifiants sont attribués par l'import.
+ */
+public class ImportController {
+    public static final int TAILLE_LOT = 50_000; // Nombre de lignes appliquées par opération groupée
+    private static final long TAILLE_BLOC = 1 << 20; // Nombre d'octets visé par bloc analysé
+    private static final int REJETS_CONSERVES = 1000; // Nombre de rejets détaillés conservés dans le rapport
+
+    private final LivreModel livreModel; // Modèle des livres importés
+    private final UtilisateurModel utilisateurModel; // Modèle des utilisateurs importés
+
+    /**
+     * Constructeur de la classe ImportController.
+     * Utilise les modèles partagés du contexte de la bibliothèque.
+     *
+     * @param bibliotheque Le contexte partagé de la bibliothèque.
+     */
+    public ImportController(Bibliotheque bibliotheque) {
+        this.livreModel = bibliotheque.getLivreModel();
+        this.utilisateurModel = bibliotheque.getUtilisateurModel();
+    }
+
+    /**
+     * Importe des livres depuis un fichier CSV.
+     * Colonnes reconnues : isbn, titre et auteur (obligatoires), anneePublication, genre et quantite (1 par défaut).
+     * Une ligne dont l'ISBN figure déjà dans la bibliothèque ou plus haut dans le fichier est rejetée.
+     *
+     * @param fichier     Le fichier CSV, encodé en UTF-8.
+     * @param progression Appelé après chaque lot appliqué avec le rapport en cours, ou null.
+     * @return Le rapport de l'import.
+     * @throws IOException Si le fichier est illisible ou si son en-tête ne contient pas les colonnes obligatoires.
+     */
+    public Rapport importerLivres(Path fichier, Consumer<Rapport> progression) throws IOException {
+        return importer(fichier, new ImportLivres(), progression);
+    }
+
+    /**
+     * Importe des utilisateurs depuis un fichier CSV.
+     * Colonnes reconnues : nom et email (obligatoires). Une ligne dont l'email (sans tenir compte de la casse)
+     * figure déjà dans la bibliothèque ou plus haut dans le fichier est rejetée.
+     *
+     * @param fichier     Le fichier CSV, encodé en UTF-8.
+     * @param progression Appelé après chaque lot appliqué avec le rapport en cours, ou null.
+     * @return Le rapport de l'import.
+     * @throws IOException Si le fichier est illisible ou si son en-tête ne contient pas les colonnes obligatoires.
+     */
+    public Rapport importerUtilisateurs(Path fichier, Consumer<Rapport> progression) throws IOException {
+        Set<String> emails = new HashSet<>();
+        for (Utilisateur utilisateur : utilisateurModel.listerUtilisateurs()) {
+            emails.add(utilisateur.getEmail().toLowerCase(Locale.ROOT));
+        }
+        return importer(fichier, new ImportUtilisateurs(emails), progression);
+    }
+
+    /**
+     * Rapport d'un import : lignes lues, importées et rejetées, avec le motif des premiers rejets.
+     */
+    public static final class Rapport {
+        private final long debut = System.nanoTime(); // Instant de début de l'import
+        private long duree; // Durée de l'import en nanosecondes, une fois terminé
+        private long lignesLues; // Nombre de lignes de données lues
+        private long lignesImportees; // Nombre de lignes appliquées aux modèles
+        private long lignesRejetees; // Nombre de lignes rejetées
+        private final List<String> rejets = new ArrayList<>(); // Motifs des premiers rejets
+
+        /**
+         * Obtient le nombre de lignes de données lues, en-tête exclu.
+         *
+         * @return Le nombre de lignes lues.
+         */
+        public long getLignesLues() {
+            return lignesLues;
+        }
+
+        /**
+         * Obtient le nombre de lignes appliquées aux modèles.
+         *
+         * @return Le nombre de lignes importées.
+         */
+        public long getLignesImportees() {
+            return lignesImportees;
+        }
+
+        /**
+         * Obtient le nombre de lignes rejetées (invalides, en double ou refusées par le modèle).
+         *
+         * @return Le nombre de lignes rejetées.
+         */
+        public long getLignesRejetees() {
+            return lignesRejetees;
+        }
+
+        /**
+         * Obtient le motif des premiers rejets ; au-delà de 1000, les rejets sont seulement comptés.
+         *
+         * @return Les motifs, de la forme "Ligne n: motif".
+         */
+        public List<String> getRejets() {
+            return rejets;
+        }
+
+        /**
+         * Obtient la durée de l'import, ou la durée écoulée s'il est en cours.
+         *
+         * @return La durée en secondes.
+         */
+        public double getDureeSecondes() {
+            return (duree > 0 ? duree : System.nanoTime() - debut) / 1e9;
+        }
+
+        /**
+         * Calcule le débit de l'import.
+         *
+         * @return Le nombre de lignes lues par seconde.
+         */
+        public double getLignesParSeconde() {
+            double secondes = getDureeSecondes();
+            return secondes > 0 ? lignesLues / secondes : 0;
+        }
+
+        /**
+         * Retourne un résumé du rapport.
+         *
+         * @return Une chaîne résumant l'import.
+         */
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d lignes lues, %d importées, %d rejetées en %.2f s (%.0f lignes/s)",
+                    lignesLues, lignesImportees, lignesRejetees, getDureeSecondes(), getLignesParSeconde());
+        }
+
+        /**
+         * Compte un rejet et conserve son motif tant que la limite n'est pas atteinte.
+         *
+         * @param ligne Le numéro de la ligne rejetée.
+         * @param motif Le motif du rejet.
+         */
+        private void rejeter(long ligne, String motif) {
+            lignesRejetees++;
+            if (rejets.size() < REJETS_CONSERVES) {
+                rejets.add("Ligne " + ligne + ": " + motif);
+            }
+        }
+    }
+
+    /**
+     * Type de données importé : conversion et validation d'une ligne, clé de dédoublonnage et application d'un lot.
+     *
+     * @param <T> Le type des éléments importés.
+     */
+    private interface Cible<T> {
+        /**
+         * Obtient les noms des colonnes reconnues ; les premières sont obligatoires.
+         *
+         * @return Les noms des colonnes.
+         */
+        String[] colonnes();
+
+        /**
+         * Obtient le nombre de colonnes obligatoires, en tête de {@link #colonnes()}.
+         *
+         * @return Le nombre de colonnes obligatoires.
+         */
+        int obligatoires();
+
+        /**
+         * Convertit et valide l'enregistrement courant. Appelée en parallèle depuis plusieurs threads.
+         *
+         * @param reader  Le lecteur positionné sur l'enregistrement.
+         * @param indices L'indice de chaque colonne reconnue dans l'enregistrement, ou -1 si elle est absente.
+         * @return L'élément converti.
+         * @throws IllegalArgumentException Si la ligne est invalide ; le message en donne le motif.
+         */
+        T convertir(CsvReader reader, int[] indices);
+
+        /**
+         * Obtient la clé de dédoublonnage d'un élément.
+         *
+         * @param element L'élément.
+         * @return La clé ; deux éléments de même clé sont des doublons.
+         */
+        String cle(T element);
+
+        /**
+         * Indique si un élément de même clé existe déjà dans la bibliothèque.
+         *
+         * @param cle La clé de dédoublonnage.
+         * @return true si la clé est déjà présente.
+         */
+        boolean existe(String cle);
+
+        /**
+         * Applique un lot d'éléments retenus au modèle, en leur attribuant leurs identifiants.
+         *
+         * @param lot Les éléments à appliquer.
+         * @return Le résultat de chaque élément, dans l'ordre du lot.
+         */
+        List<ResultatOperation> appliquer(List<T> lot);
+    }
+
+    /**
+     * Résultat de l'analyse d'un bloc.
+     *
+     * @param elements  Les éléments valides.
+     * @param lignes    Le numéro de ligne de chaque élément valide, à partir de 1 au début du bloc.
+     * @param rejets    Les motifs de rejet, dans l'ordre du bloc.
+     * @param lignesRejetees Le numéro de ligne de chaque rejet, à partir de 1 au début du bloc.
+     * @param lignesLues Le nombre d'enregistrements lus.
+     * @param sautsDeLigne Le nombre de lignes du bloc, pour numéroter celles des blocs suivants.
+     * @param <T>       Le type des éléments.
+     */
+    private record Lot<T>(List<T> elements, long[] lignes, List<String> rejets, long[] lignesRejetees, int lignesLues,
+                          long sautsDeLigne) {
+    }
+
+    /**
+     * Exécute le pipeline d'import : découpage, analyse parallèle, dédoublonnage et application par lots.
+     *
+     * @param fichier     Le fichier CSV.
+     * @param cible       Le type de données importé.
+     * @param progression Appelé après chaque lot appliqué, ou null.
+     * @param <T>         Le type des éléments importés.
+     * @return Le rapport de l'import.
+     * @throws IOException Si le fichier est illisible ou si son en-tête est incomplet.
+     */
+    private <T> Rapport importer(Path fichier, Cible<T> cible, Consumer<Rapport> progression) throws IOException {
+        Rapport rapport = new Rapport();
+        int parallelisme = Runtime.getRuntime().availableProcessors();
+        ExecutorService analyseurs = Executors.newFixedThreadPool(parallelisme);
+        BlockingQueue<Future<Lot<T>>> enCours = new ArrayBlockingQueue<>(2 * parallelisme); // Borne le nombre de blocs en mémoire
+
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            int[] indices = lireEnTete(canal, cible);
+            long[] bornes = ChargeurCsvParallele.decouper(canal, TAILLE_BLOC);
+
+            Thread lecteur = Thread.ofPlatform().name("import-lecteur").start(() -> {
+                Future<Lot<T>> fin = CompletableFuture.completedFuture(null); // Fin du fichier, ou échec à signaler
+                try {
+                    for (int i = 0; i < bornes.length - 1; i++) {
+                        long debut = bornes[i];
+                        long suite = bornes[i + 1];
+                        boolean enTete = i == 0;
+                        enCours.put(analyseurs.submit(() -> analyser(canal, debut, suite, enTete, cible, indices)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return; // Interrompu par le thread appelant, qui ne consomme plus la file
+                } catch (Throwable e) {
+                    fin = CompletableFuture.failedFuture(e);
+                }
+                try {
+                    enCours.put(fin);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            try {
+                appliquer(enCours, cible, rapport, progression);
+            } finally {
+                lecteur.interrupt();
+                joindre(lecteur); // Le canal ne doit pas être fermé pendant que le lecteur l'utilise
+            }
+        } finally {
+            analyseurs.shutdownNow();
+        }
+        rapport.duree = System.nanoTime() - rapport.debut;
+        return rapport;
+    }
+
+    /**
+     * Attend la fin d'un thread, sans se laisser interrompre ; l'interruption éventuelle est rétablie ensuite.
+     *
+     * @param thread Le thread attendu.
+     */
+    private static void joindre(Thread thread) {
+        boolean interrompu = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrompu = true;
+            }
+        }
+        if (interrompu) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Consomme les blocs analysés dans l'ordre du fichier, écarte les doublons et applique les lignes par lots.
+     *
+     * @param enCours     Les analyses de blocs, dans l'ordre ; une analyse sans résultat marque la fin.
+     * @param cible       Le type de données importé.
+     * @param rapport     Le rapport à compléter.
+     * @param progression Appelé après chaque lot appliqué, ou null.
+     * @param <T>         Le type des éléments importés.
+     * @throws IOException En cas d'erreur de lecture du fichier.
+     */
+    private <T> void appliquer(BlockingQueue<Future<Lot<T>>> enCours, Cible<T> cible, Rapport rapport,
+                               Consumer<Rapport> progression) throws IOException {
+        Set<String> vues = new HashSet<>(); // Clés déjà rencontrées dans le fichier
+        List<T> lot = new ArrayList<>(TAILLE_LOT);
+        long[] lignesLot = new long[TAILLE_LOT];
+        long decalage = 0; // Nombre de lignes des blocs déjà consommés
+        try {
+            while (true) {
+                Lot<T> analyse = enCours.take().get();
+                if (analyse == null) {
+                    break;
+                }
+                decaler(analyse.lignes(), analyse.elements().size(), decalage);
+                decaler(analyse.lignesRejetees(), analyse.rejets().size(), decalage);
+                decalage += analyse.sautsDeLigne();
+                rapport.lignesLues += analyse.lignesLues();
+                int r = 0; // Rejets de l'analyse, reportés dans l'ordre des lignes
+                for (int i = 0; i < analyse.elements().size(); i++) {
+                    for (; r < analyse.rejets().size() && analyse.lignesRejetees()[r] < analyse.lignes()[i]; r++) {
+                        rapport.rejeter(analyse.lignesRejetees()[r], analyse.rejets().get(r));
+                    }
+                    T element = analyse.elements().get(i);
+                    String cle = cible.cle(element);
+                    if (!vues.add(cle)) {
+                        rapport.rejeter(analyse.lignes()[i], "doublon dans le fichier (" + cle + ")");
+                    } else if (cible.existe(cle)) {
+                        rapport.rejeter(analyse.lignes()[i], "déjà présent dans la bibliothèque (" + cle + ")");
+                    } else {
+                        lignesLot[lot.size()] = analyse.lignes()[i];
+                        lot.add(element);
+                        if (lot.size() == TAILLE_LOT) {
+                            appliquerLot(lot, lignesLot, cible, rapport, progression);
+                        }
+                    }
+                }
+                for (; r < analyse.rejets().size(); r++) {
+                    rapport.rejeter(analyse.lignesRejetees()[r], analyse.rejets().get(r));
+                }
+            }
+            appliquerLot(lot, lignesLot, cible, rapport, progression);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrompu", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException("Erreur lors de l'analyse", e.getCause());
+        }
+    }
+
+    /**
+     * Convertit des numéros de ligne relatifs à un bloc en numéros de ligne du fichier.
+     *
+     * @param lignes   Les numéros de ligne, modifiés sur place.
+     * @param nombre   Le nombre de numéros utilisés.
+     * @param decalage Le nombre de lignes qui précèdent le bloc.
+     */
+    private static void decaler(long[] lignes, int nombre, long decalage) {
+        for (int i = 0; i < nombre; i++) {
+            lignes[i] += decalage;
+        }
+    }
+
+    /**
+     * Applique un lot au modèle et compte les éléments refusés par celui-ci.
+     *
+     * @param lot         Les éléments retenus ; vidé après application.
+     * @param lignes      Le numéro de ligne de chaque élément.
+     * @param cible       Le type de données importé.
+     * @param rapport     Le rapport à compléter.
+     * @param progression Appelé après l'application, ou null.
+     * @param <T>         Le type des éléments importés.
+     */
+    private static <T> void appliquerLot(List<T> lot, long[] lignes, Cible<T> cible, Rapport rapport,
+                                         Consumer<Rapport> progression) {
+        if (lot.isEmpty()) {
+            return;
+        }
+        List<ResultatOperation> resultats = cible.appliquer(lot);
+        for (int i = 0; i < resultats.size(); i++) {
+            if (resultats.get(i) == ResultatOperation.APPLIQUE) {
+                rapport.lignesImportees++;
+            } else {
+                rapport.rejeter(lignes[i], "refusé par le modèle (" + resultats.get(i) + ")");
+            }
+        }
+        lot.clear();
+        if (progression != null) {
+            progression.accept(rapport);
+        }
+    }
+
+    /**
+     * Analyse et valide un bloc. Exécutée en parallèle sur les blocs successifs.
+     *
+     * @param canal   Le canal du fichier.
+     * @param debut   La position du premier octet du bloc.
+     * @param fin     La position qui suit le dernier octet du bloc.
+     * @param enTete  true si le bloc commence par l'en-tête du fichier, qui est alors ignoré.
+     * @param cible   Le type de données importé.
+     * @param indices L'indice de chaque colonne reconnue.
+     * @param <T>     Le type des éléments importés.
+     * @return Les éléments valides et les rejets du bloc.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    private static <T> Lot<T> analyser(FileChannel canal, long debut, long fin, boolean enTete, Cible<T> cible,
+                                       int[] indices) throws IOException {
+        List<T> elements = new ArrayList<>();
+        long[] lignes = new long[64];
+        List<String> rejets = new ArrayList<>();
+        long[] lignesRejetees = new long[8];
+        int lus = 0;
+        long sautsDeLigne;
+        try (CsvReader reader = ChargeurCsvParallele.lecteur(canal, debut, fin)) {
+            if (enTete) {
+                reader.lireEnregistrement(); // Déjà lu par lireEnTete
+            }
+            while (reader.lireEnregistrement()) {
+                lus++;
+                long ligne = reader.numeroLigne();
+                try {
+                    T element = cible.convertir(reader, indices);
+                    if (elements.size() == lignes.length) {
+                        lignes = Arrays.copyOf(lignes, lignes.length * 2);
+                    }
+                    lignes[elements.size()] = ligne;
+                    elements.add(element);
+                } catch (IllegalArgumentException e) {
+                    if (rejets.size() == lignesRejetees.length) {
+                        lignesRejetees = Arrays.copyOf(lignesRejetees, lignesRejetees.length * 2);
+                    }
+                    lignesRejetees[rejets.size()] = ligne;
+                    rejets.add(e.getMessage());
+                }
+            }
+            sautsDeLigne = reader.numeroLigne() - 1; // En fin de source, numéro de la ligne qui suivrait
+        }
+        return new Lot<>(elements, lignes, rejets, lignesRejetees, lus, sautsDeLigne);
+    }
+
+    /**
+     * Associe chaque colonne reconnue à son indice dans l'en-tête.
+     *
+     * @param canal Le canal du fichier, dont le premier enregistrement est l'en-tête.
+     * @param cible Le type de données importé.
+     * @return L'indice de chaque colonne reconnue, ou -1 si elle est absente.
+     * @throws IOException Si le fichier est illisible ou si une colonne obligatoire manque.
+     */
+    private static int[] lireEnTete(FileChannel canal, Cible<?> cible) throws IOException {
+        String[] colonnes = cible.colonnes();
+        int[] indices = new int[colonnes.length];
+        Arrays.fill(indices, -1);
+        try (CsvReader reader = ChargeurCsvParallele.lecteur(canal, 0, canal.size())) {
+            if (reader.lireEnregistrement()) {
+                for (int i = 0; i < reader.nombreChamps(); i++) {
+                    String nom = reader.texte(i).trim();
+                    for (int j = 0; j < colonnes.length; j++) {
+                        if (colonnes[j].equalsIgnoreCase(nom) && indices[j] == -1) {
+                            indices[j] = i;
+                        }
+                    }
+                }
+            }
+        }
+        for (int j = 0; j < cible.obligatoires(); j++) {
+            if (indices[j] == -1) {
+                throw new IOException("Colonne obligatoire absente de l'en-tête: " + colonnes[j]);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Lit un champ facultatif.
+     *
+     * @param reader  Le lecteur positionné sur l'enregistrement.
+     * @param indice  L'indice du champ, ou -1 si la colonne est absente.
+     * @return Le texte du champ sans espaces superflus, ou une chaîne vide.
+     */
+    private static String champ(CsvReader reader, int indice) {
+        return indice >= 0 && indice < reader.nombreChamps() ? reader.texte(indice).trim() : "";
+    }
+
+    /**
+     * Lit un champ entier facultatif.
+     *
+     * @param reader  Le lecteur positionné sur l'enregistrement.
+     * @param indice  L'indice du champ, ou -1 si la colonne est absente.
+     * @param defaut  La valeur d'un champ absent ou vide.
+     * @param nom     Le nom de la colonne, pour le motif de rejet.
+     * @return La valeur du champ.
+     * @throws IllegalArgumentException Si le champ n'est pas un entier.
+     */
+    private static int entier(CsvReader reader, int indice, int defaut, String nom) {
+        String texte = champ(reader, indice);
+        if (texte.isEmpty()) {
+            return defaut;
+        }
+        try {
+            return Integer.parseInt(texte);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(nom + " invalide (" + texte + ")");
+        }
+    }
+
+    /**
+     * Vérifie qu'une chaîne ne contient que des chiffres ASCII, comme les ISBN canoniques.
+     *
+     * @param texte La chaîne.
+     * @return true si chaque caractère est compris entre '0' et '9'.
+     */
+    private static boolean estNumerique(String texte) {
+        for (int i = 0; i < texte.length(); i++) {
+            if (!Isbn.estChiffre(texte.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Import des livres : l'ISBN canonique sert de clé de dédoublonnage.
+     */
+    private final class ImportLivres implements Cible<Livre> {
+        public String[] colonnes() {
+            return new String[]{"isbn", "titre", "auteur", "anneePublication", "genre", "quantite"};
+        }
+
+        public int obligatoires() {
+            return 3;
+        }
+
+        public Livre convertir(CsvReader reader, int[] indices) {
+            String isbn = Isbn.normaliser(champ(reader, indices[0]));
+            if (isbn.length() != 13 || !estNumerique(isbn)) {
+                throw new IllegalArgumentException("ISBN invalide (" + champ(reader, indices[0]) + ")");
+            }
+            String titre = champ(reader, indices[1]);
+            String auteur = champ(reader, indices[2]);
+            if (titre.isEmpty() || auteur.isEmpty()) {
+                throw new IllegalArgumentException("titre ou auteur manquant");
+            }
+            int quantite = entier(reader, indices[5], 1, "quantite");
+            if (quantite < 0) {
+                throw new IllegalArgumentException("quantite négative (" + quantite + ")");
+            }
+            return new Livre(0, isbn, titre, auteur, entier(reader, indices[3], 0, "anneePublication"),
+                    champ(reader, indices[4]), quantite);
+        }
+
+        public String cle(Livre livre) {
+            return livre.getIsbn();
+        }
+
+        public boolean existe(String cle) {
+            return livreModel.chercherLivreParIsbn(cle) != null;
+        }
+
+        public List<ResultatOperation> appliquer(List<Livre> lot) {
+            int id = livreModel.prochainId();
+            for (Livre livre : lot) {
+                livre.setId(id++);
+            }
+            return livreModel.ajouterLivres(lot);
+        }
+    }
+
+    /**
+     * Import des utilisateurs : l'email, sans tenir compte de la casse, sert de clé de dédoublonnage.
+     */
+    private final class ImportUtilisateurs implements Cible<Utilisateur> {
+        private final Set<String> emailsExistants; // Emails déjà présents, en minuscules
+
+        ImportUtilisateurs(Set<String> emailsExistants) {
+            this.emailsExistants = emailsExistants;
+        }
+
+        public String[] colonnes() {
+            return new String[]{"nom", "email"};
+        }
+
+        public int obligatoires() {
+            return 2;
+        }
+
+        public Utilisateur convertir(CsvReader reader, int[] indices) {
+            String nom = champ(reader, indices[0]);
+            String email = champ(reader, indices[1]);
+            if (nom.isEmpty()) {
+                throw new IllegalArgumentException("nom manquant");
+            }
+            int arobase = email.indexOf('@');
+            if (arobase <= 0 || arobase == email.length() - 1 || email.indexOf('@', arobase + 1) >= 0) {
+                throw new IllegalArgumentException("email invalide (" + email + ")");
+            }
+            return new Utilisateur(0, nom, email);
+        }
+
+        public String cle(Utilisateur utilisateur) {
+            return utilisateur.getEmail().toLowerCase(Locale.ROOT);
+        }
+
+        public boolean existe(String cle) {
+            return emailsExistants.contains(cle);
+        }
+
+        public List<ResultatOperation> appliquer(List<Utilisateur> lot) {
+            int id = utilisateurModel.prochainId();
+            for (Utilisateur utilisateur : lot) {
+                utilisateur.setId(id++);
+            }
+            return utilisateurModel.ajouterUtilisateurs(lot);
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package controller;
 
 import model.Livre;
+import model.ResultatOperation;
+import model.Bibliotheque;
 import model.LivreModel;
+import model.EcouteurModele;
 
+import util.OptionsExport;
+import util.Page;
+import util.PrefixTrie;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -10,14 +20,16 @@ import java.util.List;
  * Fournit une interface entre la vue et le modèle des livres.
  */
 public class LivreController {
-    private LivreModel livreModel; // Modèle des livres utilisé pour les opérations
+    private final LivreModel livreModel; // Modèle des livres utilisé pour les opérations
 
     /**
      * Constructeur de la classe LivreController.
-     * Initialise le modèle des livres.
+     * Utilise le modèle partagé du contexte de la bibliothèque.
+     *
+     * @param bibliotheque Le contexte partagé de la bibliothèque.
      */
-    public LivreController() {
-        this.livreModel = new LivreModel();
+    public LivreController(Bibliotheque bibliotheque) {
+        this.livreModel = bibliotheque.getLivreModel();
     }
 
     /**
@@ -30,12 +42,13 @@ public class LivreController {
     }
 
     /**
-     * Modifie les informations d'un livre existant.
+     * Modifie les informations d'un livre existant, s'il n'a pas été modifié depuis sa lecture.
      *
      * @param livre Le livre avec les nouvelles informations.
+     * @return Le résultat de la modification ; {@link ResultatOperation#CONFLIT} si le livre a changé entre-temps.
      */
-    public void modifierLivre(Livre livre) {
-        livreModel.modifierLivre(livre);
+    public ResultatOperation modifierLivre(Livre livre) {
+        return livreModel.modifierLivre(livre);
     }
 
     /**
@@ -47,6 +60,37 @@ public class LivreController {
         livreModel.supprimerLivre(id);
     }
 
+    /**
+     * Ajoute plusieurs livres en une seule opération, écrite une seule fois.
+     * À préférer à des appels répétés à {@link #ajouterLivre(Livre)} pour les imports et synchronisations.
+     *
+     * @param lot Les livres à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> ajouterLivres(Collection<Livre> lot) {
+        return livreModel.ajouterLivres(lot);
+    }
+
+    /**
+     * Modifie plusieurs livres en une seule opération, écrite une seule fois.
+     *
+     * @param lot Les livres avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> modifierLivres(Collection<Livre> lot) {
+        return livreModel.modifierLivres(lot);
+    }
+
+    /**
+     * Supprime plusieurs livres en une seule opération, écrite une seule fois.
+     *
+     * @param ids Les identifiants des livres à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> supprimerLivres(Collection<Integer> ids) {
+        return livreModel.supprimerLivres(ids);
+    }
+
     /**
      * Récupère une liste contenant tous les livres dans le système.
      *
@@ -56,6 +100,49 @@ public class LivreController {
         return livreModel.listerLivres();
     }
 
+    /**
+     * Obtient le nombre de livres, sans copier la liste.
+     *
+     * @return Le nombre de livres.
+     */
+    public int compterLivres() {
+        return livreModel.compterLivres();
+    }
+
+    /**
+     * Récupère une page de livres, par identifiant croissant.
+     *
+     * @param debut  Le rang du premier livre, à partir de 0.
+     * @param limite Le nombre maximal de livres.
+     * @return Les livres de la page.
+     */
+    public List<Livre> listerLivres(int debut, int limite) {
+        return livreModel.listerLivres(debut, limite);
+    }
+
+    /**
+     * Récupère la page de livres qui suit un curseur, par identifiant croissant.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de livres.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     */
+    public Page<Livre> parcourirLivres(String curseur, int limite) {
+        return livreModel.parcourirLivres(curseur, limite);
+    }
+
+    /**
+     * Exporte les livres en flux, en CSV ou en JSON Lines, sans copier la liste.
+     *
+     * @param sortie  La destination ; elle n'est pas fermée.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de livres exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public long exporterLivres(OutputStream sortie, OptionsExport options) throws IOException {
+        return livreModel.exporterLivres(sortie, options);
+    }
+
     /**
      * Recherche des livres en fonction d'une requête.
      * La recherche peut être effectuée par titre, auteur ou ISBN.
@@ -72,4 +159,42 @@ public class LivreController {
         }
         return resultats;
     }
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain livre ajouté.
+     *
+     * @return Un nouvel identifiant unique.
+     */
+    public int prochainId() {
+        return livreModel.prochainId();
+    }
+
+    /**
+     * Propose des complétions pour le texte saisi dans un champ de recherche.
+     *
+     * @param prefixe Le début du texte saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions les plus fréquentes.
+     */
+    public List<PrefixTrie.Suggestion> suggerer(String prefixe, int maximum) {
+        return livreModel.suggerer(prefixe, maximum);
+    }
+
+    /**
+     * Inscrit un écouteur des modifications des livres, appelé sur le thread qui modifie.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    public void ajouterEcouteur(EcouteurModele<Livre> ecouteur) {
+        livreModel.ajouterEcouteur(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur des modifications des livres.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    public void retirerEcouteur(EcouteurModele<Livre> ecouteur) {
+        livreModel.retirerEcouteur(ecouteur);
+    }
 }
@@ -0,0 +1,76 @@
+package controller;
+
+import model.Bibliotheque;
+import model.Livre;
+import model.Statistiques;
+import model.Utilisateur;
+
+import java.util.List;
+
+/**
+ * Contrôleur pour les rapports de la bibliothèque.
+ * Fournit une interface entre la vue et les statistiques tenues à jour par les modèles.
+ */
+public class RapportController {
+    private final Statistiques statistiques; // Statistiques partagées de la bibliothèque
+
+    /**
+     * Constructeur de la classe RapportController.
+     * Utilise les statistiques partagées du contexte de la bibliothèque.
+     *
+     * @param bibliotheque Le contexte partagé de la bibliothèque.
+     */
+    public RapportController(Bibliotheque bibliotheque) {
+        this.statistiques = bibliotheque.getStatistiques();
+    }
+
+    /**
+     * Obtient le nombre de livres.
+     *
+     * @return Le nombre de livres.
+     */
+    public int getNombreLivres() {
+        return statistiques.getNombreLivres();
+    }
+
+    /**
+     * Obtient le nombre d'utilisateurs.
+     *
+     * @return Le nombre d'utilisateurs.
+     */
+    public int getNombreUtilisateurs() {
+        return statistiques.getNombreUtilisateurs();
+    }
+
+    /**
+     * Obtient le nombre d'emprunts effectués sur une période.
+     *
+     * @param jours Le nombre de jours de la période, aujourd'hui compris, ou 0 pour tout l'historique.
+     * @return Le nombre d'emprunts de la période.
+     */
+    public int getNombreEmprunts(int jours) {
+        return statistiques.getNombreEmprunts(jours);
+    }
+
+    /**
+     * Obtient les livres les plus empruntés sur une période.
+     *
+     * @param k     Le nombre maximal de livres.
+     * @param jours Le nombre de jours de la période, aujourd'hui compris, ou 0 pour tout l'historique.
+     * @return Les livres et leur nombre d'emprunts, du plus emprunté au moins emprunté.
+     */
+    public List<Statistiques.Rang<Livre>> livresLesPlusEmpruntes(int k, int jours) {
+        return statistiques.livresLesPlusEmpruntes(k, jours);
+    }
+
+    /**
+     * Obtient les utilisateurs ayant le plus emprunté sur une période.
+     *
+     * @param k     Le nombre maximal d'utilisateurs.
+     * @param jours Le nombre de jours de la période, aujourd'hui compris, ou 0 pour tout l'historique.
+     * @return Les utilisateurs et leur nombre d'emprunts, du plus actif au moins actif.
+     */
+    public List<Statistiques.Rang<Utilisateur>> utilisateursLesPlusActifs(int k, int jours) {
+        return statistiques.utilisateursLesPlusActifs(k, jours);
+    }
+}
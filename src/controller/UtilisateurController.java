@@ -1,8 +1,15 @@
 package controller;
 
 import model.Utilisateur;
+import model.ResultatOperation;
+import model.Bibliotheque;
 import model.UtilisateurModel;
+import model.EcouteurModele;
 
+import util.Page;
+import util.PrefixTrie;
+
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -10,14 +17,16 @@ import java.util.List;
  * Fournit une interface entre la vue et le modèle des utilisateurs.
  */
 public class UtilisateurController {
-    private UtilisateurModel utilisateurModel; // Modèle des utilisateurs utilisé pour les opérations
+    private final UtilisateurModel utilisateurModel; // Modèle des utilisateurs utilisé pour les opérations
 
     /**
      * Constructeur de la classe UtilisateurController.
-     * Initialise le modèle des utilisateurs.
+     * Utilise le modèle partagé du contexte de la bibliothèque.
+     *
+     * @param bibliotheque Le contexte partagé de la bibliothèque.
      */
-    public UtilisateurController() {
-        this.utilisateurModel = new UtilisateurModel();
+    public UtilisateurController(Bibliotheque bibliotheque) {
+        this.utilisateurModel = bibliotheque.getUtilisateurModel();
     }
 
     /**
@@ -30,12 +39,13 @@ public class UtilisateurController {
     }
 
     /**
-     * Modifie les informations d'un utilisateur existant.
+     * Modifie les informations d'un utilisateur existant, s'il n'a pas été modifié depuis sa lecture.
      *
      * @param utilisateur L'utilisateur avec les nouvelles informations.
+     * @return Le résultat de la modification ; {@link ResultatOperation#CONFLIT} si l'utilisateur a changé entre-temps.
      */
-    public void modifierUtilisateur(Utilisateur utilisateur) {
-        utilisateurModel.modifierUtilisateur(utilisateur);
+    public ResultatOperation modifierUtilisateur(Utilisateur utilisateur) {
+        return utilisateurModel.modifierUtilisateur(utilisateur);
     }
 
     /**
@@ -47,6 +57,37 @@ public class UtilisateurController {
         utilisateurModel.supprimerUtilisateur(id);
     }
 
+    /**
+     * Ajoute plusieurs utilisateurs en une seule opération, écrite une seule fois.
+     * À préférer à des appels répétés à {@link #ajouterUtilisateur(Utilisateur)} pour les imports et synchronisations.
+     *
+     * @param lot Les utilisateurs à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> ajouterUtilisateurs(Collection<Utilisateur> lot) {
+        return utilisateurModel.ajouterUtilisateurs(lot);
+    }
+
+    /**
+     * Modifie plusieurs utilisateurs en une seule opération, écrite une seule fois.
+     *
+     * @param lot Les utilisateurs avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> modifierUtilisateurs(Collection<Utilisateur> lot) {
+        return utilisateurModel.modifierUtilisateurs(lot);
+    }
+
+    /**
+     * Supprime plusieurs utilisateurs en une seule opération, écrite une seule fois.
+     *
+     * @param ids Les identifiants des utilisateurs à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> supprimerUtilisateurs(Collection<Integer> ids) {
+        return utilisateurModel.supprimerUtilisateurs(ids);
+    }
+
     /**
      * Récupère une liste contenant tous les utilisateurs dans le système.
      *
@@ -56,6 +97,37 @@ public class UtilisateurController {
         return utilisateurModel.listerUtilisateurs();
     }
 
+    /**
+     * Obtient le nombre de utilisateurs, sans copier la liste.
+     *
+     * @return Le nombre de utilisateurs.
+     */
+    public int compterUtilisateurs() {
+        return utilisateurModel.compterUtilisateurs();
+    }
+
+    /**
+     * Récupère une page de utilisateurs, par identifiant croissant.
+     *
+     * @param debut  Le rang du premier utilisateur, à partir de 0.
+     * @param limite Le nombre maximal de utilisateurs.
+     * @return Les utilisateurs de la page.
+     */
+    public List<Utilisateur> listerUtilisateurs(int debut, int limite) {
+        return utilisateurModel.listerUtilisateurs(debut, limite);
+    }
+
+    /**
+     * Récupère la page de utilisateurs qui suit un curseur, par identifiant croissant.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de utilisateurs.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     */
+    public Page<Utilisateur> parcourirUtilisateurs(String curseur, int limite) {
+        return utilisateurModel.parcourirUtilisateurs(curseur, limite);
+    }
+
     /**
      * Recherche des utilisateurs en fonction d'une requête.
      * La recherche peut être effectuée par nom ou par email.
@@ -66,4 +138,42 @@ public class UtilisateurController {
     public List<Utilisateur> rechercherUtilisateur(String query) {
         return utilisateurModel.rechercherUtilisateur(query);
     }
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain utilisateur ajouté.
+     *
+     * @return Un nouvel identifiant unique.
+     */
+    public int prochainId() {
+        return utilisateurModel.prochainId();
+    }
+
+    /**
+     * Propose des complétions pour le texte saisi dans un champ de recherche.
+     *
+     * @param prefixe Le début du texte saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions les plus fréquentes.
+     */
+    public List<PrefixTrie.Suggestion> suggerer(String prefixe, int maximum) {
+        return utilisateurModel.suggerer(prefixe, maximum);
+    }
+
+    /**
+     * Inscrit un écouteur des modifications des utilisateurs, appelé sur le thread qui modifie.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    public void ajouterEcouteur(EcouteurModele<Utilisateur> ecouteur) {
+        utilisateurModel.ajouterEcouteur(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur des modifications des utilisateurs.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    public void retirerEcouteur(EcouteurModele<Utilisateur> ecouteur) {
+        utilisateurModel.retirerEcouteur(ecouteur);
+    }
 }
@@ -0,0 +1,62 @@
+package main;
+
+import controller.ImportController;
+import model.Bibliotheque;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Outil en ligne de commande d'import en masse, sans interface graphique.
+ * Usage : {@code java main.Importateur livres|utilisateurs <fichier.csv>}
+ */
+public class Importateur {
+
+    /**
+     * Méthode principale de l'import : charge la bibliothèque, importe le fichier puis affiche le rapport.
+     *
+     * @param args Le type de données importé (livres ou utilisateurs) et le chemin du fichier CSV.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2 || !(args[0].equals("livres") || args[0].equals("utilisateurs"))) {
+            System.err.println("Usage: java main.Importateur livres|utilisateurs <fichier.csv>");
+            System.exit(2);
+        }
+
+        Bibliotheque bibliotheque = new Bibliotheque();
+        boolean reussi = false;
+        try {
+            ImportController importController = new ImportController(bibliotheque);
+            Path fichier = Path.of(args[1]);
+            ImportController.Rapport rapport = args[0].equals("livres")
+                    ? importController.importerLivres(fichier, Importateur::afficherProgression)
+                    : importController.importerUtilisateurs(fichier, Importateur::afficherProgression);
+
+            System.out.println("Import terminé : " + rapport);
+            for (String rejet : rapport.getRejets()) {
+                System.out.println("  " + rejet);
+            }
+            if (rapport.getLignesRejetees() > rapport.getRejets().size()) {
+                System.out.println("  ... et " + (rapport.getLignesRejetees() - rapport.getRejets().size()) + " autres rejets");
+            }
+            reussi = true;
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'import : " + e.getMessage());
+        } finally {
+            bibliotheque.fermer();
+        }
+        if (!reussi) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Affiche l'avancement de l'import après chaque lot appliqué.
+     *
+     * @param rapport Le rapport en cours.
+     */
+    private static void afficherProgression(ImportController.Rapport rapport) {
+        System.err.printf("%d lignes lues, %d importées (%.0f lignes/s)%n",
+                rapport.getLignesLues(), rapport.getLignesImportees(), rapport.getLignesParSeconde());
+    }
+}
@@ -6,9 +6,15 @@ import view.UtilisateurPanel;
 import view.RapportPanel;
 import view.RetourPanel;
 import controller.EmpruntController;
+import controller.LivreController;
+import controller.RapportController;
+import controller.UtilisateurController;
+import model.Bibliotheque;
 import view.LoginForm;
 
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Classe principale pour lancer l'application de gestion de bibliothèque.
@@ -39,15 +45,26 @@ public class Main {
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setSize(1000, 600);
 
-        // Contrôleur partagé pour les emprunts
-        EmpruntController empruntController = new EmpruntController();
+        // Contexte partagé : une seule copie en mémoire de chaque ensemble de données
+        Bibliotheque bibliotheque = new Bibliotheque();
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                bibliotheque.fermer(); // Replier les journaux avant de quitter
+            }
+        });
+
+        // Contrôleurs partagés par tous les panneaux
+        LivreController livreController = new LivreController(bibliotheque);
+        EmpruntController empruntController = new EmpruntController(bibliotheque);
+        UtilisateurController utilisateurController = new UtilisateurController(bibliotheque);
 
         // Initialiser les panneaux
-        LivrePanel livrePanel = new LivrePanel();
-        RetourPanel retourPanel = new RetourPanel(empruntController, livrePanel); // Créer RetourPanel
-        EmpruntPanel empruntPanel = new EmpruntPanel(empruntController, retourPanel, livrePanel); // Passer RetourPanel à EmpruntPanel
-        UtilisateurPanel utilisateurPanel = new UtilisateurPanel();
-        RapportPanel rapportPanel = new RapportPanel();
+        LivrePanel livrePanel = new LivrePanel(livreController);
+        RetourPanel retourPanel = new RetourPanel(empruntController);
+        EmpruntPanel empruntPanel = new EmpruntPanel(empruntController);
+        UtilisateurPanel utilisateurPanel = new UtilisateurPanel(utilisateurController);
+        RapportPanel rapportPanel = new RapportPanel(new RapportController(bibliotheque));
 
         // Créer un panneau à onglets
         JTabbedPane tabbedPane = new JTabbedPane();
@@ -57,18 +74,10 @@ public class Main {
         tabbedPane.addTab("Retours", retourPanel);
         tabbedPane.addTab("Rapports", rapportPanel);
 
-        // Ajouter un ChangeListener pour actualiser les panneaux à chaque changement d'onglet
+        // Les tableaux suivent les notifications des modèles ; seuls les rapports sont recalculés à l'affichage
         tabbedPane.addChangeListener(e -> {
-            int selectedTab = tabbedPane.getSelectedIndex();
-            switch (selectedTab) {
-                case 0 -> {
-                    System.out.println("Actualisation de LivrePanel");
-                    livrePanel.loadLivres(); // Actualiser LivrePanel
-                }
-                case 1 -> utilisateurPanel.loadUtilisateurs(); // Actualiser UtilisateurPanel
-                case 2 -> empruntPanel.loadFilteredEmprunts(""); // Actualiser EmpruntPanel
-                case 3 -> rapportPanel.loadStatistics(); // Actualiser RapportPanel
-                case 4 -> retourPanel.loadNonReturnedEmprunts(); // Actualiser RetourPanel
+            if (tabbedPane.getSelectedComponent() == rapportPanel) {
+                rapportPanel.loadStatistics(); // Actualiser RapportPanel
             }
         });
 
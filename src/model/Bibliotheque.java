@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * Contexte partagé de la bibliothèque.
+ * Détient une unique instance de chaque modèle afin que tous les contrôleurs et panneaux
+ * travaillent sur la même copie en mémoire des livres, emprunts et utilisateurs.
+ */
+public class Bibliotheque {
+    /**
+     * Dossier des fichiers de données, relatif au répertoire de travail, configurable avec la propriété système
+     * {@code bibliotheque.donnees}.
+     */
+    static final String DOSSIER_DONNEES = System.getProperty("bibliotheque.donnees", "src/data");
+
+    private final LivreModel livreModel; // Modèle partagé des livres
+    private final EmpruntModel empruntModel; // Modèle partagé des emprunts
+    private final UtilisateurModel utilisateurModel; // Modèle partagé des utilisateurs
+    private final Statistiques statistiques; // Statistiques tenues à jour par les modèles
+
+    /**
+     * Constructeur de la classe Bibliotheque.
+     * Charge une seule fois les données de chaque modèle.
+     */
+    public Bibliotheque() {
+        this.livreModel = new LivreModel();
+        this.utilisateurModel = new UtilisateurModel();
+        this.empruntModel = new EmpruntModel(livreModel);
+        this.statistiques = new Statistiques(livreModel, utilisateurModel, empruntModel);
+    }
+
+    /**
+     * Obtient le modèle partagé des livres.
+     *
+     * @return Le modèle des livres.
+     */
+    public LivreModel getLivreModel() {
+        return livreModel;
+    }
+
+    /**
+     * Obtient le modèle partagé des emprunts.
+     *
+     * @return Le modèle des emprunts.
+     */
+    public EmpruntModel getEmpruntModel() {
+        return empruntModel;
+    }
+
+    /**
+     * Obtient le modèle partagé des utilisateurs.
+     *
+     * @return Le modèle des utilisateurs.
+     */
+    public UtilisateurModel getUtilisateurModel() {
+        return utilisateurModel;
+    }
+
+    /**
+     * Obtient les statistiques partagées, tenues à jour à chaque modification des modèles.
+     *
+     * @return Les statistiques.
+     */
+    public Statistiques getStatistiques() {
+        return statistiques;
+    }
+
+    /**
+     * Ferme proprement le contexte : écrit les modifications encore en attente, replie le journal des livres
+     * dans le fichier CSV, puis écrit l'instantané binaire de chaque modèle pour accélérer le prochain démarrage.
+     * Si le journal n'a pas pu être replié, les instantanés des livres et des emprunts ne sont pas écrits :
+     * le journal conservé serait sinon rejoué par-dessus des instantanés qui le contiennent déjà.
+     */
+    public void fermer() {
+        utilisateurModel.fermer();
+        livreModel.fermer(); // Arrête aussi l'écriture du journal partagé avec les emprunts
+        if (livreModel.pointDeControle()) {
+            livreModel.sauvegarderInstantane();
+            empruntModel.sauvegarderInstantane();
+        } else {
+            System.err.println("Point de contrôle impossible : instantanés des livres et des emprunts non écrits.");
+        }
+        utilisateurModel.sauvegarderInstantane();
+    }
+}
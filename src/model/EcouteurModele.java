@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Écouteur des modifications d'un modèle.
+ * Il est appelé de façon synchrone par le thread qui modifie, une fois la modification appliquée en mémoire,
+ * éventuellement sous un verrou du modèle et depuis plusieurs threads à la fois : il doit être rapide,
+ * sûr entre threads, et ne doit ni modifier le modèle ni attendre un autre thread qui le lit.
+ *
+ * @param <T> Le type des enregistrements du modèle.
+ */
+@FunctionalInterface
+public interface EcouteurModele<T> {
+
+    /**
+     * Signale une modification. Lorsqu'un enregistrement est modifié sur place (mouvement de stock d'un livre),
+     * avant et apres désignent le même objet, dans son nouvel état.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'enregistrement avant la modification, ou null pour une insertion.
+     * @param apres L'enregistrement après la modification, ou null pour une suppression.
+     */
+    void modifie(TypeModification type, T avant, T apres);
+}
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Liste des écouteurs d'un modèle. L'inscription est rare et la notification fréquente :
+ * la liste est copiée à chaque inscription et parcourue sans verrou.
+ *
+ * @param <T> Le type des enregistrements du modèle.
+ */
+final class Ecouteurs<T> {
+    private final List<EcouteurModele<T>> ecouteurs = new CopyOnWriteArrayList<>(); // Écouteurs inscrits
+
+    /**
+     * Inscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    void ajouter(EcouteurModele<T> ecouteur) {
+        ecouteurs.add(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    void retirer(EcouteurModele<T> ecouteur) {
+        ecouteurs.remove(ecouteur);
+    }
+
+    /**
+     * Signale une modification à chaque écouteur. L'erreur d'un écouteur est affichée sans empêcher
+     * la notification des suivants ni annuler la modification.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'enregistrement avant la modification, ou null pour une insertion.
+     * @param apres L'enregistrement après la modification, ou null pour une suppression.
+     */
+    void notifier(TypeModification type, T avant, T apres) {
+        for (EcouteurModele<T> ecouteur : ecouteurs) {
+            try {
+                ecouteur.modifie(type, avant, apres);
+            } catch (RuntimeException e) {
+                System.err.println("Erreur d'un écouteur du modèle: " + e);
+            }
+        }
+    }
+}
@@ -12,7 +12,9 @@ public class Emprunt {
     private int utilisateurId; // ID de l'utilisateur qui a emprunté le livre
     private LocalDate dateEmprunt; // Date de l'emprunt
     private LocalDate dateRetourPrevue; // Date prévue pour le retour
+    private long jourRetourPrevu; // Date prévue pour le retour en jours depuis le 1970-01-01, précalculée pour les comparaisons
     private LocalDate dateRetourEffective; // Date effective du retour (null si non retourné)
+    private int version; // Version de l'enregistrement, incrémentée à chaque modification
 
     /**
      * Constructeur de la classe Emprunt.
@@ -30,6 +32,7 @@ public class Emprunt {
         this.utilisateurId = utilisateurId;
         this.dateEmprunt = dateEmprunt;
         this.dateRetourPrevue = dateRetourPrevue;
+        this.jourRetourPrevu = jourDe(dateRetourPrevue);
         this.dateRetourEffective = dateRetourEffective;
     }
 
@@ -121,6 +124,27 @@ public class Emprunt {
      */
     public void setDateRetourPrevue(LocalDate dateRetourPrevue) {
         this.dateRetourPrevue = dateRetourPrevue;
+        this.jourRetourPrevu = jourDe(dateRetourPrevue);
+    }
+
+    /**
+     * Convertit une date prévue de retour en nombre de jours depuis le 1970-01-01.
+     *
+     * @param date La date, éventuellement null.
+     * @return Le nombre de jours, ou {@link Long#MAX_VALUE} si aucune date n'est prévue.
+     */
+    private static long jourDe(LocalDate date) {
+        return date == null ? Long.MAX_VALUE : date.toEpochDay();
+    }
+
+    /**
+     * Obtient la date prévue pour le retour en nombre de jours depuis le 1970-01-01.
+     * Précalculée, elle se compare au jour courant sans allocation.
+     *
+     * @return Le jour prévu pour le retour, ou {@link Long#MAX_VALUE} si aucune date n'est prévue.
+     */
+    public long getJourRetourPrevu() {
+        return jourRetourPrevu;
     }
 
     /**
@@ -141,6 +165,25 @@ public class Emprunt {
         this.dateRetourEffective = dateRetourEffective;
     }
 
+    /**
+     * Obtient la version de l'enregistrement, incrémentée à chaque modification.
+     *
+     * @return La version de l'emprunt.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Définit la version de l'enregistrement.
+     * Une modification n'est acceptée que si elle porte la version actuellement enregistrée.
+     *
+     * @param version La version de l'emprunt.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * Retourne une représentation sous forme de chaîne de caractères de l'emprunt.
      *
@@ -155,6 +198,7 @@ public class Emprunt {
                 ", dateEmprunt=" + dateEmprunt +
                 ", dateRetourPrevue=" + dateRetourPrevue +
                 ", dateRetourEffective=" + dateRetourEffective +
+                ", version=" + version +
                 '}';
     }
 }
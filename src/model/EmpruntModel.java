@@ -1,66 +1,107 @@
 package model;
 
+import util.ChargeurCsvParallele;
+import util.CsvReader;
+import util.CsvWriter;
+import util.EcritureAtomique;
+import util.EcrivainExport;
+import util.IndexedList;
+import util.Page;
+import util.OptionsExport;
+import util.SnapshotReader;
+import util.SnapshotWriter;
+import util.VerrousParCle;
+
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Modèle pour gérer les emprunts dans le système de bibliothèque.
  * Fournit des méthodes pour ajouter, modifier, supprimer et rechercher des emprunts,
  * ainsi que pour enregistrer les retours et gérer les fichiers CSV.
  */
-public class EmpruntModel implements EmpruntModelInterface {
-    private List<Emprunt> emprunts;
-    private static final String CSV_FILE_PATH = "src/data/emprunts.csv";
+public final class EmpruntModel implements EmpruntModelInterface {
+    private final IndexedList<Emprunt> emprunts = new IndexedList<>(Emprunt::getId); // Emprunts chargés, indexés par identifiant
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock(); // Protège les emprunts contre les accès concurrents
+    private final Ecouteurs<Emprunt> ecouteurs = new Ecouteurs<>(); // Écouteurs des modifications des emprunts
+    private final EmpruntsEnCours enCours = new EmpruntsEnCours(); // Emprunts non retournés, par date de retour prévue
+    private final JournalPartage journal; // Journal partagé avec le modèle des livres
+    private final LivreModel livreModel; // Modèle partagé des livres, utilisé pour mettre à jour les quantités
+    private static final String CSV_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/emprunts.csv";
+    private static final String SNAPSHOT_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/emprunts.bin"; // Chemin de l'instantané binaire des emprunts
 
     /**
      * Constructeur de la classe EmpruntModel.
      * Charge les emprunts à partir du fichier CSV.
+     *
+     * @param livreModel Le modèle partagé des livres.
      */
-    public EmpruntModel() {
-        this.emprunts = loadEmpruntsFromCSV();
+    public EmpruntModel(LivreModel livreModel) {
+        this.livreModel = livreModel;
+        for (Emprunt emprunt : chargerEmprunts()) {
+            if (!emprunts.add(emprunt)) {
+                System.err.println("Emprunt ignoré (identifiant en double): " + emprunt.getId());
+            }
+        }
+        this.journal = livreModel.getJournal();
+        journal.rejouer(this::appliquerEnregistrement);
+        enCours.reconstruire(emprunts);
+        journal.participer(this::ecrireCsv, this::compterEmprunts);
     }
 
     /**
      * Ajoute un nouvel emprunt au système et met à jour la quantité du livre associé.
+     * La vérification du stock, sa mise à jour et l'ajout de l'emprunt forment une seule transaction,
+     * écrite dans le journal en un seul enregistrement. Le stock est réservé sans verrou global :
+     * les emprunts de livres différents s'exécutent en parallèle.
      *
      * @param emprunt L'emprunt à ajouter.
      */
     @Override
     public void ajouterEmprunt(Emprunt emprunt) {
-        LivreModel livreModel = new LivreModel();
-        Livre livre = livreModel.chercherLivreParId(emprunt.getLivreId());
-
-        if (livre != null) {
-            if (livre.getQuantite() > 0) {
-                livre.setQuantite(livre.getQuantite() - 1);
-                livreModel.modifierLivre(livre);
-                emprunts.add(emprunt);
-                saveEmpruntsToCSV();
+        ResultatOperation resultat;
+        ReentrantLock verrouLivre = livreModel.getVerrousLivres().pour(emprunt.getLivreId());
+        journal.debut();
+        verrouLivre.lock();
+        try {
+            resultat = ajouter(emprunt);
+        } finally {
+            verrouLivre.unlock();
+            journal.fin();
+        }
+        switch (resultat) {
+            case APPLIQUE -> {
                 System.out.println("Emprunt ajouté avec succès et la quantité de livres a été mise à jour.");
-            } else {
-                System.out.println("Impossible d'ajouter l'emprunt. La quantité de ce livre est insuffisante.");
+                journal.signaler();
             }
-        } else {
-            System.out.println("Livre introuvable pour l'emprunt.");
+            case DOUBLON -> System.out.println("Un emprunt avec l'identifiant " + emprunt.getId() + " existe déjà.");
+            case INTROUVABLE -> System.out.println("Livre introuvable pour l'emprunt.");
+            default -> System.out.println("Impossible d'ajouter l'emprunt. La quantité de ce livre est insuffisante.");
         }
     }
 
     /**
-     * Modifie un emprunt existant dans le système.
+     * Modifie un emprunt existant, si personne ne l'a modifié depuis sa lecture.
+     * L'emprunt fourni doit porter la version lue ; en cas de succès, sa version est incrémentée.
      *
      * @param emprunt L'emprunt avec les nouvelles informations.
+     * @return {@link ResultatOperation#APPLIQUE}, {@link ResultatOperation#CONFLIT} si l'emprunt a été modifié
+     * entre-temps (y compris par un retour), ou {@link ResultatOperation#INTROUVABLE}.
      */
     @Override
-    public void modifierEmprunt(Emprunt emprunt) {
-        for (int i = 0; i < emprunts.size(); i++) {
-            if (emprunts.get(i).getId() == emprunt.getId()) {
-                emprunts.set(i, emprunt);
-                saveEmpruntsToCSV();
-                break;
-            }
-        }
+    public ResultatOperation modifierEmprunt(Emprunt emprunt) {
+        return journaliser(emprunt.getId(), () -> modifier(emprunt));
     }
 
     /**
@@ -70,8 +111,41 @@ public class EmpruntModel implements EmpruntModelInterface {
      */
     @Override
     public void supprimerEmprunt(int id) {
-        emprunts.removeIf(emprunt -> emprunt.getId() == id);
-        saveEmpruntsToCSV();
+        journaliser(id, () -> supprimer(id));
+    }
+
+    /**
+     * Ajoute plusieurs emprunts en une seule opération : les verrous sont pris une seule fois et le lot est écrit
+     * en une seule fois. Chaque emprunt reste une transaction avec le mouvement de stock qu'il entraîne.
+     *
+     * @param lot Les emprunts à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot ({@link ResultatOperation#REFUSE} si le stock est insuffisant).
+     */
+    @Override
+    public List<ResultatOperation> ajouterEmprunts(Collection<Emprunt> lot) {
+        return journaliserLot(lot, this::ajouter);
+    }
+
+    /**
+     * Modifie plusieurs emprunts en une seule opération, chacun à condition que sa version soit à jour.
+     *
+     * @param lot Les emprunts avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    @Override
+    public List<ResultatOperation> modifierEmprunts(Collection<Emprunt> lot) {
+        return journaliserLot(lot, this::modifier);
+    }
+
+    /**
+     * Supprime plusieurs emprunts en une seule opération.
+     *
+     * @param ids Les identifiants des emprunts à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    @Override
+    public List<ResultatOperation> supprimerEmprunts(Collection<Integer> ids) {
+        return journaliserLot(ids, this::supprimer);
     }
 
     /**
@@ -81,7 +155,156 @@ public class EmpruntModel implements EmpruntModelInterface {
      */
     @Override
     public List<Emprunt> listerEmprunts() {
-        return new ArrayList<>(emprunts);
+        verrou.readLock().lock();
+        try {
+            return emprunts.toList();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtient le nombre de emprunts, sans copier la liste.
+     *
+     * @return Le nombre de emprunts.
+     */
+    @Override
+    public int compterEmprunts() {
+        verrou.readLock().lock();
+        try {
+            return emprunts.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère une page de emprunts, par identifiant croissant.
+     * Un ajout ou une suppression avant la page décale les pages suivantes ; pour parcourir tous les emprunts
+     * pendant des modifications, préférer {@link #parcourirEmprunts(String, int)}.
+     *
+     * @param debut  Le rang du premier emprunt, à partir de 0.
+     * @param limite Le nombre maximal de emprunts.
+     * @return Les emprunts de la page.
+     * @throws IllegalArgumentException Si le rang ou la limite est négatif.
+     */
+    @Override
+    public List<Emprunt> listerEmprunts(int debut, int limite) {
+        verrou.readLock().lock();
+        try {
+            return emprunts.page(debut, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère la page de emprunts qui suit un curseur, par identifiant croissant.
+     * Un parcours complet ne saute ni ne répète aucun emprunt présent du début à la fin du parcours.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de emprunts.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     * @throws IllegalArgumentException Si le curseur est invalide ou la limite négative.
+     */
+    @Override
+    public Page<Emprunt> parcourirEmprunts(String curseur, int limite) {
+        verrou.readLock().lock();
+        try {
+            return emprunts.pageApres(curseur, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exporte les emprunts en flux, par identifiant croissant, sans copier la liste.
+     * Les emprunts sont lus par tranches de {@value EcrivainExport#TAILLE_TRANCHE} emprunts présents : chaque tranche
+     * est formatée sous le verrou de lecture, puis écrite après l'avoir relâché. La mémoire utilisée ne dépend
+     * donc pas de la taille de l'historique. La période des options porte sur la date d'emprunt ; une date de
+     * retour effective absente est exportée comme un champ vide (null en JSON).
+     *
+     * @param sortie  La destination ; elle n'est pas fermée.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre d'emprunts exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    @Override
+    public long exporterEmprunts(OutputStream sortie, OptionsExport options) throws IOException {
+        EcrivainExport ecrivain = new EcrivainExport(sortie, options, "id", "livreId", "utilisateurId",
+                "dateEmprunt", "dateRetourPrevue", "dateRetourEffective", "version");
+        String curseur = null;
+        do {
+            verrou.readLock().lock();
+            try {
+                Page<Emprunt> tranche = emprunts.pageApres(curseur, EcrivainExport.TAILLE_TRANCHE);
+                for (Emprunt emprunt : tranche.getElements()) {
+                    if (options.retient(emprunt.getDateEmprunt())) {
+                        ecrivain.champ(emprunt.getId())
+                                .champ(emprunt.getLivreId())
+                                .champ(emprunt.getUtilisateurId())
+                                .champ(emprunt.getDateEmprunt())
+                                .champ(emprunt.getDateRetourPrevue())
+                                .champ(emprunt.getDateRetourEffective())
+                                .champ(emprunt.getVersion())
+                                .finLigne();
+                    }
+                }
+                curseur = tranche.getCurseurSuivant();
+            } finally {
+                verrou.readLock().unlock();
+            }
+            ecrivain.vider();
+        } while (curseur != null);
+        return ecrivain.terminer();
+    }
+
+    /**
+     * Exporte les emprunts en flux vers un canal. Voir {@link #exporterEmprunts(OutputStream, OptionsExport)}.
+     *
+     * @param canal   La destination ; il n'est pas fermé.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre d'emprunts exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    @Override
+    public long exporterEmprunts(WritableByteChannel canal, OptionsExport options) throws IOException {
+        return exporterEmprunts(Channels.newOutputStream(canal), options);
+    }
+
+    /**
+     * Inscrit un écouteur, appelé après chaque ajout, modification ou suppression d'un emprunt.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    @Override
+    public void ajouterEcouteur(EcouteurModele<Emprunt> ecouteur) {
+        ecouteurs.ajouter(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    @Override
+    public void retirerEcouteur(EcouteurModele<Emprunt> ecouteur) {
+        ecouteurs.retirer(ecouteur);
+    }
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain emprunt ajouté.
+     *
+     * @return Un identifiant supérieur à tous ceux déjà attribués.
+     */
+    @Override
+    public int prochainId() {
+        verrou.readLock().lock();
+        try {
+            return emprunts.getIdMax() + 1;
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 
     /**
@@ -92,13 +315,18 @@ public class EmpruntModel implements EmpruntModelInterface {
      */
     @Override
     public List<Emprunt> chercherEmpruntsParUtilisateur(int utilisateurId) {
-        List<Emprunt> resultats = new ArrayList<>();
-        for (Emprunt emprunt : emprunts) {
-            if (emprunt.getUtilisateurId() == utilisateurId) {
-                resultats.add(emprunt);
+        verrou.readLock().lock();
+        try {
+            List<Emprunt> resultats = new ArrayList<>();
+            for (Emprunt emprunt : emprunts) {
+                if (emprunt.getUtilisateurId() == utilisateurId) {
+                    resultats.add(emprunt);
+                }
             }
+            return resultats;
+        } finally {
+            verrou.readLock().unlock();
         }
-        return resultats;
     }
 
     /**
@@ -109,116 +337,539 @@ public class EmpruntModel implements EmpruntModelInterface {
      */
     @Override
     public List<Emprunt> chercherEmpruntsParLivre(int livreId) {
-        List<Emprunt> resultats = new ArrayList<>();
-        for (Emprunt emprunt : emprunts) {
-            if (emprunt.getLivreId() == livreId) {
-                resultats.add(emprunt);
+        verrou.readLock().lock();
+        try {
+            List<Emprunt> resultats = new ArrayList<>();
+            for (Emprunt emprunt : emprunts) {
+                if (emprunt.getLivreId() == livreId) {
+                    resultats.add(emprunt);
+                }
             }
+            return resultats;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère les emprunts en cours, sans parcourir les emprunts retournés.
+     *
+     * @return Les emprunts non retournés, par date de retour prévue croissante.
+     */
+    @Override
+    public List<Emprunt> listerEmpruntsEnCours() {
+        verrou.readLock().lock();
+        try {
+            return enCours.tous();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtient le nombre d'emprunts en cours.
+     *
+     * @return Le nombre d'emprunts non retournés.
+     */
+    @Override
+    public int compterEmpruntsEnCours() {
+        verrou.readLock().lock();
+        try {
+            return enCours.taille();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les emprunts en retard à une date : non retournés, et dont la date de retour prévue est passée.
+     *
+     * @param date La date de référence, généralement aujourd'hui.
+     * @return Les emprunts en retard, du plus ancien retard au plus récent.
+     */
+    @Override
+    public List<Emprunt> chercherEmpruntsEnRetard(LocalDate date) {
+        verrou.readLock().lock();
+        try {
+            return enCours.entre(null, date.minusDays(1));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les emprunts en cours à rendre dans les prochains jours.
+     *
+     * @param date  La date de référence, généralement aujourd'hui.
+     * @param jours Le nombre de jours après la date de référence.
+     * @return Les emprunts non retournés dont la date de retour prévue est comprise entre la date de référence
+     * et cette date plus le nombre de jours, bornes incluses, par date de retour prévue croissante.
+     * @throws IllegalArgumentException Si le nombre de jours est négatif.
+     */
+    @Override
+    public List<Emprunt> chercherEmpruntsAEcheance(LocalDate date, int jours) {
+        if (jours < 0) {
+            throw new IllegalArgumentException("Nombre de jours négatif: " + jours);
+        }
+        verrou.readLock().lock();
+        try {
+            return enCours.entre(date, date.plusDays(jours));
+        } finally {
+            verrou.readLock().unlock();
         }
-        return resultats;
     }
 
     /**
      * Enregistre un retour d'emprunt et met à jour la quantité du livre associé.
+     * L'emprunt n'est pas modifié : il est remplacé par une copie portant la date de retour.
+     * La date de retour et la nouvelle quantité sont écrites dans le journal en un seul enregistrement.
      *
      * @param empruntId           L'identifiant de l'emprunt.
      * @param dateRetourEffective La date effective du retour.
      */
     @Override
     public void enregistrerRetour(int empruntId, LocalDate dateRetourEffective) {
-        for (Emprunt emprunt : emprunts) {
-            if (emprunt.getId() == empruntId) {
-                if (emprunt.getDateRetourEffective() != null) {
+        Emprunt actuel = chercherEmpruntParId(empruntId);
+        if (actuel == null) {
+            System.out.println("Emprunt non trouvé.");
+            return;
+        }
+
+        ReentrantLock verrouLivre = livreModel.getVerrousLivres().pour(actuel.getLivreId());
+        journal.debut();
+        verrouLivre.lock();
+        try {
+            Emprunt emprunt;
+            verrou.writeLock().lock();
+            try {
+                if (emprunts.get(empruntId) != actuel) {
+                    System.out.println("Emprunt modifié pendant le retour, veuillez réessayer.");
+                    return;
+                }
+                if (actuel.getDateRetourEffective() != null) {
                     System.out.println("Retour déjà enregistré pour cet emprunt.");
                     return;
                 }
+                emprunt = new Emprunt(actuel.getId(), actuel.getLivreId(), actuel.getUtilisateurId(),
+                        actuel.getDateEmprunt(), actuel.getDateRetourPrevue(), dateRetourEffective);
+                emprunt.setVersion(actuel.getVersion() + 1);
+                emprunts.replace(emprunt);
+                enCours.indexer(actuel, emprunt);
+                ecouteurs.notifier(TypeModification.MISE_A_JOUR, actuel, emprunt);
+            } finally {
+                verrou.writeLock().unlock();
+            }
 
-                emprunt.setDateRetourEffective(dateRetourEffective);
+            if (!livreModel.mouvementStock(emprunt, +1)) {
+                // Livre supprimé entre-temps : le retour est tout de même enregistré
+                CsvWriter writer = new CsvWriter();
+                writer.champ("E");
+                ecrireEmprunt(writer, emprunt);
+                journal.ajouter(writer.enChaine());
+            }
+        } finally {
+            verrouLivre.unlock();
+            journal.fin();
+        }
+        journal.signaler();
+    }
 
-                LivreModel livreModel = new LivreModel();
-                Livre livre = livreModel.chercherLivreParId(emprunt.getLivreId());
-                if (livre != null) {
-                    livre.setQuantite(livre.getQuantite() + 1);
-                    livreModel.modifierLivre(livre);
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà effectuées sont écrites.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    @Override
+    public CompletableFuture<Void> attendreEcriture() {
+        return journal.attendre();
+    }
+
+    /**
+     * Écrit l'instantané binaire des emprunts, relu en priorité au prochain démarrage.
+     * L'instantané est remplacé atomiquement : en cas d'échec, le précédent reste intact.
+     */
+    public void sauvegarderInstantane() {
+        verrou.readLock().lock();
+        try {
+            EcritureAtomique.ecrire(SNAPSHOT_FILE_PATH, sortie -> {
+                try (SnapshotWriter writer = new SnapshotWriter(sortie, "emprunts", emprunts.size())) {
+                    for (Emprunt emprunt : emprunts) {
+                        writer.entier(emprunt.getId())
+                                .entier(emprunt.getLivreId())
+                                .entier(emprunt.getUtilisateurId())
+                                .date(emprunt.getDateEmprunt())
+                                .date(emprunt.getDateRetourPrevue())
+                                .date(emprunt.getDateRetourEffective())
+                                .entier(emprunt.getVersion());
+                    }
                 }
+            });
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture de l'instantané: " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
 
-                saveEmpruntsToCSV();
-                return;
+    /**
+     * Charge les emprunts depuis l'instantané binaire s'il est au moins aussi récent que le fichier CSV,
+     * depuis le fichier CSV sinon. Un instantané illisible ou corrompu est ignoré.
+     *
+     * @return Une liste des emprunts chargés.
+     */
+    private List<Emprunt> chargerEmprunts() {
+        EcritureAtomique.recuperer(CSV_FILE_PATH, EcritureAtomique::texteComplet);
+        EcritureAtomique.recuperer(SNAPSHOT_FILE_PATH, chemin -> SnapshotReader.estValide(chemin, "emprunts"));
+        File instantane = new File(SNAPSHOT_FILE_PATH);
+        if (instantane.exists() && instantane.lastModified() >= new File(CSV_FILE_PATH).lastModified()) {
+            try {
+                return loadEmpruntsFromSnapshot();
+            } catch (IOException e) {
+                System.err.println("Instantané ignoré: " + e.getMessage());
             }
         }
-        System.out.println("Emprunt non trouvé.");
+        return loadEmpruntsFromCSV();
     }
 
     /**
-     * Sauvegarde les emprunts actuels dans le fichier CSV.
+     * Charge les emprunts depuis l'instantané binaire.
+     *
+     * @return Une liste des emprunts chargés depuis l'instantané.
+     * @throws IOException Si l'instantané est illisible, tronqué ou corrompu.
      */
-    private void saveEmpruntsToCSV() {
-        File file = new File(CSV_FILE_PATH);
-        File parentDir = file.getParentFile();
+    private List<Emprunt> loadEmpruntsFromSnapshot() throws IOException {
+        try (SnapshotReader reader = new SnapshotReader(SNAPSHOT_FILE_PATH, "emprunts")) {
+            int nombre = reader.nombreEnregistrements();
+            List<Emprunt> loaded = new ArrayList<>(nombre);
+            for (int i = 0; i < nombre; i++) {
+                Emprunt emprunt = new Emprunt(
+                        reader.entier(),  // id
+                        reader.entier(),  // livreId
+                        reader.entier(),  // utilisateurId
+                        reader.date(),    // dateEmprunt
+                        reader.date(),    // dateRetourPrevue
+                        reader.date()     // dateRetourEffective
+                );
+                emprunt.setVersion(reader.entier());
+                loaded.add(emprunt);
+            }
+            reader.verifierFin();
+            return loaded;
+        }
+    }
 
-        if (!parentDir.exists()) {
-            parentDir.mkdirs();
+    /**
+     * Recherche un emprunt par son identifiant.
+     *
+     * @param id L'identifiant de l'emprunt.
+     * @return L'emprunt correspondant ou null s'il n'existe pas.
+     */
+    private Emprunt chercherEmpruntParId(int id) {
+        verrou.readLock().lock();
+        try {
+            return emprunts.get(id);
+        } finally {
+            verrou.readLock().unlock();
         }
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("id,livreId,utilisateurId,dateEmprunt,dateRetourPrevue,dateRetourEffective");
-            writer.newLine();
+    /**
+     * Ajoute un emprunt et réserve un exemplaire du livre, en un seul enregistrement du journal.
+     * L'exemplaire est réservé d'abord : l'emprunt n'est publié qu'une fois le stock accordé, et la réservation
+     * est annulée si l'identifiant existe déjà.
+     * À appeler pendant une modification journalisée, sous le verrou du livre.
+     *
+     * @param emprunt L'emprunt à ajouter.
+     * @return {@link ResultatOperation#APPLIQUE}, {@link ResultatOperation#DOUBLON} si l'identifiant existe déjà,
+     * {@link ResultatOperation#INTROUVABLE} si le livre n'existe pas ou {@link ResultatOperation#REFUSE} si le stock est épuisé.
+     */
+    private ResultatOperation ajouter(Emprunt emprunt) {
+        int quantite = livreModel.ajusterStock(emprunt.getLivreId(), -1);
+        if (quantite < 0) {
+            return livreModel.getStock().disponible(emprunt.getLivreId()) < 0
+                    ? ResultatOperation.INTROUVABLE : ResultatOperation.REFUSE;
+        }
 
-            for (Emprunt emprunt : emprunts) {
-                writer.write(
-                        emprunt.getId() + "," +
-                                emprunt.getLivreId() + "," +
-                                emprunt.getUtilisateurId() + "," +
-                                emprunt.getDateEmprunt() + "," +
-                                emprunt.getDateRetourPrevue() + "," +
-                                (emprunt.getDateRetourEffective() != null ? emprunt.getDateRetourEffective() : "null")
-                );
-                writer.newLine();
+        verrou.writeLock().lock();
+        try {
+            if (!emprunts.add(emprunt)) {
+                livreModel.ajusterStock(emprunt.getLivreId(), +1);
+                return ResultatOperation.DOUBLON;
             }
+            enCours.indexer(null, emprunt);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        livreModel.journaliserStock(emprunt, quantite);
+        ecouteurs.notifier(TypeModification.INSERTION, null, emprunt);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Remplace un emprunt dont la version est à jour et ajoute l'enregistrement qui le décrit.
+     * À appeler sous le verrou en écriture et le verrou du livre.
+     *
+     * @param emprunt L'emprunt avec les nouvelles informations et la version lue.
+     * @return Le résultat de la modification.
+     */
+    private ResultatOperation modifier(Emprunt emprunt) {
+        Emprunt actuel = emprunts.get(emprunt.getId());
+        if (actuel == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        if (actuel.getVersion() != emprunt.getVersion()) {
+            return ResultatOperation.CONFLIT;
+        }
+        emprunt.setVersion(actuel.getVersion() + 1);
+        emprunts.replace(emprunt);
+        enCours.indexer(actuel, emprunt);
+        CsvWriter writer = new CsvWriter();
+        writer.champ("E");
+        ecrireEmprunt(writer, emprunt);
+        journal.ajouter(writer.enChaine());
+        ecouteurs.notifier(TypeModification.MISE_A_JOUR, actuel, emprunt);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Supprime un emprunt et ajoute l'enregistrement qui le décrit. À appeler sous le verrou en écriture.
+     *
+     * @param id L'identifiant de l'emprunt à supprimer.
+     * @return {@link ResultatOperation#APPLIQUE}, ou {@link ResultatOperation#INTROUVABLE}.
+     */
+    private ResultatOperation supprimer(int id) {
+        Emprunt emprunt = emprunts.remove(id);
+        if (emprunt == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        enCours.indexer(emprunt, null);
+        journal.ajouter("S," + id);
+        ecouteurs.notifier(TypeModification.SUPPRESSION, emprunt, null);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Exécute une modification d'un emprunt sous le verrou en écriture puis planifie l'écriture des
+     * enregistrements qu'elle a ajoutés au journal. La modification est sérialisée avec les emprunts et
+     * retours du livre actuellement associé à l'emprunt.
+     *
+     * @param id           L'identifiant de l'emprunt modifié.
+     * @param modification Applique la modification, ajoute au journal les enregistrements la décrivant et retourne son résultat.
+     * @return Le résultat de la modification.
+     */
+    private ResultatOperation journaliser(int id, Supplier<ResultatOperation> modification) {
+        Emprunt actuel = chercherEmpruntParId(id);
+        if (actuel == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        ResultatOperation resultat;
+        ReentrantLock verrouLivre = livreModel.getVerrousLivres().pour(actuel.getLivreId());
+        journal.debut();
+        verrouLivre.lock();
+        try {
+            verrou.writeLock().lock();
+            try {
+                resultat = modification.get();
+            } finally {
+                verrou.writeLock().unlock();
+            }
+        } finally {
+            verrouLivre.unlock();
+            journal.fin();
+        }
+        if (resultat == ResultatOperation.APPLIQUE) {
+            journal.signaler();
+        }
+        return resultat;
+    }
+
+    /**
+     * Applique une opération à chaque élément d'un lot en prenant une seule fois les verrous,
+     * puis planifie une seule écriture pour tout le lot. Le lot portant sur de nombreux livres,
+     * tous les verrous répartis des livres sont pris.
+     *
+     * @param lot       Les éléments du lot.
+     * @param operation Applique l'opération à un élément, ajoute au journal les enregistrements la décrivant et retourne son résultat.
+     * @param <T>       Le type des éléments du lot.
+     * @return Le résultat de chaque opération, dans l'ordre du lot.
+     */
+    private <T> List<ResultatOperation> journaliserLot(Collection<T> lot, Function<T, ResultatOperation> operation) {
+        List<ResultatOperation> resultats = new ArrayList<>(lot.size());
+        VerrousParCle verrousLivres = livreModel.getVerrousLivres();
+        journal.debut();
+        verrousLivres.verrouillerTous();
+        try {
+            verrou.writeLock().lock();
+            try {
+                for (T element : lot) {
+                    resultats.add(operation.apply(element));
+                }
+            } finally {
+                verrou.writeLock().unlock();
+            }
+        } finally {
+            verrousLivres.deverrouillerTous();
+            journal.fin();
+        }
+        if (resultats.contains(ResultatOperation.APPLIQUE)) {
+            journal.signaler();
+        }
+        return resultats;
+    }
+
+    /**
+     * Applique un enregistrement du journal partagé aux emprunts chargés.
+     * Les enregistrements d'emprunt et de transaction remplacent l'emprunt de même identifiant,
+     * ce qui rend la relecture idempotente. Les enregistrements propres aux livres sont ignorés.
+     * Les enregistrements écrits avant l'ajout des versions restent acceptés.
+     *
+     * @param enregistrement L'enregistrement à appliquer.
+     */
+    private void appliquerEnregistrement(String enregistrement) {
+        try (CsvReader reader = new CsvReader(new StringReader(enregistrement))) {
+            if (!reader.lireEnregistrement()) {
+                return;
+            }
+            if ((reader.egal(0, "E") && reader.nombreChamps() == 8) || (reader.egal(0, "T") && reader.nombreChamps() == 10)) {
+                emprunts.put(lireEmprunt(reader, 1, true));
+            } else if ((reader.egal(0, "E") && reader.nombreChamps() == 7) || (reader.egal(0, "T") && reader.nombreChamps() == 8)) {
+                emprunts.put(lireEmprunt(reader, 1, false));
+            } else if (reader.egal(0, "S") && reader.nombreChamps() == 2) {
+                emprunts.remove(reader.entier(1));
+            } else if (reader.egal(0, "E") || reader.egal(0, "T") || reader.egal(0, "S")) {
+                System.err.println("Enregistrement ignoré: " + enregistrement);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Enregistrement ignoré: " + enregistrement);
+        }
+    }
+
+    /**
+     * Réécrit le fichier CSV à partir d'un état cohérent des emprunts ; appelée lors d'un point de contrôle.
+     *
+     * @return true si l'écriture a réussi, false sinon.
+     */
+    private boolean ecrireCsv() {
+        verrou.readLock().lock();
+        try {
+            return saveEmpruntsToCSV();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sauvegarde les emprunts actuels dans le fichier CSV.
+     *
+     * @return true si le fichier a été écrit, false en cas d'erreur.
+     */
+    private boolean saveEmpruntsToCSV() {
+        try {
+            EcritureAtomique.ecrire(CSV_FILE_PATH, sortie -> {
+                try (CsvWriter writer = new CsvWriter(new BufferedWriter(
+                        new OutputStreamWriter(sortie, StandardCharsets.UTF_8)))) {
+                    writer.champ("id").champ("livreId").champ("utilisateurId")
+                            .champ("dateEmprunt").champ("dateRetourPrevue").champ("dateRetourEffective")
+                            .champ("version")
+                            .finLigne();
+
+                    for (Emprunt emprunt : emprunts) {
+                        ecrireEmprunt(writer, emprunt);
+                        writer.finLigne();
+                    }
+                }
+            });
+            return true;
         } catch (IOException e) {
             System.err.println("Erreur lors de l'écriture dans le fichier CSV: " + e.getMessage());
+            return false;
         }
     }
 
     /**
      * Charge les emprunts à partir du fichier CSV.
+     * La colonne de version est facultative, pour relire les fichiers écrits avant son ajout.
+     * Au-delà de {@link ChargeurCsvParallele#SEUIL} octets, le fichier est projeté en mémoire et analysé en parallèle.
      *
      * @return Une liste des emprunts chargés.
      */
     private List<Emprunt> loadEmpruntsFromCSV() {
+        File fichier = new File(CSV_FILE_PATH);
+        if (fichier.length() >= ChargeurCsvParallele.SEUIL) {
+            try {
+                return ChargeurCsvParallele.charger(fichier.toPath(), 6, 7,
+                        reader -> lireEmprunt(reader, 0, reader.nombreChamps() == 7));
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la lecture du fichier CSV: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
         List<Emprunt> emprunts = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(CSV_FILE_PATH))) {
-            String line;
-            boolean isFirstLine = true;
+        try (CsvReader reader = new CsvReader(
+                new InputStreamReader(new FileInputStream(fichier), StandardCharsets.UTF_8))) {
+            reader.lireEnregistrement(); // Ignorer l'en-tête
 
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
+            while (reader.lireEnregistrement()) {
+                if (reader.nombreChamps() != 6 && reader.nombreChamps() != 7) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
                     continue;
                 }
-
-                String[] values = line.split(",");
-                if (values.length == 6) {
-                    Emprunt emprunt = new Emprunt(
-                            Integer.parseInt(values[0]),
-                            Integer.parseInt(values[1]),
-                            Integer.parseInt(values[2]),
-                            LocalDate.parse(values[3]),
-                            LocalDate.parse(values[4]),
-                            "null".equals(values[5]) ? null : LocalDate.parse(values[5])
-                    );
-                    emprunts.add(emprunt);
-                } else {
-                    System.err.println("Ligne ignorée: " + line);
+                try {
+                    emprunts.add(lireEmprunt(reader, 0, reader.nombreChamps() == 7));
+                } catch (RuntimeException e) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
                 }
             }
         } catch (FileNotFoundException e) {
             System.out.println("Fichier CSV non trouvé, démarrage avec une liste vide.");
         } catch (IOException e) {
             System.err.println("Erreur lors de la lecture du fichier CSV: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Erreur inattendue: " + e.getMessage());
         }
         return emprunts;
     }
+
+    /**
+     * Écrit les champs d'un emprunt, version comprise, dans l'enregistrement CSV en cours.
+     * Une date de retour effective absente est écrite "null".
+     *
+     * @param writer  L'écrivain CSV.
+     * @param emprunt L'emprunt à écrire.
+     */
+    static void ecrireEmprunt(CsvWriter writer, Emprunt emprunt) {
+        writer.champ(emprunt.getId())
+                .champ(emprunt.getLivreId())
+                .champ(emprunt.getUtilisateurId())
+                .champ(emprunt.getDateEmprunt())
+                .champ(emprunt.getDateRetourPrevue());
+        if (emprunt.getDateRetourEffective() != null) {
+            writer.champ(emprunt.getDateRetourEffective());
+        } else {
+            writer.champ("null");
+        }
+        writer.champ(emprunt.getVersion());
+    }
+
+    /**
+     * Construit un emprunt à partir de l'enregistrement CSV courant.
+     *
+     * @param reader      Le lecteur CSV positionné sur l'enregistrement.
+     * @param debut       L'indice de la première colonne de l'emprunt.
+     * @param avecVersion true si la colonne de version suit la date de retour effective ; sinon la version vaut 0.
+     * @return L'emprunt correspondant.
+     */
+    static Emprunt lireEmprunt(CsvReader reader, int debut, boolean avecVersion) {
+        Emprunt emprunt = new Emprunt(
+                reader.entier(debut),                 // id
+                reader.entier(debut + 1),             // livreId
+                reader.entier(debut + 2),             // utilisateurId
+                reader.date(debut + 3),               // dateEmprunt
+                reader.date(debut + 4),               // dateRetourPrevue
+                reader.egal(debut + 5, "null") ? null : reader.date(debut + 5) // dateRetourEffective
+        );
+        if (avecVersion) {
+            emprunt.setVersion(reader.entier(debut + 6));
+        }
+        return emprunt;
+    }
 }
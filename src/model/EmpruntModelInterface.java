@@ -1,7 +1,15 @@
 package model;
 
+import util.OptionsExport;
+import util.Page;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface pour gérer les emprunts dans le système de bibliothèque.
@@ -17,11 +25,12 @@ public interface EmpruntModelInterface {
     void ajouterEmprunt(Emprunt emprunt);
 
     /**
-     * Modifie les informations d'un emprunt existant.
+     * Modifie un emprunt existant, si sa version est toujours celle de l'emprunt fourni.
      *
-     * @param emprunt L'emprunt avec les nouvelles informations.
+     * @param emprunt L'emprunt avec les nouvelles informations et la version lue.
+     * @return Le résultat de la modification ; {@link ResultatOperation#CONFLIT} si l'emprunt a changé entre-temps.
      */
-    void modifierEmprunt(Emprunt emprunt);
+    ResultatOperation modifierEmprunt(Emprunt emprunt);
 
     /**
      * Supprime un emprunt du système en fonction de son identifiant.
@@ -30,6 +39,31 @@ public interface EmpruntModelInterface {
      */
     void supprimerEmprunt(int id);
 
+    /**
+     * Ajoute plusieurs emprunts en une seule opération, écrite une seule fois.
+     *
+     * @param lot Les emprunts à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot.
+     */
+    List<ResultatOperation> ajouterEmprunts(Collection<Emprunt> lot);
+
+    /**
+     * Modifie plusieurs emprunts en une seule opération, écrite une seule fois.
+     * Chaque emprunt n'est modifié que si sa version est toujours celle de l'emprunt fourni.
+     *
+     * @param lot Les emprunts avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    List<ResultatOperation> modifierEmprunts(Collection<Emprunt> lot);
+
+    /**
+     * Supprime plusieurs emprunts en une seule opération, écrite une seule fois.
+     *
+     * @param ids Les identifiants des emprunts à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    List<ResultatOperation> supprimerEmprunts(Collection<Integer> ids);
+
     /**
      * Récupère la liste de tous les emprunts dans le système.
      *
@@ -37,6 +71,73 @@ public interface EmpruntModelInterface {
      */
     List<Emprunt> listerEmprunts();
 
+    /**
+     * Obtient le nombre de emprunts, sans copier la liste.
+     *
+     * @return Le nombre de emprunts.
+     */
+    int compterEmprunts();
+
+    /**
+     * Récupère une page de emprunts, par identifiant croissant.
+     *
+     * @param debut  Le rang du premier emprunt, à partir de 0.
+     * @param limite Le nombre maximal de emprunts.
+     * @return Les emprunts de la page.
+     */
+    List<Emprunt> listerEmprunts(int debut, int limite);
+
+    /**
+     * Récupère la page de emprunts qui suit un curseur, par identifiant croissant,
+     * sans saut ni répétition pendant des modifications concurrentes.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de emprunts.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     */
+    Page<Emprunt> parcourirEmprunts(String curseur, int limite);
+
+    /**
+     * Exporte les emprunts en flux, par identifiant croissant, en CSV ou en JSON Lines, sans copier la liste.
+     *
+     * @param sortie  La destination ; elle n'est pas fermée.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de emprunts exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    long exporterEmprunts(OutputStream sortie, OptionsExport options) throws IOException;
+
+    /**
+     * Exporte les emprunts en flux vers un canal, en CSV ou en JSON Lines, sans copier la liste.
+     *
+     * @param canal   La destination ; il n'est pas fermé.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de emprunts exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    long exporterEmprunts(WritableByteChannel canal, OptionsExport options) throws IOException;
+
+    /**
+     * Inscrit un écouteur, appelé après chaque ajout, modification ou suppression d'un emprunt.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    void ajouterEcouteur(EcouteurModele<Emprunt> ecouteur);
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    void retirerEcouteur(EcouteurModele<Emprunt> ecouteur);
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain emprunt ajouté.
+     *
+     * @return Un identifiant supérieur à tous ceux déjà attribués.
+     */
+    int prochainId();
+
     /**
      * Recherche les emprunts associés à un utilisateur donné.
      *
@@ -53,6 +154,38 @@ public interface EmpruntModelInterface {
      */
     List<Emprunt> chercherEmpruntsParLivre(int livreId);
 
+    /**
+     * Récupère les emprunts en cours, sans parcourir les emprunts retournés.
+     *
+     * @return Les emprunts non retournés, par date de retour prévue croissante.
+     */
+    List<Emprunt> listerEmpruntsEnCours();
+
+    /**
+     * Obtient le nombre d'emprunts en cours.
+     *
+     * @return Le nombre d'emprunts non retournés.
+     */
+    int compterEmpruntsEnCours();
+
+    /**
+     * Recherche les emprunts en retard à une date : non retournés, et dont la date de retour prévue est passée.
+     *
+     * @param date La date de référence.
+     * @return Les emprunts en retard, du plus ancien retard au plus récent.
+     */
+    List<Emprunt> chercherEmpruntsEnRetard(LocalDate date);
+
+    /**
+     * Recherche les emprunts en cours dont la date de retour prévue tombe entre une date et cette date
+     * plus un nombre de jours, bornes incluses.
+     *
+     * @param date  La date de référence.
+     * @param jours Le nombre de jours après la date de référence.
+     * @return Les emprunts, par date de retour prévue croissante.
+     */
+    List<Emprunt> chercherEmpruntsAEcheance(LocalDate date, int jours);
+
     /**
      * Enregistre le retour d'un emprunt en mettant à jour la date de retour effective.
      *
@@ -60,4 +193,12 @@ public interface EmpruntModelInterface {
      * @param dateRetourEffective La date effective du retour.
      */
     void enregistrerRetour(int empruntId, LocalDate dateRetourEffective);
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà effectuées sont écrites.
+     * Les modifications sont écrites en arrière-plan ; cette méthode permet d'attendre qu'elles soient durables.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    CompletableFuture<Void> attendreEcriture();
 }
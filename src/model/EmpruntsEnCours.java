@@ -0,0 +1,92 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Index des emprunts en cours (non retournés), triés par date de retour prévue puis par identifiant.
+ * Les emprunts retournés en sont retirés : les requêtes sur les emprunts en cours, en retard ou bientôt
+ * à rendre coûtent un temps proportionnel à leur résultat, quel que soit l'historique des emprunts.
+ * <p>
+ * L'index n'est pas synchronisé : il est protégé par le verrou du modèle des emprunts.
+ */
+final class EmpruntsEnCours {
+    private final TreeMap<Long, Emprunt> parEcheance = new TreeMap<>(); // Clé (jour de retour prévu, identifiant) -> emprunt en cours
+
+    /**
+     * Reconstruit l'index à partir de tous les emprunts.
+     *
+     * @param emprunts Les emprunts chargés.
+     */
+    void reconstruire(Iterable<Emprunt> emprunts) {
+        parEcheance.clear();
+        for (Emprunt emprunt : emprunts) {
+            indexer(null, emprunt);
+        }
+    }
+
+    /**
+     * Reporte une modification d'un emprunt sur l'index.
+     *
+     * @param avant L'emprunt avant la modification, ou null pour un ajout.
+     * @param apres L'emprunt après la modification, ou null pour une suppression.
+     */
+    void indexer(Emprunt avant, Emprunt apres) {
+        if (avant != null) {
+            parEcheance.remove(cle(avant.getJourRetourPrevu(), avant.getId()));
+        }
+        if (apres != null && apres.getDateRetourEffective() == null) {
+            parEcheance.put(cle(apres.getJourRetourPrevu(), apres.getId()), apres);
+        }
+    }
+
+    /**
+     * Obtient le nombre d'emprunts en cours.
+     *
+     * @return Le nombre d'emprunts non retournés.
+     */
+    int taille() {
+        return parEcheance.size();
+    }
+
+    /**
+     * Copie les emprunts en cours.
+     *
+     * @return Les emprunts non retournés, par date de retour prévue croissante.
+     */
+    List<Emprunt> tous() {
+        return new ArrayList<>(parEcheance.values());
+    }
+
+    /**
+     * Copie les emprunts en cours dont la date de retour prévue est comprise entre deux dates.
+     *
+     * @param debut La première date de retour prévue retenue, incluse, ou null pour aucune borne.
+     * @param fin   La dernière date de retour prévue retenue, incluse.
+     * @return Les emprunts, par date de retour prévue croissante.
+     */
+    List<Emprunt> entre(LocalDate debut, LocalDate fin) {
+        long cleFin = cle(fin.toEpochDay(), Integer.MAX_VALUE);
+        Collection<Emprunt> tranche = debut == null
+                ? parEcheance.headMap(cleFin, true).values()
+                : parEcheance.subMap(cle(debut.toEpochDay(), Integer.MIN_VALUE), true, cleFin, true).values();
+        return new ArrayList<>(tranche);
+    }
+
+    /**
+     * Calcule la clé d'un emprunt : le jour de retour prévu dans les 32 bits de poids fort, l'identifiant
+     * dans les 32 bits de poids faible, décalé pour que les identifiants négatifs restent ordonnés.
+     * Une date absente ({@link Long#MAX_VALUE}) est rangée après toutes les autres.
+     *
+     * @param jourRetourPrevu Le jour de retour prévu, en jours depuis le 1970-01-01.
+     * @param id              L'identifiant de l'emprunt.
+     * @return La clé, croissante avec la date puis l'identifiant.
+     */
+    private static long cle(long jourRetourPrevu, int id) {
+        long jour = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, jourRetourPrevu));
+        return (jour << 32) | ((id ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,198 @@
+package model;
+
+import util.EcritureGroupee;
+import util.Journal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Journal commun aux livres et aux emprunts.
+ * Un emprunt ou un retour, qui modifie à la fois un emprunt et le stock d'un livre, est décrit par un
+ * seul enregistrement : il devient durable en une seule écriture et ne peut pas être à moitié appliqué.
+ * <p>
+ * Chaque modification journalisée s'exécute entre {@link #debut()} et {@link #fin()}, avant de prendre les
+ * verrous des modèles ; un point de contrôle exclut ces modifications le temps de réécrire les fichiers CSV
+ * de tous les participants, puis vide le journal. Sans fichier de journal, chaque écriture groupée
+ * réécrit directement les fichiers CSV.
+ */
+final class JournalPartage {
+    private final Journal journal; // Journal sur disque (null si le mode journalisé est désactivé)
+    private final int seuil; // Nombre minimal d'enregistrements déclenchant un point de contrôle
+    private final ReentrantReadWriteLock verrouPointDeControle = new ReentrantReadWriteLock(); // Partagé par les modifications, exclusif pour un point de contrôle
+    private final List<BooleanSupplier> sauvegardes = new CopyOnWriteArrayList<>(); // Réécriture du CSV de chaque participant
+    private final List<IntSupplier> tailles = new CopyOnWriteArrayList<>(); // Nombre de lignes du CSV de chaque participant
+    private final List<String> enAttente = new ArrayList<>(); // Enregistrements pas encore écrits (protégés par leur propre moniteur)
+    private final EcritureGroupee persistance; // Écrivain en arrière-plan regroupant les écritures
+
+    /**
+     * Constructeur de la classe JournalPartage.
+     *
+     * @param chemin Le chemin du fichier du journal, ou null pour réécrire les CSV à chaque écriture groupée.
+     * @param seuil  Le nombre minimal d'enregistrements déclenchant un point de contrôle.
+     */
+    JournalPartage(String chemin, int seuil) {
+        this.journal = chemin != null ? new Journal(chemin) : null;
+        this.seuil = seuil;
+        this.persistance = new EcritureGroupee("journal", this::ecrire, EcritureGroupee.DELAI_PAR_DEFAUT);
+    }
+
+    /**
+     * Enregistre un participant dont le fichier CSV est réécrit lors de chaque point de contrôle.
+     *
+     * @param sauvegarde Réécrit le CSV du participant et retourne false en cas d'échec.
+     * @param taille     Obtient le nombre de lignes du CSV du participant, qui fixe le coût de sa réécriture.
+     */
+    void participer(BooleanSupplier sauvegarde, IntSupplier taille) {
+        sauvegardes.add(sauvegarde);
+        tailles.add(taille);
+    }
+
+    /**
+     * Indique si les modifications sont ajoutées à un journal sur disque.
+     *
+     * @return true en mode journalisé, false sinon.
+     */
+    boolean estJournalise() {
+        return journal != null;
+    }
+
+    /**
+     * Relit le journal et transmet chaque enregistrement au consommateur, dans l'ordre d'écriture.
+     *
+     * @param consommateur L'action à appliquer à chaque enregistrement.
+     */
+    void rejouer(Consumer<String> consommateur) {
+        if (journal != null) {
+            journal.rejouer(consommateur);
+        }
+    }
+
+    /**
+     * Marque le début d'une modification journalisée. À appeler avant de prendre les verrous des modèles.
+     */
+    void debut() {
+        verrouPointDeControle.readLock().lock();
+    }
+
+    /**
+     * Marque la fin d'une modification journalisée.
+     */
+    void fin() {
+        verrouPointDeControle.readLock().unlock();
+    }
+
+    /**
+     * Ajoute un enregistrement en attente d'écriture. À appeler entre {@link #debut()} et {@link #fin()},
+     * dans la même section critique que la modification en mémoire qu'il décrit.
+     *
+     * @param enregistrement L'enregistrement à ajouter (sans saut de ligne).
+     */
+    void ajouter(String enregistrement) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (enAttente) {
+            enAttente.add(enregistrement);
+        }
+    }
+
+    /**
+     * Planifie l'écriture des modifications. À appeler après {@link #fin()} et sans verrou de modèle.
+     *
+     * @return Une promesse terminée lorsque les modifications sont écrites.
+     */
+    CompletableFuture<Void> signaler() {
+        return persistance.signaler();
+    }
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà signalées sont écrites.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    CompletableFuture<Void> attendre() {
+        return persistance.attendre();
+    }
+
+    /**
+     * Réécrit les fichiers CSV de tous les participants puis vide le journal.
+     * Les modifications journalisées sont suspendues pendant l'opération.
+     *
+     * @return true si tous les fichiers ont été écrits, false sinon (le journal est alors conservé).
+     */
+    boolean pointDeControle() {
+        verrouPointDeControle.writeLock().lock();
+        try {
+            for (BooleanSupplier sauvegarde : sauvegardes) {
+                if (!sauvegarde.getAsBoolean()) {
+                    return false;
+                }
+            }
+            if (journal != null) {
+                journal.vider();
+            }
+            return true;
+        } finally {
+            verrouPointDeControle.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Écrit les modifications en attente et arrête l'écrivain en arrière-plan.
+     */
+    void fermer() {
+        persistance.fermer();
+    }
+
+    /**
+     * Écriture groupée : ajout au journal des enregistrements en attente en mode journalisé,
+     * réécriture des CSV sinon. Un point de contrôle est effectué lorsque le journal atteint sa taille maximale.
+     * Cette taille croît avec les fichiers CSV : un point de contrôle réécrit tous les fichiers, et un seuil fixe
+     * rendrait le coût des ajouts en masse quadratique. Le journal ne dépasse ainsi jamais la moitié des données,
+     * ce qui borne aussi la durée de sa relecture au démarrage.
+     *
+     * @return true si l'écriture a réussi, false sinon.
+     */
+    private boolean ecrire() {
+        if (journal == null) {
+            return pointDeControle();
+        }
+
+        List<String> lot;
+        synchronized (enAttente) {
+            lot = new ArrayList<>(enAttente);
+            enAttente.clear();
+        }
+        if (!journal.ajouterTous(lot)) {
+            // Remettre le lot en tête pour la prochaine écriture
+            synchronized (enAttente) {
+                enAttente.addAll(0, lot);
+            }
+            return false;
+        }
+        if (journal.getNombreEnregistrements() >= seuilCourant()) {
+            pointDeControle();
+        }
+        return true;
+    }
+
+    /**
+     * Calcule le nombre d'enregistrements déclenchant le prochain point de contrôle.
+     *
+     * @return Le seuil minimal, ou la moitié du nombre total de lignes des CSV s'il est plus grand.
+     */
+    private int seuilCourant() {
+        long lignes = 0;
+        for (IntSupplier taille : tailles) {
+            lignes += taille.getAsInt();
+        }
+        return (int) Math.max(seuil, lignes / 2);
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * Représente un livre dans le système de bibliothèque.
  * Contient des informations telles que l'ID, l'ISBN, le titre, l'auteur, l'année de publication, le genre et la quantité disponible.
@@ -11,7 +13,13 @@ public class Livre {
     private String auteur; // Auteur du livre
     private int anneePublication; // Année de publication du livre
     private String genre; // Genre du livre
-    private int quantite; // Quantité disponible du livre
+    private volatile int quantite; // Quantité disponible du livre, modifiée atomiquement par les emprunts et retours
+    private volatile int version; // Version de l'enregistrement, incrémentée à chaque modification
+
+    private static final AtomicIntegerFieldUpdater<Livre> QUANTITE =
+            AtomicIntegerFieldUpdater.newUpdater(Livre.class, "quantite"); // Accès atomique à la quantité
+    private static final AtomicIntegerFieldUpdater<Livre> VERSION =
+            AtomicIntegerFieldUpdater.newUpdater(Livre.class, "version"); // Accès atomique à la version
 
     /**
      * Constructeur de la classe Livre.
@@ -160,6 +168,47 @@ public class Livre {
         this.quantite = quantite;
     }
 
+    /**
+     * Obtient la version de l'enregistrement, incrémentée à chaque modification.
+     *
+     * @return La version du livre.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Définit la version de l'enregistrement.
+     * Une modification n'est acceptée que si elle porte la version actuellement enregistrée.
+     *
+     * @param version La version du livre.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Ajuste atomiquement la quantité disponible, sans jamais la rendre négative.
+     * Les ajustements concurrents d'un même livre sont réessayés jusqu'à réussir (compare-and-set).
+     * Un ajustement réussi incrémente la version du livre.
+     *
+     * @param delta La variation de la quantité (-1 pour réserver un exemplaire, +1 pour le libérer).
+     * @return La nouvelle quantité, ou -1 si le stock est insuffisant.
+     */
+    int ajusterQuantite(int delta) {
+        while (true) {
+            int actuelle = quantite;
+            int nouvelle = actuelle + delta;
+            if (nouvelle < 0) {
+                return -1;
+            }
+            if (QUANTITE.compareAndSet(this, actuelle, nouvelle)) {
+                VERSION.incrementAndGet(this);
+                return nouvelle;
+            }
+        }
+    }
+
     /**
      * Retourne une représentation sous forme de chaîne de caractères du livre.
      *
@@ -175,6 +224,7 @@ public class Livre {
                 ", anneePublication=" + anneePublication +
                 ", genre='" + genre + '\'' +
                 ", quantite=" + quantite +
+                ", version=" + version +
                 '}';
     }
 }
@@ -1,52 +1,119 @@
 package model;
 
+import util.ChargeurCsvParallele;
+import util.CsvReader;
+import util.CsvWriter;
+import util.EcritureAtomique;
+import util.EcrivainExport;
+import util.IndexedList;
+import util.Page;
+import util.IntHashMap;
+import util.Isbn;
+import util.OptionsExport;
+import util.PrefixTrie;
+import util.SnapshotReader;
+import util.SnapshotWriter;
+import util.TrigramIndex;
+import util.VerrousParCle;
+
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Modèle pour gérer les livres dans le système de bibliothèque.
  * Fournit des méthodes pour ajouter, modifier, supprimer et rechercher des livres,
  * ainsi que pour sauvegarder et charger les données depuis un fichier CSV.
+ * <p>
+ * En mode journalisé, chaque modification ajoute un court enregistrement au journal au lieu de
+ * réécrire tout le fichier CSV ; le journal est replié dans le CSV lors d'un point de contrôle.
+ * Ce journal est partagé avec le modèle des emprunts, afin qu'un emprunt et le mouvement de stock
+ * qu'il entraîne soient écrits ensemble. Les écritures sont effectuées en arrière-plan et regroupées :
+ * {@link #attendreEcriture()} permet d'attendre que les modifications soient durables.
+ * <p>
+ * Les quantités disponibles sont suivies par un {@link StockLivres} : un emprunt ou un retour ajuste
+ * le stock de son livre sans prendre le verrou des livres, sous le seul verrou réparti de ce livre.
  */
-public class LivreModel implements LivreModelInterface {
-    private List<Livre> livres; // Liste des livres chargés
-    private static final String CSV_FILE_PATH = "src/data/livres.csv"; // Chemin du fichier CSV des livres
+public final class LivreModel implements LivreModelInterface {
+    private final IndexedList<Livre> livres = new IndexedList<>(Livre::getId); // Livres chargés, indexés par identifiant
+    private final Map<String, int[]> livresParIsbn = new HashMap<>(); // ISBN canonique -> identifiants des livres, triés
+    private final IntHashMap<String[]> valeursIndexees = new IntHashMap<>(); // Identifiant -> {ISBN canonique, titre, auteur} indexés
+    private final TrigramIndex indexTitres = new TrigramIndex(); // Index de trigrammes sur les titres
+    private final TrigramIndex indexAuteurs = new TrigramIndex(); // Index de trigrammes sur les auteurs
+    private final PrefixTrie suggestions = new PrefixTrie(); // Arbre préfixe des titres et auteurs pour l'autocomplétion
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock(); // Protège les livres et les index contre les accès concurrents
+    private final StockLivres stock = new StockLivres(); // Quantités disponibles, ajustées sans verrou global
+    private final VerrousParCle verrousLivres = new VerrousParCle(64); // Sérialisent les modifications et mouvements de stock d'un même livre
+    private final JournalPartage journal; // Journal des modifications, partagé avec le modèle des emprunts
+    private final Ecouteurs<Livre> ecouteurs = new Ecouteurs<>(); // Écouteurs des modifications des livres
+    private static final String CSV_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/livres.csv"; // Chemin du fichier CSV des livres
+    private static final String SNAPSHOT_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/livres.bin"; // Chemin de l'instantané binaire des livres
+    private static final String JOURNAL_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/livres.journal"; // Chemin du journal des livres et des emprunts
+    private static final int SEUIL_POINT_DE_CONTROLE = 1000; // Nombre d'enregistrements déclenchant un point de contrôle
 
     /**
      * Constructeur de la classe LivreModel.
-     * Initialise la liste des livres en la chargeant depuis le fichier CSV.
+     * Initialise la liste des livres en mode journalisé.
      */
     public LivreModel() {
-        this.livres = new ArrayList<>();
-        this.livres = loadBooksFromCSV();
+        this(true);
     }
 
     /**
-     * Ajoute un nouveau livre au système et le sauvegarde dans le fichier CSV.
+     * Constructeur de la classe LivreModel.
+     * Charge les livres depuis l'instantané binaire ou le fichier CSV, puis rejoue le journal en mode journalisé.
+     *
+     * @param journalise true pour ajouter les modifications au journal, false pour réécrire le CSV après chaque série de modifications.
+     */
+    public LivreModel(boolean journalise) {
+        for (Livre livre : chargerLivres()) {
+            if (!livres.add(livre)) {
+                System.err.println("Livre ignoré (identifiant en double): " + livre.getId());
+            }
+        }
+        this.journal = new JournalPartage(journalise ? JOURNAL_FILE_PATH : null, SEUIL_POINT_DE_CONTROLE);
+        journal.rejouer(this::appliquerEnregistrement);
+        journal.participer(this::ecrireCsv, this::compterLivres);
+        for (Livre livre : livres) {
+            indexer(livre);
+        }
+    }
+
+    /**
+     * Ajoute un nouveau livre au système et enregistre la modification.
      *
      * @param livre Le livre à ajouter.
      */
     @Override
     public void ajouterLivre(Livre livre) {
-        livres.add(livre);
-        saveBooksToCSV();
+        if (journaliser(livre.getId(), () -> ajouter(livre)) == ResultatOperation.DOUBLON) {
+            System.err.println("Un livre avec l'identifiant " + livre.getId() + " existe déjà.");
+        }
     }
 
     /**
-     * Modifie les informations d'un livre existant.
+     * Modifie les informations d'un livre existant, si personne ne l'a modifié depuis sa lecture.
+     * Le livre fourni doit porter la version lue ; en cas de succès, sa version est incrémentée.
      *
      * @param livre Le livre avec les nouvelles informations.
+     * @return {@link ResultatOperation#APPLIQUE}, {@link ResultatOperation#CONFLIT} si le livre a été modifié
+     * entre-temps (y compris par un emprunt ou un retour), ou {@link ResultatOperation#INTROUVABLE}.
      */
     @Override
-    public void modifierLivre(Livre livre) {
-        for (int i = 0; i < livres.size(); i++) {
-            if (livres.get(i).getId() == livre.getId()) {
-                livres.set(i, livre);
-                saveBooksToCSV();
-                break;
-            }
-        }
+    public ResultatOperation modifierLivre(Livre livre) {
+        return journaliser(livre.getId(), () -> modifier(livre));
     }
 
     /**
@@ -56,8 +123,40 @@ public class LivreModel implements LivreModelInterface {
      */
     @Override
     public void supprimerLivre(int id) {
-        livres.removeIf(livre -> livre.getId() == id);
-        saveBooksToCSV();
+        journaliser(id, () -> supprimer(id));
+    }
+
+    /**
+     * Ajoute plusieurs livres en une seule opération : un seul passage sous le verrou et une seule écriture.
+     *
+     * @param lot Les livres à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot ({@link ResultatOperation#DOUBLON} si l'identifiant existe déjà).
+     */
+    @Override
+    public List<ResultatOperation> ajouterLivres(Collection<Livre> lot) {
+        return journaliserLot(lot, this::ajouter);
+    }
+
+    /**
+     * Modifie plusieurs livres en une seule opération, chacun à condition que sa version soit à jour.
+     *
+     * @param lot Les livres avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    @Override
+    public List<ResultatOperation> modifierLivres(Collection<Livre> lot) {
+        return journaliserLot(lot, this::modifier);
+    }
+
+    /**
+     * Supprime plusieurs livres en une seule opération.
+     *
+     * @param ids Les identifiants des livres à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    @Override
+    public List<ResultatOperation> supprimerLivres(Collection<Integer> ids) {
+        return journaliserLot(ids, this::supprimer);
     }
 
     /**
@@ -67,7 +166,142 @@ public class LivreModel implements LivreModelInterface {
      */
     @Override
     public List<Livre> listerLivres() {
-        return new ArrayList<>(livres);
+        verrou.readLock().lock();
+        try {
+            return livres.toList();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtient le nombre de livres, sans copier la liste.
+     *
+     * @return Le nombre de livres.
+     */
+    @Override
+    public int compterLivres() {
+        verrou.readLock().lock();
+        try {
+            return livres.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère une page de livres, par identifiant croissant.
+     * Un ajout ou une suppression avant la page décale les pages suivantes ; pour parcourir tous les livres
+     * pendant des modifications, préférer {@link #parcourirLivres(String, int)}.
+     *
+     * @param debut  Le rang du premier livre, à partir de 0.
+     * @param limite Le nombre maximal de livres.
+     * @return Les livres de la page.
+     * @throws IllegalArgumentException Si le rang ou la limite est négatif.
+     */
+    @Override
+    public List<Livre> listerLivres(int debut, int limite) {
+        verrou.readLock().lock();
+        try {
+            return livres.page(debut, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère la page de livres qui suit un curseur, par identifiant croissant.
+     * Un parcours complet ne saute ni ne répète aucun livre présent du début à la fin du parcours.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de livres.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     * @throws IllegalArgumentException Si le curseur est invalide ou la limite négative.
+     */
+    @Override
+    public Page<Livre> parcourirLivres(String curseur, int limite) {
+        verrou.readLock().lock();
+        try {
+            return livres.pageApres(curseur, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exporte les livres en flux, par identifiant croissant, sans copier la liste.
+     * Les livres sont lus par tranches de {@value EcrivainExport#TAILLE_TRANCHE} livres présents : chaque tranche
+     * est formatée sous le verrou de lecture, puis écrite après l'avoir relâché. La mémoire utilisée ne dépend
+     * donc pas du nombre de livres, et les modifications ne restent pas bloquées pendant l'écriture.
+     * La période des options porte sur l'année de publication.
+     *
+     * @param sortie  La destination ; elle n'est pas fermée.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de livres exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    @Override
+    public long exporterLivres(OutputStream sortie, OptionsExport options) throws IOException {
+        EcrivainExport ecrivain = new EcrivainExport(sortie, options,
+                "id", "isbn", "titre", "auteur", "anneePublication", "genre", "quantite", "version");
+        String curseur = null;
+        do {
+            verrou.readLock().lock();
+            try {
+                Page<Livre> tranche = livres.pageApres(curseur, EcrivainExport.TAILLE_TRANCHE);
+                for (Livre livre : tranche.getElements()) {
+                    if (options.retientAnnee(livre.getAnneePublication())) {
+                        ecrivain.champ(livre.getId())
+                                .champ(livre.getIsbn())
+                                .champ(livre.getTitre())
+                                .champ(livre.getAuteur())
+                                .champ(livre.getAnneePublication())
+                                .champ(livre.getGenre())
+                                .champ(livre.getQuantite())
+                                .champ(livre.getVersion())
+                                .finLigne();
+                    }
+                }
+                curseur = tranche.getCurseurSuivant();
+            } finally {
+                verrou.readLock().unlock();
+            }
+            ecrivain.vider();
+        } while (curseur != null);
+        return ecrivain.terminer();
+    }
+
+    /**
+     * Exporte les livres en flux vers un canal. Voir {@link #exporterLivres(OutputStream, OptionsExport)}.
+     *
+     * @param canal   La destination ; il n'est pas fermé.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de livres exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    @Override
+    public long exporterLivres(WritableByteChannel canal, OptionsExport options) throws IOException {
+        return exporterLivres(Channels.newOutputStream(canal), options);
+    }
+
+    /**
+     * Inscrit un écouteur, appelé après chaque ajout, modification ou suppression d'un livre.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    @Override
+    public void ajouterEcouteur(EcouteurModele<Livre> ecouteur) {
+        ecouteurs.ajouter(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    @Override
+    public void retirerEcouteur(EcouteurModele<Livre> ecouteur) {
+        ecouteurs.retirer(ecouteur);
     }
 
     /**
@@ -78,27 +312,63 @@ public class LivreModel implements LivreModelInterface {
      */
     @Override
     public Livre chercherLivreParId(int id) {
-        for (Livre livre : livres) {
-            if (livre.getId() == id) {
-                return livre;
-            }
+        verrou.readLock().lock();
+        try {
+            return livres.get(id);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain livre ajouté.
+     *
+     * @return Un identifiant supérieur à tous ceux déjà attribués.
+     */
+    @Override
+    public int prochainId() {
+        verrou.readLock().lock();
+        try {
+            return livres.getIdMax() + 1;
+        } finally {
+            verrou.readLock().unlock();
         }
-        return null;
     }
 
     /**
      * Recherche un livre par son numéro ISBN.
+     * L'ISBN peut être saisi au format ISBN-10 ou ISBN-13, avec ou sans tirets.
+     * Si plusieurs livres partagent cet ISBN, celui de plus petit identifiant est retourné.
      *
      * @param isbn Le numéro ISBN du livre recherché.
-     * @return Le livre correspondant ou null s'il n'existe pas.
+     * @return Le livre correspondant ou null s'il n'existe pas ou si l'ISBN est vide.
      */
+    @Override
     public Livre chercherLivreParIsbn(String isbn) {
-        for (Livre livre : livres) {
-            if (livre.getIsbn().equalsIgnoreCase(isbn)) {
-                return livre;
-            }
+        verrou.readLock().lock();
+        try {
+            int[] ids = livresParIsbn.get(Isbn.normaliser(isbn));
+            return ids != null ? livres.get(ids[0]) : null;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Propose des complétions pour un titre ou un auteur.
+     *
+     * @param prefixe Le début du texte saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions les plus fréquentes, de la plus fréquente à la moins fréquente.
+     */
+    @Override
+    public List<PrefixTrie.Suggestion> suggerer(String prefixe, int maximum) {
+        verrou.readLock().lock();
+        try {
+            return suggestions.completer(prefixe, maximum);
+        } finally {
+            verrou.readLock().unlock();
         }
-        return null;
     }
 
     /**
@@ -109,13 +379,24 @@ public class LivreModel implements LivreModelInterface {
      */
     @Override
     public List<Livre> chercherLivresParTitre(String titre) {
-        List<Livre> resultats = new ArrayList<>();
-        for (Livre livre : livres) {
-            if (livre.getTitre().toLowerCase().contains(titre.toLowerCase())) {
-                resultats.add(livre);
+        verrou.readLock().lock();
+        try {
+            int[] ids = indexTitres.rechercher(titre);
+            if (ids != null) {
+                return livresParIds(ids);
             }
+
+            // Requête trop courte pour l'index : parcours complet
+            List<Livre> resultats = new ArrayList<>();
+            for (Livre livre : livres) {
+                if (livre.getTitre().toLowerCase().contains(titre.toLowerCase())) {
+                    resultats.add(livre);
+                }
+            }
+            return resultats;
+        } finally {
+            verrou.readLock().unlock();
         }
-        return resultats;
     }
 
     /**
@@ -126,79 +407,603 @@ public class LivreModel implements LivreModelInterface {
      */
     @Override
     public List<Livre> chercherLivresParAuteur(String auteur) {
-        List<Livre> resultats = new ArrayList<>();
-        for (Livre livre : livres) {
-            if (livre.getAuteur().toLowerCase().contains(auteur.toLowerCase())) {
-                resultats.add(livre);
+        verrou.readLock().lock();
+        try {
+            int[] ids = indexAuteurs.rechercher(auteur);
+            if (ids != null) {
+                return livresParIds(ids);
+            }
+
+            // Requête trop courte pour l'index : parcours complet
+            List<Livre> resultats = new ArrayList<>();
+            for (Livre livre : livres) {
+                if (livre.getAuteur().toLowerCase().contains(auteur.toLowerCase())) {
+                    resultats.add(livre);
+                }
+            }
+            return resultats;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replie le journal dans les fichiers CSV des livres et des emprunts puis vide le journal.
+     * Sans effet particulier en mode non journalisé, hormis la sauvegarde des CSV.
+     *
+     * @return true si les CSV ont été écrits et le journal vidé, false si une écriture a échoué ;
+     * le journal est alors conservé pour être rejoué au prochain démarrage.
+     */
+    public boolean pointDeControle() {
+        return journal.pointDeControle();
+    }
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà effectuées sont écrites.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    @Override
+    public CompletableFuture<Void> attendreEcriture() {
+        return journal.attendre();
+    }
+
+    /**
+     * Écrit les modifications en attente et arrête l'écrivain en arrière-plan.
+     * Les modifications ultérieures sont écrites immédiatement.
+     */
+    public void fermer() {
+        journal.fermer();
+    }
+
+    /**
+     * Obtient le journal partagé avec le modèle des emprunts.
+     *
+     * @return Le journal partagé.
+     */
+    JournalPartage getJournal() {
+        return journal;
+    }
+
+    /**
+     * Obtient le stock des exemplaires disponibles.
+     *
+     * @return Le stock, consultable sans verrou.
+     */
+    public StockLivres getStock() {
+        return stock;
+    }
+
+    /**
+     * Obtient les verrous répartis par livre, qui sérialisent les modifications et mouvements de stock d'un même livre.
+     * À prendre après {@link JournalPartage#debut()} et avant les verrous des modèles.
+     *
+     * @return Les verrous, par identifiant de livre.
+     */
+    VerrousParCle getVerrousLivres() {
+        return verrousLivres;
+    }
+
+    /**
+     * Applique le mouvement de stock entraîné par un emprunt ou un retour et l'ajoute au journal,
+     * avec l'état de l'emprunt, dans un seul enregistrement. Le mouvement incrémente la version du livre.
+     * Doit être appelée pendant une modification journalisée ({@link JournalPartage#debut()}), sous le
+     * {@link #getVerrousLivres() verrou du livre}, qui garantit que les enregistrements d'un même livre sont
+     * ajoutés au journal dans l'ordre où leurs quantités ont été fixées. Le verrou des livres n'est pas pris.
+     *
+     * @param emprunt L'emprunt concerné, dans son nouvel état.
+     * @param delta   La variation de la quantité disponible (-1 pour un emprunt, +1 pour un retour).
+     * @return true si le mouvement a été appliqué, false si le livre n'existe pas ou si le stock est insuffisant.
+     */
+    boolean mouvementStock(Emprunt emprunt, int delta) {
+        int quantite = ajusterStock(emprunt.getLivreId(), delta);
+        if (quantite < 0) {
+            return false;
+        }
+        journaliserStock(emprunt, quantite);
+        return true;
+    }
+
+    /**
+     * Applique un mouvement de stock sans l'ajouter au journal, pour réserver un exemplaire avant de publier
+     * l'emprunt correspondant. Un mouvement réservé doit ensuite être soit journalisé avec
+     * {@link #journaliserStock(Emprunt, int)}, soit annulé par le mouvement inverse.
+     * Mêmes conditions d'appel que {@link #mouvementStock(Emprunt, int)}.
+     *
+     * @param livreId L'identifiant du livre.
+     * @param delta   La variation de la quantité disponible.
+     * @return La nouvelle quantité, ou -1 si le livre n'existe pas ou si le stock est insuffisant.
+     */
+    int ajusterStock(int livreId, int delta) {
+        return stock.ajuster(livreId, delta);
+    }
+
+    /**
+     * Ajoute au journal un mouvement de stock appliqué par {@link #ajusterStock(int, int)}, avec l'état de
+     * l'emprunt, dans un seul enregistrement, et le signale aux écouteurs.
+     * Mêmes conditions d'appel que {@link #mouvementStock(Emprunt, int)}.
+     *
+     * @param emprunt  L'emprunt concerné, dans son nouvel état.
+     * @param quantite La quantité du livre fixée par le mouvement.
+     */
+    void journaliserStock(Emprunt emprunt, int quantite) {
+        Livre livre = stock.livre(emprunt.getLivreId());
+        CsvWriter writer = new CsvWriter();
+        writer.champ("T");
+        EmpruntModel.ecrireEmprunt(writer, emprunt);
+        writer.champ(quantite).champ(livre != null ? livre.getVersion() : 0);
+        journal.ajouter(writer.enChaine());
+        if (livre != null) {
+            ecouteurs.notifier(TypeModification.MISE_A_JOUR, livre, livre);
+        }
+    }
+
+    /**
+     * Écrit l'instantané binaire des livres, relu en priorité au prochain démarrage.
+     * L'instantané est remplacé atomiquement : en cas d'échec, le précédent reste intact.
+     */
+    public void sauvegarderInstantane() {
+        verrou.readLock().lock();
+        try {
+            EcritureAtomique.ecrire(SNAPSHOT_FILE_PATH, sortie -> {
+                try (SnapshotWriter writer = new SnapshotWriter(sortie, "livres", livres.size())) {
+                    for (Livre livre : livres) {
+                        writer.entier(livre.getId())
+                                .texte(livre.getIsbn())
+                                .texte(livre.getTitre())
+                                .texte(livre.getAuteur())
+                                .entier(livre.getAnneePublication())
+                                .texte(livre.getGenre())
+                                .entier(livre.getQuantite())
+                                .entier(livre.getVersion());
+                    }
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture de l'instantané: " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Convertit des identifiants issus d'un index en liste de livres.
+     *
+     * @param ids Les identifiants des livres.
+     * @return La liste des livres correspondants.
+     */
+    private List<Livre> livresParIds(int[] ids) {
+        List<Livre> resultats = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            resultats.add(livres.get(id));
+        }
+        return resultats;
+    }
+
+    /**
+     * Ajoute un livre et l'enregistrement qui le décrit. À appeler sous le verrou en écriture.
+     *
+     * @param livre Le livre à ajouter.
+     * @return {@link ResultatOperation#APPLIQUE}, ou {@link ResultatOperation#DOUBLON} si l'identifiant existe déjà.
+     */
+    private ResultatOperation ajouter(Livre livre) {
+        if (!livres.add(livre)) {
+            return ResultatOperation.DOUBLON;
+        }
+        indexer(livre);
+        journal.ajouter(enregistrement("A", livre));
+        ecouteurs.notifier(TypeModification.INSERTION, null, livre);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Remplace un livre dont la version est à jour et ajoute l'enregistrement qui le décrit.
+     * À appeler sous le verrou en écriture et le verrou du livre.
+     *
+     * @param livre Le livre avec les nouvelles informations et la version lue.
+     * @return Le résultat de la modification.
+     */
+    private ResultatOperation modifier(Livre livre) {
+        Livre actuel = livres.get(livre.getId());
+        if (actuel == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        if (actuel.getVersion() != livre.getVersion()) {
+            return ResultatOperation.CONFLIT;
+        }
+        livre.setVersion(actuel.getVersion() + 1);
+        livres.replace(livre);
+        desindexer(livre.getId());
+        indexer(livre);
+        journal.ajouter(enregistrement("M", livre));
+        ecouteurs.notifier(TypeModification.MISE_A_JOUR, actuel, livre);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Supprime un livre et ajoute l'enregistrement qui le décrit. À appeler sous le verrou en écriture.
+     *
+     * @param id L'identifiant du livre à supprimer.
+     * @return {@link ResultatOperation#APPLIQUE}, ou {@link ResultatOperation#INTROUVABLE}.
+     */
+    private ResultatOperation supprimer(int id) {
+        Livre livre = livres.remove(id);
+        if (livre == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        desindexer(id);
+        journal.ajouter("D," + id);
+        ecouteurs.notifier(TypeModification.SUPPRESSION, livre, null);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Ajoute un livre aux index des ISBN, des titres et des auteurs, ainsi qu'à l'arbre d'autocomplétion.
+     *
+     * @param livre Le livre à indexer.
+     */
+    private void indexer(Livre livre) {
+        stock.suivre(livre);
+        String cle = Isbn.normaliser(livre.getIsbn());
+        valeursIndexees.put(livre.getId(), new String[]{cle, livre.getTitre(), livre.getAuteur()});
+        indexerIsbn(cle, livre.getId());
+        indexTitres.ajouter(livre.getId(), livre.getTitre());
+        indexAuteurs.ajouter(livre.getId(), livre.getAuteur());
+        suggestions.ajouter(livre.getTitre());
+        suggestions.ajouter(livre.getAuteur());
+    }
+
+    /**
+     * Retire un livre des index, à partir des valeurs enregistrées lors de son indexation.
+     *
+     * @param id L'identifiant du livre à retirer.
+     */
+    private void desindexer(int id) {
+        stock.retirer(id);
+        indexTitres.retirer(id);
+        indexAuteurs.retirer(id);
+        String[] valeurs = valeursIndexees.remove(id);
+        if (valeurs != null) {
+            desindexerIsbn(valeurs[0], id);
+            suggestions.retirer(valeurs[1]);
+            suggestions.retirer(valeurs[2]);
+        }
+    }
+
+    /**
+     * Ajoute un livre à l'index des ISBN, parmi les autres livres de même ISBN. Un ISBN vide n'est pas indexé.
+     *
+     * @param cle L'ISBN canonique du livre.
+     * @param id  L'identifiant du livre.
+     */
+    private void indexerIsbn(String cle, int id) {
+        if (cle.isEmpty()) {
+            return;
+        }
+        int[] ids = livresParIsbn.get(cle);
+        if (ids == null) {
+            livresParIsbn.put(cle, new int[]{id});
+            return;
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            position = -position - 1;
+            int[] nouveaux = new int[ids.length + 1];
+            System.arraycopy(ids, 0, nouveaux, 0, position);
+            nouveaux[position] = id;
+            System.arraycopy(ids, position, nouveaux, position + 1, ids.length - position);
+            livresParIsbn.put(cle, nouveaux);
+        }
+    }
+
+    /**
+     * Retire un livre de l'index des ISBN ; les autres livres de même ISBN y restent.
+     *
+     * @param cle L'ISBN canonique avec lequel le livre a été indexé.
+     * @param id  L'identifiant du livre.
+     */
+    private void desindexerIsbn(String cle, int id) {
+        int[] ids = livresParIsbn.get(cle);
+        if (ids == null) {
+            return;
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        if (ids.length == 1) {
+            livresParIsbn.remove(cle);
+            return;
+        }
+        int[] restants = new int[ids.length - 1];
+        System.arraycopy(ids, 0, restants, 0, position);
+        System.arraycopy(ids, position + 1, restants, position, restants.length - position);
+        livresParIsbn.put(cle, restants);
+    }
+
+    /**
+     * Exécute une modification sous le verrou en écriture puis planifie l'écriture en arrière-plan des
+     * enregistrements qu'elle a ajoutés au journal. La modification est sérialisée avec les emprunts et
+     * retours du livre concerné ; aucun verrou n'est conservé au-delà de son exécution.
+     *
+     * @param id           L'identifiant du livre modifié.
+     * @param modification Applique la modification, ajoute au journal les enregistrements la décrivant et retourne son résultat.
+     * @return Le résultat de la modification.
+     */
+    private ResultatOperation journaliser(int id, Supplier<ResultatOperation> modification) {
+        ResultatOperation resultat;
+        ReentrantLock verrouLivre = verrousLivres.pour(id);
+        journal.debut();
+        verrouLivre.lock();
+        try {
+            verrou.writeLock().lock();
+            try {
+                resultat = modification.get();
+            } finally {
+                verrou.writeLock().unlock();
             }
+        } finally {
+            verrouLivre.unlock();
+            journal.fin();
+        }
+        if (resultat == ResultatOperation.APPLIQUE) {
+            journal.signaler();
+        }
+        return resultat;
+    }
+
+    /**
+     * Applique une modification à chaque élément d'un lot en prenant une seule fois les verrous,
+     * puis planifie une seule écriture pour tout le lot. Le lot portant sur de nombreux livres,
+     * tous les verrous répartis sont pris.
+     *
+     * @param lot          Les éléments du lot.
+     * @param modification Applique la modification d'un élément, ajoute au journal les enregistrements la décrivant et retourne son résultat.
+     * @param <T>          Le type des éléments du lot.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    private <T> List<ResultatOperation> journaliserLot(Collection<T> lot, Function<T, ResultatOperation> modification) {
+        List<ResultatOperation> resultats = new ArrayList<>(lot.size());
+        journal.debut();
+        verrousLivres.verrouillerTous();
+        try {
+            verrou.writeLock().lock();
+            try {
+                for (T element : lot) {
+                    resultats.add(modification.apply(element));
+                }
+            } finally {
+                verrou.writeLock().unlock();
+            }
+        } finally {
+            verrousLivres.deverrouillerTous();
+            journal.fin();
+        }
+        if (resultats.contains(ResultatOperation.APPLIQUE)) {
+            journal.signaler();
         }
         return resultats;
     }
 
     /**
-     * Sauvegarde la liste actuelle des livres dans le fichier CSV.
+     * Réécrit le fichier CSV à partir d'un état cohérent des livres ; appelée lors d'un point de contrôle.
+     *
+     * @return true si l'écriture a réussi, false sinon.
      */
-    private void saveBooksToCSV() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(CSV_FILE_PATH))) {
-            writer.write("id,isbn,titre,auteur,anneePublication,genre,quantite");
-            writer.newLine();
-            for (Livre livre : livres) {
-                writer.write(
-                        livre.getId() + "," +
-                                livre.getIsbn() + "," +
-                                livre.getTitre() + "," +
-                                livre.getAuteur() + "," +
-                                livre.getAnneePublication() + "," +
-                                livre.getGenre() + "," +
-                                livre.getQuantite()
+    private boolean ecrireCsv() {
+        verrou.readLock().lock();
+        try {
+            return saveBooksToCSV();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Formate l'enregistrement du journal décrivant l'ajout ou la modification d'un livre.
+     *
+     * @param operation Le code de l'opération ("A" ou "M").
+     * @param livre     Le livre ajouté ou modifié.
+     * @return L'enregistrement, sans saut de ligne.
+     */
+    private static String enregistrement(String operation, Livre livre) {
+        CsvWriter writer = new CsvWriter();
+        writer.champ(operation);
+        ecrireLivre(writer, livre);
+        return writer.enChaine();
+    }
+
+    /**
+     * Applique un enregistrement du journal à la liste des livres chargés.
+     * Les ajouts et modifications remplacent le livre de même identifiant et les mouvements de stock
+     * fixent la quantité et la version, ce qui rend la relecture idempotente. Les enregistrements propres
+     * aux emprunts sont ignorés. Les enregistrements écrits avant l'ajout des versions restent acceptés.
+     *
+     * @param enregistrement L'enregistrement à appliquer.
+     */
+    private void appliquerEnregistrement(String enregistrement) {
+        try (CsvReader reader = new CsvReader(new StringReader(enregistrement))) {
+            if (!reader.lireEnregistrement()) {
+                return;
+            }
+            if ((reader.egal(0, "A") || reader.egal(0, "M")) && (reader.nombreChamps() == 8 || reader.nombreChamps() == 9)) {
+                livres.put(lireLivre(reader, 1, reader.nombreChamps() == 9));
+            } else if (reader.egal(0, "D") && reader.nombreChamps() == 2) {
+                livres.remove(reader.entier(1));
+            } else if (reader.egal(0, "T") && reader.nombreChamps() == 10) {
+                Livre livre = livres.get(reader.entier(2));
+                if (livre != null) {
+                    livre.setQuantite(reader.entier(8));
+                    livre.setVersion(reader.entier(9));
+                }
+            } else if (reader.egal(0, "T") && reader.nombreChamps() == 8) {
+                Livre livre = livres.get(reader.entier(2));
+                if (livre != null) {
+                    livre.setQuantite(reader.entier(7));
+                }
+            } else if (!reader.egal(0, "E") && !reader.egal(0, "S")) {
+                System.err.println("Enregistrement ignoré: " + enregistrement);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Enregistrement ignoré: " + enregistrement);
+        }
+    }
+
+    /**
+     * Charge les livres depuis l'instantané binaire s'il est au moins aussi récent que le fichier CSV,
+     * depuis le fichier CSV sinon. Un instantané illisible ou corrompu est ignoré.
+     *
+     * @return Une liste des livres chargés.
+     */
+    private List<Livre> chargerLivres() {
+        EcritureAtomique.recuperer(CSV_FILE_PATH, EcritureAtomique::texteComplet);
+        EcritureAtomique.recuperer(SNAPSHOT_FILE_PATH, chemin -> SnapshotReader.estValide(chemin, "livres"));
+        File instantane = new File(SNAPSHOT_FILE_PATH);
+        if (instantane.exists() && instantane.lastModified() >= new File(CSV_FILE_PATH).lastModified()) {
+            try {
+                return loadBooksFromSnapshot();
+            } catch (IOException e) {
+                System.err.println("Instantané ignoré: " + e.getMessage());
+            }
+        }
+        return loadBooksFromCSV();
+    }
+
+    /**
+     * Charge les livres depuis l'instantané binaire.
+     *
+     * @return Une liste des livres chargés depuis l'instantané.
+     * @throws IOException Si l'instantané est illisible, tronqué ou corrompu.
+     */
+    private List<Livre> loadBooksFromSnapshot() throws IOException {
+        try (SnapshotReader reader = new SnapshotReader(SNAPSHOT_FILE_PATH, "livres")) {
+            int nombre = reader.nombreEnregistrements();
+            List<Livre> loaded = new ArrayList<>(nombre);
+            for (int i = 0; i < nombre; i++) {
+                Livre livre = new Livre(
+                        reader.entier(),  // id
+                        reader.texte(),   // isbn
+                        reader.texte(),   // titre
+                        reader.texte(),   // auteur
+                        reader.entier(),  // anneePublication
+                        reader.texte(),   // genre
+                        reader.entier()   // quantite
                 );
-                writer.newLine();
+                livre.setVersion(reader.entier());
+                loaded.add(livre);
             }
+            reader.verifierFin();
+            return loaded;
+        }
+    }
+
+    /**
+     * Sauvegarde la liste actuelle des livres dans le fichier CSV.
+     *
+     * @return true si le fichier a été écrit, false en cas d'erreur.
+     */
+    private boolean saveBooksToCSV() {
+        try {
+            EcritureAtomique.ecrire(CSV_FILE_PATH, sortie -> {
+                try (CsvWriter writer = new CsvWriter(new BufferedWriter(
+                        new OutputStreamWriter(sortie, StandardCharsets.UTF_8)))) {
+                    writer.champ("id").champ("isbn").champ("titre").champ("auteur")
+                            .champ("anneePublication").champ("genre").champ("quantite")
+                            .champ("version")
+                            .finLigne();
+                    for (Livre livre : livres) {
+                        ecrireLivre(writer, livre);
+                        writer.finLigne();
+                    }
+                }
+            });
+            return true;
         } catch (IOException e) {
             System.err.println("Erreur lors de l'écriture dans le fichier CSV: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Écrit les champs d'un livre, version comprise, dans l'enregistrement CSV en cours.
+     *
+     * @param writer L'écrivain CSV.
+     * @param livre  Le livre à écrire.
+     */
+    static void ecrireLivre(CsvWriter writer, Livre livre) {
+        writer.champ(livre.getId())
+                .champ(livre.getIsbn())
+                .champ(livre.getTitre())
+                .champ(livre.getAuteur())
+                .champ(livre.getAnneePublication())
+                .champ(livre.getGenre())
+                .champ(livre.getQuantite())
+                .champ(livre.getVersion());
+    }
+
+    /**
+     * Construit un livre à partir de l'enregistrement CSV courant.
+     *
+     * @param reader      Le lecteur CSV positionné sur l'enregistrement.
+     * @param debut       L'indice de la première colonne du livre.
+     * @param avecVersion true si la colonne de version suit la quantité ; sinon la version vaut 0.
+     * @return Le livre correspondant.
+     */
+    static Livre lireLivre(CsvReader reader, int debut, boolean avecVersion) {
+        Livre livre = new Livre(
+                reader.entier(debut),        // id
+                reader.texte(debut + 1),     // isbn
+                reader.texte(debut + 2),     // titre
+                reader.texte(debut + 3),     // auteur
+                reader.entier(debut + 4),    // anneePublication
+                reader.texte(debut + 5),     // genre
+                reader.entier(debut + 6)     // quantite
+        );
+        if (avecVersion) {
+            livre.setVersion(reader.entier(debut + 7));
         }
+        return livre;
     }
 
     /**
      * Charge la liste des livres depuis le fichier CSV.
+     * La colonne de version est facultative, pour relire les fichiers écrits avant son ajout.
+     * Au-delà de {@link ChargeurCsvParallele#SEUIL} octets, le fichier est projeté en mémoire et analysé en parallèle.
      *
      * @return Une liste des livres chargés depuis le fichier CSV.
      */
     private List<Livre> loadBooksFromCSV() {
+        File fichier = new File(CSV_FILE_PATH);
+        if (fichier.length() >= ChargeurCsvParallele.SEUIL) {
+            try {
+                return ChargeurCsvParallele.charger(fichier.toPath(), 7, 8,
+                        reader -> lireLivre(reader, 0, reader.nombreChamps() == 8));
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la lecture du fichier CSV: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
         List<Livre> loadedLivres = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(CSV_FILE_PATH))) {
-            String line;
-            boolean isFirstLine = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    // Ignorer l'en-tête
-                    isFirstLine = false;
+        try (CsvReader reader = new CsvReader(
+                new InputStreamReader(new FileInputStream(fichier), StandardCharsets.UTF_8))) {
+            reader.lireEnregistrement(); // Ignorer l'en-tête
+
+            while (reader.lireEnregistrement()) {
+                if (reader.nombreChamps() != 7 && reader.nombreChamps() != 8) { // Vérifie que le nombre de colonnes est correct
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
                     continue;
                 }
-
-                String[] values = line.split(",");
-                if (values.length == 7) { // Vérifie que le nombre de colonnes est correct
-                    Livre livre = new Livre(
-                            Integer.parseInt(values[0]), // id
-                            values[1],                  // isbn
-                            values[2],                  // titre
-                            values[3],                  // auteur
-                            Integer.parseInt(values[4]), // anneePublication
-                            values[5],                  // genre
-                            Integer.parseInt(values[6])  // quantite
-                    );
-                    loadedLivres.add(livre);
-                } else {
-                    System.err.println("Ligne ignorée: " + line);
+                try {
+                    loadedLivres.add(lireLivre(reader, 0, reader.nombreChamps() == 8));
+                } catch (RuntimeException e) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
                 }
             }
         } catch (FileNotFoundException e) {
             System.err.println("Fichier CSV non trouvé: " + CSV_FILE_PATH);
         } catch (IOException e) {
             System.err.println("Erreur lors de la lecture du fichier CSV: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Erreur inattendue: " + e.getMessage());
         }
         return loadedLivres;
     }
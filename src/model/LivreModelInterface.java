@@ -1,6 +1,15 @@
 package model;
 
+import util.OptionsExport;
+import util.Page;
+import util.PrefixTrie;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface pour gérer les livres dans le système de bibliothèque.
@@ -16,11 +25,12 @@ public interface LivreModelInterface {
     void ajouterLivre(Livre livre);
 
     /**
-     * Modifie les informations d'un livre existant.
+     * Modifie les informations d'un livre existant, si sa version est toujours celle du livre fourni.
      *
-     * @param livre Le livre avec les nouvelles informations.
+     * @param livre Le livre avec les nouvelles informations et la version lue.
+     * @return Le résultat de la modification ; {@link ResultatOperation#CONFLIT} si le livre a changé entre-temps.
      */
-    void modifierLivre(Livre livre);
+    ResultatOperation modifierLivre(Livre livre);
 
     /**
      * Supprime un livre du système en fonction de son identifiant.
@@ -29,6 +39,31 @@ public interface LivreModelInterface {
      */
     void supprimerLivre(int id);
 
+    /**
+     * Ajoute plusieurs livres en une seule opération, écrite une seule fois.
+     *
+     * @param lot Les livres à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot.
+     */
+    List<ResultatOperation> ajouterLivres(Collection<Livre> lot);
+
+    /**
+     * Modifie plusieurs livres en une seule opération, écrite une seule fois.
+     * Chaque livre n'est modifié que si sa version est toujours celle du livre fourni.
+     *
+     * @param lot Les livres avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    List<ResultatOperation> modifierLivres(Collection<Livre> lot);
+
+    /**
+     * Supprime plusieurs livres en une seule opération, écrite une seule fois.
+     *
+     * @param ids Les identifiants des livres à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    List<ResultatOperation> supprimerLivres(Collection<Integer> ids);
+
     /**
      * Récupère une liste contenant tous les livres dans le système.
      *
@@ -36,6 +71,66 @@ public interface LivreModelInterface {
      */
     List<Livre> listerLivres();
 
+    /**
+     * Obtient le nombre de livres, sans copier la liste.
+     *
+     * @return Le nombre de livres.
+     */
+    int compterLivres();
+
+    /**
+     * Récupère une page de livres, par identifiant croissant.
+     *
+     * @param debut  Le rang du premier livre, à partir de 0.
+     * @param limite Le nombre maximal de livres.
+     * @return Les livres de la page.
+     */
+    List<Livre> listerLivres(int debut, int limite);
+
+    /**
+     * Récupère la page de livres qui suit un curseur, par identifiant croissant,
+     * sans saut ni répétition pendant des modifications concurrentes.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de livres.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     */
+    Page<Livre> parcourirLivres(String curseur, int limite);
+
+    /**
+     * Exporte les livres en flux, par identifiant croissant, en CSV ou en JSON Lines, sans copier la liste.
+     *
+     * @param sortie  La destination ; elle n'est pas fermée.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de livres exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    long exporterLivres(OutputStream sortie, OptionsExport options) throws IOException;
+
+    /**
+     * Exporte les livres en flux vers un canal, en CSV ou en JSON Lines, sans copier la liste.
+     *
+     * @param canal   La destination ; il n'est pas fermé.
+     * @param options Le format, les champs et la période retenus.
+     * @return Le nombre de livres exportés.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    long exporterLivres(WritableByteChannel canal, OptionsExport options) throws IOException;
+
+    /**
+     * Inscrit un écouteur, appelé après chaque ajout, modification ou suppression d'un livre.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    void ajouterEcouteur(EcouteurModele<Livre> ecouteur);
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    void retirerEcouteur(EcouteurModele<Livre> ecouteur);
+
     /**
      * Recherche un livre par son identifiant.
      *
@@ -44,6 +139,13 @@ public interface LivreModelInterface {
      */
     Livre chercherLivreParId(int id);
 
+    /**
+     * Calcule l'identifiant à attribuer au prochain livre ajouté.
+     *
+     * @return Un identifiant supérieur à tous ceux déjà attribués.
+     */
+    int prochainId();
+
     /**
      * Recherche un livre par son numéro ISBN.
      *
@@ -67,4 +169,21 @@ public interface LivreModelInterface {
      * @return Une liste des livres correspondant au critère.
      */
     List<Livre> chercherLivresParAuteur(String auteur);
+
+    /**
+     * Propose des complétions pour un titre ou un auteur.
+     *
+     * @param prefixe Le début du texte saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions les plus fréquentes, de la plus fréquente à la moins fréquente.
+     */
+    List<PrefixTrie.Suggestion> suggerer(String prefixe, int maximum);
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà effectuées sont écrites.
+     * Les modifications sont écrites en arrière-plan ; cette méthode permet d'attendre qu'elles soient durables.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    CompletableFuture<Void> attendreEcriture();
 }
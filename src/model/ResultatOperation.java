@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * Résultat d'une opération d'écriture sur un modèle.
+ */
+public enum ResultatOperation {
+    APPLIQUE, // L'opération a été appliquée
+    CONFLIT, // L'enregistrement a été modifié entre-temps : la version fournie n'est plus la version enregistrée
+    INTROUVABLE, // Aucun enregistrement ne porte cet identifiant
+    DOUBLON, // Un enregistrement porte déjà cet identifiant
+    REFUSE // L'opération n'est pas permise dans l'état actuel (par exemple, stock insuffisant pour un emprunt)
+}
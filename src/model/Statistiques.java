@@ -0,0 +1,337 @@
+package model;
+
+import util.IntIntHashMap;
+import util.Page;
+import util.TopK;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Statistiques de la bibliothèque, tenues à jour à chaque modification des modèles.
+ * Les totaux et le nombre d'emprunts par livre et par utilisateur sont ajustés par les écouteurs des modèles ;
+ * ces compteurs sont tenus par des {@link TopK}, qui en extraient les K premiers à la demande avec un tas borné,
+ * sans parcourir les emprunts ni allouer d'objet à chaque modification. Les emprunts sont aussi comptés par jour
+ * d'emprunt : un classement sur les derniers jours additionne les compteurs des jours de la période, puis en
+ * extrait les K premiers de la même façon.
+ * <p>
+ * Les compteurs sont protégés par le moniteur de l'instance. Les livres et utilisateurs des classements sont
+ * recherchés dans les modèles après avoir relâché ce moniteur : les écouteurs, appelés sous les verrous des
+ * modèles, ne peuvent ainsi pas former d'interblocage avec une lecture des statistiques.
+ */
+public class Statistiques {
+    private final LivreModel livreModel; // Modèle des livres, pour nommer les livres classés
+    private final UtilisateurModel utilisateurModel; // Modèle des utilisateurs, pour nommer les utilisateurs classés
+    private final TopK empruntsParLivre = new TopK(); // Nombre d'emprunts de chaque livre
+    private final TopK empruntsParUtilisateur = new TopK(); // Nombre d'emprunts de chaque utilisateur
+    private final TreeMap<Long, Jour> empruntsParJour = new TreeMap<>(); // Compteurs des emprunts de chaque jour (jour épochal)
+    private static final int TAILLE_PAGE = 1024; // Nombre d'emprunts lus par page lors du comptage initial
+    private int nombreLivres; // Nombre de livres
+    private int nombreUtilisateurs; // Nombre d'utilisateurs
+    private int nombreEmprunts; // Nombre d'emprunts
+
+    /**
+     * Rang d'un élément dans un classement.
+     *
+     * @param element  Le livre ou l'utilisateur classé.
+     * @param emprunts Son nombre d'emprunts.
+     * @param <T>      Le type de l'élément.
+     */
+    public record Rang<T>(T element, int emprunts) {
+    }
+
+    /**
+     * Constructeur de la classe Statistiques.
+     * S'inscrit auprès des modèles puis compte leur contenu actuel. Doit être créé avant que les modèles
+     * ne soient modifiés par d'autres threads, comme le fait {@link Bibliotheque}.
+     *
+     * @param livreModel       Le modèle des livres.
+     * @param utilisateurModel Le modèle des utilisateurs.
+     * @param empruntModel     Le modèle des emprunts.
+     */
+    public Statistiques(LivreModel livreModel, UtilisateurModel utilisateurModel, EmpruntModel empruntModel) {
+        this.livreModel = livreModel;
+        this.utilisateurModel = utilisateurModel;
+
+        livreModel.ajouterEcouteur((type, avant, apres) -> {
+            if (type != TypeModification.MISE_A_JOUR) {
+                compterLivre(type == TypeModification.INSERTION ? 1 : -1);
+            }
+        });
+        utilisateurModel.ajouterEcouteur((type, avant, apres) -> {
+            if (type != TypeModification.MISE_A_JOUR) {
+                compterUtilisateur(type == TypeModification.INSERTION ? 1 : -1);
+            }
+        });
+        empruntModel.ajouterEcouteur(this::empruntModifie);
+
+        int livres = livreModel.compterLivres();
+        int utilisateurs = utilisateurModel.compterUtilisateurs();
+        synchronized (this) {
+            nombreLivres = livres;
+            nombreUtilisateurs = utilisateurs;
+        }
+        // Les emprunts existants sont comptés page par page, sans copier toute la liste
+        Page<Emprunt> page = empruntModel.parcourirEmprunts(null, TAILLE_PAGE);
+        while (true) {
+            synchronized (this) {
+                for (Emprunt emprunt : page.getElements()) {
+                    compterEmprunt(emprunt, 1);
+                }
+            }
+            if (page.getCurseurSuivant() == null) {
+                break;
+            }
+            page = empruntModel.parcourirEmprunts(page.getCurseurSuivant(), TAILLE_PAGE);
+        }
+    }
+
+    /**
+     * Obtient le nombre de livres.
+     *
+     * @return Le nombre de livres.
+     */
+    public synchronized int getNombreLivres() {
+        return nombreLivres;
+    }
+
+    /**
+     * Obtient le nombre d'utilisateurs.
+     *
+     * @return Le nombre d'utilisateurs.
+     */
+    public synchronized int getNombreUtilisateurs() {
+        return nombreUtilisateurs;
+    }
+
+    /**
+     * Obtient le nombre d'emprunts, rendus ou non.
+     *
+     * @return Le nombre d'emprunts.
+     */
+    public synchronized int getNombreEmprunts() {
+        return nombreEmprunts;
+    }
+
+    /**
+     * Obtient le nombre d'emprunts d'un livre.
+     *
+     * @param livreId L'identifiant du livre.
+     * @return Le nombre d'emprunts, rendus ou non.
+     */
+    public synchronized int getEmpruntsDuLivre(int livreId) {
+        return empruntsParLivre.compte(livreId);
+    }
+
+    /**
+     * Obtient le nombre d'emprunts d'un utilisateur.
+     *
+     * @param utilisateurId L'identifiant de l'utilisateur.
+     * @return Le nombre d'emprunts, rendus ou non.
+     */
+    public synchronized int getEmpruntsDeLUtilisateur(int utilisateurId) {
+        return empruntsParUtilisateur.compte(utilisateurId);
+    }
+
+    /**
+     * Obtient le nombre d'emprunts effectués sur une période.
+     *
+     * @param jours Le nombre de jours de la période, aujourd'hui compris, ou 0 pour tout l'historique.
+     * @return Le nombre d'emprunts dont la date d'emprunt tombe dans la période.
+     */
+    public synchronized int getNombreEmprunts(int jours) {
+        if (jours <= 0) {
+            return nombreEmprunts;
+        }
+        int total = 0;
+        for (Jour jour : periode(jours).values()) {
+            total += jour.total;
+        }
+        return total;
+    }
+
+    /**
+     * Obtient les livres les plus empruntés. Les livres supprimés depuis leurs emprunts sont ignorés.
+     *
+     * @param k Le nombre maximal de livres.
+     * @return Les livres par nombre d'emprunts décroissant, puis par identifiant croissant.
+     */
+    public List<Rang<Livre>> livresLesPlusEmpruntes(int k) {
+        return livresLesPlusEmpruntes(k, 0);
+    }
+
+    /**
+     * Obtient les livres les plus empruntés sur une période. Les livres supprimés depuis leurs emprunts sont ignorés.
+     *
+     * @param k     Le nombre maximal de livres.
+     * @param jours Le nombre de jours de la période, aujourd'hui compris, ou 0 pour tout l'historique.
+     * @return Les livres par nombre d'emprunts décroissant, puis par identifiant croissant.
+     */
+    public List<Rang<Livre>> livresLesPlusEmpruntes(int k, int jours) {
+        return classer(k, n -> jours <= 0 ? empruntsParLivre.premiers(n) : premiersSurPeriode(n, jours, true),
+                livreModel::chercherLivreParId);
+    }
+
+    /**
+     * Obtient les utilisateurs ayant le plus emprunté. Les utilisateurs supprimés sont ignorés.
+     *
+     * @param k Le nombre maximal d'utilisateurs.
+     * @return Les utilisateurs par nombre d'emprunts décroissant, puis par identifiant croissant.
+     */
+    public List<Rang<Utilisateur>> utilisateursLesPlusActifs(int k) {
+        return utilisateursLesPlusActifs(k, 0);
+    }
+
+    /**
+     * Obtient les utilisateurs ayant le plus emprunté sur une période. Les utilisateurs supprimés sont ignorés.
+     *
+     * @param k     Le nombre maximal d'utilisateurs.
+     * @param jours Le nombre de jours de la période, aujourd'hui compris, ou 0 pour tout l'historique.
+     * @return Les utilisateurs par nombre d'emprunts décroissant, puis par identifiant croissant.
+     */
+    public List<Rang<Utilisateur>> utilisateursLesPlusActifs(int k, int jours) {
+        return classer(k, n -> jours <= 0 ? empruntsParUtilisateur.premiers(n) : premiersSurPeriode(n, jours, false),
+                utilisateurModel::chercherUtilisateurParId);
+    }
+
+    /**
+     * Construit un classement : lit les premiers identifiants sous le moniteur, puis recherche les éléments
+     * correspondants sans le moniteur. Si des éléments classés ont été supprimés, davantage d'identifiants sont lus.
+     *
+     * @param k        Le nombre maximal d'éléments.
+     * @param premiers Donne au plus n paires {identifiant, compteur} par compteur décroissant ; appelée sous le moniteur.
+     * @param chercher Recherche un élément par identifiant, ou retourne null s'il n'existe plus.
+     * @param <T>      Le type des éléments classés.
+     * @return Les éléments classés et leur nombre d'emprunts.
+     */
+    private <T> List<Rang<T>> classer(int k, IntFunction<int[][]> premiers, IntFunction<T> chercher) {
+        List<Rang<T>> resultats = new ArrayList<>(k);
+        int demandes = k;
+        while (true) {
+            int[][] rangs;
+            synchronized (this) {
+                rangs = premiers.apply(demandes);
+            }
+            resultats.clear();
+            for (int[] rang : rangs) {
+                T element = chercher.apply(rang[0]);
+                if (element != null && resultats.size() < k) {
+                    resultats.add(new Rang<>(element, rang[1]));
+                }
+            }
+            if (resultats.size() >= k || rangs.length < demandes) {
+                return resultats; // Classement complet ou épuisé
+            }
+            demandes *= 2; // Des éléments classés ont été supprimés : élargir la recherche
+        }
+    }
+
+    /**
+     * Additionne les compteurs des jours d'une période et en extrait les premiers. À appeler sous le moniteur.
+     *
+     * @param k        Le nombre maximal d'identifiants.
+     * @param jours    Le nombre de jours de la période, aujourd'hui compris.
+     * @param parLivre true pour classer les livres, false pour classer les utilisateurs.
+     * @return Des paires {identifiant, compteur}, par compteur décroissant puis identifiant croissant.
+     */
+    private int[][] premiersSurPeriode(int k, int jours, boolean parLivre) {
+        TopK topK = new TopK();
+        for (Jour jour : periode(jours).values()) {
+            (parLivre ? jour.livres : jour.utilisateurs).pourChaque(topK::ajouter);
+        }
+        return topK.premiers(k);
+    }
+
+    /**
+     * Obtient les compteurs des jours d'une période se terminant aujourd'hui. À appeler sous le moniteur.
+     *
+     * @param jours Le nombre de jours de la période, aujourd'hui compris.
+     * @return Les compteurs de chaque jour de la période ayant au moins un emprunt.
+     */
+    private SortedMap<Long, Jour> periode(int jours) {
+        long aujourdhui = LocalDate.now().toEpochDay();
+        return empruntsParJour.subMap(aujourdhui - jours + 1, true, aujourdhui, true);
+    }
+
+    /**
+     * Ajuste le nombre de livres.
+     *
+     * @param delta La variation.
+     */
+    private synchronized void compterLivre(int delta) {
+        nombreLivres += delta;
+    }
+
+    /**
+     * Ajuste le nombre d'utilisateurs.
+     *
+     * @param delta La variation.
+     */
+    private synchronized void compterUtilisateur(int delta) {
+        nombreUtilisateurs += delta;
+    }
+
+    /**
+     * Répercute la modification d'un emprunt sur les compteurs.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'emprunt avant la modification, ou null.
+     * @param apres L'emprunt après la modification, ou null.
+     */
+    private synchronized void empruntModifie(TypeModification type, Emprunt avant, Emprunt apres) {
+        if (avant != null) {
+            compterEmprunt(avant, -1);
+        }
+        if (apres != null) {
+            compterEmprunt(apres, 1);
+        }
+    }
+
+    /**
+     * Ajoute ou retire un emprunt des compteurs. À appeler sous le moniteur de l'instance.
+     *
+     * @param emprunt L'emprunt.
+     * @param delta   1 pour l'ajouter, -1 pour le retirer.
+     */
+    private void compterEmprunt(Emprunt emprunt, int delta) {
+        nombreEmprunts += delta;
+        empruntsParLivre.ajouter(emprunt.getLivreId(), delta);
+        empruntsParUtilisateur.ajouter(emprunt.getUtilisateurId(), delta);
+
+        long cle = emprunt.getDateEmprunt().toEpochDay();
+        Jour jour = empruntsParJour.computeIfAbsent(cle, c -> new Jour());
+        jour.ajuster(emprunt, delta);
+        if (jour.total == 0) {
+            empruntsParJour.remove(cle);
+        }
+    }
+
+    /**
+     * Compteurs des emprunts d'un même jour, par livre et par utilisateur.
+     */
+    private static final class Jour {
+        private final IntIntHashMap livres = new IntIntHashMap(4); // Identifiant de livre -> emprunts du jour
+        private final IntIntHashMap utilisateurs = new IntIntHashMap(4); // Identifiant d'utilisateur -> emprunts du jour
+        private int total; // Nombre d'emprunts du jour
+
+        /**
+         * Ajoute ou retire un emprunt des compteurs du jour.
+         *
+         * @param emprunt L'emprunt.
+         * @param delta   1 pour l'ajouter, -1 pour le retirer.
+         */
+        void ajuster(Emprunt emprunt, int delta) {
+            total += delta;
+            if (livres.ajouter(emprunt.getLivreId(), delta) == 0) {
+                livres.remove(emprunt.getLivreId());
+            }
+            if (utilisateurs.ajouter(emprunt.getUtilisateurId(), delta) == 0) {
+                utilisateurs.remove(emprunt.getUtilisateurId());
+            }
+        }
+    }
+}
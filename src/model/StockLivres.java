@@ -0,0 +1,65 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stock des exemplaires disponibles, indexé par identifiant de livre.
+ * Les mouvements de stock, appliqués et journalisés par {@link LivreModel}, ne prennent aucun verrou global :
+ * la recherche passe par une table concurrente et la quantité de chaque livre est ajustée par compare-and-set.
+ * Deux emprunts ne se concurrencent donc que s'ils portent sur le même titre, et la quantité ne devient jamais négative.
+ */
+public class StockLivres {
+    private final ConcurrentHashMap<Integer, Livre> livres = new ConcurrentHashMap<>(); // Livres suivis, par identifiant
+
+    /**
+     * Suit le stock d'un livre, en remplaçant le livre de même identifiant éventuellement suivi.
+     *
+     * @param livre Le livre, dont la quantité devient le stock disponible.
+     */
+    void suivre(Livre livre) {
+        livres.put(livre.getId(), livre);
+    }
+
+    /**
+     * Cesse de suivre le stock d'un livre.
+     *
+     * @param livreId L'identifiant du livre.
+     */
+    void retirer(int livreId) {
+        livres.remove(livreId);
+    }
+
+    /**
+     * Obtient le nombre d'exemplaires disponibles d'un livre.
+     *
+     * @param livreId L'identifiant du livre.
+     * @return La quantité disponible, ou -1 si le livre n'existe pas.
+     */
+    public int disponible(int livreId) {
+        Livre livre = livres.get(livreId);
+        return livre != null ? livre.getQuantite() : -1;
+    }
+
+    /**
+     * Obtient le livre suivi sous un identifiant.
+     *
+     * @param livreId L'identifiant du livre.
+     * @return Le livre, ou null s'il n'est pas suivi.
+     */
+    Livre livre(int livreId) {
+        return livres.get(livreId);
+    }
+
+    /**
+     * Ajuste la quantité disponible d'un livre, sans journaliser le mouvement ;
+     * réservé à {@link LivreModel#ajusterStock(int, int)}.
+     *
+     * @param livreId L'identifiant du livre.
+     * @param delta   La variation de la quantité.
+     * @return La nouvelle quantité, ou -1 si le livre n'existe pas ou si le stock est insuffisant.
+     */
+    int ajuster(int livreId, int delta) {
+        Livre livre = livres.get(livreId);
+        return livre != null ? livre.ajusterQuantite(delta) : -1;
+    }
+}
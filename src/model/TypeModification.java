@@ -0,0 +1,10 @@
+package model;
+
+/**
+ * Type d'une modification signalée aux écouteurs d'un modèle.
+ */
+public enum TypeModification {
+    INSERTION, // Un enregistrement a été ajouté
+    MISE_A_JOUR, // Un enregistrement a été remplacé ou modifié sur place
+    SUPPRESSION // Un enregistrement a été supprimé
+}
@@ -8,6 +8,7 @@ public class Utilisateur {
     private int id; // Identifiant unique de l'utilisateur
     private String nom; // Nom de l'utilisateur
     private String email; // Adresse e-mail de l'utilisateur
+    private int version; // Version de l'enregistrement, incrémentée à chaque modification
 
     /**
      * Constructeur de la classe Utilisateur.
@@ -76,6 +77,25 @@ public class Utilisateur {
         this.email = email;
     }
 
+    /**
+     * Obtient la version de l'enregistrement, incrémentée à chaque modification.
+     *
+     * @return La version de l'utilisateur.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Définit la version de l'enregistrement.
+     * Une modification n'est acceptée que si elle porte la version actuellement enregistrée.
+     *
+     * @param version La version de l'utilisateur.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * Retourne une représentation sous forme de chaîne de caractères de l'utilisateur.
      *
@@ -87,6 +107,7 @@ public class Utilisateur {
                 "id=" + id +
                 ", nom='" + nom + '\'' +
                 ", email='" + email + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
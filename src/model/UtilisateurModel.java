@@ -1,8 +1,25 @@
 package model;
 
+import util.ChargeurCsvParallele;
+import util.CsvReader;
+import util.CsvWriter;
+import util.EcritureAtomique;
+import util.EcritureGroupee;
+import util.IndexedList;
+import util.Page;
+import util.IntHashMap;
+import util.PrefixTrie;
+import util.SnapshotReader;
+import util.SnapshotWriter;
+
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 /**
  * Modèle pour gérer les utilisateurs dans le système de bibliothèque.
@@ -10,16 +27,28 @@ import java.util.List;
  * ainsi que pour sauvegarder et charger les données depuis un fichier CSV.
  */
 public class UtilisateurModel implements UtilisateurModelInterface {
-    private List<Utilisateur> utilisateurs; // Liste des utilisateurs chargés
-    private static final String CSV_FILE_PATH = "src/data/utilisateurs.csv"; // Chemin du fichier CSV des utilisateurs
+    private final IndexedList<Utilisateur> utilisateurs = new IndexedList<>(Utilisateur::getId); // Utilisateurs chargés, indexés par identifiant
+    private final IntHashMap<String[]> valeursIndexees = new IntHashMap<>(); // Identifiant -> {nom, email} indexés
+    private final PrefixTrie suggestions = new PrefixTrie(); // Arbre préfixe des noms et emails pour l'autocomplétion
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock(); // Protège les utilisateurs et les index contre les accès concurrents
+    private final Ecouteurs<Utilisateur> ecouteurs = new Ecouteurs<>(); // Écouteurs des modifications des utilisateurs
+    private final EcritureGroupee persistance; // Écrivain en arrière-plan regroupant les écritures du CSV
+    private static final String CSV_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/utilisateurs.csv"; // Chemin du fichier CSV des utilisateurs
+    private static final String SNAPSHOT_FILE_PATH = Bibliotheque.DOSSIER_DONNEES + "/utilisateurs.bin"; // Chemin de l'instantané binaire des utilisateurs
 
     /**
      * Constructeur de la classe UtilisateurModel.
      * Initialise la liste des utilisateurs en la chargeant depuis le fichier CSV.
      */
     public UtilisateurModel() {
-        this.utilisateurs = new ArrayList<>();
-        this.utilisateurs = loadUtilisateursFromCSV();
+        for (Utilisateur utilisateur : chargerUtilisateurs()) {
+            if (utilisateurs.add(utilisateur)) {
+                indexer(utilisateur);
+            } else {
+                System.err.println("Utilisateur ignoré (identifiant en double): " + utilisateur.getId());
+            }
+        }
+        this.persistance = new EcritureGroupee("utilisateurs", this::ecrire, EcritureGroupee.DELAI_PAR_DEFAUT);
     }
 
     /**
@@ -28,22 +57,36 @@ public class UtilisateurModel implements UtilisateurModelInterface {
      * @param utilisateur L'utilisateur à ajouter.
      */
     public void ajouterUtilisateur(Utilisateur utilisateur) {
-        utilisateurs.add(utilisateur);
-        saveUtilisateursToCSV();
+        verrou.writeLock().lock();
+        try {
+            if (ajouter(utilisateur) == ResultatOperation.DOUBLON) {
+                System.err.println("Un utilisateur avec l'identifiant " + utilisateur.getId() + " existe déjà.");
+                return;
+            }
+            persistance.signaler();
+        } finally {
+            verrou.writeLock().unlock();
+        }
     }
 
     /**
-     * Modifie les informations d'un utilisateur existant.
+     * Modifie les informations d'un utilisateur existant, si personne ne l'a modifié depuis sa lecture.
+     * L'utilisateur fourni doit porter la version lue ; en cas de succès, sa version est incrémentée.
      *
      * @param utilisateur L'utilisateur avec les nouvelles informations.
+     * @return {@link ResultatOperation#APPLIQUE}, {@link ResultatOperation#CONFLIT} si l'utilisateur a été
+     * modifié entre-temps, ou {@link ResultatOperation#INTROUVABLE}.
      */
-    public void modifierUtilisateur(Utilisateur utilisateur) {
-        for (int i = 0; i < utilisateurs.size(); i++) {
-            if (utilisateurs.get(i).getId() == utilisateur.getId()) {
-                utilisateurs.set(i, utilisateur);
-                saveUtilisateursToCSV();
-                break;
+    public ResultatOperation modifierUtilisateur(Utilisateur utilisateur) {
+        verrou.writeLock().lock();
+        try {
+            ResultatOperation resultat = modifier(utilisateur);
+            if (resultat == ResultatOperation.APPLIQUE) {
+                persistance.signaler();
             }
+            return resultat;
+        } finally {
+            verrou.writeLock().unlock();
         }
     }
 
@@ -53,8 +96,44 @@ public class UtilisateurModel implements UtilisateurModelInterface {
      * @param id L'identifiant de l'utilisateur à supprimer.
      */
     public void supprimerUtilisateur(int id) {
-        utilisateurs.removeIf(utilisateur -> utilisateur.getId() == id);
-        saveUtilisateursToCSV();
+        verrou.writeLock().lock();
+        try {
+            if (supprimer(id) == ResultatOperation.APPLIQUE) {
+                persistance.signaler();
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute plusieurs utilisateurs en une seule opération : un seul passage sous le verrou et une seule écriture.
+     *
+     * @param lot Les utilisateurs à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot ({@link ResultatOperation#DOUBLON} si l'identifiant existe déjà).
+     */
+    public List<ResultatOperation> ajouterUtilisateurs(Collection<Utilisateur> lot) {
+        return appliquerLot(lot, this::ajouter);
+    }
+
+    /**
+     * Modifie plusieurs utilisateurs en une seule opération, chacun à condition que sa version soit à jour.
+     *
+     * @param lot Les utilisateurs avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> modifierUtilisateurs(Collection<Utilisateur> lot) {
+        return appliquerLot(lot, this::modifier);
+    }
+
+    /**
+     * Supprime plusieurs utilisateurs en une seule opération.
+     *
+     * @param ids Les identifiants des utilisateurs à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    public List<ResultatOperation> supprimerUtilisateurs(Collection<Integer> ids) {
+        return appliquerLot(ids, this::supprimer);
     }
 
     /**
@@ -63,7 +142,110 @@ public class UtilisateurModel implements UtilisateurModelInterface {
      * @return Une liste des utilisateurs.
      */
     public List<Utilisateur> listerUtilisateurs() {
-        return new ArrayList<>(utilisateurs);
+        verrou.readLock().lock();
+        try {
+            return utilisateurs.toList();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtient le nombre de utilisateurs, sans copier la liste.
+     *
+     * @return Le nombre de utilisateurs.
+     */
+    public int compterUtilisateurs() {
+        verrou.readLock().lock();
+        try {
+            return utilisateurs.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère une page de utilisateurs, par identifiant croissant.
+     * Un ajout ou une suppression avant la page décale les pages suivantes ; pour parcourir tous les utilisateurs
+     * pendant des modifications, préférer {@link #parcourirUtilisateurs(String, int)}.
+     *
+     * @param debut  Le rang du premier utilisateur, à partir de 0.
+     * @param limite Le nombre maximal de utilisateurs.
+     * @return Les utilisateurs de la page.
+     * @throws IllegalArgumentException Si le rang ou la limite est négatif.
+     */
+    public List<Utilisateur> listerUtilisateurs(int debut, int limite) {
+        verrou.readLock().lock();
+        try {
+            return utilisateurs.page(debut, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère la page de utilisateurs qui suit un curseur, par identifiant croissant.
+     * Un parcours complet ne saute ni ne répète aucun utilisateur présent du début à la fin du parcours.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de utilisateurs.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     * @throws IllegalArgumentException Si le curseur est invalide ou la limite négative.
+     */
+    public Page<Utilisateur> parcourirUtilisateurs(String curseur, int limite) {
+        verrou.readLock().lock();
+        try {
+            return utilisateurs.pageApres(curseur, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inscrit un écouteur, appelé après chaque ajout, modification ou suppression d'un utilisateur.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    public void ajouterEcouteur(EcouteurModele<Utilisateur> ecouteur) {
+        ecouteurs.ajouter(ecouteur);
+    }
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    public void retirerEcouteur(EcouteurModele<Utilisateur> ecouteur) {
+        ecouteurs.retirer(ecouteur);
+    }
+
+    /**
+     * Recherche un utilisateur par son identifiant.
+     *
+     * @param id L'identifiant de l'utilisateur recherché.
+     * @return L'utilisateur correspondant ou null s'il n'existe pas.
+     */
+    public Utilisateur chercherUtilisateurParId(int id) {
+        verrou.readLock().lock();
+        try {
+            return utilisateurs.get(id);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain utilisateur ajouté.
+     *
+     * @return Un identifiant supérieur à tous ceux déjà attribués.
+     */
+    public int prochainId() {
+        verrou.readLock().lock();
+        try {
+            return utilisateurs.getIdMax() + 1;
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
 
     /**
@@ -73,61 +255,295 @@ public class UtilisateurModel implements UtilisateurModelInterface {
      * @return Une liste des utilisateurs correspondant à la requête.
      */
     public List<Utilisateur> rechercherUtilisateur(String query) {
-        List<Utilisateur> resultats = new ArrayList<>();
-        for (Utilisateur utilisateur : utilisateurs) {
-            if (utilisateur.getNom().toLowerCase().contains(query.toLowerCase()) ||
-                    utilisateur.getEmail().toLowerCase().contains(query.toLowerCase())) {
-                resultats.add(utilisateur);
+        verrou.readLock().lock();
+        try {
+            List<Utilisateur> resultats = new ArrayList<>();
+            for (Utilisateur utilisateur : utilisateurs) {
+                if (utilisateur.getNom().toLowerCase().contains(query.toLowerCase()) ||
+                        utilisateur.getEmail().toLowerCase().contains(query.toLowerCase())) {
+                    resultats.add(utilisateur);
+                }
             }
+            return resultats;
+        } finally {
+            verrou.readLock().unlock();
         }
-        return resultats;
     }
 
     /**
-     * Sauvegarde la liste actuelle des utilisateurs dans le fichier CSV.
+     * Propose des complétions pour un nom ou un email.
+     *
+     * @param prefixe Le début du texte saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions les plus fréquentes, de la plus fréquente à la moins fréquente.
      */
-    private void saveUtilisateursToCSV() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(CSV_FILE_PATH))) {
-            writer.write("id,nom,email");
-            writer.newLine();
-            for (Utilisateur utilisateur : utilisateurs) {
-                writer.write(
-                        utilisateur.getId() + "," +
-                                utilisateur.getNom() + "," +
-                                utilisateur.getEmail()
+    public List<PrefixTrie.Suggestion> suggerer(String prefixe, int maximum) {
+        verrou.readLock().lock();
+        try {
+            return suggestions.completer(prefixe, maximum);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà effectuées sont écrites.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    public CompletableFuture<Void> attendreEcriture() {
+        return persistance.attendre();
+    }
+
+    /**
+     * Écrit les modifications en attente et arrête l'écrivain en arrière-plan.
+     * Les modifications ultérieures sont écrites immédiatement.
+     */
+    public void fermer() {
+        persistance.fermer();
+    }
+
+    /**
+     * Écrit l'instantané binaire des utilisateurs, relu en priorité au prochain démarrage.
+     * L'instantané est remplacé atomiquement : en cas d'échec, le précédent reste intact.
+     */
+    public void sauvegarderInstantane() {
+        verrou.readLock().lock();
+        try {
+            EcritureAtomique.ecrire(SNAPSHOT_FILE_PATH, sortie -> {
+                try (SnapshotWriter writer = new SnapshotWriter(sortie, "utilisateurs", utilisateurs.size())) {
+                    for (Utilisateur utilisateur : utilisateurs) {
+                        writer.entier(utilisateur.getId())
+                                .texte(utilisateur.getNom())
+                                .texte(utilisateur.getEmail())
+                                .entier(utilisateur.getVersion());
+                    }
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture de l'instantané: " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute un utilisateur. À appeler sous le verrou en écriture.
+     *
+     * @param utilisateur L'utilisateur à ajouter.
+     * @return {@link ResultatOperation#APPLIQUE}, ou {@link ResultatOperation#DOUBLON} si l'identifiant existe déjà.
+     */
+    private ResultatOperation ajouter(Utilisateur utilisateur) {
+        if (!utilisateurs.add(utilisateur)) {
+            return ResultatOperation.DOUBLON;
+        }
+        indexer(utilisateur);
+        ecouteurs.notifier(TypeModification.INSERTION, null, utilisateur);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Remplace un utilisateur dont la version est à jour. À appeler sous le verrou en écriture.
+     *
+     * @param utilisateur L'utilisateur avec les nouvelles informations et la version lue.
+     * @return Le résultat de la modification.
+     */
+    private ResultatOperation modifier(Utilisateur utilisateur) {
+        Utilisateur actuel = utilisateurs.get(utilisateur.getId());
+        if (actuel == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        if (actuel.getVersion() != utilisateur.getVersion()) {
+            return ResultatOperation.CONFLIT;
+        }
+        utilisateur.setVersion(actuel.getVersion() + 1);
+        utilisateurs.replace(utilisateur);
+        desindexer(utilisateur.getId());
+        indexer(utilisateur);
+        ecouteurs.notifier(TypeModification.MISE_A_JOUR, actuel, utilisateur);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Supprime un utilisateur. À appeler sous le verrou en écriture.
+     *
+     * @param id L'identifiant de l'utilisateur à supprimer.
+     * @return {@link ResultatOperation#APPLIQUE}, ou {@link ResultatOperation#INTROUVABLE}.
+     */
+    private ResultatOperation supprimer(int id) {
+        Utilisateur utilisateur = utilisateurs.remove(id);
+        if (utilisateur == null) {
+            return ResultatOperation.INTROUVABLE;
+        }
+        desindexer(id);
+        ecouteurs.notifier(TypeModification.SUPPRESSION, utilisateur, null);
+        return ResultatOperation.APPLIQUE;
+    }
+
+    /**
+     * Applique une opération à chaque élément d'un lot sous une seule prise du verrou en écriture,
+     * puis planifie une seule réécriture du CSV pour tout le lot.
+     *
+     * @param lot       Les éléments du lot.
+     * @param operation L'opération à appliquer à un élément.
+     * @param <T>       Le type des éléments du lot.
+     * @return Le résultat de chaque opération, dans l'ordre du lot.
+     */
+    private <T> List<ResultatOperation> appliquerLot(Collection<T> lot, Function<T, ResultatOperation> operation) {
+        List<ResultatOperation> resultats = new ArrayList<>(lot.size());
+        verrou.writeLock().lock();
+        try {
+            for (T element : lot) {
+                resultats.add(operation.apply(element));
+            }
+            if (resultats.contains(ResultatOperation.APPLIQUE)) {
+                persistance.signaler();
+            }
+            return resultats;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute le nom et l'email d'un utilisateur à l'arbre d'autocomplétion.
+     *
+     * @param utilisateur L'utilisateur à indexer.
+     */
+    private void indexer(Utilisateur utilisateur) {
+        valeursIndexees.put(utilisateur.getId(), new String[]{utilisateur.getNom(), utilisateur.getEmail()});
+        suggestions.ajouter(utilisateur.getNom());
+        suggestions.ajouter(utilisateur.getEmail());
+    }
+
+    /**
+     * Retire un utilisateur de l'arbre d'autocomplétion, à partir des valeurs enregistrées lors de son indexation.
+     *
+     * @param id L'identifiant de l'utilisateur à retirer.
+     */
+    private void desindexer(int id) {
+        String[] valeurs = valeursIndexees.remove(id);
+        if (valeurs != null) {
+            suggestions.retirer(valeurs[0]);
+            suggestions.retirer(valeurs[1]);
+        }
+    }
+
+    /**
+     * Charge les utilisateurs depuis l'instantané binaire s'il est au moins aussi récent que le fichier CSV,
+     * depuis le fichier CSV sinon. Un instantané illisible ou corrompu est ignoré.
+     *
+     * @return Une liste des utilisateurs chargés.
+     */
+    private List<Utilisateur> chargerUtilisateurs() {
+        EcritureAtomique.recuperer(CSV_FILE_PATH, EcritureAtomique::texteComplet);
+        EcritureAtomique.recuperer(SNAPSHOT_FILE_PATH, chemin -> SnapshotReader.estValide(chemin, "utilisateurs"));
+        File instantane = new File(SNAPSHOT_FILE_PATH);
+        if (instantane.exists() && instantane.lastModified() >= new File(CSV_FILE_PATH).lastModified()) {
+            try {
+                return loadUtilisateursFromSnapshot();
+            } catch (IOException e) {
+                System.err.println("Instantané ignoré: " + e.getMessage());
+            }
+        }
+        return loadUtilisateursFromCSV();
+    }
+
+    /**
+     * Charge les utilisateurs depuis l'instantané binaire.
+     *
+     * @return Une liste des utilisateurs chargés depuis l'instantané.
+     * @throws IOException Si l'instantané est illisible, tronqué ou corrompu.
+     */
+    private List<Utilisateur> loadUtilisateursFromSnapshot() throws IOException {
+        try (SnapshotReader reader = new SnapshotReader(SNAPSHOT_FILE_PATH, "utilisateurs")) {
+            int nombre = reader.nombreEnregistrements();
+            List<Utilisateur> loaded = new ArrayList<>(nombre);
+            for (int i = 0; i < nombre; i++) {
+                Utilisateur utilisateur = new Utilisateur(
+                        reader.entier(),  // id
+                        reader.texte(),   // nom
+                        reader.texte()    // email
                 );
-                writer.newLine();
+                utilisateur.setVersion(reader.entier());
+                loaded.add(utilisateur);
             }
+            reader.verifierFin();
+            return loaded;
+        }
+    }
+
+    /**
+     * Écriture groupée effectuée en arrière-plan : réécrit le CSV à partir d'un état cohérent des utilisateurs.
+     *
+     * @return true si l'écriture a réussi, false sinon.
+     */
+    private boolean ecrire() {
+        verrou.readLock().lock();
+        try {
+            return saveUtilisateursToCSV();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sauvegarde la liste actuelle des utilisateurs dans le fichier CSV.
+     *
+     * @return true si le fichier a été écrit, false en cas d'erreur.
+     */
+    private boolean saveUtilisateursToCSV() {
+        try {
+            EcritureAtomique.ecrire(CSV_FILE_PATH, sortie -> {
+                try (CsvWriter writer = new CsvWriter(new BufferedWriter(
+                        new OutputStreamWriter(sortie, StandardCharsets.UTF_8)))) {
+                    writer.champ("id").champ("nom").champ("email").champ("version").finLigne();
+                    for (Utilisateur utilisateur : utilisateurs) {
+                        ecrireUtilisateur(writer, utilisateur);
+                        writer.finLigne();
+                    }
+                }
+            });
+            return true;
         } catch (IOException e) {
             System.err.println("Erreur lors de l'écriture dans le fichier CSV: " + e.getMessage());
+            return false;
         }
     }
 
     /**
      * Charge la liste des utilisateurs depuis le fichier CSV.
+     * La colonne de version est facultative, pour relire les fichiers écrits avant son ajout.
+     * Au-delà de {@link ChargeurCsvParallele#SEUIL} octets, le fichier est projeté en mémoire et analysé en parallèle.
      *
      * @return Une liste des utilisateurs chargés depuis le fichier CSV.
      */
     private List<Utilisateur> loadUtilisateursFromCSV() {
+        File fichier = new File(CSV_FILE_PATH);
+        if (fichier.length() >= ChargeurCsvParallele.SEUIL) {
+            try {
+                return ChargeurCsvParallele.charger(fichier.toPath(), 3, 4,
+                        reader -> lireUtilisateur(reader, 0, reader.nombreChamps() == 4));
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la lecture du fichier CSV: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
         List<Utilisateur> loadedUtilisateurs = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(CSV_FILE_PATH))) {
-            String line;
-            boolean isFirstLine = true;
+        try (CsvReader reader = new CsvReader(
+                new InputStreamReader(new FileInputStream(fichier), StandardCharsets.UTF_8))) {
+            reader.lireEnregistrement(); // Ignorer l'en-tête
 
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
+            while (reader.lireEnregistrement()) {
+                if (reader.nombreChamps() != 3 && reader.nombreChamps() != 4) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
                     continue;
                 }
-
-                String[] values = line.split(",");
-                if (values.length == 3) {
-                    Utilisateur utilisateur = new Utilisateur(
-                            Integer.parseInt(values[0]), // id
-                            values[1],                  // nom
-                            values[2]                   // email
-                    );
-                    loadedUtilisateurs.add(utilisateur);
+                try {
+                    loadedUtilisateurs.add(lireUtilisateur(reader, 0, reader.nombreChamps() == 4));
+                } catch (RuntimeException e) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
                 }
             }
         } catch (FileNotFoundException e) {
@@ -137,4 +553,37 @@ public class UtilisateurModel implements UtilisateurModelInterface {
         }
         return loadedUtilisateurs;
     }
+
+    /**
+     * Écrit les champs d'un utilisateur, version comprise, dans l'enregistrement CSV en cours.
+     *
+     * @param writer      L'écrivain CSV.
+     * @param utilisateur L'utilisateur à écrire.
+     */
+    static void ecrireUtilisateur(CsvWriter writer, Utilisateur utilisateur) {
+        writer.champ(utilisateur.getId())
+                .champ(utilisateur.getNom())
+                .champ(utilisateur.getEmail())
+                .champ(utilisateur.getVersion());
+    }
+
+    /**
+     * Construit un utilisateur à partir de l'enregistrement CSV courant.
+     *
+     * @param reader      Le lecteur CSV positionné sur l'enregistrement.
+     * @param debut       L'indice de la première colonne de l'utilisateur.
+     * @param avecVersion true si la colonne de version suit l'email ; sinon la version vaut 0.
+     * @return L'utilisateur correspondant.
+     */
+    static Utilisateur lireUtilisateur(CsvReader reader, int debut, boolean avecVersion) {
+        Utilisateur utilisateur = new Utilisateur(
+                reader.entier(debut),        // id
+                reader.texte(debut + 1),     // nom
+                reader.texte(debut + 2)      // email
+        );
+        if (avecVersion) {
+            utilisateur.setVersion(reader.entier(debut + 3));
+        }
+        return utilisateur;
+    }
 }
@@ -1,6 +1,11 @@
 package model;
 
+import util.Page;
+import util.PrefixTrie;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface pour gérer les utilisateurs dans le système de bibliothèque.
@@ -16,11 +21,12 @@ public interface UtilisateurModelInterface {
     void ajouterUtilisateur(Utilisateur utilisateur);
 
     /**
-     * Modifie les informations d'un utilisateur existant.
+     * Modifie les informations d'un utilisateur existant, si sa version est toujours celle de l'utilisateur fourni.
      *
-     * @param utilisateur L'utilisateur avec les nouvelles informations.
+     * @param utilisateur L'utilisateur avec les nouvelles informations et la version lue.
+     * @return Le résultat de la modification ; {@link ResultatOperation#CONFLIT} si l'utilisateur a changé entre-temps.
      */
-    void modifierUtilisateur(Utilisateur utilisateur);
+    ResultatOperation modifierUtilisateur(Utilisateur utilisateur);
 
     /**
      * Supprime un utilisateur du système en fonction de son identifiant.
@@ -29,6 +35,31 @@ public interface UtilisateurModelInterface {
      */
     void supprimerUtilisateur(int id);
 
+    /**
+     * Ajoute plusieurs utilisateurs en une seule opération, écrite une seule fois.
+     *
+     * @param lot Les utilisateurs à ajouter.
+     * @return Le résultat de chaque ajout, dans l'ordre du lot.
+     */
+    List<ResultatOperation> ajouterUtilisateurs(Collection<Utilisateur> lot);
+
+    /**
+     * Modifie plusieurs utilisateurs en une seule opération, écrite une seule fois.
+     * Chaque utilisateur n'est modifié que si sa version est toujours celle de l'utilisateur fourni.
+     *
+     * @param lot Les utilisateurs avec leurs nouvelles informations et la version lue.
+     * @return Le résultat de chaque modification, dans l'ordre du lot.
+     */
+    List<ResultatOperation> modifierUtilisateurs(Collection<Utilisateur> lot);
+
+    /**
+     * Supprime plusieurs utilisateurs en une seule opération, écrite une seule fois.
+     *
+     * @param ids Les identifiants des utilisateurs à supprimer.
+     * @return Le résultat de chaque suppression, dans l'ordre du lot.
+     */
+    List<ResultatOperation> supprimerUtilisateurs(Collection<Integer> ids);
+
     /**
      * Récupère une liste contenant tous les utilisateurs dans le système.
      *
@@ -36,6 +67,61 @@ public interface UtilisateurModelInterface {
      */
     List<Utilisateur> listerUtilisateurs();
 
+    /**
+     * Obtient le nombre de utilisateurs, sans copier la liste.
+     *
+     * @return Le nombre de utilisateurs.
+     */
+    int compterUtilisateurs();
+
+    /**
+     * Récupère une page de utilisateurs, par identifiant croissant.
+     *
+     * @param debut  Le rang du premier utilisateur, à partir de 0.
+     * @param limite Le nombre maximal de utilisateurs.
+     * @return Les utilisateurs de la page.
+     */
+    List<Utilisateur> listerUtilisateurs(int debut, int limite);
+
+    /**
+     * Récupère la page de utilisateurs qui suit un curseur, par identifiant croissant,
+     * sans saut ni répétition pendant des modifications concurrentes.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal de utilisateurs.
+     * @return La page, avec le curseur de la page suivante (null pour la dernière page).
+     */
+    Page<Utilisateur> parcourirUtilisateurs(String curseur, int limite);
+
+    /**
+     * Inscrit un écouteur, appelé après chaque ajout, modification ou suppression d'un utilisateur.
+     *
+     * @param ecouteur L'écouteur à inscrire.
+     */
+    void ajouterEcouteur(EcouteurModele<Utilisateur> ecouteur);
+
+    /**
+     * Désinscrit un écouteur.
+     *
+     * @param ecouteur L'écouteur à désinscrire.
+     */
+    void retirerEcouteur(EcouteurModele<Utilisateur> ecouteur);
+
+    /**
+     * Recherche un utilisateur par son identifiant.
+     *
+     * @param id L'identifiant de l'utilisateur recherché.
+     * @return L'utilisateur correspondant ou null s'il n'existe pas.
+     */
+    Utilisateur chercherUtilisateurParId(int id);
+
+    /**
+     * Calcule l'identifiant à attribuer au prochain utilisateur ajouté.
+     *
+     * @return Un identifiant supérieur à tous ceux déjà attribués.
+     */
+    int prochainId();
+
     /**
      * Recherche des utilisateurs en fonction d'une requête (nom ou email).
      *
@@ -43,4 +129,21 @@ public interface UtilisateurModelInterface {
      * @return Une liste des utilisateurs correspondant à la requête.
      */
     List<Utilisateur> rechercherUtilisateur(String query);
+
+    /**
+     * Propose des complétions pour un nom ou un email.
+     *
+     * @param prefixe Le début du texte saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions les plus fréquentes, de la plus fréquente à la moins fréquente.
+     */
+    List<PrefixTrie.Suggestion> suggerer(String prefixe, int maximum);
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà effectuées sont écrites.
+     * Les modifications sont écrites en arrière-plan ; cette méthode permet d'attendre qu'elles soient durables.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    CompletableFuture<Void> attendreEcriture();
 }
@@ -0,0 +1,236 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Chargeur parallèle pour les gros fichiers CSV.
+ * Le fichier est projeté en mémoire avec {@link FileChannel#map}, découpé en blocs alignés sur des fins
+ * d'enregistrement, puis chaque bloc est analysé sur le pool fork-join commun. Les résultats sont
+ * fusionnés dans l'ordre du fichier.
+ * <p>
+ * Un saut de ligne ne termine un enregistrement que si le nombre de guillemets qui le précèdent est pair :
+ * la parité au début de chaque bloc est obtenue en comptant les guillemets de tous les blocs en parallèle,
+ * ce qui garde corrects les champs entre guillemets contenant des sauts de ligne.
+ */
+public final class ChargeurCsvParallele {
+    /**
+     * Taille de fichier, en octets, à partir de laquelle le chargement parallèle devient avantageux.
+     */
+    public static final long SEUIL = 4L * 1024 * 1024;
+
+    private static final long TAILLE_BLOC_MIN = 1024 * 1024; // Taille minimale d'un bloc
+    private static final long TAILLE_BLOC_MAX = 256L * 1024 * 1024; // Taille maximale d'un bloc projeté
+
+    private ChargeurCsvParallele() {
+    }
+
+    /**
+     * Charge un fichier CSV avec en-tête en analysant ses blocs en parallèle.
+     * Les enregistrements dont le nombre de champs est incorrect ou que l'analyseur rejette sont ignorés et signalés.
+     *
+     * @param fichier      Le fichier CSV, encodé en UTF-8.
+     * @param minChamps    Le nombre minimal de champs attendu par enregistrement.
+     * @param maxChamps    Le nombre maximal de champs attendu par enregistrement (colonnes facultatives comprises).
+     * @param analyseur    Construit un élément à partir de l'enregistrement courant du lecteur ;
+     *                     il est appelé depuis plusieurs threads et ne doit pas avoir d'état partagé.
+     * @param <T>          Le type des éléments chargés.
+     * @return Les éléments chargés, dans l'ordre du fichier.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    public static <T> List<T> charger(Path fichier, int minChamps, int maxChamps, Function<CsvReader, T> analyseur) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            int parallelisme = ForkJoinPool.getCommonPoolParallelism();
+            long tailleBloc = Math.min(TAILLE_BLOC_MAX, Math.max(TAILLE_BLOC_MIN, taille / (4L * parallelisme)));
+            long[] bornes = decouper(canal, tailleBloc);
+            int nombreBlocs = bornes.length - 1;
+
+            List<List<T>> resultats = IntStream.range(0, nombreBlocs).parallel()
+                    .mapToObj(i -> analyser(canal, bornes[i], bornes[i + 1], i == 0, minChamps, maxChamps, analyseur))
+                    .toList();
+
+            int total = 0;
+            for (List<T> resultat : resultats) {
+                total += resultat.size();
+            }
+            List<T> elements = new ArrayList<>(total);
+            for (List<T> resultat : resultats) {
+                elements.addAll(resultat);
+            }
+            return elements;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Découpe un fichier CSV en portions d'enregistrements complets d'environ {@code tailleBloc} octets.
+     * Chaque portion se termine juste après un saut de ligne hors guillemets, ou à la fin du fichier ;
+     * la première commence par l'en-tête éventuel.
+     *
+     * @param canal      Le canal du fichier, encodé en UTF-8 ou dans un jeu de caractères compatible ASCII.
+     * @param tailleBloc La taille visée de chaque portion, en octets (256 Mio au plus).
+     * @return Les bornes des portions : la portion i va de {@code bornes[i]} inclus à {@code bornes[i + 1]} exclu ;
+     * une portion est vide lorsqu'un enregistrement s'étend sur plusieurs blocs.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    public static long[] decouper(FileChannel canal, long tailleBloc) throws IOException {
+        long taille = canal.size();
+        int nombreBlocs = (int) Math.max(1, (taille + tailleBloc - 1) / tailleBloc);
+
+        MappedByteBuffer[] blocs = new MappedByteBuffer[nombreBlocs];
+        for (int i = 0; i < nombreBlocs; i++) {
+            long debut = i * tailleBloc;
+            blocs[i] = canal.map(FileChannel.MapMode.READ_ONLY, debut, Math.min(tailleBloc, taille - debut));
+        }
+
+        // Parité des guillemets au début de chaque bloc, à partir des comptes calculés en parallèle
+        int[] guillemets = IntStream.range(0, nombreBlocs).parallel()
+                .map(i -> compterGuillemets(blocs[i]))
+                .toArray();
+        long[] bornes = new long[nombreBlocs + 1];
+        bornes[nombreBlocs] = taille;
+        boolean impair = false;
+        for (int i = 1; i < nombreBlocs; i++) {
+            impair ^= (guillemets[i - 1] & 1) == 1;
+            bornes[i] = Math.max(bornes[i - 1], finEnregistrement(blocs, tailleBloc, i, impair, taille));
+        }
+        return bornes;
+    }
+
+    /**
+     * Ouvre un lecteur CSV sur une portion du fichier, décodée en UTF-8 au fil de la lecture.
+     *
+     * @param canal Le canal du fichier.
+     * @param debut La position du premier octet de la portion.
+     * @param fin   La position qui suit le dernier octet de la portion.
+     * @return Le lecteur ; ses numéros de ligne partent du début de la portion.
+     * @throws IOException Si la portion ne peut pas être projetée.
+     */
+    public static CsvReader lecteur(FileChannel canal, long debut, long fin) throws IOException {
+        return new CsvReader(new InputStreamReader(
+                new FluxTampon(canal.map(FileChannel.MapMode.READ_ONLY, debut, fin - debut)), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compte les guillemets d'un bloc.
+     *
+     * @param bloc Le bloc projeté.
+     * @return Le nombre de guillemets.
+     */
+    private static int compterGuillemets(ByteBuffer bloc) {
+        int compte = 0;
+        for (int i = 0, n = bloc.limit(); i < n; i++) {
+            if (bloc.get(i) == '"') {
+                compte++;
+            }
+        }
+        return compte;
+    }
+
+    /**
+     * Cherche la première fin d'enregistrement à partir du début d'un bloc, en poursuivant
+     * dans les blocs suivants si un champ entre guillemets déborde.
+     *
+     * @param blocs      Les blocs projetés.
+     * @param tailleBloc La taille de chaque bloc (sauf le dernier).
+     * @param premier    L'indice du bloc où commencer la recherche.
+     * @param impair     true si un nombre impair de guillemets précède ce bloc.
+     * @param taille     La taille du fichier.
+     * @return La position qui suit le saut de ligne trouvé, ou la taille du fichier.
+     */
+    private static long finEnregistrement(MappedByteBuffer[] blocs, long tailleBloc, int premier, boolean impair, long taille) {
+        for (int k = premier; k < blocs.length; k++) {
+            MappedByteBuffer bloc = blocs[k];
+            for (int i = 0, n = bloc.limit(); i < n; i++) {
+                byte b = bloc.get(i);
+                if (b == '"') {
+                    impair = !impair;
+                } else if (b == '\n' && !impair) {
+                    return k * tailleBloc + i + 1;
+                }
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * Analyse une portion du fichier délimitée par des fins d'enregistrement.
+     *
+     * @param canal        Le canal du fichier.
+     * @param debut        La position du premier octet de la portion.
+     * @param fin          La position qui suit le dernier octet de la portion.
+     * @param enTete       true si la portion commence par l'en-tête du fichier.
+     * @param minChamps    Le nombre minimal de champs attendu par enregistrement.
+     * @param maxChamps    Le nombre maximal de champs attendu par enregistrement.
+     * @param analyseur    Construit un élément à partir de l'enregistrement courant.
+     * @param <T>          Le type des éléments chargés.
+     * @return Les éléments de la portion, dans l'ordre.
+     */
+    private static <T> List<T> analyser(FileChannel canal, long debut, long fin, boolean enTete,
+                                        int minChamps, int maxChamps, Function<CsvReader, T> analyseur) {
+        List<T> elements = new ArrayList<>();
+        if (fin <= debut) {
+            return elements;
+        }
+        try (CsvReader reader = lecteur(canal, debut, fin)) {
+            if (enTete) {
+                reader.lireEnregistrement(); // Ignorer l'en-tête
+            }
+            while (reader.lireEnregistrement()) {
+                if (reader.nombreChamps() < minChamps || reader.nombreChamps() > maxChamps) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
+                    continue;
+                }
+                try {
+                    elements.add(analyseur.apply(reader));
+                } catch (RuntimeException e) {
+                    System.err.println("Ligne ignorée: " + reader.enregistrementCourant());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return elements;
+    }
+
+    /**
+     * Flux d'octets lisant un tampon projeté, décodé au fil de l'eau sans copie intégrale du bloc.
+     */
+    private static final class FluxTampon extends InputStream {
+        private final ByteBuffer tampon;
+
+        FluxTampon(ByteBuffer tampon) {
+            this.tampon = tampon;
+        }
+
+        @Override
+        public int read() {
+            return tampon.hasRemaining() ? tampon.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destination, int position, int longueur) {
+            if (!tampon.hasRemaining()) {
+                return -1;
+            }
+            int lus = Math.min(longueur, tampon.remaining());
+            tampon.get(destination, position, lus);
+            return lus;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Lecteur CSV en continu conforme à la RFC 4180.
+ * Les champs peuvent être entourés de guillemets pour contenir des virgules, des sauts de ligne
+ * ou des guillemets doublés. Le contenu des champs est copié dans un tampon réutilisé d'un
+ * enregistrement à l'autre : les entiers et les dates sont lus directement depuis ce tampon,
+ * sans créer de {@code String} intermédiaire.
+ */
+public class CsvReader implements Closeable {
+    private static final int TAILLE_TAMPON = 64 * 1024; // Taille du tampon de lecture
+
+    private final Reader source; // Source des caractères
+    private final char[] tampon = new char[TAILLE_TAMPON]; // Tampon de lecture réutilisé
+    private int position; // Position courante dans le tampon de lecture
+    private int limite; // Nombre de caractères valides dans le tampon de lecture
+
+    private char[] contenu = new char[256]; // Contenu des champs de l'enregistrement courant, mis bout à bout
+    private int longueur; // Nombre de caractères utilisés dans le contenu
+    private int[] debuts = new int[16]; // Début de chaque champ dans le contenu
+    private int[] fins = new int[16]; // Fin (exclue) de chaque champ dans le contenu
+    private int nombreChamps; // Nombre de champs de l'enregistrement courant
+    private long numeroLigne; // Numéro de la ligne où commence l'enregistrement courant
+    private long lignesLues; // Nombre de sauts de ligne consommés
+
+    /**
+     * Constructeur de la classe CsvReader.
+     *
+     * @param source La source des caractères ; elle est fermée avec le lecteur.
+     */
+    public CsvReader(Reader source) {
+        this.source = source;
+    }
+
+    /**
+     * Lit l'enregistrement suivant. Les lignes vides sont ignorées.
+     *
+     * @return true si un enregistrement a été lu, false à la fin de la source.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    public boolean lireEnregistrement() throws IOException {
+        while (true) {
+            longueur = 0;
+            nombreChamps = 0;
+            numeroLigne = lignesLues + 1;
+
+            int c = lireCaractere();
+            if (c == -1) {
+                return false;
+            }
+            if (c == '\n' || (c == '\r' && sauterFinDeLigne())) {
+                lignesLues++;
+                continue; // Ligne vide
+            }
+
+            int debutChamp = 0;
+            boolean entreGuillemets = false;
+            boolean debutDeChamp = true;
+            while (true) {
+                if (entreGuillemets) {
+                    if (c == -1) {
+                        break; // Guillemet fermant manquant : le champ s'arrête à la fin de la source
+                    }
+                    if (c == '"') {
+                        int suivant = lireCaractere();
+                        if (suivant == '"') {
+                            ajouter('"');
+                        } else {
+                            entreGuillemets = false;
+                            c = suivant;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lignesLues++;
+                        }
+                        ajouter((char) c);
+                    }
+                } else if (c == '"' && debutDeChamp) {
+                    entreGuillemets = true;
+                } else if (c == ',') {
+                    terminerChamp(debutChamp);
+                    debutChamp = longueur;
+                    debutDeChamp = true;
+                    c = lireCaractere();
+                    continue;
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    if (sauterFinDeLigne()) {
+                        c = '\n';
+                        break;
+                    }
+                    ajouter('\r');
+                } else {
+                    ajouter((char) c);
+                }
+                debutDeChamp = false;
+                c = lireCaractere();
+            }
+            if (c == '\n') {
+                lignesLues++;
+            }
+            terminerChamp(debutChamp);
+            return true;
+        }
+    }
+
+    /**
+     * Obtient le nombre de champs de l'enregistrement courant.
+     *
+     * @return Le nombre de champs.
+     */
+    public int nombreChamps() {
+        return nombreChamps;
+    }
+
+    /**
+     * Obtient le numéro de la ligne où commence l'enregistrement courant.
+     *
+     * @return Le numéro de ligne, à partir de 1.
+     */
+    public long numeroLigne() {
+        return numeroLigne;
+    }
+
+    /**
+     * Obtient la valeur textuelle d'un champ.
+     *
+     * @param champ L'indice du champ.
+     * @return La valeur du champ.
+     */
+    public String texte(int champ) {
+        return new String(contenu, debuts[champ], fins[champ] - debuts[champ]);
+    }
+
+    /**
+     * Vérifie si un champ est égal à une valeur, sans créer de chaîne.
+     *
+     * @param champ  L'indice du champ.
+     * @param valeur La valeur à comparer.
+     * @return true si le champ est égal à la valeur, false sinon.
+     */
+    public boolean egal(int champ, String valeur) {
+        int debut = debuts[champ];
+        int taille = fins[champ] - debut;
+        if (taille != valeur.length()) {
+            return false;
+        }
+        for (int i = 0; i < taille; i++) {
+            if (contenu[debut + i] != valeur.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lit un champ contenant un entier décimal, directement depuis le tampon.
+     *
+     * @param champ L'indice du champ.
+     * @return La valeur entière.
+     * @throws NumberFormatException Si le champ n'est pas un entier valide.
+     */
+    public int entier(int champ) {
+        int debut = debuts[champ];
+        int fin = fins[champ];
+        if (debut == fin) {
+            throw new NumberFormatException("Champ vide à la ligne " + numeroLigne);
+        }
+        boolean negatif = contenu[debut] == '-';
+        int i = negatif || contenu[debut] == '+' ? debut + 1 : debut;
+        if (i == fin) {
+            throw new NumberFormatException("Entier invalide à la ligne " + numeroLigne);
+        }
+        long valeur = 0;
+        for (; i < fin; i++) {
+            int chiffre = contenu[i] - '0';
+            if (chiffre < 0 || chiffre > 9) {
+                throw new NumberFormatException("Entier invalide à la ligne " + numeroLigne + ": " + texte(champ));
+            }
+            valeur = valeur * 10 + chiffre;
+            if (valeur > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException("Entier hors limites à la ligne " + numeroLigne);
+            }
+        }
+        valeur = negatif ? -valeur : valeur;
+        if (valeur > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Entier hors limites à la ligne " + numeroLigne);
+        }
+        return (int) valeur;
+    }
+
+    /**
+     * Lit un champ contenant une date au format ISO (aaaa-mm-jj), directement depuis le tampon.
+     *
+     * @param champ L'indice du champ.
+     * @return La date lue.
+     * @throws java.time.DateTimeException Si le champ n'est pas une date valide.
+     */
+    public LocalDate date(int champ) {
+        int d = debuts[champ];
+        if (fins[champ] - d != 10 || contenu[d + 4] != '-' || contenu[d + 7] != '-') {
+            return LocalDate.parse(texte(champ)); // Format inhabituel : laisser l'analyseur standard trancher
+        }
+        return LocalDate.of(chiffres(d, 4), chiffres(d + 5, 2), chiffres(d + 8, 2));
+    }
+
+    /**
+     * Reconstitue l'enregistrement courant sous forme de texte, pour les messages d'erreur.
+     *
+     * @return Les champs séparés par des virgules.
+     */
+    public String enregistrementCourant() {
+        StringBuilder texte = new StringBuilder(longueur + nombreChamps);
+        for (int i = 0; i < nombreChamps; i++) {
+            if (i > 0) {
+                texte.append(',');
+            }
+            texte.append(contenu, debuts[i], fins[i] - debuts[i]);
+        }
+        return texte.toString();
+    }
+
+    /**
+     * Ferme la source des caractères.
+     *
+     * @throws IOException En cas d'erreur lors de la fermeture.
+     */
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * Lit un nombre de chiffres décimaux consécutifs dans le contenu.
+     *
+     * @param debut  La position du premier chiffre.
+     * @param nombre Le nombre de chiffres.
+     * @return La valeur lue.
+     */
+    private int chiffres(int debut, int nombre) {
+        int valeur = 0;
+        for (int i = debut; i < debut + nombre; i++) {
+            int chiffre = contenu[i] - '0';
+            if (chiffre < 0 || chiffre > 9) {
+                throw new java.time.DateTimeException("Date invalide à la ligne " + numeroLigne);
+            }
+            valeur = valeur * 10 + chiffre;
+        }
+        return valeur;
+    }
+
+    /**
+     * Consomme le '\n' qui suit un '\r', le cas échéant.
+     *
+     * @return true si un '\n' suivait le '\r', false sinon.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    private boolean sauterFinDeLigne() throws IOException {
+        if (position == limite && !remplir()) {
+            return false;
+        }
+        if (tampon[position] == '\n') {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lit le caractère suivant de la source.
+     *
+     * @return Le caractère lu, ou -1 à la fin de la source.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    private int lireCaractere() throws IOException {
+        if (position == limite && !remplir()) {
+            return -1;
+        }
+        return tampon[position++];
+    }
+
+    /**
+     * Recharge le tampon de lecture depuis la source.
+     *
+     * @return true si des caractères ont été lus, false à la fin de la source.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    private boolean remplir() throws IOException {
+        int lus;
+        do {
+            lus = source.read(tampon, 0, tampon.length);
+        } while (lus == 0);
+        position = 0;
+        limite = Math.max(lus, 0);
+        return lus > 0;
+    }
+
+    /**
+     * Ajoute un caractère au contenu du champ en cours.
+     *
+     * @param c Le caractère à ajouter.
+     */
+    private void ajouter(char c) {
+        if (longueur == contenu.length) {
+            contenu = Arrays.copyOf(contenu, contenu.length * 2);
+        }
+        contenu[longueur++] = c;
+    }
+
+    /**
+     * Enregistre les bornes du champ qui vient d'être lu.
+     *
+     * @param debut La position du début du champ dans le contenu.
+     */
+    private void terminerChamp(int debut) {
+        if (nombreChamps == debuts.length) {
+            debuts = Arrays.copyOf(debuts, nombreChamps * 2);
+            fins = Arrays.copyOf(fins, nombreChamps * 2);
+        }
+        debuts[nombreChamps] = debut;
+        fins[nombreChamps] = longueur;
+        nombreChamps++;
+    }
+}
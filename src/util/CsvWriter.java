@@ -0,0 +1,167 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Écrivain CSV conforme à la RFC 4180.
+ * Chaque enregistrement est construit dans un tampon réutilisé puis écrit d'un seul bloc ;
+ * les champs contenant une virgule, un guillemet ou un saut de ligne sont entourés de guillemets.
+ */
+public class CsvWriter implements Closeable {
+    private final Writer destination; // Destination des enregistrements (null pour un usage en mémoire)
+    private final StringBuilder ligne = new StringBuilder(256); // Enregistrement en cours de construction
+    private boolean premierChamp = true; // Vrai tant qu'aucun champ n'a été ajouté à l'enregistrement
+
+    /**
+     * Constructeur de la classe CsvWriter.
+     *
+     * @param destination La destination des enregistrements ; elle est fermée avec l'écrivain.
+     */
+    public CsvWriter(Writer destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * Constructeur d'un écrivain en mémoire, dont les enregistrements sont récupérés avec {@link #enChaine()}.
+     */
+    public CsvWriter() {
+        this(null);
+    }
+
+    /**
+     * Ajoute un champ texte à l'enregistrement en cours, entre guillemets si nécessaire.
+     *
+     * @param valeur La valeur du champ (null est écrit comme un champ vide).
+     * @return Cet écrivain, pour chaîner les appels.
+     */
+    public CsvWriter champ(String valeur) {
+        separer();
+        if (valeur == null) {
+            return this;
+        }
+        if (!necessiteGuillemets(valeur)) {
+            ligne.append(valeur);
+            return this;
+        }
+        ligne.append('"');
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            if (c == '"') {
+                ligne.append('"');
+            }
+            ligne.append(c);
+        }
+        ligne.append('"');
+        return this;
+    }
+
+    /**
+     * Ajoute un champ entier à l'enregistrement en cours.
+     *
+     * @param valeur La valeur du champ.
+     * @return Cet écrivain, pour chaîner les appels.
+     */
+    public CsvWriter champ(int valeur) {
+        separer();
+        ligne.append(valeur);
+        return this;
+    }
+
+    /**
+     * Ajoute un champ date au format ISO (aaaa-mm-jj) à l'enregistrement en cours.
+     *
+     * @param date La date à écrire.
+     * @return Cet écrivain, pour chaîner les appels.
+     */
+    public CsvWriter champ(LocalDate date) {
+        separer();
+        int annee = date.getYear();
+        if (annee < 0 || annee > 9999) {
+            ligne.append(date);
+            return this;
+        }
+        chiffres(annee, 4);
+        ligne.append('-');
+        chiffres(date.getMonthValue(), 2);
+        ligne.append('-');
+        chiffres(date.getDayOfMonth(), 2);
+        return this;
+    }
+
+    /**
+     * Termine l'enregistrement en cours et l'écrit dans la destination.
+     *
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public void finLigne() throws IOException {
+        ligne.append('\n');
+        destination.append(ligne);
+        ligne.setLength(0);
+        premierChamp = true;
+    }
+
+    /**
+     * Termine l'enregistrement en cours et le retourne sans l'écrire, sans saut de ligne final.
+     *
+     * @return L'enregistrement formaté.
+     */
+    public String enChaine() {
+        String resultat = ligne.toString();
+        ligne.setLength(0);
+        premierChamp = true;
+        return resultat;
+    }
+
+    /**
+     * Vide les tampons de la destination et la ferme.
+     *
+     * @throws IOException En cas d'erreur lors de la fermeture.
+     */
+    @Override
+    public void close() throws IOException {
+        if (destination != null) {
+            destination.close();
+        }
+    }
+
+    /**
+     * Ajoute la virgule séparant le champ suivant du précédent.
+     */
+    private void separer() {
+        if (!premierChamp) {
+            ligne.append(',');
+        }
+        premierChamp = false;
+    }
+
+    /**
+     * Ajoute un entier positif complété par des zéros à gauche.
+     *
+     * @param valeur   L'entier à écrire.
+     * @param largeur  Le nombre de chiffres à écrire.
+     */
+    private void chiffres(int valeur, int largeur) {
+        for (int diviseur = largeur == 4 ? 1000 : 10; diviseur > 0; diviseur /= 10) {
+            ligne.append((char) ('0' + (valeur / diviseur) % 10));
+        }
+    }
+
+    /**
+     * Vérifie si une valeur doit être entourée de guillemets.
+     *
+     * @param valeur La valeur à écrire.
+     * @return true si la valeur contient un caractère spécial, false sinon.
+     */
+    private static boolean necessiteGuillemets(String valeur) {
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,13 +1,38 @@
 package util;
 
+import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Adaptateur pour simplifier l'utilisation d'un `DocumentListener`.
  * Permet de spécifier une seule action à exécuter lorsque le contenu d'un document change.
+ * <p>
+ * En mode différé (voir {@link #differe}), la recherche n'est lancée qu'après une période sans frappe,
+ * s'exécute hors du thread de l'interface et seul le résultat de la dernière requête est publié.
+ * Une recherche en échec publie un résultat vide et signale l'erreur, afin que les résultats précédents
+ * ne restent pas affichés comme s'ils répondaient à la requête.
  */
 public class DocumentListenerAdapter implements DocumentListener {
+    /**
+     * Délai par défaut, en millisecondes, entre la dernière frappe et le lancement de la recherche.
+     */
+    public static final int DELAI_PAR_DEFAUT = 200;
+
+    // Exécuteur partagé par toutes les recherches différées ; ses threads n'empêchent pas l'arrêt de l'application
+    private static final ExecutorService EXECUTEUR = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2), tache -> {
+                Thread thread = new Thread(tache, "recherche-differee");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     private final Runnable onChangeCallback; // Callback exécuté lors d'une modification
 
     /**
@@ -19,6 +44,26 @@ public class DocumentListenerAdapter implements DocumentListener {
         this.onChangeCallback = onChangeCallback;
     }
 
+    /**
+     * Crée un adaptateur qui lance une recherche en arrière-plan après une période sans modification du champ.
+     * Une nouvelle frappe annule la recherche en cours ; seul le résultat de la requête la plus récente
+     * est transmis à la publication, sur le thread de l'interface. Si la recherche échoue, le résultat vide
+     * est publié à sa place et l'erreur est signalée par une boîte de dialogue.
+     *
+     * @param champ        Le champ de saisie dont le texte sert de requête.
+     * @param recherche    La recherche, exécutée hors du thread de l'interface.
+     * @param publication  L'affichage du résultat, exécuté sur le thread de l'interface.
+     * @param resultatVide Le résultat publié lorsque la recherche échoue.
+     * @param delaiMs      La période sans frappe, en millisecondes, avant de lancer la recherche.
+     * @param <T>          Le type du résultat de la recherche.
+     * @return L'adaptateur à enregistrer sur le document du champ.
+     */
+    public static <T> DocumentListenerAdapter differe(JTextComponent champ, Function<String, T> recherche,
+                                                      Consumer<T> publication, T resultatVide, int delaiMs) {
+        RechercheDifferee<T> rechercheDifferee = new RechercheDifferee<>(champ, recherche, publication, resultatVide, delaiMs);
+        return new DocumentListenerAdapter(rechercheDifferee::planifier);
+    }
+
     /**
      * Appelé lorsqu'un texte est inséré dans le document.
      *
@@ -48,4 +93,68 @@ public class DocumentListenerAdapter implements DocumentListener {
     public void changedUpdate(DocumentEvent e) {
         onChangeCallback.run();
     }
+
+    /**
+     * Recherche différée et annulable associée à un champ de saisie.
+     *
+     * @param <T> Le type du résultat de la recherche.
+     */
+    private static final class RechercheDifferee<T> {
+        private final JTextComponent champ;
+        private final Function<String, T> recherche;
+        private final Consumer<T> publication;
+        private final T resultatVide; // Résultat publié lorsque la recherche échoue
+        private final Timer minuterie; // Minuterie Swing relancée à chaque frappe
+        private long generation; // Numéro de la requête la plus récente (lu et écrit sur le thread de l'interface)
+        private Future<?> enCours; // Recherche en cours d'exécution
+
+        RechercheDifferee(JTextComponent champ, Function<String, T> recherche, Consumer<T> publication,
+                          T resultatVide, int delaiMs) {
+            this.champ = champ;
+            this.recherche = recherche;
+            this.publication = publication;
+            this.resultatVide = resultatVide;
+            this.minuterie = new Timer(delaiMs, e -> lancer());
+            this.minuterie.setRepeats(false);
+        }
+
+        /**
+         * Relance la période d'attente ; appelé à chaque modification du document.
+         */
+        void planifier() {
+            minuterie.restart();
+        }
+
+        /**
+         * Lance la recherche pour le texte actuel du champ et abandonne la précédente.
+         */
+        private void lancer() {
+            long numero = ++generation;
+            String requete = champ.getText();
+            if (enCours != null) {
+                enCours.cancel(true);
+            }
+            enCours = EXECUTEUR.submit(() -> {
+                T resultat;
+                try {
+                    resultat = recherche.apply(requete);
+                } catch (RuntimeException e) {
+                    System.err.println("Erreur lors de la recherche: " + e.getMessage());
+                    SwingUtilities.invokeLater(() -> {
+                        if (numero == generation) {
+                            publication.accept(resultatVide);
+                            JOptionPane.showMessageDialog(champ, "Erreur lors de la recherche: " + e.getMessage(),
+                                    "Erreur", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
+                    return;
+                }
+                SwingUtilities.invokeLater(() -> {
+                    if (numero == generation) { // Ignorer les résultats d'une requête dépassée
+                        publication.accept(resultat);
+                    }
+                });
+            });
+        }
+    }
 }
@@ -0,0 +1,165 @@
+package util;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Predicate;
+
+/**
+ * Remplacement atomique d'un fichier.
+ * Le nouveau contenu est écrit dans un fichier temporaire voisin, forcé sur le disque, puis renommé
+ * par-dessus l'original avec {@link Files#move}. Un arrêt brutal laisse donc soit l'ancienne version complète,
+ * soit la nouvelle, jamais un fichier tronqué.
+ * Le répertoire est ensuite forcé à son tour, afin que le renommage soit acquis avant que l'appelant
+ * ne vide le journal des modifications qu'il remplace. Ces synchronisations ne dépendent pas de la
+ * {@link PolitiqueSynchronisation}, qui ne s'applique qu'aux ajouts dans les journaux.
+ */
+public final class EcritureAtomique {
+    private static final String SUFFIXE_TEMPORAIRE = ".tmp"; // Suffixe du fichier temporaire voisin
+
+    private EcritureAtomique() {
+    }
+
+    /**
+     * Production du contenu d'un fichier.
+     */
+    @FunctionalInterface
+    public interface Contenu {
+        /**
+         * Écrit le contenu dans le flux fourni ; fermer ce flux ne fait que le vider.
+         *
+         * @param sortie Le flux du fichier temporaire.
+         * @throws IOException En cas d'erreur d'écriture.
+         */
+        void ecrire(OutputStream sortie) throws IOException;
+    }
+
+    /**
+     * Remplace atomiquement le contenu d'un fichier.
+     * En cas d'échec, le fichier original est intact et le fichier temporaire est supprimé.
+     *
+     * @param chemin  Le chemin du fichier à remplacer.
+     * @param contenu La production du nouveau contenu.
+     * @throws IOException En cas d'erreur d'écriture ou de renommage.
+     */
+    public static void ecrire(String chemin, Contenu contenu) throws IOException {
+        Path cible = Path.of(chemin).toAbsolutePath();
+        Path temporaire = temporaire(cible);
+        Files.createDirectories(cible.getParent());
+
+        try {
+            try (FileOutputStream fichier = new FileOutputStream(temporaire.toFile())) {
+                contenu.ecrire(new FluxNonFermant(fichier));
+                fichier.getChannel().force(true); // Les données doivent précéder le renommage sur le disque
+            }
+            try {
+                Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaire, cible, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaire);
+            throw e;
+        }
+        forcerRepertoire(cible.getParent());
+    }
+
+    /**
+     * Récupère l'état d'un fichier après un éventuel arrêt brutal, avant son chargement.
+     * Le fichier principal, issu d'un remplacement complet, est la version valide la plus récente ;
+     * un fichier temporaire restant n'est conservé que si le fichier principal est absent ou invalide
+     * (par exemple vidé par un arrêt survenu avant sa synchronisation), et seulement s'il est lui-même valide.
+     * Il est alors promu à la place du fichier principal ; sinon il est supprimé.
+     *
+     * @param chemin Le chemin du fichier principal.
+     * @param valide Vérifie qu'un fichier est complet et lisible.
+     */
+    public static void recuperer(String chemin, Predicate<Path> valide) {
+        Path cible = Path.of(chemin).toAbsolutePath();
+        Path temporaire = temporaire(cible);
+        if (!Files.exists(temporaire)) {
+            return;
+        }
+        try {
+            if ((!Files.exists(cible) || !valide.test(cible)) && valide.test(temporaire)) {
+                System.err.println("Récupération de la copie temporaire: " + temporaire);
+                Files.move(temporaire, cible, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(temporaire);
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la récupération de " + chemin + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Vérifie qu'un fichier texte est complet : non vide et terminé par un saut de ligne.
+     * Chaque enregistrement CSV étant suivi d'un saut de ligne, un fichier tronqué en cours d'écriture
+     * se termine le plus souvent au milieu d'un enregistrement.
+     *
+     * @param fichier Le fichier à vérifier.
+     * @return true si le fichier est complet, false sinon.
+     */
+    public static boolean texteComplet(Path fichier) {
+        try (RandomAccessFile raf = new RandomAccessFile(fichier.toFile(), "r")) {
+            long taille = raf.length();
+            if (taille == 0) {
+                return false;
+            }
+            raf.seek(taille - 1);
+            return raf.read() == '\n';
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Obtient le chemin du fichier temporaire voisin d'un fichier.
+     *
+     * @param cible Le fichier principal.
+     * @return Le chemin du fichier temporaire, dans le même répertoire.
+     */
+    private static Path temporaire(Path cible) {
+        return cible.resolveSibling(cible.getFileName() + SUFFIXE_TEMPORAIRE);
+    }
+
+    /**
+     * Force sur le disque l'entrée de répertoire créée par le renommage, lorsque le système le permet.
+     *
+     * @param repertoire Le répertoire contenant le fichier.
+     */
+    private static void forcerRepertoire(Path repertoire) {
+        try (FileChannel canal = FileChannel.open(repertoire, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Non pris en charge sur certains systèmes (Windows) : le renommage reste atomique
+        }
+    }
+
+    /**
+     * Flux dont la fermeture se limite à vider les tampons, afin que le fichier puisse encore être forcé.
+     */
+    private static final class FluxNonFermant extends FilterOutputStream {
+        FluxNonFermant(OutputStream sortie) {
+            super(sortie);
+        }
+
+        @Override
+        public void write(byte[] octets, int debut, int longueur) throws IOException {
+            out.write(octets, debut, longueur);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Écriture groupée en arrière-plan (group commit).
+ * Une modification marque les données comme modifiées ; un écrivain dédié, exécuté sur un thread virtuel,
+ * attend au plus le délai de latence puis effectue une seule écriture pour toutes les modifications
+ * reçues entre-temps. Une rafale de centaines de modifications ne coûte ainsi qu'une ou deux écritures.
+ */
+public class EcritureGroupee {
+    /**
+     * Délai de latence par défaut, en millisecondes, configurable avec la propriété système
+     * {@code bibliotheque.delaiEcriture}.
+     */
+    public static final int DELAI_PAR_DEFAUT = Integer.getInteger("bibliotheque.delaiEcriture", 100);
+
+    private final String nom; // Nom des données écrites, utilisé dans les messages
+    private final BooleanSupplier ecriture; // Écriture à effectuer ; retourne false en cas d'échec
+    private final long delaiNanos; // Délai maximal entre la première modification et l'écriture
+    private final ReentrantLock verrou = new ReentrantLock(); // Protège l'état partagé avec l'écrivain
+    private final Condition changement = verrou.newCondition(); // Signale une modification ou l'arrêt
+    private final Thread ecrivain; // Thread virtuel effectuant les écritures
+
+    private boolean modifie; // Vrai si des modifications n'ont pas encore été prises par une écriture
+    private long echeance; // Instant (System.nanoTime) auquel l'écriture doit commencer
+    private boolean arret; // Vrai une fois l'arrêt demandé
+    private CompletableFuture<Void> prochaine = new CompletableFuture<>(); // Terminée par la prochaine écriture
+    private CompletableFuture<Void> enCours; // Terminée par l'écriture en cours, null s'il n'y en a pas
+
+    /**
+     * Constructeur de la classe EcritureGroupee. Démarre l'écrivain.
+     *
+     * @param nom      Le nom des données écrites, utilisé dans les messages et le nom du thread.
+     * @param ecriture L'écriture à effectuer ; elle doit lire un état cohérent des données et retourner false en cas d'échec.
+     * @param delaiMs  Le délai maximal, en millisecondes, entre la première modification et l'écriture.
+     */
+    public EcritureGroupee(String nom, BooleanSupplier ecriture, int delaiMs) {
+        this.nom = nom;
+        this.ecriture = ecriture;
+        this.delaiNanos = TimeUnit.MILLISECONDS.toNanos(delaiMs);
+        this.ecrivain = Thread.ofVirtual().name("ecriture-" + nom).start(this::boucle);
+    }
+
+    /**
+     * Signale une modification et planifie une écriture.
+     * Après l'arrêt, l'écriture est effectuée immédiatement sur le thread appelant.
+     *
+     * @return Une promesse terminée lorsque la modification est écrite.
+     */
+    public CompletableFuture<Void> signaler() {
+        verrou.lock();
+        try {
+            if (!arret) {
+                if (!modifie) {
+                    modifie = true;
+                    echeance = System.nanoTime() + delaiNanos;
+                    changement.signal();
+                }
+                return prochaine;
+            }
+        } finally {
+            verrou.unlock();
+        }
+        CompletableFuture<Void> resultat = new CompletableFuture<>();
+        terminer(resultat);
+        return resultat;
+    }
+
+    /**
+     * Obtient une promesse terminée lorsque toutes les modifications déjà signalées sont écrites.
+     *
+     * @return La promesse, déjà terminée s'il n'y a rien à écrire.
+     */
+    public CompletableFuture<Void> attendre() {
+        verrou.lock();
+        try {
+            if (modifie) {
+                return prochaine;
+            }
+            return enCours != null ? enCours : CompletableFuture.completedFuture(null);
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Écrit sans attendre les modifications en attente, puis arrête l'écrivain.
+     */
+    public void fermer() {
+        verrou.lock();
+        try {
+            arret = true;
+            changement.signal();
+        } finally {
+            verrou.unlock();
+        }
+        try {
+            ecrivain.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Boucle de l'écrivain : attend une modification, laisse s'écouler le délai de latence
+     * pour regrouper les suivantes, puis écrit.
+     */
+    private void boucle() {
+        while (true) {
+            CompletableFuture<Void> promesse;
+            verrou.lock();
+            try {
+                while (!modifie && !arret) {
+                    changement.awaitUninterruptibly();
+                }
+                if (!modifie) {
+                    return; // Arrêt demandé et plus rien à écrire
+                }
+                long reste;
+                while (!arret && (reste = echeance - System.nanoTime()) > 0) {
+                    changement.awaitNanos(reste);
+                }
+                modifie = false;
+                promesse = prochaine;
+                prochaine = new CompletableFuture<>();
+                enCours = promesse;
+            } catch (InterruptedException e) {
+                arret = true;
+                continue; // Écrire immédiatement ce qui est en attente avant de s'arrêter
+            } finally {
+                verrou.unlock();
+            }
+
+            terminer(promesse);
+
+            verrou.lock();
+            try {
+                if (enCours == promesse) {
+                    enCours = null;
+                }
+            } finally {
+                verrou.unlock();
+            }
+        }
+    }
+
+    /**
+     * Effectue l'écriture et termine la promesse selon son résultat.
+     *
+     * @param promesse La promesse à terminer.
+     */
+    private void terminer(CompletableFuture<Void> promesse) {
+        try {
+            if (ecriture.getAsBoolean()) {
+                promesse.complete(null);
+            } else {
+                promesse.completeExceptionally(new IOException("Échec de l'écriture: " + nom));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Erreur lors de l'écriture en arrière-plan (" + nom + "): " + e.getMessage());
+            promesse.completeExceptionally(e);
+        }
+    }
+}
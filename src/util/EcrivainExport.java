@@ -0,0 +1,207 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Écrivain d'export en CSV ou en JSON Lines, encodé en UTF-8.
+ * Les enregistrements sont formatés dans un tampon en mémoire, que l'appelant écrit dans la destination
+ * avec {@link #vider()} : il peut ainsi formater une tranche d'enregistrements sous le verrou d'un modèle,
+ * puis l'écrire après avoir relâché ce verrou. Les champs non retenus par les options sont ignorés.
+ */
+public class EcrivainExport {
+    public static final int TAILLE_TRANCHE = 1024; // Nombre d'enregistrements lus par tranche sous le verrou d'un modèle
+    private final Writer destination; // Destination des enregistrements
+    private final OptionsExport.Format format; // Format de sortie
+    private final String[] colonnes; // Noms de toutes les colonnes de l'enregistrement
+    private final boolean[] retenues; // Colonnes écrites, par indice
+    private final CsvWriter csv = new CsvWriter(); // Formate les enregistrements CSV
+    private final StringBuilder tampon = new StringBuilder(1 << 16); // Enregistrements formatés pas encore écrits
+    private int colonne; // Indice de la colonne du prochain champ
+    private boolean premierChamp = true; // Vrai tant qu'aucun champ JSON n'a été écrit dans l'objet en cours
+    private long nombre; // Nombre d'enregistrements formatés
+
+    /**
+     * Constructeur de la classe EcrivainExport. En CSV, l'en-tête des colonnes retenues est formaté aussitôt.
+     *
+     * @param sortie   La destination ; elle n'est pas fermée par l'écrivain.
+     * @param options  Le format et les champs retenus.
+     * @param colonnes Les noms des colonnes de l'enregistrement, dans l'ordre des appels à {@code champ}.
+     * @throws IllegalArgumentException Si un champ retenu ne correspond à aucune colonne.
+     */
+    public EcrivainExport(OutputStream sortie, OptionsExport options, String... colonnes) {
+        this.destination = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8), 1 << 16);
+        this.format = options.getFormat();
+        this.colonnes = colonnes;
+        this.retenues = new boolean[colonnes.length];
+        Set<String> champs = options.getChamps();
+        for (int i = 0; i < colonnes.length; i++) {
+            retenues[i] = champs == null || champs.contains(colonnes[i]);
+        }
+        if (champs != null) {
+            for (String champ : champs) {
+                if (!Arrays.asList(colonnes).contains(champ)) {
+                    throw new IllegalArgumentException("Champ inconnu: " + champ);
+                }
+            }
+        }
+
+        if (format == OptionsExport.Format.CSV) {
+            for (int i = 0; i < colonnes.length; i++) {
+                if (retenues[i]) {
+                    csv.champ(colonnes[i]);
+                }
+            }
+            tampon.append(csv.enChaine()).append('\n');
+        }
+    }
+
+    /**
+     * Ajoute un champ texte à l'enregistrement en cours.
+     *
+     * @param valeur La valeur du champ (null est écrit comme un champ vide en CSV, null en JSON).
+     * @return Cet écrivain, pour chaîner les appels.
+     */
+    public EcrivainExport champ(String valeur) {
+        if (retenir()) {
+            if (format == OptionsExport.Format.CSV) {
+                csv.champ(valeur);
+            } else if (valeur == null) {
+                cle().append("null");
+            } else {
+                chaineJson(cle(), valeur);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Ajoute un champ entier à l'enregistrement en cours.
+     *
+     * @param valeur La valeur du champ.
+     * @return Cet écrivain, pour chaîner les appels.
+     */
+    public EcrivainExport champ(int valeur) {
+        if (retenir()) {
+            if (format == OptionsExport.Format.CSV) {
+                csv.champ(valeur);
+            } else {
+                cle().append(valeur);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Ajoute un champ date au format ISO (aaaa-mm-jj) à l'enregistrement en cours.
+     *
+     * @param date La date, ou null pour un champ vide en CSV, null en JSON.
+     * @return Cet écrivain, pour chaîner les appels.
+     */
+    public EcrivainExport champ(LocalDate date) {
+        if (date == null) {
+            return champ((String) null);
+        }
+        if (retenir()) {
+            if (format == OptionsExport.Format.CSV) {
+                csv.champ(date);
+            } else {
+                cle().append('"').append(date).append('"');
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Termine l'enregistrement en cours et l'ajoute au tampon.
+     */
+    public void finLigne() {
+        if (format == OptionsExport.Format.CSV) {
+            tampon.append(csv.enChaine());
+        } else {
+            tampon.append(premierChamp ? "{" : "").append('}');
+        }
+        tampon.append('\n');
+        colonne = 0;
+        premierChamp = true;
+        nombre++;
+    }
+
+    /**
+     * Écrit les enregistrements formatés dans la destination et vide le tampon.
+     *
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public void vider() throws IOException {
+        destination.append(tampon);
+        tampon.setLength(0);
+    }
+
+    /**
+     * Écrit les derniers enregistrements et vide les tampons de la destination, sans la fermer.
+     *
+     * @return Le nombre d'enregistrements écrits.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public long terminer() throws IOException {
+        vider();
+        destination.flush();
+        return nombre;
+    }
+
+    /**
+     * Passe à la colonne suivante.
+     *
+     * @return true si le champ de la colonne courante doit être écrit.
+     */
+    private boolean retenir() {
+        return retenues[colonne++];
+    }
+
+    /**
+     * Ouvre l'objet JSON si nécessaire et ajoute la clé de la colonne courante.
+     *
+     * @return Le tampon, prêt à recevoir la valeur.
+     */
+    private StringBuilder cle() {
+        tampon.append(premierChamp ? '{' : ',');
+        premierChamp = false;
+        return chaineJson(tampon, colonnes[colonne - 1]).append(':');
+    }
+
+    /**
+     * Ajoute une chaîne JSON entre guillemets, en échappant les caractères réservés.
+     *
+     * @param sortie Le tampon de destination.
+     * @param valeur La chaîne à ajouter.
+     * @return Le tampon.
+     */
+    private static StringBuilder chaineJson(StringBuilder sortie, String valeur) {
+        sortie.append('"');
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            switch (c) {
+                case '"' -> sortie.append("\\\"");
+                case '\\' -> sortie.append("\\\\");
+                case '\n' -> sortie.append("\\n");
+                case '\r' -> sortie.append("\\r");
+                case '\t' -> sortie.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sortie.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sortie.append(c);
+                    }
+                }
+            }
+        }
+        return sortie.append('"');
+    }
+}
@@ -0,0 +1,190 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble d'identifiants positifs ou nuls, représenté par un tableau de bits découpé en segments.
+ * Un segment couvre 262 144 identifiants (32 Ko) et n'est alloué que s'il contient au moins un identifiant :
+ * un identifiant isolé très grand, par exemple issu d'un import, ne coûte qu'un segment et une case du répertoire
+ * des segments, et non un tableau de bits à la taille du plus grand identifiant.
+ * Les identifiants se parcourent dans l'ordre croissant en sautant les mots vides ; un compteur par segment
+ * et par bloc de 4096 identifiants permet de sauter les blocs vides et de trouver le n-ième identifiant
+ * sans compter un à un tous ceux qui le précèdent.
+ */
+public class EnsembleIdentifiants {
+    private static final int MOTS_PAR_BLOC = 64; // Nombre de mots de 64 bits comptés ensemble
+    private static final int BLOCS_PAR_SEGMENT = 64; // Nombre de blocs d'un segment
+    private static final int BITS_SEGMENT = 18; // Un segment couvre 2^18 identifiants (64 blocs de 64 mots de 64 bits)
+    private static final int MASQUE_SEGMENT = (1 << BITS_SEGMENT) - 1; // Position d'un identifiant dans son segment
+
+    private Segment[] segments = new Segment[1]; // Segments par indice, null si vide
+    private int taille; // Nombre d'identifiants présents
+
+    /**
+     * Tableau de bits d'un segment, avec le nombre d'identifiants présents par bloc.
+     */
+    private static final class Segment {
+        final long[] mots = new long[MOTS_PAR_BLOC * BLOCS_PAR_SEGMENT]; // Bit i du mot m : présence de l'identifiant 64 * m + i du segment
+        final int[] comptes = new int[BLOCS_PAR_SEGMENT]; // Nombre d'identifiants présents par bloc de mots
+        int taille; // Nombre d'identifiants présents dans le segment
+    }
+
+    /**
+     * Ajoute un identifiant.
+     *
+     * @param id L'identifiant, positif ou nul.
+     * @throws IllegalArgumentException Si l'identifiant est négatif.
+     */
+    public void ajouter(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Identifiant négatif: " + id);
+        }
+        int indice = id >>> BITS_SEGMENT;
+        if (indice >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(indice + 1, segments.length * 2));
+        }
+        Segment segment = segments[indice];
+        if (segment == null) {
+            segment = new Segment();
+            segments[indice] = segment;
+        }
+        int mot = (id & MASQUE_SEGMENT) >>> 6;
+        long bit = 1L << id;
+        if ((segment.mots[mot] & bit) == 0) {
+            segment.mots[mot] |= bit;
+            segment.comptes[mot / MOTS_PAR_BLOC]++;
+            segment.taille++;
+            taille++;
+        }
+    }
+
+    /**
+     * Retire un identifiant, s'il est présent. Un segment devenu vide est libéré.
+     *
+     * @param id L'identifiant.
+     */
+    public void retirer(int id) {
+        if (contient(id)) {
+            int indice = id >>> BITS_SEGMENT;
+            Segment segment = segments[indice];
+            int mot = (id & MASQUE_SEGMENT) >>> 6;
+            segment.mots[mot] &= ~(1L << id);
+            segment.comptes[mot / MOTS_PAR_BLOC]--;
+            taille--;
+            if (--segment.taille == 0) {
+                segments[indice] = null;
+            }
+        }
+    }
+
+    /**
+     * Vérifie si un identifiant est présent.
+     *
+     * @param id L'identifiant.
+     * @return true si l'identifiant est présent.
+     */
+    public boolean contient(int id) {
+        if (id < 0 || (id >>> BITS_SEGMENT) >= segments.length) {
+            return false;
+        }
+        Segment segment = segments[id >>> BITS_SEGMENT];
+        return segment != null && (segment.mots[(id & MASQUE_SEGMENT) >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Obtient le nombre d'identifiants présents.
+     *
+     * @return Le nombre d'identifiants.
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Trouve le plus petit identifiant présent strictement supérieur à un identifiant donné.
+     *
+     * @param id L'identifiant de départ, ou -1 pour partir du début.
+     * @return L'identifiant suivant, ou -1 s'il n'y en a pas.
+     */
+    public int apres(int id) {
+        if (id == Integer.MAX_VALUE) {
+            return -1;
+        }
+        int depuis = Math.max(0, id + 1);
+        for (int indice = depuis >>> BITS_SEGMENT; indice < segments.length; indice++) {
+            Segment segment = segments[indice];
+            if (segment != null) {
+                int position = apres(segment, depuis & MASQUE_SEGMENT);
+                if (position >= 0) {
+                    return (indice << BITS_SEGMENT) + position;
+                }
+            }
+            depuis = 0; // Les segments suivants se parcourent depuis leur début
+        }
+        return -1;
+    }
+
+    /**
+     * Trouve l'identifiant d'un rang donné dans l'ordre croissant.
+     *
+     * @param rang Le rang, à partir de 0.
+     * @return L'identifiant de ce rang, ou -1 si le rang est négatif ou dépasse le nombre d'identifiants.
+     */
+    public int ieme(int rang) {
+        if (rang < 0 || rang >= taille) {
+            return -1;
+        }
+        int indice = 0;
+        while (segments[indice] == null || rang >= segments[indice].taille) {
+            if (segments[indice] != null) {
+                rang -= segments[indice].taille;
+            }
+            indice++;
+        }
+        Segment segment = segments[indice];
+        int bloc = 0;
+        while (rang >= segment.comptes[bloc]) {
+            rang -= segment.comptes[bloc++];
+        }
+        int mot = bloc * MOTS_PAR_BLOC;
+        while (rang >= Long.bitCount(segment.mots[mot])) {
+            rang -= Long.bitCount(segment.mots[mot++]);
+        }
+        long bits = segment.mots[mot];
+        for (; rang > 0; rang--) {
+            bits &= bits - 1; // Retirer le plus petit bit présent
+        }
+        return (indice << BITS_SEGMENT) + (mot << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Retire tous les identifiants.
+     */
+    public void effacer() {
+        segments = new Segment[1];
+        taille = 0;
+    }
+
+    /**
+     * Trouve dans un segment la plus petite position présente supérieure ou égale à une position donnée.
+     *
+     * @param segment Le segment.
+     * @param depuis  La position de départ dans le segment.
+     * @return La position trouvée, ou -1 s'il n'y en a pas dans ce segment.
+     */
+    private static int apres(Segment segment, int depuis) {
+        int mot = depuis >>> 6;
+        long bits = segment.mots[mot] & (-1L << depuis);
+        while (bits == 0) {
+            mot++;
+            while (mot < segment.mots.length && mot % MOTS_PAR_BLOC == 0 && segment.comptes[mot / MOTS_PAR_BLOC] == 0) {
+                mot += MOTS_PAR_BLOC; // Bloc vide
+            }
+            if (mot >= segment.mots.length) {
+                return -1;
+            }
+            bits = segment.mots[mot];
+        }
+        return (mot << 6) + Long.numberOfTrailingZeros(bits);
+    }
+}
@@ -0,0 +1,263 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Liste ordonnée d'entités doublée d'un index par identifiant entier.
+ * La recherche, le remplacement et la suppression par identifiant se font en temps constant :
+ * une suppression laisse une case vide, et les cases vides sont compactées en bloc
+ * lorsqu'elles deviennent trop nombreuses. L'ordre d'insertion est conservé.
+ * <p>
+ * Les entités d'identifiant positif ou nul peuvent aussi être lues page par page dans l'ordre des identifiants,
+ * par rang ({@link #page}) ou à partir d'un curseur ({@link #pageApres}) ; cet ordre ne dépend ni des
+ * suppressions ni du compactage.
+ *
+ * @param <T> Le type des entités stockées.
+ */
+public class IndexedList<T> implements Iterable<T> {
+    private static final int SEUIL_COMPACTAGE = 32; // Nombre minimal de cases vides avant compactage
+
+    private final ToIntFunction<T> identifiant; // Fonction donnant l'identifiant d'une entité
+    private final ArrayList<T> elements = new ArrayList<>(); // Entités dans l'ordre d'insertion (null = case vide)
+    private final IntIntHashMap positions = new IntIntHashMap(); // Identifiant -> position dans la liste
+    private final EnsembleIdentifiants identifiants = new EnsembleIdentifiants(); // Identifiants positifs ou nuls présents, pour la pagination
+    private int casesVides; // Nombre de cases vides laissées par les suppressions
+    private int idMax; // Plus grand identifiant inséré
+
+    /**
+     * Constructeur de la classe IndexedList.
+     *
+     * @param identifiant Fonction donnant l'identifiant d'une entité.
+     */
+    public IndexedList(ToIntFunction<T> identifiant) {
+        this.identifiant = identifiant;
+    }
+
+    /**
+     * Ajoute une entité à la fin de la liste.
+     *
+     * @param element L'entité à ajouter.
+     * @return true si l'entité a été ajoutée, false si son identifiant existe déjà.
+     */
+    public boolean add(T element) {
+        int id = identifiant.applyAsInt(element);
+        if (positions.containsKey(id)) {
+            return false;
+        }
+        positions.put(id, elements.size());
+        elements.add(element);
+        if (id >= 0) {
+            identifiants.ajouter(id);
+        }
+        idMax = Math.max(idMax, id);
+        return true;
+    }
+
+    /**
+     * Remplace l'entité de même identifiant, ou l'ajoute à la fin si elle est absente.
+     *
+     * @param element L'entité à enregistrer.
+     * @return L'entité remplacée, ou null si l'entité a été ajoutée.
+     */
+    public T put(T element) {
+        T precedent = replace(element);
+        if (precedent == null) {
+            add(element);
+        }
+        return precedent;
+    }
+
+    /**
+     * Obtient l'entité correspondant à un identifiant.
+     *
+     * @param id L'identifiant recherché.
+     * @return L'entité correspondante ou null si elle n'existe pas.
+     */
+    public T get(int id) {
+        int position = positions.get(id, -1);
+        return position < 0 ? null : elements.get(position);
+    }
+
+    /**
+     * Vérifie si une entité possède l'identifiant donné.
+     *
+     * @param id L'identifiant recherché.
+     * @return true si l'identifiant est présent, false sinon.
+     */
+    public boolean contains(int id) {
+        return positions.containsKey(id);
+    }
+
+    /**
+     * Remplace l'entité de même identifiant en conservant sa position.
+     *
+     * @param element La nouvelle version de l'entité.
+     * @return L'entité remplacée, ou null si aucune entité n'a cet identifiant.
+     */
+    public T replace(T element) {
+        int position = positions.get(identifiant.applyAsInt(element), -1);
+        return position < 0 ? null : elements.set(position, element);
+    }
+
+    /**
+     * Supprime l'entité correspondant à un identifiant.
+     *
+     * @param id L'identifiant de l'entité à supprimer.
+     * @return L'entité supprimée, ou null si elle n'existe pas.
+     */
+    public T remove(int id) {
+        int position = positions.get(id, -1);
+        if (position < 0) {
+            return null;
+        }
+        positions.remove(id);
+        identifiants.retirer(id);
+        T supprime = elements.set(position, null);
+        casesVides++;
+        if (casesVides >= SEUIL_COMPACTAGE && casesVides * 2 >= elements.size()) {
+            compacter();
+        }
+        return supprime;
+    }
+
+    /**
+     * Obtient le nombre d'entités présentes.
+     *
+     * @return Le nombre d'entités.
+     */
+    public int size() {
+        return elements.size() - casesVides;
+    }
+
+    /**
+     * Obtient le plus grand identifiant inséré depuis la création de la liste.
+     *
+     * @return Le plus grand identifiant, ou 0 si aucune entité n'a été insérée.
+     */
+    public int getIdMax() {
+        return idMax;
+    }
+
+    /**
+     * Supprime toutes les entités.
+     */
+    public void clear() {
+        elements.clear();
+        positions.clear();
+        identifiants.effacer();
+        casesVides = 0;
+        idMax = 0;
+    }
+
+    /**
+     * Copie les entités dans une nouvelle liste, dans l'ordre d'insertion.
+     *
+     * @return Une nouvelle liste contenant les entités.
+     */
+    public List<T> toList() {
+        List<T> copie = new ArrayList<>(size());
+        for (T element : this) {
+            copie.add(element);
+        }
+        return copie;
+    }
+
+    /**
+     * Copie une page d'entités, dans l'ordre croissant des identifiants.
+     * Une insertion ou une suppression avant la page décale les pages suivantes ; pour un parcours complet
+     * pendant des modifications, préférer {@link #pageApres}.
+     *
+     * @param debut  Le rang de la première entité, à partir de 0.
+     * @param limite Le nombre maximal d'entités.
+     * @return Les entités de la page, vide si le rang dépasse le nombre d'entités.
+     * @throws IllegalArgumentException Si le rang ou la limite est négatif.
+     */
+    public List<T> page(int debut, int limite) {
+        if (debut < 0 || limite < 0) {
+            throw new IllegalArgumentException("Page invalide: debut=" + debut + ", limite=" + limite);
+        }
+        List<T> page = new ArrayList<>(Math.min(limite, identifiants.taille()));
+        for (int id = identifiants.ieme(debut); id >= 0 && page.size() < limite; id = identifiants.apres(id)) {
+            page.add(get(id));
+        }
+        return page;
+    }
+
+    /**
+     * Copie la page d'entités qui suit un curseur, dans l'ordre croissant des identifiants.
+     *
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param limite  Le nombre maximal d'entités.
+     * @return La page, avec le curseur de la page suivante.
+     * @throws IllegalArgumentException Si le curseur est invalide ou la limite négative.
+     */
+    public Page<T> pageApres(String curseur, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite négative: " + limite);
+        }
+        List<T> page = new ArrayList<>(Math.min(limite, identifiants.taille()));
+        int dernier = Page.dernierId(curseur);
+        int id = identifiants.apres(dernier);
+        while (id >= 0 && page.size() < limite) {
+            page.add(get(id));
+            dernier = id;
+            id = identifiants.apres(id);
+        }
+        return new Page<>(page, id < 0 ? null : Page.curseur(dernier));
+    }
+
+    /**
+     * Parcourt les entités dans l'ordre d'insertion en ignorant les cases vides.
+     *
+     * @return Un itérateur sur les entités.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int suivant = avancer(0);
+
+            private int avancer(int depuis) {
+                while (depuis < elements.size() && elements.get(depuis) == null) {
+                    depuis++;
+                }
+                return depuis;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return suivant < elements.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T element = elements.get(suivant);
+                suivant = avancer(suivant + 1);
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Retire les cases vides et recalcule les positions des entités restantes.
+     */
+    private void compacter() {
+        int ecriture = 0;
+        for (int lecture = 0; lecture < elements.size(); lecture++) {
+            T element = elements.get(lecture);
+            if (element != null) {
+                elements.set(ecriture, element);
+                positions.put(identifiant.applyAsInt(element), ecriture);
+                ecriture++;
+            }
+        }
+        elements.subList(ecriture, elements.size()).clear();
+        casesVides = 0;
+    }
+}
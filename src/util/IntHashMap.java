@@ -0,0 +1,206 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage associant des clés entières à des objets, sans convertir les clés en {@code Integer}.
+ * Utilise l'adressage ouvert avec sondage linéaire et suppression par décalage arrière.
+ * Les valeurs null ne sont pas admises : null signifie que la clé est absente.
+ *
+ * @param <V> Le type des valeurs.
+ */
+public class IntHashMap<V> {
+    private static final float FACTEUR_CHARGE = 0.5f; // Taux de remplissage maximal avant agrandissement
+
+    private int[] cles; // Clés stockées
+    private Object[] valeurs; // Valeurs associées aux clés
+    private boolean[] occupes; // Indique si une case contient une entrée
+    private int taille; // Nombre d'entrées présentes
+    private int masque; // Masque utilisé pour ramener un hachage dans la table
+
+    /**
+     * Constructeur de la classe IntHashMap avec une capacité initiale par défaut.
+     */
+    public IntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Constructeur de la classe IntHashMap.
+     *
+     * @param capaciteInitiale Le nombre d'entrées attendu.
+     */
+    public IntHashMap(int capaciteInitiale) {
+        int capacite = Integer.highestOneBit(Math.max(4, (int) (capaciteInitiale / FACTEUR_CHARGE)) - 1) << 1;
+        allouer(capacite);
+    }
+
+    /**
+     * Obtient la valeur associée à une clé.
+     *
+     * @param cle La clé recherchée.
+     * @return La valeur associée ou null si la clé est absente.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int cle) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                return (V) valeurs[i];
+            }
+            i = (i + 1) & masque;
+        }
+        return null;
+    }
+
+    /**
+     * Vérifie si une clé est présente.
+     *
+     * @param cle La clé recherchée.
+     * @return true si la clé est présente, false sinon.
+     */
+    public boolean containsKey(int cle) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+        return false;
+    }
+
+    /**
+     * Associe une valeur à une clé, en remplaçant la valeur précédente le cas échéant.
+     *
+     * @param cle    La clé.
+     * @param valeur La valeur à associer (non null).
+     * @return La valeur précédente ou null si la clé était absente.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int cle, V valeur) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                V precedente = (V) valeurs[i];
+                valeurs[i] = valeur;
+                return precedente;
+            }
+            i = (i + 1) & masque;
+        }
+        occupes[i] = true;
+        cles[i] = cle;
+        valeurs[i] = valeur;
+        if (++taille > cles.length * FACTEUR_CHARGE) {
+            agrandir();
+        }
+        return null;
+    }
+
+    /**
+     * Supprime l'entrée associée à une clé.
+     *
+     * @param cle La clé à supprimer.
+     * @return La valeur supprimée ou null si la clé était absente.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int cle) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                V supprimee = (V) valeurs[i];
+                decalerArriere(i);
+                taille--;
+                return supprimee;
+            }
+            i = (i + 1) & masque;
+        }
+        return null;
+    }
+
+    /**
+     * Obtient le nombre d'entrées présentes.
+     *
+     * @return Le nombre d'entrées.
+     */
+    public int size() {
+        return taille;
+    }
+
+    /**
+     * Supprime toutes les entrées.
+     */
+    public void clear() {
+        Arrays.fill(occupes, false);
+        Arrays.fill(valeurs, null);
+        taille = 0;
+    }
+
+    /**
+     * Referme le trou laissé par une suppression en ramenant les entrées suivantes de la même grappe.
+     *
+     * @param trou L'indice de la case libérée.
+     */
+    private void decalerArriere(int trou) {
+        int i = trou;
+        while (true) {
+            i = (i + 1) & masque;
+            if (!occupes[i]) {
+                break;
+            }
+            int ideal = indice(cles[i]);
+            // L'entrée peut combler le trou si sa position idéale ne se trouve pas entre le trou et elle
+            if (((i - ideal) & masque) >= ((i - trou) & masque)) {
+                cles[trou] = cles[i];
+                valeurs[trou] = valeurs[i];
+                trou = i;
+            }
+        }
+        occupes[trou] = false;
+        valeurs[trou] = null;
+    }
+
+    /**
+     * Double la capacité de la table et réinsère toutes les entrées.
+     */
+    private void agrandir() {
+        int[] anciennesCles = cles;
+        Object[] anciennesValeurs = valeurs;
+        boolean[] anciensOccupes = occupes;
+        allouer(cles.length << 1);
+        for (int i = 0; i < anciennesCles.length; i++) {
+            if (anciensOccupes[i]) {
+                int j = indice(anciennesCles[i]);
+                while (occupes[j]) {
+                    j = (j + 1) & masque;
+                }
+                occupes[j] = true;
+                cles[j] = anciennesCles[i];
+                valeurs[j] = anciennesValeurs[i];
+            }
+        }
+    }
+
+    /**
+     * Alloue des tableaux vides de la capacité indiquée.
+     *
+     * @param capacite La capacité, puissance de deux.
+     */
+    private void allouer(int capacite) {
+        cles = new int[capacite];
+        valeurs = new Object[capacite];
+        occupes = new boolean[capacite];
+        masque = capacite - 1;
+    }
+
+    /**
+     * Calcule la case idéale d'une clé en dispersant ses bits.
+     *
+     * @param cle La clé.
+     * @return L'indice de la case idéale.
+     */
+    private int indice(int cle) {
+        int h = cle * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & masque;
+    }
+}
@@ -0,0 +1,248 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage associant des clés entières à des valeurs entières, sans objets intermédiaires.
+ * Utilise l'adressage ouvert avec sondage linéaire et suppression par décalage arrière,
+ * ce qui garantit des accès en temps constant sans allouer d'{@code Integer}.
+ */
+public class IntIntHashMap {
+
+    /**
+     * Action appliquée à chaque entrée de la table.
+     */
+    @FunctionalInterface
+    public interface Action {
+        /**
+         * Applique l'action à une entrée.
+         *
+         * @param cle    La clé de l'entrée.
+         * @param valeur La valeur associée.
+         */
+        void appliquer(int cle, int valeur);
+    }
+
+    private static final float FACTEUR_CHARGE = 0.5f; // Taux de remplissage maximal avant agrandissement
+
+    private int[] cles; // Clés stockées
+    private int[] valeurs; // Valeurs associées aux clés
+    private boolean[] occupes; // Indique si une case contient une entrée
+    private int taille; // Nombre d'entrées présentes
+    private int masque; // Masque utilisé pour ramener un hachage dans la table
+
+    /**
+     * Constructeur de la classe IntIntHashMap avec une capacité initiale par défaut.
+     */
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Constructeur de la classe IntIntHashMap.
+     *
+     * @param capaciteInitiale Le nombre d'entrées attendu.
+     */
+    public IntIntHashMap(int capaciteInitiale) {
+        int capacite = Integer.highestOneBit(Math.max(4, (int) (capaciteInitiale / FACTEUR_CHARGE)) - 1) << 1;
+        allouer(capacite);
+    }
+
+    /**
+     * Obtient la valeur associée à une clé.
+     *
+     * @param cle    La clé recherchée.
+     * @param defaut La valeur retournée si la clé est absente.
+     * @return La valeur associée ou la valeur par défaut.
+     */
+    public int get(int cle, int defaut) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                return valeurs[i];
+            }
+            i = (i + 1) & masque;
+        }
+        return defaut;
+    }
+
+    /**
+     * Vérifie si une clé est présente.
+     *
+     * @param cle La clé recherchée.
+     * @return true si la clé est présente, false sinon.
+     */
+    public boolean containsKey(int cle) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+        return false;
+    }
+
+    /**
+     * Associe une valeur à une clé, en remplaçant la valeur précédente le cas échéant.
+     *
+     * @param cle    La clé.
+     * @param valeur La valeur à associer.
+     */
+    public void put(int cle, int valeur) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                valeurs[i] = valeur;
+                return;
+            }
+            i = (i + 1) & masque;
+        }
+        occupes[i] = true;
+        cles[i] = cle;
+        valeurs[i] = valeur;
+        if (++taille > cles.length * FACTEUR_CHARGE) {
+            agrandir();
+        }
+    }
+
+    /**
+     * Ajoute une quantité à la valeur associée à une clé, en un seul parcours de la table.
+     *
+     * @param cle   La clé.
+     * @param delta La quantité à ajouter ; une clé absente vaut 0.
+     * @return La nouvelle valeur.
+     */
+    public int ajouter(int cle, int delta) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                return valeurs[i] += delta;
+            }
+            i = (i + 1) & masque;
+        }
+        occupes[i] = true;
+        cles[i] = cle;
+        valeurs[i] = delta;
+        if (++taille > cles.length * FACTEUR_CHARGE) {
+            agrandir();
+        }
+        return delta;
+    }
+
+    /**
+     * Applique une action à chaque entrée, dans un ordre quelconque. La table ne doit pas être modifiée pendant le parcours.
+     *
+     * @param action L'action à appliquer.
+     */
+    public void pourChaque(Action action) {
+        for (int i = 0; i < cles.length; i++) {
+            if (occupes[i]) {
+                action.appliquer(cles[i], valeurs[i]);
+            }
+        }
+    }
+
+    /**
+     * Supprime l'entrée associée à une clé.
+     *
+     * @param cle La clé à supprimer.
+     * @return true si une entrée a été supprimée, false si la clé était absente.
+     */
+    public boolean remove(int cle) {
+        int i = indice(cle);
+        while (occupes[i]) {
+            if (cles[i] == cle) {
+                decalerArriere(i);
+                taille--;
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+        return false;
+    }
+
+    /**
+     * Obtient le nombre d'entrées présentes.
+     *
+     * @return Le nombre d'entrées.
+     */
+    public int size() {
+        return taille;
+    }
+
+    /**
+     * Supprime toutes les entrées.
+     */
+    public void clear() {
+        Arrays.fill(occupes, false);
+        taille = 0;
+    }
+
+    /**
+     * Referme le trou laissé par une suppression en ramenant les entrées suivantes de la même grappe.
+     *
+     * @param trou L'indice de la case libérée.
+     */
+    private void decalerArriere(int trou) {
+        int i = trou;
+        while (true) {
+            i = (i + 1) & masque;
+            if (!occupes[i]) {
+                break;
+            }
+            int ideal = indice(cles[i]);
+            // L'entrée peut combler le trou si sa position idéale ne se trouve pas entre le trou et elle
+            if (((i - ideal) & masque) >= ((i - trou) & masque)) {
+                cles[trou] = cles[i];
+                valeurs[trou] = valeurs[i];
+                trou = i;
+            }
+        }
+        occupes[trou] = false;
+    }
+
+    /**
+     * Double la capacité de la table et réinsère toutes les entrées.
+     */
+    private void agrandir() {
+        int[] anciennesCles = cles;
+        int[] anciennesValeurs = valeurs;
+        boolean[] anciensOccupes = occupes;
+        allouer(cles.length << 1);
+        for (int i = 0; i < anciennesCles.length; i++) {
+            if (anciensOccupes[i]) {
+                int j = indice(anciennesCles[i]);
+                while (occupes[j]) {
+                    j = (j + 1) & masque;
+                }
+                occupes[j] = true;
+                cles[j] = anciennesCles[i];
+                valeurs[j] = anciennesValeurs[i];
+            }
+        }
+    }
+
+    /**
+     * Alloue des tableaux vides de la capacité indiquée.
+     *
+     * @param capacite La capacité, puissance de deux.
+     */
+    private void allouer(int capacite) {
+        cles = new int[capacite];
+        valeurs = new int[capacite];
+        occupes = new boolean[capacite];
+        masque = capacite - 1;
+    }
+
+    /**
+     * Calcule la case idéale d'une clé en dispersant ses bits.
+     *
+     * @param cle La clé.
+     * @return L'indice de la case idéale.
+     */
+    private int indice(int cle) {
+        int h = cle * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & masque;
+    }
+}
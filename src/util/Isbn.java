@@ -0,0 +1,85 @@
+package util;
+
+/**
+ * Utilitaires pour manipuler les numéros ISBN.
+ * Permet de ramener un ISBN-10 ou un ISBN-13, avec ou sans tirets, à une forme canonique unique.
+ */
+public final class Isbn {
+
+    private Isbn() {
+    }
+
+    /**
+     * Calcule la forme canonique d'un ISBN : tirets et espaces retirés, lettres en majuscules,
+     * et ISBN-10 converti en ISBN-13 (préfixe 978 et nouvelle clé de contrôle).
+     * Une valeur qui n'a pas la forme d'un ISBN-10 est simplement nettoyée.
+     *
+     * @param isbn Le numéro ISBN saisi.
+     * @return La forme canonique de l'ISBN, ou une chaîne vide si isbn est null.
+     */
+    public static String normaliser(String isbn) {
+        if (isbn == null) {
+            return "";
+        }
+
+        StringBuilder chiffres = new StringBuilder(13);
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && c != ' ') {
+                chiffres.append(Character.toUpperCase(c));
+            }
+        }
+
+        if (estIsbn10(chiffres)) {
+            chiffres.setLength(9); // Retirer la clé de contrôle de l'ISBN-10
+            chiffres.insert(0, "978");
+            chiffres.append(cleIsbn13(chiffres));
+        }
+        return chiffres.toString();
+    }
+
+    /**
+     * Vérifie qu'une chaîne nettoyée a la forme d'un ISBN-10 : neuf chiffres suivis d'un chiffre ou de X.
+     *
+     * @param valeur La chaîne nettoyée.
+     * @return true si la chaîne a la forme d'un ISBN-10, false sinon.
+     */
+    private static boolean estIsbn10(CharSequence valeur) {
+        if (valeur.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 9; i++) {
+            if (!estChiffre(valeur.charAt(i))) {
+                return false;
+            }
+        }
+        char cle = valeur.charAt(9);
+        return estChiffre(cle) || cle == 'X';
+    }
+
+    /**
+     * Vérifie qu'un caractère est un chiffre ASCII. Les autres chiffres Unicode (arabes-indiens, pleine chasse...)
+     * sont refusés : leur valeur ne s'obtient pas en retranchant '0'.
+     *
+     * @param c Le caractère.
+     * @return true si le caractère est compris entre '0' et '9'.
+     */
+    public static boolean estChiffre(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Calcule la clé de contrôle d'un ISBN-13 à partir de ses douze premiers chiffres.
+     *
+     * @param douzeChiffres Les douze premiers chiffres de l'ISBN-13.
+     * @return La clé de contrôle.
+     */
+    private static char cleIsbn13(CharSequence douzeChiffres) {
+        int somme = 0;
+        for (int i = 0; i < 12; i++) {
+            int chiffre = douzeChiffres.charAt(i) - '0';
+            somme += (i % 2 == 0) ? chiffre : chiffre * 3;
+        }
+        return (char) ('0' + (10 - somme % 10) % 10);
+    }
+}
@@ -0,0 +1,147 @@
+package util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Journal d'écriture anticipée (append-only) stocké dans un fichier texte.
+ * Chaque enregistrement est une ligne CSV terminée par un saut de ligne ; un saut de ligne situé
+ * entre guillemets fait partie de l'enregistrement. Un dernier enregistrement incomplet
+ * (écriture interrompue) est ignoré et retiré lors de la relecture.
+ * Les méthodes sont synchronisées : le journal peut être alimenté par un écrivain en arrière-plan.
+ */
+public class Journal {
+    private final File fichier; // Fichier du journal
+    private int nombreEnregistrements; // Nombre d'enregistrements présents dans le journal
+
+    /**
+     * Constructeur de la classe Journal.
+     *
+     * @param chemin Chemin du fichier du journal.
+     */
+    public Journal(String chemin) {
+        this.fichier = new File(chemin);
+    }
+
+    /**
+     * Ajoute un enregistrement à la fin du journal.
+     *
+     * @param enregistrement L'enregistrement à ajouter (sans saut de ligne).
+     */
+    public void ajouter(String enregistrement) {
+        ajouterTous(List.of(enregistrement));
+    }
+
+    /**
+     * Ajoute plusieurs enregistrements à la fin du journal en une seule écriture,
+     * forcée sur le disque selon la {@link PolitiqueSynchronisation} en vigueur.
+     *
+     * @param enregistrements Les enregistrements à ajouter, dans l'ordre (sans saut de ligne).
+     * @return true si les enregistrements ont été écrits, false en cas d'erreur.
+     */
+    public synchronized boolean ajouterTous(List<String> enregistrements) {
+        if (enregistrements.isEmpty()) {
+            return true;
+        }
+        File parentDir = fichier.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        try (FileOutputStream sortie = new FileOutputStream(fichier, true)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+            for (String enregistrement : enregistrements) {
+                writer.write(enregistrement);
+                writer.write('\n');
+            }
+            writer.flush();
+            if (PolitiqueSynchronisation.doitForcer()) {
+                sortie.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture dans le journal: " + e.getMessage());
+            return false;
+        }
+        nombreEnregistrements += enregistrements.size();
+        return true;
+    }
+
+    /**
+     * Relit le journal et transmet chaque enregistrement complet au consommateur, dans l'ordre d'écriture.
+     *
+     * @param consommateur L'action à appliquer à chaque enregistrement.
+     * @return Le nombre d'enregistrements relus.
+     */
+    public synchronized int rejouer(Consumer<String> consommateur) {
+        nombreEnregistrements = 0;
+        if (!fichier.exists()) {
+            return 0;
+        }
+
+        long longueurValide = 0; // Nombre d'octets couverts par des enregistrements complets
+        ByteArrayOutputStream ligne = new ByteArrayOutputStream(256);
+        boolean entreGuillemets = false; // Vrai si un nombre impair de guillemets a été lu dans l'enregistrement
+        try (InputStream in = new BufferedInputStream(new FileInputStream(fichier))) {
+            int b;
+            long position = 0;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b == '"') {
+                    entreGuillemets = !entreGuillemets;
+                }
+                if (b == '\n' && !entreGuillemets) {
+                    consommateur.accept(ligne.toString(StandardCharsets.UTF_8));
+                    ligne.reset();
+                    longueurValide = position;
+                    nombreEnregistrements++;
+                } else {
+                    ligne.write(b);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture du journal: " + e.getMessage());
+            return nombreEnregistrements;
+        }
+
+        if (ligne.size() > 0) {
+            System.err.println("Enregistrement incomplet ignoré à la fin du journal: " + fichier.getPath());
+            tronquer(longueurValide);
+        }
+        return nombreEnregistrements;
+    }
+
+    /**
+     * Vide le journal, généralement après un point de contrôle.
+     */
+    public synchronized void vider() {
+        tronquer(0);
+        nombreEnregistrements = 0;
+    }
+
+    /**
+     * Obtient le nombre d'enregistrements présents dans le journal.
+     *
+     * @return Le nombre d'enregistrements.
+     */
+    public synchronized int getNombreEnregistrements() {
+        return nombreEnregistrements;
+    }
+
+    /**
+     * Tronque le fichier du journal à la longueur indiquée.
+     *
+     * @param longueur La nouvelle longueur du fichier en octets.
+     */
+    private void tronquer(long longueur) {
+        if (!fichier.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(fichier, "rw")) {
+            raf.setLength(longueur);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la troncature du journal: " + e.getMessage());
+        }
+    }
+}
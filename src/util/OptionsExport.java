@@ -0,0 +1,117 @@
+package util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Options d'un export en flux : format de sortie, champs retenus et période.
+ * Les méthodes de configuration retournent les options elles-mêmes pour chaîner les appels, par exemple
+ * {@code OptionsExport.jsonLignes().champs("id", "titre").periode(debut, fin)}.
+ */
+public final class OptionsExport {
+
+    /**
+     * Format de sortie d'un export.
+     */
+    public enum Format {
+        CSV, // CSV conforme à la RFC 4180, précédé d'une ligne d'en-tête
+        JSON_LIGNES // Un objet JSON par ligne (JSON Lines)
+    }
+
+    private final Format format; // Format de sortie
+    private Set<String> champs; // Noms des champs retenus (null pour tous)
+    private LocalDate debut; // Première date retenue, incluse (null pour aucune borne)
+    private LocalDate fin; // Dernière date retenue, incluse (null pour aucune borne)
+
+    /**
+     * Constructeur de la classe OptionsExport. Par défaut, tous les champs et toutes les dates sont retenus.
+     *
+     * @param format Le format de sortie.
+     */
+    public OptionsExport(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Crée des options d'export au format CSV.
+     *
+     * @return Les options, sans filtre.
+     */
+    public static OptionsExport csv() {
+        return new OptionsExport(Format.CSV);
+    }
+
+    /**
+     * Crée des options d'export au format JSON Lines.
+     *
+     * @return Les options, sans filtre.
+     */
+    public static OptionsExport jsonLignes() {
+        return new OptionsExport(Format.JSON_LIGNES);
+    }
+
+    /**
+     * Restreint l'export à certains champs. Les champs sont écrits dans l'ordre du modèle exporté.
+     *
+     * @param noms Les noms des champs retenus, tels qu'ils figurent dans l'en-tête du CSV du modèle.
+     * @return Ces options.
+     */
+    public OptionsExport champs(String... noms) {
+        this.champs = new LinkedHashSet<>(Arrays.asList(noms));
+        return this;
+    }
+
+    /**
+     * Restreint l'export à une période. Pour les emprunts, la date d'emprunt est comparée à la période ;
+     * pour les livres, l'année de publication est comparée aux années des bornes.
+     *
+     * @param debut La première date retenue, incluse, ou null.
+     * @param fin   La dernière date retenue, incluse, ou null.
+     * @return Ces options.
+     */
+    public OptionsExport periode(LocalDate debut, LocalDate fin) {
+        this.debut = debut;
+        this.fin = fin;
+        return this;
+    }
+
+    /**
+     * Obtient le format de sortie.
+     *
+     * @return Le format.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Obtient les noms des champs retenus.
+     *
+     * @return Les noms des champs, ou null si tous les champs sont retenus.
+     */
+    public Set<String> getChamps() {
+        return champs;
+    }
+
+    /**
+     * Vérifie si une date appartient à la période retenue.
+     *
+     * @param date La date à vérifier.
+     * @return true si la date est dans la période ou si aucune période n'est fixée.
+     */
+    public boolean retient(LocalDate date) {
+        return (debut == null || !date.isBefore(debut)) && (fin == null || !date.isAfter(fin));
+    }
+
+    /**
+     * Vérifie si une année recoupe la période retenue.
+     *
+     * @param annee L'année à vérifier.
+     * @return true si l'année est comprise entre les années des bornes ou si aucune période n'est fixée.
+     */
+    public boolean retientAnnee(int annee) {
+        return (debut == null || annee >= debut.getYear()) && (fin == null || annee <= fin.getYear());
+    }
+}
@@ -0,0 +1,77 @@
+package util;
+
+import java.util.List;
+
+/**
+ * Page d'enregistrements obtenue par un parcours à curseur.
+ * Le curseur est opaque : il se transmet tel quel pour obtenir la page suivante. Il désigne le dernier
+ * enregistrement lu, si bien qu'un parcours complet ne saute ni ne répète aucun enregistrement présent
+ * du début à la fin du parcours, même si d'autres sont ajoutés ou supprimés entre deux pages.
+ *
+ * @param <T> Le type des enregistrements.
+ */
+public final class Page<T> {
+    private final List<T> elements; // Enregistrements de la page, par identifiant croissant
+    private final String curseurSuivant; // Curseur de la page suivante, ou null pour la dernière page
+
+    /**
+     * Constructeur de la classe Page.
+     *
+     * @param elements       Les enregistrements de la page.
+     * @param curseurSuivant Le curseur de la page suivante, ou null pour la dernière page.
+     */
+    Page(List<T> elements, String curseurSuivant) {
+        this.elements = elements;
+        this.curseurSuivant = curseurSuivant;
+    }
+
+    /**
+     * Obtient les enregistrements de la page.
+     *
+     * @return Les enregistrements, par identifiant croissant.
+     */
+    public List<T> getElements() {
+        return elements;
+    }
+
+    /**
+     * Obtient le curseur à transmettre pour lire la page suivante.
+     *
+     * @return Le curseur, ou null si cette page est la dernière.
+     */
+    public String getCurseurSuivant() {
+        return curseurSuivant;
+    }
+
+    /**
+     * Encode le curseur désignant un enregistrement.
+     *
+     * @param dernierId L'identifiant du dernier enregistrement lu.
+     * @return Le curseur.
+     */
+    static String curseur(int dernierId) {
+        return Integer.toString(dernierId, Character.MAX_RADIX);
+    }
+
+    /**
+     * Décode un curseur.
+     *
+     * @param curseur Le curseur, ou null pour partir du début.
+     * @return L'identifiant du dernier enregistrement lu, ou -1 pour partir du début.
+     * @throws IllegalArgumentException Si le curseur n'a pas été produit par une page.
+     */
+    static int dernierId(String curseur) {
+        if (curseur == null) {
+            return -1;
+        }
+        try {
+            int id = Integer.parseInt(curseur, Character.MAX_RADIX);
+            if (id >= -1) { // -1 : curseur d'une page vide lue depuis le début (limite nulle)
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // Signalé ci-dessous
+        }
+        throw new IllegalArgumentException("Curseur invalide: " + curseur);
+    }
+}
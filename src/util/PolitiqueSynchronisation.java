@@ -0,0 +1,70 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Politique de synchronisation des écritures sur le disque ({@code force}/fsync).
+ * La politique est choisie avec la propriété système {@code bibliotheque.synchronisation}
+ * et la période avec {@code bibliotheque.periodeSynchronisation} (en millisecondes).
+ * Elle ne s'applique qu'aux ajouts dans les journaux : une modification non forcée peut être perdue par un arrêt
+ * brutal, la relecture s'arrêtant au dernier enregistrement complet. Les remplacements de fichiers par
+ * {@link EcritureAtomique} sont toujours forcés, un renommage non synchronisé pouvant laisser un fichier vide.
+ */
+public enum PolitiqueSynchronisation {
+    /**
+     * Chaque écriture est forcée sur le disque avant d'être considérée comme terminée.
+     */
+    TOUJOURS,
+    /**
+     * Une écriture est forcée sur le disque au plus une fois par période ; entre-temps,
+     * le système d'exploitation décide du moment de l'écriture physique.
+     */
+    PERIODIQUE,
+    /**
+     * Les écritures ne sont jamais forcées explicitement.
+     */
+    JAMAIS;
+
+    /**
+     * Politique en vigueur, {@link #PERIODIQUE} par défaut.
+     */
+    public static final PolitiqueSynchronisation COURANTE = lire(System.getProperty("bibliotheque.synchronisation"));
+
+    private static final long PERIODE_NANOS = Long.getLong("bibliotheque.periodeSynchronisation", 1000) * 1_000_000; // Période minimale entre deux synchronisations
+    private static final AtomicLong DERNIERE = new AtomicLong(System.nanoTime() - PERIODE_NANOS); // Instant de la dernière synchronisation
+
+    /**
+     * Indique si l'écriture qui se termine doit être forcée sur le disque selon la politique en vigueur.
+     *
+     * @return true si l'écriture doit être forcée, false sinon.
+     */
+    public static boolean doitForcer() {
+        return switch (COURANTE) {
+            case TOUJOURS -> true;
+            case JAMAIS -> false;
+            case PERIODIQUE -> {
+                long maintenant = System.nanoTime();
+                long derniere = DERNIERE.get();
+                yield maintenant - derniere >= PERIODE_NANOS && DERNIERE.compareAndSet(derniere, maintenant);
+            }
+        };
+    }
+
+    /**
+     * Convertit la valeur de la propriété système en politique.
+     *
+     * @param valeur La valeur de la propriété, éventuellement null.
+     * @return La politique correspondante, ou {@link #PERIODIQUE} si la valeur est absente ou inconnue.
+     */
+    private static PolitiqueSynchronisation lire(String valeur) {
+        if (valeur == null) {
+            return PERIODIQUE;
+        }
+        try {
+            return valueOf(valeur.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Politique de synchronisation inconnue: " + valeur);
+            return PERIODIQUE;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Arbre préfixe compressé (radix tree) pour l'autocomplétion.
+ * Chaque terme est compté autant de fois qu'il a été ajouté ; une complétion retourne
+ * les termes les plus fréquents commençant par un préfixe, sans tenir compte de la casse.
+ * Chaque nœud mémorise le plus grand compteur de son sous-arbre, ce qui permet une recherche
+ * au meilleur d'abord qui n'explore que les branches susceptibles de fournir un résultat.
+ */
+public class PrefixTrie {
+    private static final Noeud[] AUCUN_ENFANT = new Noeud[0];
+
+    private final Noeud racine = new Noeud(""); // Racine de l'arbre, d'étiquette vide
+
+    /**
+     * Suggestion d'autocomplétion : un terme et le nombre d'occurrences enregistrées.
+     *
+     * @param terme  Le terme tel qu'il a été saisi lors de sa première insertion.
+     * @param compte Le nombre d'occurrences du terme.
+     */
+    public record Suggestion(String terme, int compte) {
+    }
+
+    /**
+     * Ajoute une occurrence d'un terme.
+     *
+     * @param terme Le terme à ajouter ; ignoré s'il est vide ou null.
+     */
+    public void ajouter(String terme) {
+        if (terme == null || terme.isEmpty()) {
+            return;
+        }
+        String cle = terme.toLowerCase();
+        Noeud noeud = racine;
+        List<Noeud> chemin = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            chemin.add(noeud);
+            if (i == cle.length()) {
+                noeud.compte++;
+                if (noeud.terme == null) {
+                    noeud.terme = terme;
+                }
+                break;
+            }
+            Noeud enfant = noeud.enfant(cle.charAt(i));
+            if (enfant == null) {
+                Noeud feuille = new Noeud(cle.substring(i));
+                feuille.compte = 1;
+                feuille.terme = terme;
+                feuille.max = 1;
+                noeud.inserer(feuille);
+                break;
+            }
+            int commun = prefixeCommun(enfant.etiquette, cle, i);
+            if (commun < enfant.etiquette.length()) {
+                // Scinder l'arête : le début commun devient un nœud intermédiaire
+                Noeud milieu = new Noeud(enfant.etiquette.substring(0, commun));
+                noeud.remplacer(milieu);
+                enfant.etiquette = enfant.etiquette.substring(commun);
+                milieu.inserer(enfant);
+                milieu.max = enfant.max;
+                enfant = milieu;
+            }
+            i += commun;
+            noeud = enfant;
+        }
+
+        // Un ajout ne peut qu'augmenter les maxima le long du chemin
+        int compte = chemin.get(chemin.size() - 1).compte;
+        for (Noeud n : chemin) {
+            n.max = Math.max(n.max, compte);
+        }
+    }
+
+    /**
+     * Retire une occurrence d'un terme.
+     *
+     * @param terme Le terme à retirer ; ignoré s'il est absent.
+     */
+    public void retirer(String terme) {
+        if (terme == null || terme.isEmpty()) {
+            return;
+        }
+        String cle = terme.toLowerCase();
+        List<Noeud> chemin = new ArrayList<>();
+        Noeud noeud = racine;
+        int i = 0;
+        while (i < cle.length()) {
+            chemin.add(noeud);
+            Noeud enfant = noeud.enfant(cle.charAt(i));
+            if (enfant == null || !cle.startsWith(enfant.etiquette, i)) {
+                return;
+            }
+            i += enfant.etiquette.length();
+            noeud = enfant;
+        }
+        if (noeud.compte == 0) {
+            return;
+        }
+        noeud.compte--;
+        if (noeud.compte == 0) {
+            noeud.terme = null;
+        }
+
+        // Élaguer la feuille devenue inutile, puis fusionner un parent réduit à un seul enfant
+        Noeud parent = chemin.get(chemin.size() - 1);
+        if (noeud.compte == 0 && noeud.nombreEnfants == 0) {
+            parent.supprimer(noeud);
+        } else {
+            noeud.fusionnerSiPossible();
+            noeud.recalculerMax();
+        }
+        for (int k = chemin.size() - 1; k >= 0; k--) {
+            Noeud n = chemin.get(k);
+            if (k > 0) {
+                n.fusionnerSiPossible();
+            }
+            n.recalculerMax();
+        }
+    }
+
+    /**
+     * Retourne les termes les plus fréquents commençant par un préfixe.
+     *
+     * @param prefixe Le préfixe saisi.
+     * @param maximum Le nombre maximal de suggestions.
+     * @return Les suggestions, de la plus fréquente à la moins fréquente.
+     */
+    public List<Suggestion> completer(String prefixe, int maximum) {
+        List<Suggestion> suggestions = new ArrayList<>(Math.max(0, maximum));
+        if (prefixe == null || maximum <= 0) {
+            return suggestions;
+        }
+
+        // Descendre jusqu'au nœud couvrant le préfixe, qui peut se terminer au milieu d'une arête
+        String cle = prefixe.toLowerCase();
+        Noeud noeud = racine;
+        int i = 0;
+        while (i < cle.length()) {
+            Noeud enfant = noeud.enfant(cle.charAt(i));
+            if (enfant == null) {
+                return suggestions;
+            }
+            int commun = prefixeCommun(enfant.etiquette, cle, i);
+            if (i + commun < cle.length() && commun < enfant.etiquette.length()) {
+                return suggestions;
+            }
+            i += commun;
+            noeud = enfant;
+        }
+
+        // Recherche au meilleur d'abord : un nœud est exploré selon le maximum de son sous-arbre,
+        // un terme est retenu selon son propre compteur
+        PriorityQueue<Candidat> file = new PriorityQueue<>();
+        file.add(new Candidat(noeud, false));
+        while (!file.isEmpty() && suggestions.size() < maximum) {
+            Candidat candidat = file.poll();
+            Noeud n = candidat.noeud;
+            if (candidat.terme) {
+                suggestions.add(new Suggestion(n.terme, n.compte));
+                continue;
+            }
+            if (n.compte > 0) {
+                file.add(new Candidat(n, true));
+            }
+            for (int k = 0; k < n.nombreEnfants; k++) {
+                file.add(new Candidat(n.enfants[k], false));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Calcule la longueur du préfixe commun entre une étiquette et une clé à partir d'une position.
+     *
+     * @param etiquette L'étiquette de l'arête.
+     * @param cle       La clé recherchée.
+     * @param debut     La position de départ dans la clé.
+     * @return Le nombre de caractères communs.
+     */
+    private static int prefixeCommun(String etiquette, String cle, int debut) {
+        int limite = Math.min(etiquette.length(), cle.length() - debut);
+        int k = 0;
+        while (k < limite && etiquette.charAt(k) == cle.charAt(debut + k)) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Élément de la file de priorité : un nœud à explorer ou un terme à retenir.
+     */
+    private static final class Candidat implements Comparable<Candidat> {
+        private final Noeud noeud;
+        private final boolean terme; // true si le candidat est le terme porté par le nœud
+        private final int priorite;
+
+        Candidat(Noeud noeud, boolean terme) {
+            this.noeud = noeud;
+            this.terme = terme;
+            this.priorite = terme ? noeud.compte : noeud.max;
+        }
+
+        @Override
+        public int compareTo(Candidat autre) {
+            if (priorite != autre.priorite) {
+                return Integer.compare(autre.priorite, priorite);
+            }
+            // À priorité égale, un terme passe avant un sous-arbre encore à explorer
+            return Boolean.compare(autre.terme, terme);
+        }
+    }
+
+    /**
+     * Nœud de l'arbre : une arête étiquetée et, éventuellement, un terme qui s'y termine.
+     */
+    private static final class Noeud {
+        private String etiquette; // Caractères de l'arête menant à ce nœud
+        private Noeud[] enfants = AUCUN_ENFANT; // Enfants triés par premier caractère
+        private int nombreEnfants; // Nombre d'enfants présents
+        private int compte; // Nombre d'occurrences du terme se terminant ici
+        private String terme; // Forme d'origine du terme se terminant ici
+        private int max; // Plus grand compteur du sous-arbre
+
+        Noeud(String etiquette) {
+            this.etiquette = etiquette;
+        }
+
+        Noeud enfant(char c) {
+            int position = rechercher(c);
+            return position >= 0 ? enfants[position] : null;
+        }
+
+        void inserer(Noeud enfant) {
+            int position = -rechercher(enfant.etiquette.charAt(0)) - 1;
+            if (nombreEnfants == enfants.length) {
+                enfants = Arrays.copyOf(enfants, Math.max(2, nombreEnfants * 2));
+            }
+            System.arraycopy(enfants, position, enfants, position + 1, nombreEnfants - position);
+            enfants[position] = enfant;
+            nombreEnfants++;
+        }
+
+        void remplacer(Noeud enfant) {
+            enfants[rechercher(enfant.etiquette.charAt(0))] = enfant;
+        }
+
+        void supprimer(Noeud enfant) {
+            int position = rechercher(enfant.etiquette.charAt(0));
+            System.arraycopy(enfants, position + 1, enfants, position, nombreEnfants - position - 1);
+            enfants[--nombreEnfants] = null;
+        }
+
+        /**
+         * Absorbe l'unique enfant d'un nœud sans terme pour garder l'arbre compressé.
+         */
+        void fusionnerSiPossible() {
+            if (compte == 0 && nombreEnfants == 1) {
+                Noeud unique = enfants[0];
+                etiquette = etiquette + unique.etiquette;
+                enfants = unique.enfants;
+                nombreEnfants = unique.nombreEnfants;
+                compte = unique.compte;
+                terme = unique.terme;
+                max = unique.max;
+            }
+        }
+
+        void recalculerMax() {
+            int m = compte;
+            for (int k = 0; k < nombreEnfants; k++) {
+                m = Math.max(m, enfants[k].max);
+            }
+            max = m;
+        }
+
+        private int rechercher(char c) {
+            int bas = 0;
+            int haut = nombreEnfants - 1;
+            while (bas <= haut) {
+                int milieu = (bas + haut) >>> 1;
+                char courant = enfants[milieu].etiquette.charAt(0);
+                if (courant < c) {
+                    bas = milieu + 1;
+                } else if (courant > c) {
+                    haut = milieu - 1;
+                } else {
+                    return milieu;
+                }
+            }
+            return -(bas + 1);
+        }
+    }
+}
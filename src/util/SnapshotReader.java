@@ -0,0 +1,157 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Lecteur d'instantané binaire écrit par {@link SnapshotWriter}.
+ * Le fichier est projeté en mémoire ; l'en-tête et la somme de contrôle sont vérifiés à l'ouverture,
+ * de sorte qu'un instantané tronqué ou corrompu est rejeté avant toute lecture d'enregistrement.
+ */
+public final class SnapshotReader implements Closeable {
+    private final FileChannel canal; // Canal du fichier projeté
+    private final ByteBuffer tampon; // Contenu du fichier, sans la somme de contrôle finale
+    private final int nombreEnregistrements; // Nombre d'enregistrements annoncé par l'en-tête
+    private byte[] octets = new byte[256]; // Tampon réutilisé pour décoder les chaînes
+
+    /**
+     * Ouvre un instantané et vérifie son en-tête et sa somme de contrôle.
+     *
+     * @param chemin Le chemin du fichier.
+     * @param type   Le type de données attendu.
+     * @throws IOException Si le fichier est illisible, d'un autre type ou d'une autre version, ou corrompu.
+     */
+    public SnapshotReader(String chemin, String type) throws IOException {
+        this.canal = FileChannel.open(Path.of(chemin), StandardOpenOption.READ);
+        try {
+            long taille = canal.size();
+            if (taille < 20 || taille > Integer.MAX_VALUE) {
+                throw new IOException("Taille d'instantané invalide: " + taille);
+            }
+            ByteBuffer contenu = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            long attendue = contenu.getLong((int) taille - 8);
+            this.tampon = contenu.slice(0, (int) taille - 8);
+
+            CRC32 somme = new CRC32();
+            somme.update(tampon.duplicate());
+            if (somme.getValue() != attendue) {
+                throw new IOException("Somme de contrôle invalide: " + chemin);
+            }
+            if (tampon.getInt() != SnapshotWriter.MAGIQUE) {
+                throw new IOException("Fichier d'instantané non reconnu: " + chemin);
+            }
+            int version = tampon.getInt();
+            if (version != SnapshotWriter.VERSION) {
+                throw new IOException("Version d'instantané non prise en charge: " + version);
+            }
+            if (!type.equals(texte())) {
+                throw new IOException("Instantané d'un autre type de données: " + chemin);
+            }
+            this.nombreEnregistrements = tampon.getInt();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e instanceof IOException io ? io : new IOException("Instantané illisible: " + chemin, e);
+        }
+    }
+
+    /**
+     * Vérifie qu'un fichier est un instantané complet et intact du type attendu.
+     *
+     * @param chemin Le chemin du fichier.
+     * @param type   Le type de données attendu.
+     * @return true si l'en-tête et la somme de contrôle sont valides, false sinon.
+     */
+    public static boolean estValide(Path chemin, String type) {
+        try {
+            new SnapshotReader(chemin.toString(), type).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Obtient le nombre d'enregistrements de l'instantané.
+     *
+     * @return Le nombre d'enregistrements.
+     */
+    public int nombreEnregistrements() {
+        return nombreEnregistrements;
+    }
+
+    /**
+     * Lit un entier.
+     *
+     * @return L'entier lu.
+     * @throws IOException Si l'instantané se termine prématurément.
+     */
+    public int entier() throws IOException {
+        try {
+            return tampon.getInt();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Instantané tronqué", e);
+        }
+    }
+
+    /**
+     * Lit une chaîne, éventuellement null.
+     *
+     * @return La chaîne lue.
+     * @throws IOException Si l'instantané se termine prématurément ou si la longueur est invalide.
+     */
+    public String texte() throws IOException {
+        int longueur = entier();
+        if (longueur == SnapshotWriter.TEXTE_NULL) {
+            return null;
+        }
+        if (longueur < 0 || longueur > tampon.remaining()) {
+            throw new IOException("Longueur de chaîne invalide: " + longueur);
+        }
+        if (longueur > octets.length) {
+            octets = Arrays.copyOf(octets, Math.max(longueur, octets.length * 2));
+        }
+        tampon.get(octets, 0, longueur);
+        return new String(octets, 0, longueur, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lit une date, éventuellement null.
+     *
+     * @return La date lue.
+     * @throws IOException Si l'instantané se termine prématurément.
+     */
+    public LocalDate date() throws IOException {
+        int jour = entier();
+        return jour == SnapshotWriter.DATE_NULLE ? null : LocalDate.ofEpochDay(jour);
+    }
+
+    /**
+     * Vérifie que tous les enregistrements ont été lus, sans octet superflu.
+     *
+     * @throws IOException Si des octets restent après le dernier enregistrement.
+     */
+    public void verifierFin() throws IOException {
+        if (tampon.hasRemaining()) {
+            throw new IOException("Octets inattendus en fin d'instantané: " + tampon.remaining());
+        }
+    }
+
+    /**
+     * Ferme le fichier.
+     *
+     * @throws IOException En cas d'erreur lors de la fermeture.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
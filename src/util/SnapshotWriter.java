@@ -0,0 +1,101 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Écrivain d'instantané binaire, relu par {@link SnapshotReader}.
+ * <p>
+ * Format : un en-tête (nombre magique, version, type de données, nombre d'enregistrements), puis les champs
+ * de chaque enregistrement dans l'ordre d'écriture, et enfin la somme de contrôle CRC32 de tout ce qui précède.
+ * Les entiers occupent 4 octets (gros-boutiste), les dates sont des numéros de jour depuis l'époque sur 4 octets
+ * et les chaînes sont précédées de leur longueur en octets UTF-8.
+ */
+public final class SnapshotWriter implements Closeable {
+    static final int MAGIQUE = 0x42494253; // "BIBS"
+    static final int VERSION = 2; // Version du format (2 : ajout de la version de chaque enregistrement)
+    static final int TEXTE_NULL = -1; // Longueur marquant une chaîne absente
+    static final int DATE_NULLE = Integer.MIN_VALUE; // Numéro de jour marquant une date absente
+
+    private final CRC32 somme = new CRC32(); // Somme de contrôle des octets écrits
+    private final DataOutputStream sortie; // Flux de sortie, traversé par le calcul de la somme
+
+    /**
+     * Constructeur de la classe SnapshotWriter. Écrit l'en-tête de l'instantané.
+     *
+     * @param destination           Le flux de destination ; il est fermé avec l'écrivain.
+     * @param type                  Le type des données (par exemple "livres"), vérifié à la relecture.
+     * @param nombreEnregistrements Le nombre d'enregistrements qui seront écrits.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public SnapshotWriter(OutputStream destination, String type, int nombreEnregistrements) throws IOException {
+        this.sortie = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(destination, 64 * 1024), somme));
+        sortie.writeInt(MAGIQUE);
+        sortie.writeInt(VERSION);
+        texte(type);
+        sortie.writeInt(nombreEnregistrements);
+    }
+
+    /**
+     * Écrit un entier.
+     *
+     * @param valeur L'entier à écrire.
+     * @return Cet écrivain, pour chaîner les appels.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public SnapshotWriter entier(int valeur) throws IOException {
+        sortie.writeInt(valeur);
+        return this;
+    }
+
+    /**
+     * Écrit une chaîne, éventuellement null.
+     *
+     * @param valeur La chaîne à écrire.
+     * @return Cet écrivain, pour chaîner les appels.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public SnapshotWriter texte(String valeur) throws IOException {
+        if (valeur == null) {
+            sortie.writeInt(TEXTE_NULL);
+            return this;
+        }
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        sortie.writeInt(octets.length);
+        sortie.write(octets);
+        return this;
+    }
+
+    /**
+     * Écrit une date, éventuellement null.
+     *
+     * @param date La date à écrire.
+     * @return Cet écrivain, pour chaîner les appels.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public SnapshotWriter date(LocalDate date) throws IOException {
+        sortie.writeInt(date == null ? DATE_NULLE : Math.toIntExact(date.toEpochDay()));
+        return this;
+    }
+
+    /**
+     * Ajoute la somme de contrôle et ferme le fichier.
+     *
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    @Override
+    public void close() throws IOException {
+        sortie.flush();
+        long valeur = somme.getValue(); // Lue avant d'écrire la somme elle-même
+        sortie.writeLong(valeur);
+        sortie.close();
+    }
+}
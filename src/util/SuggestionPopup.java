@@ -0,0 +1,160 @@
+package util;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Fenêtre de suggestions d'autocomplétion attachée à un champ de texte.
+ * Les suggestions sont recalculées en arrière-plan après une courte pause de frappe et seules celles de la
+ * dernière saisie sont affichées : le thread de l'interface n'attend jamais l'index. Les flèches permettent
+ * de les parcourir, Entrée ou un clic insère la suggestion choisie et Échap ferme la fenêtre.
+ */
+public class SuggestionPopup {
+    private static final int NOMBRE_SUGGESTIONS = 8; // Nombre maximal de suggestions affichées
+    private static final int DELAI_MS = 100; // Pause de frappe avant le calcul des suggestions
+
+    private final JTextField champ; // Champ de saisie auquel les suggestions sont attachées
+    private final BiFunction<String, Integer, List<PrefixTrie.Suggestion>> fournisseur; // Source des suggestions
+    private final JPopupMenu popup = new JPopupMenu(); // Fenêtre contenant la liste
+    private final DefaultListModel<PrefixTrie.Suggestion> suggestions = new DefaultListModel<>(); // Suggestions affichées
+    private final JList<PrefixTrie.Suggestion> liste = new JList<>(suggestions); // Liste des suggestions
+    private String texteInsere; // Dernière suggestion insérée, pour ne pas la proposer à nouveau
+
+    /**
+     * Constructeur de la classe SuggestionPopup.
+     *
+     * @param champ       Le champ de saisie à compléter.
+     * @param fournisseur Fonction retournant les suggestions pour un préfixe et un nombre maximal ;
+     *                    elle est appelée hors du thread de l'interface.
+     */
+    public SuggestionPopup(JTextField champ, BiFunction<String, Integer, List<PrefixTrie.Suggestion>> fournisseur) {
+        this.champ = champ;
+        this.fournisseur = fournisseur;
+
+        // La fenêtre ne doit jamais prendre le focus au champ de saisie
+        popup.setFocusable(false);
+        liste.setFocusable(false);
+        liste.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        liste.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                PrefixTrie.Suggestion suggestion = (PrefixTrie.Suggestion) value;
+                String texte = suggestion.compte() > 1 ? suggestion.terme() + " (" + suggestion.compte() + ")" : suggestion.terme();
+                return super.getListCellRendererComponent(list, texte, index, isSelected, cellHasFocus);
+            }
+        });
+        liste.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = liste.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    inserer(suggestions.get(index));
+                }
+            }
+        });
+        popup.add(new JScrollPane(liste));
+
+        champ.getDocument().addDocumentListener(DocumentListenerAdapter.differe(
+                champ, this::rechercher, this::afficher, List.of(), DELAI_MS));
+        champ.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                gererTouche(e);
+            }
+        });
+        champ.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    /**
+     * Calcule les suggestions d'une saisie. Exécutée hors du thread de l'interface.
+     *
+     * @param texte Le texte du champ.
+     * @return Les suggestions, vides si le texte l'est.
+     */
+    private List<PrefixTrie.Suggestion> rechercher(String texte) {
+        String prefixe = texte.trim();
+        return prefixe.isEmpty() ? List.of() : fournisseur.apply(prefixe, NOMBRE_SUGGESTIONS);
+    }
+
+    /**
+     * Affiche les suggestions de la dernière saisie, ou masque la fenêtre s'il n'y a rien à proposer.
+     *
+     * @param resultats Les suggestions calculées par {@link #rechercher(String)}.
+     */
+    private void afficher(List<PrefixTrie.Suggestion> resultats) {
+        String texte = champ.getText();
+        String prefixe = texte.trim();
+
+        // Inutile de proposer exactement ce qui est déjà saisi, ou de rouvrir la fenêtre après une insertion
+        if (resultats.isEmpty() || texte.equals(texteInsere) || !champ.isFocusOwner()
+                || (resultats.size() == 1 && resultats.get(0).terme().equalsIgnoreCase(prefixe))) {
+            popup.setVisible(false);
+            return;
+        }
+
+        suggestions.clear();
+        suggestions.addAll(resultats);
+        liste.setVisibleRowCount(resultats.size());
+        liste.clearSelection();
+        popup.pack();
+        if (!popup.isVisible() && champ.isShowing()) {
+            popup.show(champ, 0, champ.getHeight());
+        }
+    }
+
+    /**
+     * Gère la navigation au clavier dans la liste des suggestions.
+     *
+     * @param e L'événement clavier reçu par le champ.
+     */
+    private void gererTouche(KeyEvent e) {
+        if (!popup.isVisible()) {
+            return;
+        }
+        int selection = liste.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN -> {
+                liste.setSelectedIndex(Math.min(selection + 1, suggestions.size() - 1));
+                e.consume();
+            }
+            case KeyEvent.VK_UP -> {
+                liste.setSelectedIndex(Math.max(selection - 1, 0));
+                e.consume();
+            }
+            case KeyEvent.VK_ENTER -> {
+                if (selection >= 0) {
+                    inserer(suggestions.get(selection));
+                    e.consume();
+                }
+            }
+            case KeyEvent.VK_ESCAPE -> {
+                popup.setVisible(false);
+                e.consume();
+            }
+        }
+    }
+
+    /**
+     * Insère une suggestion dans le champ et ferme la fenêtre.
+     *
+     * @param suggestion La suggestion choisie.
+     */
+    private void inserer(PrefixTrie.Suggestion suggestion) {
+        texteInsere = suggestion.terme();
+        champ.setText(texteInsere);
+        popup.setVisible(false);
+    }
+}
@@ -0,0 +1,202 @@
+package util;
+
+/**
+ * Agrégateur des plus grands compteurs, indexés par identifiant entier.
+ * Les occurrences sont comptées dans une table à clés primitives, sans objet alloué par incrément ;
+ * la sélection des K premiers parcourt les n compteurs une seule fois en gardant un tas minimal de
+ * taille K, soit O(n log K) au lieu d'un tri complet. À égalité, le plus petit identifiant l'emporte.
+ */
+public class TopK {
+    private final IntIntHashMap compteurs; // Identifiant -> nombre d'occurrences
+
+    /**
+     * Constructeur de la classe TopK.
+     */
+    public TopK() {
+        this.compteurs = new IntIntHashMap();
+    }
+
+    /**
+     * Constructeur de la classe TopK.
+     *
+     * @param capaciteInitiale Le nombre d'identifiants distincts attendu.
+     */
+    public TopK(int capaciteInitiale) {
+        this.compteurs = new IntIntHashMap(capaciteInitiale);
+    }
+
+    /**
+     * Compte une occurrence d'un identifiant.
+     *
+     * @param id L'identifiant.
+     */
+    public void ajouter(int id) {
+        compteurs.ajouter(id, 1);
+    }
+
+    /**
+     * Compte plusieurs occurrences d'un identifiant.
+     *
+     * @param id     L'identifiant.
+     * @param nombre Le nombre d'occurrences à ajouter.
+     */
+    public void ajouter(int id, int nombre) {
+        compteurs.ajouter(id, nombre);
+    }
+
+    /**
+     * Obtient le nombre d'occurrences d'un identifiant.
+     *
+     * @param id L'identifiant.
+     * @return Le nombre d'occurrences, 0 s'il n'a jamais été compté.
+     */
+    public int compte(int id) {
+        return compteurs.get(id, 0);
+    }
+
+    /**
+     * Obtient le nombre d'identifiants distincts comptés.
+     *
+     * @return Le nombre d'identifiants.
+     */
+    public int taille() {
+        return compteurs.size();
+    }
+
+    /**
+     * Sélectionne les identifiants les plus comptés, en O(n log K). Les compteurs nuls ou négatifs sont ignorés.
+     *
+     * @param k Le nombre maximal d'identifiants.
+     * @return Des paires {identifiant, compteur}, par compteur décroissant puis identifiant croissant.
+     */
+    public int[][] premiers(int k) {
+        Tas tas = new Tas(Math.max(0, Math.min(k, compteurs.size())));
+        compteurs.pourChaque(tas::proposer);
+        return tas.vider();
+    }
+
+    /**
+     * Tas minimal de taille bornée : sa racine est le moins bon des candidats retenus.
+     */
+    private static final class Tas {
+        private final int[] ids; // Identifiants retenus, organisés en tas
+        private final int[] comptes; // Compteur de chaque identifiant retenu
+        private int taille; // Nombre de candidats retenus
+
+        /**
+         * Constructeur d'un tas vide.
+         *
+         * @param capacite Le nombre maximal de candidats retenus.
+         */
+        Tas(int capacite) {
+            this.ids = new int[capacite];
+            this.comptes = new int[capacite];
+        }
+
+        /**
+         * Propose un candidat : il est retenu si le tas n'est pas plein ou s'il vaut mieux que la racine.
+         *
+         * @param id     L'identifiant.
+         * @param compte Son compteur.
+         */
+        void proposer(int id, int compte) {
+            if (compte <= 0 || ids.length == 0) {
+                return;
+            }
+            if (taille < ids.length) {
+                ids[taille] = id;
+                comptes[taille] = compte;
+                monter(taille++);
+            } else if (moinsBon(ids[0], comptes[0], id, compte)) {
+                ids[0] = id;
+                comptes[0] = compte;
+                descendre(0);
+            }
+        }
+
+        /**
+         * Retire les candidats du meilleur au moins bon.
+         *
+         * @return Des paires {identifiant, compteur}, du meilleur au moins bon.
+         */
+        int[][] vider() {
+            int[][] resultats = new int[taille][];
+            for (int i = taille - 1; i >= 0; i--) {
+                resultats[i] = new int[]{ids[0], comptes[0]};
+                taille--;
+                ids[0] = ids[taille];
+                comptes[0] = comptes[taille];
+                descendre(0);
+            }
+            return resultats;
+        }
+
+        /**
+         * Fait remonter un candidat tant qu'il est moins bon que son parent.
+         *
+         * @param i L'indice du candidat.
+         */
+        private void monter(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!moinsBon(ids[i], comptes[i], ids[parent], comptes[parent])) {
+                    return;
+                }
+                echanger(i, parent);
+                i = parent;
+            }
+        }
+
+        /**
+         * Fait descendre un candidat tant qu'un de ses enfants est moins bon que lui.
+         *
+         * @param i L'indice du candidat.
+         */
+        private void descendre(int i) {
+            while (true) {
+                int gauche = 2 * i + 1;
+                if (gauche >= taille) {
+                    return;
+                }
+                int pire = gauche;
+                int droite = gauche + 1;
+                if (droite < taille && moinsBon(ids[droite], comptes[droite], ids[gauche], comptes[gauche])) {
+                    pire = droite;
+                }
+                if (!moinsBon(ids[pire], comptes[pire], ids[i], comptes[i])) {
+                    return;
+                }
+                echanger(i, pire);
+                i = pire;
+            }
+        }
+
+        /**
+         * Échange deux candidats du tas.
+         *
+         * @param i L'indice du premier candidat.
+         * @param j L'indice du second candidat.
+         */
+        private void echanger(int i, int j) {
+            int id = ids[i];
+            int compte = comptes[i];
+            ids[i] = ids[j];
+            comptes[i] = comptes[j];
+            ids[j] = id;
+            comptes[j] = compte;
+        }
+
+        /**
+         * Compare deux candidats.
+         *
+         * @param idA     L'identifiant du premier candidat.
+         * @param compteA Le compteur du premier candidat.
+         * @param idB     L'identifiant du second candidat.
+         * @param compteB Le compteur du second candidat.
+         * @return true si le premier candidat est classé après le second.
+         */
+        private static boolean moinsBon(int idA, int compteA, int idB, int compteB) {
+            return compteA < compteB || (compteA == compteB && idA > idB);
+        }
+    }
+}
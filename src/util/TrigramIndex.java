@@ -0,0 +1,170 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Index inversé de trigrammes pour la recherche de sous-chaînes.
+ * Chaque texte indexé est découpé en suites de trois caractères consécutifs ; une requête
+ * n'est comparée qu'aux textes contenant tous ses trigrammes, obtenus par intersection
+ * des listes d'identifiants correspondantes. La recherche ne tient pas compte de la casse.
+ */
+public class TrigramIndex {
+    private final IntHashMap<String> textes = new IntHashMap<>(); // Identifiant -> texte indexé (en minuscules)
+    private final IntHashMap<ListeIds> listes = new IntHashMap<>(); // Trigramme -> identifiants triés des textes qui le contiennent
+
+    /**
+     * Indexe le texte associé à un identifiant, en remplaçant le texte indexé précédemment.
+     *
+     * @param id    L'identifiant de l'entité.
+     * @param texte Le texte à indexer.
+     */
+    public void ajouter(int id, String texte) {
+        retirer(id);
+        String minuscules = texte == null ? "" : texte.toLowerCase();
+        textes.put(id, minuscules);
+        for (int cle : trigrammes(minuscules)) {
+            ListeIds liste = listes.get(cle);
+            if (liste == null) {
+                liste = new ListeIds();
+                listes.put(cle, liste);
+            }
+            liste.ajouter(id);
+        }
+    }
+
+    /**
+     * Retire de l'index le texte associé à un identifiant.
+     *
+     * @param id L'identifiant de l'entité.
+     */
+    public void retirer(int id) {
+        String texte = textes.remove(id);
+        if (texte == null) {
+            return;
+        }
+        for (int cle : trigrammes(texte)) {
+            ListeIds liste = listes.get(cle);
+            if (liste != null) {
+                liste.retirer(id);
+                if (liste.taille == 0) {
+                    listes.remove(cle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recherche les identifiants dont le texte contient la requête.
+     * Les candidats issus de l'intersection des trigrammes sont vérifiés avant d'être retenus.
+     *
+     * @param requete Le texte recherché.
+     * @return Les identifiants correspondants, triés par ordre croissant, ou null si la requête
+     * compte moins de trois caractères et ne permet donc pas d'utiliser l'index.
+     */
+    public int[] rechercher(String requete) {
+        String minuscules = requete.toLowerCase();
+        int[] cles = trigrammes(minuscules);
+        if (cles.length == 0) {
+            return null;
+        }
+
+        // Commencer par la liste la plus courte pour limiter les vérifications
+        ListeIds[] candidates = new ListeIds[cles.length];
+        for (int i = 0; i < cles.length; i++) {
+            candidates[i] = listes.get(cles[i]);
+            if (candidates[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(candidates, (a, b) -> Integer.compare(a.taille, b.taille));
+
+        int[] resultats = new int[candidates[0].taille];
+        int nombre = 0;
+        for (int i = 0; i < candidates[0].taille; i++) {
+            int id = candidates[0].ids[i];
+            boolean present = true;
+            for (int j = 1; j < candidates.length && present; j++) {
+                present = candidates[j].contient(id);
+            }
+            if (present && textes.get(id).contains(minuscules)) {
+                resultats[nombre++] = id;
+            }
+        }
+        return Arrays.copyOf(resultats, nombre);
+    }
+
+    /**
+     * Calcule les trigrammes distincts d'un texte, chacun ramené à une clé entière.
+     * Deux trigrammes différents peuvent partager une clé ; la vérification finale écarte alors les faux positifs.
+     *
+     * @param texte Le texte en minuscules.
+     * @return Les clés distinctes des trigrammes du texte.
+     */
+    private static int[] trigrammes(String texte) {
+        int nombre = Math.max(0, texte.length() - 2);
+        int[] cles = new int[nombre];
+        for (int i = 0; i < nombre; i++) {
+            cles[i] = (texte.charAt(i) << 20) ^ (texte.charAt(i + 1) << 10) ^ texte.charAt(i + 2);
+        }
+        Arrays.sort(cles);
+        int distinctes = 0;
+        for (int i = 0; i < nombre; i++) {
+            if (i == 0 || cles[i] != cles[i - 1]) {
+                cles[distinctes++] = cles[i];
+            }
+        }
+        return Arrays.copyOf(cles, distinctes);
+    }
+
+    /**
+     * Liste triée et extensible d'identifiants associée à un trigramme.
+     */
+    private static final class ListeIds {
+        private int[] ids = new int[4]; // Identifiants triés par ordre croissant
+        private int taille; // Nombre d'identifiants présents
+
+        /**
+         * Insère un identifiant à sa place ; les identifiants croissants sont ajoutés en fin de liste sans décalage.
+         *
+         * @param id L'identifiant à insérer.
+         */
+        void ajouter(int id) {
+            int position = taille > 0 && ids[taille - 1] < id ? taille : Arrays.binarySearch(ids, 0, taille, id);
+            if (position < taille && position >= 0 && ids[position] == id) {
+                return;
+            }
+            if (position < 0) {
+                position = -position - 1;
+            }
+            if (taille == ids.length) {
+                ids = Arrays.copyOf(ids, taille * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, taille - position);
+            ids[position] = id;
+            taille++;
+        }
+
+        /**
+         * Retire un identifiant de la liste s'il est présent.
+         *
+         * @param id L'identifiant à retirer.
+         */
+        void retirer(int id) {
+            int position = Arrays.binarySearch(ids, 0, taille, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, taille - position - 1);
+                taille--;
+            }
+        }
+
+        /**
+         * Vérifie si un identifiant est présent dans la liste.
+         *
+         * @param id L'identifiant recherché.
+         * @return true si l'identifiant est présent, false sinon.
+         */
+        boolean contient(int id) {
+            return Arrays.binarySearch(ids, 0, taille, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ensemble de verrous répartis par clé (lock striping).
+ * Chaque clé entière est associée à l'un d'un nombre fixe de verrous : les opérations portant sur
+ * des clés différentes s'exécutent le plus souvent en parallèle, celles portant sur la même clé
+ * sont toujours sérialisées.
+ */
+public class VerrousParCle {
+    private final ReentrantLock[] verrous; // Verrous, en nombre égal à une puissance de deux
+
+    /**
+     * Constructeur de la classe VerrousParCle.
+     *
+     * @param nombre Le nombre minimal de verrous ; arrondi à la puissance de deux supérieure.
+     */
+    public VerrousParCle(int nombre) {
+        int taille = Integer.highestOneBit(Math.max(1, nombre - 1)) << 1;
+        this.verrous = new ReentrantLock[taille];
+        for (int i = 0; i < taille; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Obtient le verrou associé à une clé.
+     *
+     * @param cle La clé.
+     * @return Le verrou, toujours le même pour une clé donnée.
+     */
+    public ReentrantLock pour(int cle) {
+        int h = cle * 0x9E3779B9;
+        return verrous[(h ^ (h >>> 16)) & (verrous.length - 1)];
+    }
+
+    /**
+     * Prend tous les verrous, toujours dans le même ordre, pour une opération portant sur de nombreuses clés.
+     * Un appelant qui détient déjà l'un des verrous ne doit pas attendre les autres : l'appel est réservé
+     * aux opérations qui ne prennent aucun verrou individuel.
+     */
+    public void verrouillerTous() {
+        for (ReentrantLock verrou : verrous) {
+            verrou.lock();
+        }
+    }
+
+    /**
+     * Relâche tous les verrous pris par {@link #verrouillerTous()}.
+     */
+    public void deverrouillerTous() {
+        for (int i = verrous.length - 1; i >= 0; i--) {
+            verrous[i].unlock();
+        }
+    }
+}
@@ -2,10 +2,10 @@ package view;
 
 import controller.EmpruntController;
 import model.Emprunt;
+import model.TypeModification;
 import util.DocumentListenerAdapter;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.time.LocalDate;
@@ -17,30 +17,27 @@ import java.util.List;
  */
 public class EmpruntPanel extends JPanel {
     private final EmpruntController empruntController; // Contrôleur pour gérer les emprunts
-    private final RetourPanel retourPanel; // Référence au panneau des retours pour les actualisations
-    private final LivrePanel livrePanel; // Référence au panneau des livres pour les actualisations
     private JTable tableEmprunts; // Tableau pour afficher les emprunts
-    private DefaultTableModel tableModel; // Modèle des données pour le tableau
-    private TableRowSorter<DefaultTableModel> rowSorter; // Permet le tri des colonnes dans le tableau
+    private TableauEntites<Emprunt> tableModel; // Modèle des données pour le tableau, adossé aux emprunts du modèle
+    private TableRowSorter<TableauEntites<Emprunt>> rowSorter; // Permet le tri des colonnes dans le tableau
     private JTextField txtSearch; // Champ de recherche pour les emprunts
 
     /**
      * Constructeur de la classe EmpruntPanel.
-     * Configure l'interface utilisateur et charge les emprunts initiaux.
+     * Configure l'interface utilisateur et charge les emprunts initiaux. Le tableau suit ensuite
+     * les modifications du modèle ligne par ligne (nouveaux emprunts, retours).
      *
      * @param empruntController Contrôleur pour gérer les emprunts.
-     * @param retourPanel       Panneau des retours pour actualiser les emprunts non retournés.
-     * @param livrePanel        Panneau des livres pour actualiser les données des livres.
      */
-    public EmpruntPanel(EmpruntController empruntController, RetourPanel retourPanel, LivrePanel livrePanel) {
+    public EmpruntPanel(EmpruntController empruntController) {
         this.empruntController = empruntController;
-        this.retourPanel = retourPanel;
-        this.livrePanel = livrePanel;
         setLayout(new BorderLayout());
 
         // Initialisation de l'interface utilisateur
         initUI();
         loadFilteredEmprunts(""); // Charger tous les emprunts initialement
+        empruntController.ajouterEcouteur(new ModificationsDifferees<>(this::appliquerModification,
+                () -> loadFilteredEmprunts(txtSearch.getText())));
     }
 
     /**
@@ -50,29 +47,22 @@ public class EmpruntPanel extends JPanel {
         // Panneau de recherche
         JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         txtSearch = new JTextField(20);
-        txtSearch.getDocument().addDocumentListener(new DocumentListenerAdapter(() -> loadFilteredEmprunts(txtSearch.getText())));
+        txtSearch.getDocument().addDocumentListener(DocumentListenerAdapter.differe(
+                txtSearch, this::filtrerEmprunts, this::afficherEmprunts, List.of(), DocumentListenerAdapter.DELAI_PAR_DEFAUT));
         searchPanel.add(new JLabel("Rechercher (Livre ID, Utilisateur ID):"));
         searchPanel.add(txtSearch);
         add(searchPanel, BorderLayout.NORTH);
 
         // Tableau pour afficher les emprunts
-        tableModel = new DefaultTableModel(new String[]{"ID", "Livre ID", "Utilisateur ID", "Date Emprunt", "Date Retour Prévue", "Date Retour Effective"}, 0) {
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                switch (columnIndex) {
-                    case 0: // ID column
-                    case 1: // Livre ID column
-                    case 2: // Utilisateur ID column
-                        return Integer.class; // Colonnes numériques
-                    case 3: // Date Emprunt column
-                    case 4: // Date Retour Prévue column
-                    case 5: // Date Retour Effective column
-                        return LocalDate.class; // Colonnes de type date
-                    default:
-                        return String.class; // Valeur par défaut
-                }
-            }
-        };
+        tableModel = new TableauEntites<>(Emprunt::getId, List.of(
+                new TableauEntites.Colonne<>("ID", Integer.class, Emprunt::getId),
+                new TableauEntites.Colonne<>("Livre ID", Integer.class, Emprunt::getLivreId),
+                new TableauEntites.Colonne<>("Utilisateur ID", Integer.class, Emprunt::getUtilisateurId),
+                new TableauEntites.Colonne<>("Date Emprunt", LocalDate.class, Emprunt::getDateEmprunt),
+                new TableauEntites.Colonne<>("Date Retour Prévue", LocalDate.class, Emprunt::getDateRetourPrevue),
+                // Date ou « Non retourné » : triée sur le texte, les dates ISO restant dans l'ordre chronologique
+                new TableauEntites.Colonne<>("Date Retour Effective", Object.class, emprunt ->
+                        emprunt.getDateRetourEffective() == null ? "Non retourné" : emprunt.getDateRetourEffective())));
 
         tableEmprunts = new JTable(tableModel);
 
@@ -93,7 +83,7 @@ public class EmpruntPanel extends JPanel {
     /**
      * Ajoute un nouvel emprunt au système.
      * Demande à l'utilisateur de fournir les IDs du livre et de l'utilisateur.
-     * Actualise les panneaux associés après l'ajout.
+     * Les panneaux concernés (emprunts, retours, livres) sont actualisés par les notifications des modèles.
      */
     private void ajouterEmprunt() {
         try {
@@ -101,7 +91,7 @@ public class EmpruntPanel extends JPanel {
             int utilisateurId = Integer.parseInt(JOptionPane.showInputDialog("Entrer l'ID de l'Utilisateur:"));
 
             Emprunt emprunt = new Emprunt(
-                    empruntController.listerEmprunts().size() + 1, // Génération de l'ID
+                    empruntController.prochainId(), // Génération de l'ID
                     livreId,
                     utilisateurId,
                     LocalDate.now(), // Date de l'emprunt
@@ -111,11 +101,6 @@ public class EmpruntPanel extends JPanel {
 
             empruntController.ajouterEmprunt(emprunt); // Ajouter l'emprunt via le contrôleur
             JOptionPane.showMessageDialog(this, "Emprunt ajouté avec succès.");
-
-            // Actualiser les panneaux
-            loadFilteredEmprunts(""); // Actualiser ce panneau
-            retourPanel.loadNonReturnedEmprunts(); // Actualiser le panneau des retours
-            livrePanel.loadLivres(); // Actualiser le panneau des livres
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Entrée invalide. Veuillez entrer des nombres pour les IDs.", "Erreur", JOptionPane.ERROR_MESSAGE);
         }
@@ -128,30 +113,60 @@ public class EmpruntPanel extends JPanel {
      * @param query Texte de recherche pour filtrer les emprunts.
      */
     public void loadFilteredEmprunts(String query) {
-        tableModel.setRowCount(0); // Effacer les données existantes dans le tableau
+        afficherEmprunts(filtrerEmprunts(query));
+    }
 
-        List<Emprunt> emprunts;
+    /**
+     * Filtre les emprunts en fonction de la requête de recherche.
+     * Peut être exécutée hors du thread de l'interface.
+     *
+     * @param query Texte de recherche pour filtrer les emprunts.
+     * @return Les emprunts correspondant à la requête, ou tous les emprunts si elle est vide.
+     */
+    private List<Emprunt> filtrerEmprunts(String query) {
         if (query.isEmpty()) {
             // Charger tous les emprunts si la recherche est vide
-            emprunts = empruntController.listerEmprunts();
-        } else {
-            // Filtrer les emprunts en fonction de la recherche
-            emprunts = empruntController.listerEmprunts().stream()
-                    .filter(emprunt -> String.valueOf(emprunt.getLivreId()).contains(query) ||
-                            String.valueOf(emprunt.getUtilisateurId()).contains(query))
-                    .toList();
+            return empruntController.listerEmprunts();
         }
+        // Filtrer les emprunts en fonction de la recherche
+        return empruntController.listerEmprunts().stream()
+                .filter(emprunt -> correspond(emprunt, query))
+                .toList();
+    }
+
+    /**
+     * Vérifie si un emprunt correspond à la requête de recherche.
+     *
+     * @param emprunt L'emprunt à vérifier.
+     * @param query   Texte de recherche, contenu dans l'ID du livre ou de l'utilisateur.
+     * @return true si l'emprunt correspond à la requête ou si elle est vide.
+     */
+    private static boolean correspond(Emprunt emprunt, String query) {
+        return String.valueOf(emprunt.getLivreId()).contains(query) ||
+                String.valueOf(emprunt.getUtilisateurId()).contains(query);
+    }
+
+    /**
+     * Remplace le contenu du tableau par les emprunts indiqués.
+     *
+     * @param emprunts Les emprunts à afficher.
+     */
+    private void afficherEmprunts(List<Emprunt> emprunts) {
+        tableModel.remplacer(emprunts); // Remplacer les données existantes dans le tableau
+    }
 
-        // Ajouter les emprunts filtrés au tableau
-        for (Emprunt emprunt : emprunts) {
-            tableModel.addRow(new Object[]{
-                    emprunt.getId(),
-                    emprunt.getLivreId(),
-                    emprunt.getUtilisateurId(),
-                    emprunt.getDateEmprunt(),
-                    emprunt.getDateRetourPrevue(),
-                    emprunt.getDateRetourEffective() == null ? "Non retourné" : emprunt.getDateRetourEffective()
-            });
+    /**
+     * Reporte une modification du modèle sur la seule ligne concernée, si l'emprunt correspond à la recherche.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'emprunt avant la modification, ou null pour un ajout.
+     * @param apres L'emprunt après la modification, ou null pour une suppression.
+     */
+    private void appliquerModification(TypeModification type, Emprunt avant, Emprunt apres) {
+        if (type == TypeModification.SUPPRESSION) {
+            tableModel.retirer(avant.getId());
+        } else if (correspond(apres, txtSearch.getText())) {
+            tableModel.placer(apres);
         }
     }
 }
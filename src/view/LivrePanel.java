@@ -2,10 +2,12 @@ package view;
 
 import controller.LivreController;
 import model.Livre;
+import model.TypeModification;
+import model.ResultatOperation;
 import util.DocumentListenerAdapter;
+import util.SuggestionPopup;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.util.List;
@@ -15,24 +17,31 @@ import java.util.List;
  * Permet l'ajout, la modification, la suppression et la recherche de livres.
  */
 public class LivrePanel extends JPanel {
-    private LivreController livreController; // Contrôleur pour gérer les livres
+    private final LivreController livreController; // Contrôleur pour gérer les livres
     private JTable tableLivres; // Tableau pour afficher les livres
-    private DefaultTableModel tableModel; // Modèle des données pour le tableau
-    private TableRowSorter<DefaultTableModel> rowSorter; // Permet de trier les colonnes du tableau
+    private TableauEntites<Livre> tableModel; // Modèle des données pour le tableau, adossé aux livres du modèle
+    private TableRowSorter<TableauEntites<Livre>> rowSorter; // Permet de trier les colonnes du tableau
     private JTextField txtISBN, txtTitre, txtAuteur, txtGenre, txtQuantite, txtSearch; // Champs pour l'entrée utilisateur
+    private int idSelectionne = -1; // Identifiant du livre dont les champs ont été pré-remplis
+    private int versionSelectionnee; // Version de ce livre au moment du pré-remplissage
 
     /**
      * Constructeur de LivrePanel.
-     * Configure l'interface utilisateur pour gérer les livres.
+     * Configure l'interface utilisateur pour gérer les livres. Le tableau suit ensuite les modifications du modèle
+     * ligne par ligne, quelle qu'en soit l'origine (ce panneau, un emprunt, un retour, un autre bibliothécaire).
+     *
+     * @param livreController Contrôleur partagé pour gérer les livres.
      */
-    public LivrePanel() {
-        this.livreController = new LivreController();
+    public LivrePanel(LivreController livreController) {
+        this.livreController = livreController;
         setLayout(new BorderLayout());
 
         // Barre de recherche
         JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         txtSearch = new JTextField(20);
-        txtSearch.getDocument().addDocumentListener(new DocumentListenerAdapter(this::rechercherLivre));
+        txtSearch.getDocument().addDocumentListener(DocumentListenerAdapter.differe(
+                txtSearch, this::rechercherLivres, this::afficherLivres, List.of(), DocumentListenerAdapter.DELAI_PAR_DEFAUT));
+        new SuggestionPopup(txtSearch, livreController::suggerer); // Autocomplétion des titres et auteurs
         searchPanel.add(new JLabel("Rechercher (Titre, Auteur ou ISBN):"));
         searchPanel.add(txtSearch);
         add(searchPanel, BorderLayout.NORTH);
@@ -40,13 +49,13 @@ public class LivrePanel extends JPanel {
         // Tableau pour afficher les livres
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setPreferredSize(new Dimension(700, 300)); // Taille ajustée pour le tableau
-        tableModel = new DefaultTableModel(new String[]{"ID", "ISBN", "Titre", "Auteur", "Genre", "Quantité"}, 0) {
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0 || columnIndex == 5) return Integer.class; // Colonnes ID et Quantité en entier
-                return String.class; // Autres colonnes en chaîne de caractères
-            }
-        };
+        tableModel = new TableauEntites<>(Livre::getId, List.of(
+                new TableauEntites.Colonne<>("ID", Integer.class, Livre::getId),
+                new TableauEntites.Colonne<>("ISBN", String.class, Livre::getIsbn),
+                new TableauEntites.Colonne<>("Titre", String.class, Livre::getTitre),
+                new TableauEntites.Colonne<>("Auteur", String.class, Livre::getAuteur),
+                new TableauEntites.Colonne<>("Genre", String.class, Livre::getGenre),
+                new TableauEntites.Colonne<>("Quantité", Integer.class, Livre::getQuantite)));
         tableLivres = new JTable(tableModel);
 
         // Permettre le tri des colonnes
@@ -56,12 +65,14 @@ public class LivrePanel extends JPanel {
         // Pré-remplir les champs lors de la sélection d'une ligne
         tableLivres.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting() && tableLivres.getSelectedRow() != -1) {
-                int selectedRow = tableLivres.getSelectedRow();
-                txtISBN.setText(tableModel.getValueAt(selectedRow, 1).toString());
-                txtTitre.setText(tableModel.getValueAt(selectedRow, 2).toString());
-                txtAuteur.setText(tableModel.getValueAt(selectedRow, 3).toString());
-                txtGenre.setText(tableModel.getValueAt(selectedRow, 4).toString());
-                txtQuantite.setText(tableModel.getValueAt(selectedRow, 5).toString());
+                Livre livre = tableModel.getElement(tableLivres.convertRowIndexToModel(tableLivres.getSelectedRow()));
+                idSelectionne = livre.getId();
+                versionSelectionnee = livre.getVersion(); // Version sur laquelle portera la saisie
+                txtISBN.setText(livre.getIsbn());
+                txtTitre.setText(livre.getTitre());
+                txtAuteur.setText(livre.getAuteur());
+                txtGenre.setText(livre.getGenre());
+                txtQuantite.setText(String.valueOf(livre.getQuantite()));
             }
         });
 
@@ -103,16 +114,17 @@ public class LivrePanel extends JPanel {
         add(buttonPanel, BorderLayout.SOUTH);
 
         loadLivres(); // Charger la liste des livres au démarrage
+        livreController.ajouterEcouteur(new ModificationsDifferees<>(this::appliquerModification, this::recharger));
     }
 
     /**
      * Ajoute un nouveau livre à la bibliothèque.
-     * Vérifie les champs et actualise le tableau après l'ajout.
+     * Vérifie les champs ; le tableau est actualisé par la notification du modèle.
      */
     private void ajouterLivre() {
         try {
             Livre livre = new Livre(
-                    livreController.listerLivres().size() + 1, // Génère un ID
+                    livreController.prochainId(), // Génère un ID
                     txtISBN.getText(),
                     txtTitre.getText(),
                     txtAuteur.getText(),
@@ -121,7 +133,6 @@ public class LivrePanel extends JPanel {
                     Integer.parseInt(txtQuantite.getText())
             );
             livreController.ajouterLivre(livre);
-            loadLivres(); // Actualiser le tableau
             clearInputFields();
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Veuillez entrer une quantité valide.", "Erreur", JOptionPane.ERROR_MESSAGE);
@@ -130,7 +141,8 @@ public class LivrePanel extends JPanel {
 
     /**
      * Modifie les informations d'un livre sélectionné.
-     * Vérifie les champs et actualise le tableau après modification.
+     * Vérifie les champs ; le tableau est actualisé par la notification du modèle. La modification est refusée
+     * si le livre a changé depuis le pré-remplissage des champs (par un autre bibliothécaire, un emprunt ou un retour).
      */
     private void modifierLivre() {
         int selectedRow = tableLivres.getSelectedRow();
@@ -138,9 +150,10 @@ public class LivrePanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Veuillez sélectionner un livre à modifier.", "Erreur", JOptionPane.ERROR_MESSAGE);
             return;
         }
+        Livre affiche = tableModel.getElement(tableLivres.convertRowIndexToModel(selectedRow));
         try {
             Livre livre = new Livre(
-                    Integer.parseInt(tableModel.getValueAt(selectedRow, 0).toString()), // ID
+                    affiche.getId(), // ID
                     txtISBN.getText(),
                     txtTitre.getText(),
                     txtAuteur.getText(),
@@ -149,10 +162,20 @@ public class LivrePanel extends JPanel {
                     Integer.parseInt(txtQuantite.getText())
             );
 
-            livreController.modifierLivre(livre);
-            JOptionPane.showMessageDialog(this, "Livre modifié avec succès.");
-            loadLivres(); // Actualiser le tableau
-            clearInputFields();
+            // Version sur laquelle porte la saisie
+            livre.setVersion(livre.getId() == idSelectionne ? versionSelectionnee : affiche.getVersion());
+
+            ResultatOperation resultat = livreController.modifierLivre(livre);
+            switch (resultat) {
+                case APPLIQUE -> {
+                    JOptionPane.showMessageDialog(this, "Livre modifié avec succès.");
+                    clearInputFields();
+                }
+                case CONFLIT -> JOptionPane.showMessageDialog(this,
+                        "Ce livre a été modifié entre-temps. Le tableau a été actualisé, veuillez recommencer la modification.",
+                        "Conflit", JOptionPane.WARNING_MESSAGE);
+                default -> JOptionPane.showMessageDialog(this, "Ce livre n'existe plus.", "Erreur", JOptionPane.ERROR_MESSAGE);
+            }
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Veuillez entrer une quantité valide.", "Erreur", JOptionPane.ERROR_MESSAGE);
         }
@@ -167,53 +190,62 @@ public class LivrePanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Veuillez sélectionner un livre à supprimer.", "Erreur", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        int id = Integer.parseInt(tableModel.getValueAt(selectedRow, 0).toString());
+        int id = tableModel.getElement(tableLivres.convertRowIndexToModel(selectedRow)).getId();
         livreController.supprimerLivre(id);
-        loadLivres(); // Actualiser le tableau
     }
 
     /**
      * Recherche des livres en fonction du texte saisi dans le champ de recherche.
-     * Si le champ est vide, tous les livres sont affichés.
+     * Exécutée hors du thread de l'interface ; si le texte est vide, tous les livres sont retournés.
+     *
+     * @param texte Le texte saisi dans le champ de recherche.
+     * @return Les livres correspondant à la recherche.
      */
-    private void rechercherLivre() {
-        String query = txtSearch.getText().trim();
-        tableModel.setRowCount(0); // Effacer le tableau
-
-        List<Livre> livres;
+    private List<Livre> rechercherLivres(String texte) {
+        String query = texte.trim();
         if (query.isEmpty()) {
-            livres = livreController.listerLivres();
-        } else {
-            livres = livreController.rechercherLivres(query);
-        }
-
-        for (Livre livre : livres) {
-            tableModel.addRow(new Object[]{
-                    livre.getId(),
-                    livre.getIsbn(),
-                    livre.getTitre(),
-                    livre.getAuteur(),
-                    livre.getGenre(),
-                    livre.getQuantite()
-            });
+            return livreController.listerLivres();
         }
+        return livreController.rechercherLivres(query);
     }
 
     /**
      * Charge et affiche tous les livres dans le tableau.
      */
     public void loadLivres() {
-        tableModel.setRowCount(0); // Effacer le tableau
-        List<Livre> livres = livreController.listerLivres();
-        for (Livre livre : livres) {
-            tableModel.addRow(new Object[]{
-                    livre.getId(),
-                    livre.getIsbn(),
-                    livre.getTitre(),
-                    livre.getAuteur(),
-                    livre.getGenre(),
-                    livre.getQuantite()
-            });
+        afficherLivres(livreController.listerLivres());
+    }
+
+    /**
+     * Recharge entièrement le tableau, en conservant la recherche en cours.
+     */
+    private void recharger() {
+        afficherLivres(rechercherLivres(txtSearch.getText()));
+    }
+
+    /**
+     * Remplace le contenu du tableau par les livres indiqués.
+     *
+     * @param livres Les livres à afficher.
+     */
+    private void afficherLivres(List<Livre> livres) {
+        tableModel.remplacer(livres);
+    }
+
+    /**
+     * Reporte une modification du modèle sur la seule ligne concernée.
+     * Pendant une recherche, un livre ajouté n'apparaît qu'à la recherche suivante ; les livres affichés
+     * restent à jour.
+     *
+     * @param type  Le type de modification.
+     * @param avant Le livre avant la modification, ou null pour un ajout.
+     * @param apres Le livre après la modification, ou null pour une suppression.
+     */
+    private void appliquerModification(TypeModification type, Livre avant, Livre apres) {
+        if (type == TypeModification.SUPPRESSION) {
+            tableModel.retirer(avant.getId());
+        } else if (txtSearch.getText().trim().isEmpty() || tableModel.contient(apres.getId())) {
+            tableModel.placer(apres);
         }
     }
 
@@ -0,0 +1,110 @@
+package view;
+
+import model.EcouteurModele;
+import model.TypeModification;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écouteur d'un modèle qui reporte ses modifications sur le thread de l'interface.
+ * Les modifications reçues entre deux passages du thread de l'interface sont appliquées ensemble, dans leur ordre
+ * d'arrivée. Au-delà d'un seuil (import en masse, synchronisation), elles sont abandonnées au profit d'un seul
+ * rechargement complet ; l'application d'une modification doit donc tolérer un enregistrement déjà à jour.
+ *
+ * @param <T> Le type des enregistrements du modèle.
+ */
+final class ModificationsDifferees<T> implements EcouteurModele<T> {
+    static final int SEUIL_RECHARGEMENT = 1000; // Nombre de modifications en attente au-delà duquel le tableau est rechargé
+
+    /**
+     * Application d'une modification à un panneau, sur le thread de l'interface.
+     *
+     * @param <T> Le type des enregistrements du modèle.
+     */
+    @FunctionalInterface
+    interface Application<T> {
+
+        /**
+         * Applique une modification.
+         *
+         * @param type  Le type de modification.
+         * @param avant L'enregistrement avant la modification, ou null pour une insertion.
+         * @param apres L'enregistrement après la modification, ou null pour une suppression.
+         */
+        void appliquer(TypeModification type, T avant, T apres);
+    }
+
+    /**
+     * Modification reçue et pas encore appliquée.
+     */
+    private record Modification<T>(TypeModification type, T avant, T apres) {
+    }
+
+    private final Application<T> application; // Application d'une modification au panneau
+    private final Runnable rechargement; // Rechargement complet du panneau
+    private List<Modification<T>> enAttente = new ArrayList<>(); // Modifications reçues, dans leur ordre d'arrivée
+    private boolean debordement; // Vrai si des modifications ont été abandonnées au profit d'un rechargement
+    private boolean planifie; // Vrai si un passage sur le thread de l'interface est déjà prévu
+
+    /**
+     * Constructeur de la classe ModificationsDifferees.
+     *
+     * @param application  L'application d'une modification, exécutée sur le thread de l'interface.
+     * @param rechargement Le rechargement complet, exécuté sur le thread de l'interface après un débordement.
+     */
+    ModificationsDifferees(Application<T> application, Runnable rechargement) {
+        this.application = application;
+        this.rechargement = rechargement;
+    }
+
+    /**
+     * Met la modification en attente et planifie son application sur le thread de l'interface.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'enregistrement avant la modification, ou null pour une insertion.
+     * @param apres L'enregistrement après la modification, ou null pour une suppression.
+     */
+    @Override
+    public void modifie(TypeModification type, T avant, T apres) {
+        synchronized (this) {
+            if (!debordement) {
+                if (enAttente.size() < SEUIL_RECHARGEMENT) {
+                    enAttente.add(new Modification<>(type, avant, apres));
+                } else {
+                    enAttente = new ArrayList<>();
+                    debordement = true;
+                }
+            }
+            if (planifie) {
+                return;
+            }
+            planifie = true;
+        }
+        SwingUtilities.invokeLater(this::appliquer);
+    }
+
+    /**
+     * Applique les modifications en attente, ou recharge le panneau s'il y en a eu trop.
+     * Exécutée sur le thread de l'interface.
+     */
+    private void appliquer() {
+        List<Modification<T>> modifications;
+        boolean recharger;
+        synchronized (this) {
+            modifications = enAttente;
+            recharger = debordement;
+            enAttente = new ArrayList<>();
+            debordement = false;
+            planifie = false;
+        }
+        if (recharger) {
+            rechargement.run();
+            return;
+        }
+        for (Modification<T> modification : modifications) {
+            application.appliquer(modification.type(), modification.avant(), modification.apres());
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package view;
 
-import controller.EmpruntController;
-import controller.LivreController;
-import controller.UtilisateurController;
-import model.Emprunt;
+import controller.RapportController;
 import model.Livre;
+import model.Statistiques;
 import model.Utilisateur;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
@@ -14,35 +12,34 @@ import org.jfree.data.general.DefaultPieDataset;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Panneau de rapport pour afficher les statistiques générales de la bibliothèque.
  * Comprend le total des livres, utilisateurs, emprunts et des graphiques.
  */
 public class RapportPanel extends JPanel {
-    private LivreController livreController;
-    private EmpruntController empruntController;
-    private UtilisateurController utilisateurController;
+    private final RapportController rapportController; // Contrôleur des statistiques tenues à jour par les modèles
+
+    private static final String[] PERIODES = {"Depuis toujours", "7 derniers jours", "30 derniers jours", "365 derniers jours"}; // Libellés du sélecteur de période
+    private static final int[] JOURS = {0, 7, 30, 365}; // Nombre de jours de chaque période (0 pour tout l'historique)
 
     private JLabel lblTotalLivres, lblTotalUtilisateurs, lblTotalEmprunts;
+    private final JComboBox<String> periodeComboBox = new JComboBox<>(PERIODES); // Période des emprunts comptés
     private JPanel chartPanel; // Panneau contenant les graphiques pour les mises à jour dynamiques
 
     /**
      * Constructeur de la classe RapportPanel.
-     * Initialise les contrôleurs et configure l'interface utilisateur pour afficher les statistiques.
+     * Utilise le contrôleur des rapports et configure l'interface utilisateur pour afficher les statistiques.
+     *
+     * @param rapportController Contrôleur des statistiques de la bibliothèque.
      */
-    public RapportPanel() {
-        this.livreController = new LivreController();
-        this.empruntController = new EmpruntController();
-        this.utilisateurController = new UtilisateurController();
+    public RapportPanel(RapportController rapportController) {
+        this.rapportController = rapportController;
 
         setLayout(new BorderLayout());
 
         // Panneau supérieur pour les statistiques générales
-        JPanel statsPanel = new JPanel(new GridLayout(1, 3, 10, 10));
+        JPanel statsPanel = new JPanel(new GridLayout(1, 4, 10, 10));
         statsPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         lblTotalLivres = new JLabel("Total Livres: 0");
         lblTotalUtilisateurs = new JLabel("Total Utilisateurs: 0");
@@ -50,6 +47,8 @@ public class RapportPanel extends JPanel {
         statsPanel.add(lblTotalLivres);
         statsPanel.add(lblTotalUtilisateurs);
         statsPanel.add(lblTotalEmprunts);
+        statsPanel.add(periodeComboBox);
+        periodeComboBox.addActionListener(e -> loadStatistics());
         add(statsPanel, BorderLayout.NORTH);
 
         // Panneau central pour les graphiques
@@ -63,17 +62,20 @@ public class RapportPanel extends JPanel {
 
     /**
      * Charge les statistiques générales et met à jour les graphiques.
+     * Les statistiques étant tenues à jour par les modèles, seuls les premiers de chaque classement sont lus.
      */
     public void loadStatistics() {
         // Met à jour les statistiques générales
-        lblTotalLivres.setText("Total Livres: " + livreController.listerLivres().size());
-        lblTotalUtilisateurs.setText("Total Utilisateurs: " + utilisateurController.listerUtilisateurs().size());
-        lblTotalEmprunts.setText("Total Emprunts: " + empruntController.listerEmprunts().size());
+        lblTotalLivres.setText("Total Livres: " + rapportController.getNombreLivres());
+        lblTotalUtilisateurs.setText("Total Utilisateurs: " + rapportController.getNombreUtilisateurs());
+        int jours = JOURS[periodeComboBox.getSelectedIndex()];
+        lblTotalEmprunts.setText((jours > 0 ? "Emprunts (" + jours + " j): " : "Total Emprunts: ")
+                + rapportController.getNombreEmprunts(jours));
 
         // Rafraîchit les graphiques
         chartPanel.removeAll(); // Efface les graphiques existants
-        JFreeChart mostBorrowedBooksChart = createMostBorrowedBooksChart();
-        JFreeChart mostActiveUsersChart = createMostActiveUsersChart();
+        JFreeChart mostBorrowedBooksChart = createMostBorrowedBooksChart(jours);
+        JFreeChart mostActiveUsersChart = createMostActiveUsersChart(jours);
         chartPanel.add(new ChartPanel(mostBorrowedBooksChart));
         chartPanel.add(new ChartPanel(mostActiveUsersChart));
         chartPanel.revalidate(); // Met à jour le panneau pour afficher les nouveaux graphiques
@@ -83,30 +85,21 @@ public class RapportPanel extends JPanel {
     /**
      * Crée un graphique en barres pour les livres les plus empruntés.
      *
+     * @param jours Le nombre de jours de la période, ou 0 pour tout l'historique.
      * @return Un graphique en barres montrant les 5 livres les plus empruntés.
      */
-    private JFreeChart createMostBorrowedBooksChart() {
+    private JFreeChart createMostBorrowedBooksChart(int jours) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-        // Calcul des livres les plus empruntés
-        Map<String, Integer> bookBorrowCounts = new HashMap<>();
-        List<Emprunt> emprunts = empruntController.listerEmprunts();
-        for (Emprunt emprunt : emprunts) {
-            Livre livre = livreController.listerLivres().stream()
-                    .filter(l -> l.getId() == emprunt.getLivreId())
-                    .findFirst()
-                    .orElse(null);
-            if (livre != null) {
-                bookBorrowCounts.put(livre.getTitre(), bookBorrowCounts.getOrDefault(livre.getTitre(), 0) + 1);
+        // Remplir le dataset avec les 5 livres les plus empruntés
+        for (Statistiques.Rang<Livre> rang : rapportController.livresLesPlusEmpruntes(5, jours)) {
+            String titre = rang.element().getTitre();
+            if (dataset.getColumnIndex(titre) >= 0) {
+                titre += " (#" + rang.element().getId() + ")"; // Titres homonymes : distinguer les livres
             }
+            dataset.addValue(rang.emprunts(), "Emprunts", titre);
         }
 
-        // Remplir le dataset
-        bookBorrowCounts.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(5) // Limite aux 5 premiers livres
-                .forEach(entry -> dataset.addValue(entry.getValue(), "Emprunts", entry.getKey()));
-
         // Créer un graphique en barres
         return ChartFactory.createBarChart(
                 "Livres les Plus Empruntés", // Titre du graphique
@@ -119,30 +112,21 @@ public class RapportPanel extends JPanel {
     /**
      * Crée un graphique circulaire pour les utilisateurs les plus actifs.
      *
+     * @param jours Le nombre de jours de la période, ou 0 pour tout l'historique.
      * @return Un graphique circulaire montrant les 10 utilisateurs les plus actifs.
      */
-    private JFreeChart createMostActiveUsersChart() {
+    private JFreeChart createMostActiveUsersChart(int jours) {
         DefaultPieDataset dataset = new DefaultPieDataset();
 
-        // Calcul des utilisateurs les plus actifs
-        Map<String, Integer> userBorrowCounts = new HashMap<>();
-        List<Emprunt> emprunts = empruntController.listerEmprunts();
-        for (Emprunt emprunt : emprunts) {
-            Utilisateur utilisateur = utilisateurController.listerUtilisateurs().stream()
-                    .filter(u -> u.getId() == emprunt.getUtilisateurId())
-                    .findFirst()
-                    .orElse(null);
-            if (utilisateur != null) {
-                userBorrowCounts.put(utilisateur.getNom(), userBorrowCounts.getOrDefault(utilisateur.getNom(), 0) + 1);
+        // Remplir le dataset avec les 10 utilisateurs les plus actifs
+        for (Statistiques.Rang<Utilisateur> rang : rapportController.utilisateursLesPlusActifs(10, jours)) {
+            String nom = rang.element().getNom();
+            if (dataset.getIndex(nom) >= 0) {
+                nom += " (#" + rang.element().getId() + ")"; // Noms homonymes : distinguer les utilisateurs
             }
+            dataset.setValue(nom, rang.emprunts());
         }
 
-        // Remplir le dataset
-        userBorrowCounts.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(10) // Limite aux 10 premiers utilisateurs
-                .forEach(entry -> dataset.setValue(entry.getKey(), entry.getValue()));
-
         // Créer un graphique circulaire
         return ChartFactory.createPieChart(
                 "Utilisateurs les Plus Actifs", // Titre du graphique
@@ -1,14 +1,15 @@
 package view;
 
 import controller.EmpruntController;
-import controller.LivreController;
 import model.Emprunt;
+import model.TypeModification;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableCellRenderer;
+import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 /**
@@ -18,47 +19,45 @@ import java.util.List;
  */
 public class RetourPanel extends JPanel {
     private final EmpruntController empruntController; // Contrôleur pour gérer les emprunts
-    private final LivrePanel livrePanel; // Référence au panneau des livres pour actualisation
     private JTable tableRetours; // Tableau affichant les emprunts non retournés
-    private DefaultTableModel tableModel; // Modèle des données pour le tableau
+    private TableauEntites<Emprunt> tableModel; // Modèle des données pour le tableau, adossé aux emprunts du modèle
+    private long aujourdhui = LocalDate.now().toEpochDay(); // Jour courant en jours depuis le 1970-01-01, avancé à chaque minuit
+    private final Timer minuterieJour; // Déclenchée au prochain minuit pour réévaluer les retards
 
     /**
      * Constructeur du panneau RetourPanel.
      * Initialise les composants de l'interface utilisateur et charge les emprunts non retournés.
+     * Le tableau suit ensuite les modifications du modèle : un nouvel emprunt y est ajouté, un emprunt retourné
+     * en est retiré.
      *
      * @param empruntController Contrôleur pour gérer les emprunts.
-     * @param livrePanel        Panneau des livres pour actualisation après enregistrement des retours.
      */
-    public RetourPanel(EmpruntController empruntController, LivrePanel livrePanel) {
+    public RetourPanel(EmpruntController empruntController) {
         this.empruntController = empruntController; // Initialiser le contrôleur des emprunts
-        this.livrePanel = livrePanel; // Référence au panneau des livres
         setLayout(new BorderLayout());
 
         // Initialisation du tableau des emprunts non retournés
-        tableModel = new DefaultTableModel(
-                new String[]{"ID", "Livre ID", "Utilisateur ID", "Date Emprunt", "Date Retour Prévue"}, 0);
-        tableRetours = new JTable(tableModel) {
+        tableModel = new TableauEntites<>(Emprunt::getId, List.of(
+                new TableauEntites.Colonne<>("ID", Integer.class, Emprunt::getId),
+                new TableauEntites.Colonne<>("Livre ID", Integer.class, Emprunt::getLivreId),
+                new TableauEntites.Colonne<>("Utilisateur ID", Integer.class, Emprunt::getUtilisateurId),
+                new TableauEntites.Colonne<>("Date Emprunt", LocalDate.class, Emprunt::getDateEmprunt),
+                new TableauEntites.Colonne<>("Date Retour Prévue", LocalDate.class, Emprunt::getDateRetourPrevue)));
+        tableRetours = new JTable(tableModel);
+        // Mise en surbrillance des emprunts en retard, par comparaison du jour prévu au jour courant
+        tableRetours.getColumnModel().getColumn(4).setCellRenderer(new DefaultTableCellRenderer() {
             @Override
-            public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
-                Component c = super.prepareRenderer(renderer, row, column);
-
-                // Mise en surbrillance des emprunts en retard
-                if (column == 4) {
-                    Object value = getValueAt(row, column);
-                    if (value instanceof String) {
-                        LocalDate returnDate = LocalDate.parse((String) value);
-                        if (returnDate.isBefore(LocalDate.now())) { // En retard
-                            c.setBackground(Color.RED);
-                            c.setForeground(Color.WHITE);
-                        } else {
-                            c.setBackground(Color.WHITE);
-                            c.setForeground(Color.BLACK);
-                        }
-                    }
+            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                           boolean hasFocus, int row, int column) {
+                Emprunt emprunt = tableModel.getElement(table.convertRowIndexToModel(row));
+                if (!isSelected) {
+                    boolean enRetard = emprunt.getJourRetourPrevu() < aujourdhui;
+                    setBackground(enRetard ? Color.RED : Color.WHITE);
+                    setForeground(enRetard ? Color.WHITE : Color.BLACK);
                 }
-                return c;
+                return super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
             }
-        };
+        });
         add(new JScrollPane(tableRetours), BorderLayout.CENTER);
 
         // Initialisation des boutons
@@ -69,31 +68,63 @@ public class RetourPanel extends JPanel {
         add(buttonPanel, BorderLayout.SOUTH);
 
         loadNonReturnedEmprunts(); // Charger les emprunts non retournés au démarrage
+        empruntController.ajouterEcouteur(new ModificationsDifferees<>(this::appliquerModification, this::loadNonReturnedEmprunts));
+
+        minuterieJour = new Timer(0, e -> changerDeJour());
+        minuterieJour.setRepeats(false);
+        planifierChangementDeJour();
     }
 
     /**
-     * Charge les emprunts non retournés dans le tableau.
-     * Ne prend en compte que les emprunts dont la date de retour effective est nulle.
+     * Avance le jour courant et redessine le tableau, pour que les emprunts arrivés à échéance
+     * apparaissent en retard. Exécutée sur le thread de l'interface, une fois par jour.
+     */
+    private void changerDeJour() {
+        aujourdhui = LocalDate.now().toEpochDay();
+        tableRetours.repaint();
+        planifierChangementDeJour();
+    }
+
+    /**
+     * Programme la minuterie pour le prochain minuit, heure locale, avec une seconde de marge.
+     */
+    private void planifierChangementDeJour() {
+        ZonedDateTime maintenant = ZonedDateTime.now();
+        ZonedDateTime minuit = maintenant.toLocalDate().plusDays(1).atStartOfDay(maintenant.getZone());
+        long delai = Duration.between(maintenant, minuit).toMillis() + 1000;
+        minuterieJour.setInitialDelay((int) Math.min(delai, Integer.MAX_VALUE));
+        minuterieJour.restart();
+    }
+
+    /**
+     * Charge les emprunts non retournés dans le tableau, par date de retour prévue croissante.
+     * Ils sont lus dans l'index des emprunts en cours, sans parcourir les emprunts retournés.
      */
     public void loadNonReturnedEmprunts() {
-        tableModel.setRowCount(0); // Effacer les données existantes dans le tableau
-        List<Emprunt> emprunts = empruntController.listerEmprunts();
-        for (Emprunt emprunt : emprunts) {
-            if (emprunt.getDateRetourEffective() == null) { // Inclure uniquement les emprunts non retournés
-                tableModel.addRow(new Object[]{
-                        emprunt.getId(),
-                        emprunt.getLivreId(),
-                        emprunt.getUtilisateurId(),
-                        emprunt.getDateEmprunt().toString(), // Convertir en String
-                        emprunt.getDateRetourPrevue().toString() // Convertir en String
-                });
-            }
+        tableModel.remplacer(empruntController.listerEmpruntsEnCours());
+    }
+
+    /**
+     * Reporte une modification du modèle sur la seule ligne concernée.
+     * Un emprunt supprimé ou retourné est retiré du tableau ; un emprunt non retourné y est ajouté ou mis à jour.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'emprunt avant la modification, ou null pour un ajout.
+     * @param apres L'emprunt après la modification, ou null pour une suppression.
+     */
+    private void appliquerModification(TypeModification type, Emprunt avant, Emprunt apres) {
+        if (type == TypeModification.SUPPRESSION) {
+            tableModel.retirer(avant.getId());
+        } else if (apres.getDateRetourEffective() != null) {
+            tableModel.retirer(apres.getId());
+        } else {
+            tableModel.placer(apres);
         }
     }
 
     /**
      * Enregistre le retour d'un emprunt sélectionné et met à jour les données associées.
-     * Actualise également le panneau des livres après l'enregistrement.
+     * Les panneaux concernés (retours, emprunts, livres) sont actualisés par les notifications des modèles.
      */
     private void enregistrerRetour() {
         int selectedRow = tableRetours.getSelectedRow();
@@ -103,13 +134,9 @@ public class RetourPanel extends JPanel {
         }
 
         try {
-            int empruntId = Integer.parseInt(tableModel.getValueAt(selectedRow, 0).toString());
+            int empruntId = tableModel.getElement(selectedRow).getId();
             empruntController.enregistrerRetour(empruntId, LocalDate.now());
             JOptionPane.showMessageDialog(this, "Retour enregistré avec succès.");
-
-            // Actualiser les panneaux après l'enregistrement
-            loadNonReturnedEmprunts(); // Recharger les emprunts non retournés
-            livrePanel.loadLivres(); // Actualiser le panneau des livres
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Erreur lors de l'enregistrement du retour: " + e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
         }
@@ -0,0 +1,190 @@
+package view;
+
+import util.IntIntHashMap;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Modèle de tableau adossé directement aux enregistrements d'un modèle de la bibliothèque.
+ * Chaque ligne est une référence vers l'enregistrement lui-même : aucune copie des valeurs n'est conservée,
+ * et les cellules sont lues à la demande, pour les seules lignes que la table affiche.
+ * Un index par identifiant permet de remplacer ou de retirer la ligne d'un enregistrement sans parcourir
+ * le tableau, en ne signalant à la vue que la ligne concernée.
+ * <p>
+ * Comme tout modèle de tableau Swing, il ne doit être utilisé que sur le thread de l'interface.
+ *
+ * @param <T> Le type des enregistrements affichés.
+ */
+final class TableauEntites<T> extends AbstractTableModel {
+
+    /**
+     * Colonne du tableau : son titre, le type de ses valeurs et la lecture de sa valeur dans un enregistrement.
+     *
+     * @param nom    Le titre de la colonne.
+     * @param type   Le type des valeurs, utilisé pour le tri et le rendu.
+     * @param valeur La lecture de la valeur de la colonne dans un enregistrement.
+     * @param <T>    Le type des enregistrements affichés.
+     */
+    record Colonne<T>(String nom, Class<?> type, Function<T, Object> valeur) {
+    }
+
+    private final List<Colonne<T>> colonnes; // Colonnes du tableau, dans l'ordre d'affichage
+    private final ToIntFunction<T> identifiant; // Fonction donnant l'identifiant d'un enregistrement
+    private final ArrayList<T> elements = new ArrayList<>(); // Enregistrements affichés, un par ligne
+    private final IntIntHashMap lignes = new IntIntHashMap(); // Identifiant -> indice de la ligne
+
+    /**
+     * Constructeur de la classe TableauEntites. Le tableau est initialement vide.
+     *
+     * @param identifiant Fonction donnant l'identifiant d'un enregistrement.
+     * @param colonnes    Les colonnes du tableau, dans l'ordre d'affichage.
+     */
+    TableauEntites(ToIntFunction<T> identifiant, List<Colonne<T>> colonnes) {
+        this.identifiant = identifiant;
+        this.colonnes = List.copyOf(colonnes);
+    }
+
+    /**
+     * Obtient le nombre de lignes.
+     *
+     * @return Le nombre d'enregistrements affichés.
+     */
+    @Override
+    public int getRowCount() {
+        return elements.size();
+    }
+
+    /**
+     * Obtient le nombre de colonnes.
+     *
+     * @return Le nombre de colonnes.
+     */
+    @Override
+    public int getColumnCount() {
+        return colonnes.size();
+    }
+
+    /**
+     * Obtient le titre d'une colonne.
+     *
+     * @param column L'indice de la colonne.
+     * @return Le titre de la colonne.
+     */
+    @Override
+    public String getColumnName(int column) {
+        return colonnes.get(column).nom();
+    }
+
+    /**
+     * Obtient le type des valeurs d'une colonne.
+     *
+     * @param columnIndex L'indice de la colonne.
+     * @return Le type des valeurs.
+     */
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return colonnes.get(columnIndex).type();
+    }
+
+    /**
+     * Lit la valeur d'une cellule dans l'enregistrement de sa ligne.
+     *
+     * @param rowIndex    L'indice de la ligne.
+     * @param columnIndex L'indice de la colonne.
+     * @return La valeur de la cellule.
+     */
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return colonnes.get(columnIndex).valeur().apply(elements.get(rowIndex));
+    }
+
+    /**
+     * Obtient l'enregistrement affiché sur une ligne.
+     *
+     * @param ligne L'indice de la ligne dans le modèle.
+     * @return L'enregistrement de la ligne.
+     */
+    T getElement(int ligne) {
+        return elements.get(ligne);
+    }
+
+    /**
+     * Remplace tout le contenu du tableau, en un seul signalement à la vue.
+     * Un enregistrement présent plusieurs fois (par exemple trouvé par titre et par auteur) n'est affiché qu'une fois.
+     *
+     * @param nouveaux Les enregistrements à afficher, dans l'ordre des lignes.
+     */
+    void remplacer(Collection<T> nouveaux) {
+        elements.clear();
+        elements.ensureCapacity(nouveaux.size());
+        lignes.clear();
+        for (T element : nouveaux) {
+            int id = identifiant.applyAsInt(element);
+            if (!lignes.containsKey(id)) {
+                lignes.put(id, elements.size());
+                elements.add(element);
+            }
+        }
+        elements.trimToSize();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Vérifie si un enregistrement est affiché.
+     *
+     * @param id L'identifiant de l'enregistrement.
+     * @return true si le tableau contient une ligne pour cet identifiant.
+     */
+    boolean contient(int id) {
+        return lignes.containsKey(id);
+    }
+
+    /**
+     * Affiche un enregistrement : remplace sa ligne s'il est déjà affiché, l'ajoute à la fin sinon.
+     *
+     * @param element L'enregistrement à afficher.
+     */
+    void placer(T element) {
+        int id = identifiant.applyAsInt(element);
+        int ligne = lignes.get(id, -1);
+        if (ligne < 0) {
+            ligne = elements.size();
+            lignes.put(id, ligne);
+            elements.add(element);
+            fireTableRowsInserted(ligne, ligne);
+        } else {
+            elements.set(ligne, element);
+            fireTableRowsUpdated(ligne, ligne);
+        }
+    }
+
+    /**
+     * Retire la ligne d'un enregistrement, s'il est affiché, en O(1) : la dernière ligne prend sa place,
+     * si bien qu'aucune autre ligne n'est réindexée. L'ordre des lignes du modèle change donc ;
+     * celui de la vue est fixé par son trieur.
+     *
+     * @param id L'identifiant de l'enregistrement.
+     */
+    void retirer(int id) {
+        int ligne = lignes.get(id, -1);
+        if (ligne < 0) {
+            return;
+        }
+        lignes.remove(id);
+        int derniere = elements.size() - 1;
+        T deplace = elements.remove(derniere);
+        if (ligne < derniere) {
+            elements.set(ligne, deplace);
+            lignes.put(identifiant.applyAsInt(deplace), ligne);
+        }
+        fireTableRowsDeleted(derniere, derniere);
+        if (ligne < derniere) {
+            fireTableRowsUpdated(ligne, ligne);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package view;
 
 import controller.UtilisateurController;
+import model.TypeModification;
 import model.Utilisateur;
 import util.DocumentListenerAdapter;
+import util.Page;
+import util.SuggestionPopup;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.util.List;
@@ -15,23 +17,28 @@ import java.util.List;
  * Permet l'ajout, la suppression et la recherche des utilisateurs.
  */
 public class UtilisateurPanel extends JPanel {
-    private UtilisateurController utilisateurController; // Contrôleur pour gérer les utilisateurs
+    private final UtilisateurController utilisateurController; // Contrôleur pour gérer les utilisateurs
     private JTable tableUtilisateurs; // Tableau pour afficher les utilisateurs
-    private DefaultTableModel tableModel; // Modèle des données pour le tableau
+    private TableauEntites<Utilisateur> tableModel; // Modèle des données pour le tableau, adossé aux utilisateurs du modèle
     private JTextField txtNom, txtEmail, txtSearch; // Champs de saisie pour les utilisateurs
 
     /**
      * Constructeur de la classe UtilisateurPanel.
-     * Configure l'interface utilisateur pour la gestion des utilisateurs.
+     * Configure l'interface utilisateur pour la gestion des utilisateurs. Le tableau suit ensuite
+     * les modifications du modèle ligne par ligne.
+     *
+     * @param utilisateurController Contrôleur partagé pour gérer les utilisateurs.
      */
-    public UtilisateurPanel() {
-        utilisateurController = new UtilisateurController();
+    public UtilisateurPanel(UtilisateurController utilisateurController) {
+        this.utilisateurController = utilisateurController;
         setLayout(new BorderLayout());
 
         // Barre de recherche
         JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         txtSearch = new JTextField(20);
-        txtSearch.getDocument().addDocumentListener(new DocumentListenerAdapter(this::rechercherUtilisateur));
+        txtSearch.getDocument().addDocumentListener(DocumentListenerAdapter.differe(
+                txtSearch, utilisateurController::rechercherUtilisateur, this::afficherUtilisateurs, List.of(), DocumentListenerAdapter.DELAI_PAR_DEFAUT));
+        new SuggestionPopup(txtSearch, utilisateurController::suggerer); // Autocomplétion des noms et emails
         searchPanel.add(new JLabel("Rechercher (Nom ou Email):"));
         searchPanel.add(txtSearch);
         add(searchPanel, BorderLayout.NORTH);
@@ -39,11 +46,14 @@ public class UtilisateurPanel extends JPanel {
         // Tableau pour afficher les utilisateurs
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setPreferredSize(new Dimension(600, 300));
-        tableModel = new DefaultTableModel(new String[]{"ID", "Nom", "Email"}, 0);
+        tableModel = new TableauEntites<>(Utilisateur::getId, List.of(
+                new TableauEntites.Colonne<>("ID", Integer.class, Utilisateur::getId),
+                new TableauEntites.Colonne<>("Nom", String.class, Utilisateur::getNom),
+                new TableauEntites.Colonne<>("Email", String.class, Utilisateur::getEmail)));
         tableUtilisateurs = new JTable(tableModel);
 
         // Permettre le tri des colonnes
-        TableRowSorter<DefaultTableModel> rowSorter = new TableRowSorter<>(tableModel);
+        TableRowSorter<TableauEntites<Utilisateur>> rowSorter = new TableRowSorter<>(tableModel);
         tableUtilisateurs.setRowSorter(rowSorter);
 
         tablePanel.add(new JScrollPane(tableUtilisateurs), BorderLayout.CENTER);
@@ -89,11 +99,12 @@ public class UtilisateurPanel extends JPanel {
         add(buttonPanel, BorderLayout.SOUTH);
 
         loadUtilisateurs(); // Charger les utilisateurs au démarrage
+        utilisateurController.ajouterEcouteur(new ModificationsDifferees<>(this::appliquerModification, this::recharger));
     }
 
     /**
      * Ajoute un nouvel utilisateur à la bibliothèque.
-     * Vérifie les champs et actualise le tableau après l'ajout.
+     * Vérifie les champs ; le tableau est actualisé par la notification du modèle.
      */
     private void ajouterUtilisateur() {
         String nom = txtNom.getText().trim();
@@ -110,31 +121,34 @@ public class UtilisateurPanel extends JPanel {
             return;
         }
 
-        // Vérifie que l'email est unique
-        List<Utilisateur> utilisateurs = utilisateurController.listerUtilisateurs();
-        for (Utilisateur u : utilisateurs) {
-            if (u.getEmail().equalsIgnoreCase(email)) {
-                JOptionPane.showMessageDialog(this, "Cet e-mail est déjà utilisé. Veuillez en utiliser un autre.", "Erreur", JOptionPane.ERROR_MESSAGE);
-                return;
+        // Vérifie que l'email est unique, en parcourant les utilisateurs page par page
+        String curseur = null;
+        do {
+            Page<Utilisateur> page = utilisateurController.parcourirUtilisateurs(curseur, 1024);
+            for (Utilisateur u : page.getElements()) {
+                if (u.getEmail().equalsIgnoreCase(email)) {
+                    JOptionPane.showMessageDialog(this, "Cet e-mail est déjà utilisé. Veuillez en utiliser un autre.", "Erreur", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
             }
-        }
+            curseur = page.getCurseurSuivant();
+        } while (curseur != null);
 
         // Crée et ajoute l'utilisateur si toutes les conditions sont remplies
         Utilisateur utilisateur = new Utilisateur(
-                utilisateurs.size() + 1, // Génère un ID
+                utilisateurController.prochainId(), // Génère un ID
                 nom,
                 email
         );
 
         utilisateurController.ajouterUtilisateur(utilisateur);
         JOptionPane.showMessageDialog(this, "Utilisateur ajouté avec succès.");
-        loadUtilisateurs(); // Actualiser le tableau
         clearInputFields();
     }
 
     /**
      * Supprime un utilisateur sélectionné dans le tableau.
-     * Actualise le tableau après la suppression.
+     * Le tableau est actualisé par la notification du modèle.
      */
     private void supprimerUtilisateur() {
         int selectedRow = tableUtilisateurs.getSelectedRow();
@@ -142,40 +156,50 @@ public class UtilisateurPanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Veuillez sélectionner un utilisateur à supprimer.", "Erreur", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        int id = Integer.parseInt(tableModel.getValueAt(selectedRow, 0).toString());
+        int id = tableModel.getElement(tableUtilisateurs.convertRowIndexToModel(selectedRow)).getId();
         utilisateurController.supprimerUtilisateur(id);
-        loadUtilisateurs();
     }
 
     /**
-     * Recherche des utilisateurs en fonction du texte saisi dans le champ de recherche.
-     * Si le champ est vide, tous les utilisateurs sont affichés.
+     * Charge et affiche tous les utilisateurs dans le tableau.
      */
-    private void rechercherUtilisateur() {
-        String query = txtSearch.getText();
-        List<Utilisateur> utilisateurs = utilisateurController.rechercherUtilisateur(query);
-        tableModel.setRowCount(0);
-        for (Utilisateur utilisateur : utilisateurs) {
-            tableModel.addRow(new Object[]{
-                    utilisateur.getId(),
-                    utilisateur.getNom(),
-                    utilisateur.getEmail()
-            });
-        }
+    public void loadUtilisateurs() {
+        afficherUtilisateurs(utilisateurController.listerUtilisateurs());
     }
 
     /**
-     * Charge et affiche tous les utilisateurs dans le tableau.
+     * Remplace le contenu du tableau par les utilisateurs indiqués.
+     * Sert aussi à publier le résultat de la recherche, exécutée hors du thread de l'interface.
+     *
+     * @param utilisateurs Les utilisateurs à afficher.
      */
-    public void loadUtilisateurs() {
-        tableModel.setRowCount(0);
-        List<Utilisateur> utilisateurs = utilisateurController.listerUtilisateurs();
-        for (Utilisateur utilisateur : utilisateurs) {
-            tableModel.addRow(new Object[]{
-                    utilisateur.getId(),
-                    utilisateur.getNom(),
-                    utilisateur.getEmail()
-            });
+    private void afficherUtilisateurs(List<Utilisateur> utilisateurs) {
+        tableModel.remplacer(utilisateurs);
+    }
+
+    /**
+     * Recharge entièrement le tableau, en conservant la recherche en cours.
+     */
+    private void recharger() {
+        String query = txtSearch.getText().trim();
+        afficherUtilisateurs(query.isEmpty()
+                ? utilisateurController.listerUtilisateurs()
+                : utilisateurController.rechercherUtilisateur(query));
+    }
+
+    /**
+     * Reporte une modification du modèle sur la seule ligne concernée.
+     * Pendant une recherche, un utilisateur ajouté n'apparaît qu'à la recherche suivante.
+     *
+     * @param type  Le type de modification.
+     * @param avant L'utilisateur avant la modification, ou null pour un ajout.
+     * @param apres L'utilisateur après la modification, ou null pour une suppression.
+     */
+    private void appliquerModification(TypeModification type, Utilisateur avant, Utilisateur apres) {
+        if (type == TypeModification.SUPPRESSION) {
+            tableModel.retirer(avant.getId());
+        } else if (txtSearch.getText().trim().isEmpty() || tableModel.contient(apres.getId())) {
+            tableModel.placer(apres);
         }
     }
 
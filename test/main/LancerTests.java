@@ -0,0 +1,50 @@
+package main;
+
+import model.EmpruntsConcurrentsTest;
+import model.EmpruntsEnCoursTest;
+import model.OperationsParLotTest;
+import util.ChargeurCsvParalleleTest;
+import util.CsvReaderTest;
+import util.EcritureGroupeeTest;
+import util.EnsembleIdentifiantsTest;
+import util.IndexedListTest;
+import util.IntIntHashMapTest;
+import util.PrefixTrieTest;
+import util.SnapshotTest;
+import util.TopKTest;
+import util.TrigramIndexTest;
+
+/**
+ * Lance tous les tests, sans dépendance externe.
+ * Compilation et exécution depuis la racine du projet :
+ * <pre>
+ * javac -encoding UTF-8 -cp "src/ressources/*" -d out $(find src test -name '*.java')
+ * java -cp "out:src/ressources/*" main.LancerTests
+ * </pre>
+ * Le premier test en échec interrompt l'exécution avec une {@link AssertionError}.
+ */
+public class LancerTests {
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws Exception Si un test ne peut pas s'exécuter, par exemple faute de fichier temporaire.
+     */
+    public static void main(String[] args) throws Exception {
+        IndexedListTest.main(args);
+        IntIntHashMapTest.main(args);
+        TrigramIndexTest.main(args);
+        PrefixTrieTest.main(args);
+        CsvReaderTest.main(args);
+        ChargeurCsvParalleleTest.main(args);
+        SnapshotTest.main(args);
+        EcritureGroupeeTest.main(args);
+        OperationsParLotTest.main(args);
+        TopKTest.main(args);
+        EnsembleIdentifiantsTest.main(args);
+        EmpruntsEnCoursTest.main(args);
+        EmpruntsConcurrentsTest.main(args);
+        System.out.println("Tous les tests ont réussi.");
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static util.Verifications.egal;
+
+/**
+ * Dossier de données temporaire partagé par les tests des modèles.
+ * {@link Bibliotheque#DOSSIER_DONNEES} est lu une seule fois, au chargement des modèles : tous les tests
+ * d'une même exécution utilisent donc le même dossier, recréé vide par chacun d'eux.
+ */
+final class DonneesTemporaires {
+    private static Path dossier; // Dossier désigné par la propriété bibliotheque.donnees, créé au premier test
+
+    private DonneesTemporaires() {
+    }
+
+    /**
+     * Prépare un dossier de données vide, désigné par la propriété {@code bibliotheque.donnees}.
+     * Doit être appelée avant tout chargement des modèles, qui écriraient sinon dans les données réelles.
+     *
+     * @return Le dossier.
+     * @throws IOException Si le dossier ne peut pas être créé.
+     */
+    static synchronized Path preparer() throws IOException {
+        if (dossier == null) {
+            dossier = Files.createTempDirectory("donnees");
+            System.setProperty("bibliotheque.donnees", dossier.toString());
+        } else {
+            Files.createDirectories(dossier);
+        }
+        egal(dossier.toString(), Bibliotheque.DOSSIER_DONNEES, "dossier des données");
+        return dossier;
+    }
+
+    /**
+     * Supprime le dossier de données et son contenu.
+     *
+     * @throws IOException Si un fichier ne peut pas être supprimé.
+     */
+    static synchronized void supprimer() throws IOException {
+        try (Stream<Path> chemins = Files.walk(dossier)) {
+            for (Path chemin : chemins.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(chemin);
+            }
+        }
+    }
+}
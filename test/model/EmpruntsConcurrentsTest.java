@@ -0,0 +1,136 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de concurrence des emprunts : 64 emprunteurs se disputent des livres en stock limité
+ * à travers les opérations publiques de {@link EmpruntModel}. Aucun stock ne doit devenir négatif,
+ * ni pendant les emprunts ni après, et chaque exemplaire n'est emprunté qu'une fois.
+ * Les données sont écrites dans le dossier temporaire de {@link DonneesTemporaires}.
+ */
+public class EmpruntsConcurrentsTest {
+    private static final int EMPRUNTEURS = 64; // Nombre de threads empruntant en même temps
+    private static final int TENTATIVES = 40; // Nombre d'emprunts tentés par emprunteur
+    private static final int LIVRES = 8; // Nombre de livres disputés
+    private static final int EXEMPLAIRES = 5; // Stock initial de chaque livre
+    private static final LocalDate AUJOURD_HUI = LocalDate.of(2024, 3, 1); // Date des emprunts de test
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws Exception Si le dossier temporaire ne peut pas être créé ou si un emprunteur est interrompu.
+     */
+    public static void main(String[] args) throws Exception {
+        DonneesTemporaires.preparer();
+        try {
+            Bibliotheque bibliotheque = new Bibliotheque();
+            stockJamaisNegatif(bibliotheque.getLivreModel(), bibliotheque.getEmpruntModel());
+            bibliotheque.fermer();
+        } finally {
+            DonneesTemporaires.supprimer();
+        }
+        System.out.println("EmpruntsConcurrentsTest : OK");
+    }
+
+    /**
+     * Les emprunteurs soumettent des lots d'un à trois emprunts pendant qu'un observateur relève le stock ;
+     * seuls les emprunts appliqués consomment un exemplaire, et le stock final vaut zéro.
+     */
+    private static void stockJamaisNegatif(LivreModel livreModel, EmpruntModel empruntModel) throws Exception {
+        List<Livre> livres = new ArrayList<>();
+        for (int id = 1; id <= LIVRES; id++) {
+            livres.add(new Livre(id, "", "Titre " + id, "Auteur " + id, 2000, "Roman", EXEMPLAIRES));
+        }
+        livreModel.ajouterLivres(livres);
+        StockLivres stock = livreModel.getStock();
+
+        AtomicInteger prochainId = new AtomicInteger(1);
+        AtomicInteger appliques = new AtomicInteger();
+        AtomicInteger minimum = new AtomicInteger(Integer.MAX_VALUE); // Plus petit stock observé pendant les emprunts
+        AtomicBoolean termine = new AtomicBoolean();
+        CountDownLatch depart = new CountDownLatch(1);
+        AtomicReference<Throwable> echec = new AtomicReference<>(); // Première erreur d'un emprunteur
+
+        Thread observateur = Thread.ofPlatform().start(() -> {
+            while (!termine.get()) {
+                for (int id = 1; id <= LIVRES; id++) {
+                    minimum.accumulateAndGet(stock.disponible(id), Math::min);
+                }
+            }
+        });
+        List<Thread> emprunteurs = new ArrayList<>();
+        for (int e = 0; e < EMPRUNTEURS; e++) {
+            Random aleatoire = new Random(e);
+            emprunteurs.add(Thread.ofPlatform().start(() -> {
+                try {
+                    depart.await();
+                    emprunter(empruntModel, aleatoire, prochainId, appliques);
+                } catch (Throwable ex) {
+                    echec.compareAndSet(null, ex);
+                }
+            }));
+        }
+        depart.countDown();
+        for (Thread emprunteur : emprunteurs) {
+            emprunteur.join();
+        }
+        termine.set(true);
+        observateur.join();
+        if (echec.get() != null) {
+            throw new AssertionError("Échec d'un emprunteur", echec.get());
+        }
+
+        verifier(minimum.get() >= 0, "stock négatif observé : " + minimum.get());
+        egal(LIVRES * EXEMPLAIRES, appliques.get(), "un emprunt appliqué par exemplaire");
+        egal(LIVRES * EXEMPLAIRES, empruntModel.compterEmprunts(), "emprunts enregistrés");
+        int[] empruntsParLivre = new int[LIVRES + 1];
+        for (Emprunt emprunt : empruntModel.listerEmprunts()) {
+            empruntsParLivre[emprunt.getLivreId()]++;
+        }
+        for (int id = 1; id <= LIVRES; id++) {
+            egal(0, stock.disponible(id), "stock final du livre " + id);
+            egal(EXEMPLAIRES, empruntsParLivre[id], "emprunts du livre " + id);
+        }
+
+        // Les emprunts isolés passent par le même chemin : le stock épuisé reste à zéro
+        empruntModel.ajouterEmprunt(new Emprunt(prochainId.getAndIncrement(), 1, 1, AUJOURD_HUI, AUJOURD_HUI.plusDays(14), null));
+        egal(0, stock.disponible(1), "emprunt isolé refusé sur un stock épuisé");
+        egal(LIVRES * EXEMPLAIRES, empruntModel.compterEmprunts(), "emprunt isolé non enregistré");
+    }
+
+    /**
+     * Tente les emprunts d'un emprunteur, par lots d'un à trois livres tirés au hasard.
+     *
+     * @param empruntModel Le modèle des emprunts.
+     * @param aleatoire    Le générateur propre à l'emprunteur.
+     * @param prochainId   Le prochain identifiant d'emprunt, partagé par les emprunteurs.
+     * @param appliques    Le nombre d'emprunts appliqués, partagé par les emprunteurs.
+     */
+    private static void emprunter(EmpruntModel empruntModel, Random aleatoire, AtomicInteger prochainId, AtomicInteger appliques) {
+        for (int i = 0; i < TENTATIVES; ) {
+            List<Emprunt> lot = new ArrayList<>();
+            for (int n = 1 + aleatoire.nextInt(3); n > 0 && i < TENTATIVES; n--, i++) {
+                lot.add(new Emprunt(prochainId.getAndIncrement(), 1 + aleatoire.nextInt(LIVRES), 1,
+                        AUJOURD_HUI, AUJOURD_HUI.plusDays(14), null));
+            }
+            for (ResultatOperation resultat : empruntModel.ajouterEmprunts(lot)) {
+                verifier(resultat == ResultatOperation.APPLIQUE || resultat == ResultatOperation.REFUSE,
+                        "résultat inattendu : " + resultat);
+                if (resultat == ResultatOperation.APPLIQUE) {
+                    appliques.incrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static util.Verifications.egal;
+
+/**
+ * Tests de {@link EmpruntsEnCours} : ordre par date de retour prévue puis identifiant (identifiants négatifs compris),
+ * bornes incluses des tranches, emprunts retournés exclus, modifications déplaçant un emprunt.
+ */
+public class EmpruntsEnCoursTest {
+    private static final LocalDate JOUR = LocalDate.of(2024, 3, 10); // Date de retour prévue de référence
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        ordreParDatePuisIdentifiant();
+        tranchesAuxBornesIncluses();
+        empruntsRetournesExclus();
+        modificationDeplaceLEmprunt();
+        comparaisonAleatoireAvecUnFiltre();
+        System.out.println("EmpruntsEnCoursTest : OK");
+    }
+
+    /**
+     * À date égale, les identifiants sont rangés par ordre croissant, des négatifs aux positifs ;
+     * les dates antérieures à 1970 précèdent les autres et un emprunt sans date prévue vient en dernier.
+     */
+    private static void ordreParDatePuisIdentifiant() {
+        EmpruntsEnCours index = new EmpruntsEnCours();
+        for (int id : new int[]{5, Integer.MAX_VALUE, -3, 0, Integer.MIN_VALUE, -1}) {
+            index.indexer(null, emprunt(id, JOUR));
+        }
+        index.indexer(null, emprunt(100, null));
+        index.indexer(null, emprunt(7, LocalDate.of(1960, 1, 1)));
+        index.indexer(null, emprunt(Integer.MIN_VALUE + 1, JOUR.plusDays(1)));
+        egal(9, index.taille(), "taille");
+        egal(List.of(7, Integer.MIN_VALUE, -3, -1, 0, 5, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, 100), ids(index.tous()),
+                "ordre par date puis identifiant");
+    }
+
+    /**
+     * Les deux bornes d'une tranche sont incluses, quel que soit l'identifiant ; sans borne de début,
+     * la tranche part des plus anciennes dates.
+     */
+    private static void tranchesAuxBornesIncluses() {
+        EmpruntsEnCours index = new EmpruntsEnCours();
+        for (int jour = -1; jour <= 3; jour++) {
+            index.indexer(null, emprunt(10 * jour + 1, JOUR.plusDays(jour)));
+            index.indexer(null, emprunt(jour == 0 ? Integer.MIN_VALUE : jour == 2 ? Integer.MAX_VALUE : 10 * jour + 2,
+                    JOUR.plusDays(jour)));
+        }
+        index.indexer(null, emprunt(99, null));
+        egal(List.of(Integer.MIN_VALUE, 1, 11, 12, 21, Integer.MAX_VALUE), ids(index.entre(JOUR, JOUR.plusDays(2))),
+                "bornes incluses");
+        egal(List.of(Integer.MIN_VALUE, 1), ids(index.entre(JOUR, JOUR)), "tranche d'un jour");
+        egal(List.of(-9, -8, Integer.MIN_VALUE, 1), ids(index.entre(null, JOUR)), "sans borne de début");
+        egal(List.of(), ids(index.entre(null, JOUR.minusDays(2))), "avant toutes les dates");
+        egal(List.of(31, 32), ids(index.entre(JOUR.plusDays(3), JOUR.plusYears(100))), "fin lointaine sans emprunt sans date");
+    }
+
+    /**
+     * Un emprunt retourné n'est pas indexé, et le retour d'un emprunt en cours le retire ; une suppression aussi.
+     */
+    private static void empruntsRetournesExclus() {
+        EmpruntsEnCours index = new EmpruntsEnCours();
+        Emprunt retourne = emprunt(1, JOUR);
+        retourne.setDateRetourEffective(JOUR.minusDays(1));
+        index.indexer(null, retourne);
+        egal(0, index.taille(), "emprunt retourné non indexé");
+
+        Emprunt enCours = emprunt(2, JOUR);
+        index.indexer(null, enCours);
+        index.indexer(null, emprunt(3, JOUR));
+        Emprunt rendu = emprunt(2, JOUR);
+        rendu.setDateRetourEffective(JOUR);
+        index.indexer(enCours, rendu);
+        egal(List.of(3), ids(index.tous()), "retour retiré de l'index");
+        index.indexer(rendu, null);
+        egal(1, index.taille(), "suppression d'un emprunt déjà retourné");
+        index.indexer(index.tous().get(0), null);
+        egal(0, index.taille(), "suppression d'un emprunt en cours");
+
+        index.reconstruire(List.of(retourne, emprunt(4, JOUR), emprunt(5, null)));
+        egal(List.of(4, 5), ids(index.tous()), "reconstruction sans les emprunts retournés");
+    }
+
+    /**
+     * Modifier la date de retour prévue déplace l'emprunt sans laisser d'entrée à l'ancienne date.
+     */
+    private static void modificationDeplaceLEmprunt() {
+        EmpruntsEnCours index = new EmpruntsEnCours();
+        Emprunt avant = emprunt(-4, JOUR);
+        index.indexer(null, avant);
+        index.indexer(null, emprunt(8, JOUR.plusDays(5)));
+        Emprunt prolonge = emprunt(-4, JOUR.plusDays(10));
+        index.indexer(avant, prolonge);
+        egal(2, index.taille(), "taille inchangée");
+        egal(List.of(), ids(index.entre(null, JOUR)), "plus d'entrée à l'ancienne date");
+        egal(List.of(8, -4), ids(index.tous()), "nouvelle position");
+        egal(prolonge, index.entre(JOUR.plusDays(10), JOUR.plusDays(10)).get(0), "nouvelle version indexée");
+        Emprunt sansDate = emprunt(-4, null);
+        index.indexer(prolonge, sansDate);
+        egal(List.of(8), ids(index.entre(null, JOUR.plusDays(30))), "emprunt sans date hors des tranches");
+        egal(List.of(8, -4), ids(index.tous()), "emprunt sans date en dernier");
+    }
+
+    /**
+     * Ajouts, prolongations, retours et suppressions aléatoires, comparés à un filtrage de tous les emprunts.
+     */
+    private static void comparaisonAleatoireAvecUnFiltre() {
+        Random aleatoire = new Random(24);
+        EmpruntsEnCours index = new EmpruntsEnCours();
+        Emprunt[] emprunts = new Emprunt[200];
+        for (int i = 0; i < 20_000; i++) {
+            int position = aleatoire.nextInt(emprunts.length);
+            Emprunt actuel = emprunts[position];
+            Emprunt nouveau = null;
+            if (aleatoire.nextInt(5) != 0) {
+                nouveau = emprunt(position - 100, JOUR.plusDays(aleatoire.nextInt(30) - 15));
+                if (aleatoire.nextInt(4) == 0) {
+                    nouveau.setDateRetourEffective(JOUR);
+                }
+            }
+            index.indexer(actuel, nouveau);
+            emprunts[position] = nouveau;
+
+            if (i % 200 == 0) {
+                LocalDate fin = JOUR.plusDays(aleatoire.nextInt(34) - 17);
+                LocalDate debut = aleatoire.nextBoolean() ? null : fin.minusDays(aleatoire.nextInt(10));
+                List<Emprunt> attendus = new ArrayList<>();
+                for (Emprunt emprunt : emprunts) {
+                    if (emprunt != null && emprunt.getDateRetourEffective() == null) {
+                        attendus.add(emprunt);
+                    }
+                }
+                attendus.sort((a, b) -> a.getDateRetourPrevue().equals(b.getDateRetourPrevue())
+                        ? Integer.compare(a.getId(), b.getId()) : a.getDateRetourPrevue().compareTo(b.getDateRetourPrevue()));
+                egal(attendus.size(), index.taille(), "taille");
+                egal(ids(attendus), ids(index.tous()), "tous les emprunts en cours");
+                List<Integer> tranche = new ArrayList<>();
+                for (Emprunt emprunt : attendus) {
+                    LocalDate date = emprunt.getDateRetourPrevue();
+                    if ((debut == null || !date.isBefore(debut)) && !date.isAfter(fin)) {
+                        tranche.add(emprunt.getId());
+                    }
+                }
+                egal(tranche, ids(index.entre(debut, fin)), "tranche de " + debut + " à " + fin);
+            }
+        }
+    }
+
+    /**
+     * Construit un emprunt en cours de test.
+     *
+     * @param id               L'identifiant.
+     * @param dateRetourPrevue La date de retour prévue, éventuellement null.
+     * @return L'emprunt.
+     */
+    private static Emprunt emprunt(int id, LocalDate dateRetourPrevue) {
+        return new Emprunt(id, 1, 1, LocalDate.of(2024, 1, 1), dateRetourPrevue, null);
+    }
+
+    /**
+     * Liste les identifiants d'emprunts.
+     *
+     * @param emprunts Les emprunts.
+     * @return Les identifiants, dans le même ordre.
+     */
+    private static List<Integer> ids(List<Emprunt> emprunts) {
+        List<Integer> ids = new ArrayList<>(emprunts.size());
+        for (Emprunt emprunt : emprunts) {
+            ids.add(emprunt.getId());
+        }
+        return ids;
+    }
+}
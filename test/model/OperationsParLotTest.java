@@ -0,0 +1,178 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static model.ResultatOperation.APPLIQUE;
+import static model.ResultatOperation.CONFLIT;
+import static model.ResultatOperation.DOUBLON;
+import static model.ResultatOperation.INTROUVABLE;
+import static model.ResultatOperation.REFUSE;
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests des opérations par lot des modèles : un résultat par élément dans l'ordre du lot,
+ * et des modifications relues à l'identique après redémarrage.
+ * Les données sont écrites dans le dossier temporaire de {@link DonneesTemporaires}.
+ */
+public class OperationsParLotTest {
+    private static final LocalDate AUJOURD_HUI = LocalDate.of(2024, 3, 1); // Date des emprunts de test
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws Exception Si le dossier temporaire ne peut pas être créé ou si une écriture n'aboutit pas.
+     */
+    public static void main(String[] args) throws Exception {
+        DonneesTemporaires.preparer();
+        try {
+            Bibliotheque bibliotheque = new Bibliotheque();
+            lotsDeLivres(bibliotheque.getLivreModel());
+            lotsDEmprunts(bibliotheque.getEmpruntModel(), bibliotheque.getLivreModel().getStock());
+            lotsDUtilisateurs(bibliotheque.getUtilisateurModel());
+            lotsVides(bibliotheque);
+            relectureApresRedemarrage(bibliotheque);
+        } finally {
+            DonneesTemporaires.supprimer();
+        }
+        System.out.println("OperationsParLotTest : OK");
+    }
+
+    /**
+     * Ajout, modification et suppression de livres par lot, avec doublon, conflit de version et livre absent.
+     */
+    private static void lotsDeLivres(LivreModel modele) {
+        egal(List.of(APPLIQUE, APPLIQUE, DOUBLON, APPLIQUE), modele.ajouterLivres(List.of(
+                livre(1, "Titre 1", 1), livre(2, "Titre 2", 2), livre(1, "Doublon", 5), livre(3, "Titre 3", 1))),
+                "ajout de livres");
+        egal("Titre 1", modele.chercherLivreParId(1).getTitre(), "le doublon ne remplace pas le livre");
+
+        Livre modifie = livre(1, "Titre 1 modifié", 1);
+        modifie.setVersion(modele.chercherLivreParId(1).getVersion());
+        Livre perime = livre(2, "Périmé", 2);
+        perime.setVersion(modele.chercherLivreParId(2).getVersion() + 1);
+        egal(List.of(APPLIQUE, INTROUVABLE, CONFLIT), modele.modifierLivres(List.of(modifie, livre(99, "Absent", 1), perime)),
+                "modification de livres");
+        egal("Titre 1 modifié", modele.chercherLivreParId(1).getTitre(), "livre modifié");
+        egal("Titre 2", modele.chercherLivreParId(2).getTitre(), "livre en conflit inchangé");
+
+        egal(List.of(APPLIQUE, INTROUVABLE, INTROUVABLE), modele.supprimerLivres(List.of(3, 99, 3)), "suppression de livres");
+        egal(2, modele.compterLivres(), "livres restants");
+    }
+
+    /**
+     * Ajout d'emprunts par lot : stock épuisé, identifiant en double sans réservation conservée, livre absent ;
+     * puis modification et suppression par lot.
+     */
+    private static void lotsDEmprunts(EmpruntModel modele, StockLivres stock) {
+        egal(List.of(APPLIQUE, REFUSE, DOUBLON, INTROUVABLE, APPLIQUE), modele.ajouterEmprunts(List.of(
+                        emprunt(1, 1), emprunt(2, 1), emprunt(1, 2), emprunt(3, 99), emprunt(4, 2))),
+                "ajout d'emprunts");
+        egal(0, stock.disponible(1), "exemplaire unique emprunté");
+        egal(1, stock.disponible(2), "réservation du doublon annulée");
+        egal(2, modele.compterEmpruntsEnCours(), "emprunts en cours");
+
+        Emprunt prolonge = new Emprunt(1, 1, 1, AUJOURD_HUI, AUJOURD_HUI.plusDays(30), null);
+        prolonge.setVersion(modele.listerEmprunts().get(0).getVersion());
+        Emprunt perime = emprunt(4, 2);
+        perime.setVersion(prolonge.getVersion() + 1);
+        egal(List.of(APPLIQUE, CONFLIT, INTROUVABLE), modele.modifierEmprunts(List.of(prolonge, perime, emprunt(77, 1))),
+                "modification d'emprunts");
+        egal(List.of(APPLIQUE, INTROUVABLE), modele.supprimerEmprunts(List.of(4, 42)), "suppression d'emprunts");
+        egal(1, modele.compterEmprunts(), "emprunts restants");
+    }
+
+    /**
+     * Ajout, modification et suppression d'utilisateurs par lot.
+     */
+    private static void lotsDUtilisateurs(UtilisateurModel modele) {
+        egal(List.of(APPLIQUE, APPLIQUE, DOUBLON), modele.ajouterUtilisateurs(List.of(
+                new Utilisateur(1, "Alice", "alice@exemple.fr"), new Utilisateur(2, "Bob", "bob@exemple.fr"),
+                new Utilisateur(1, "Doublon", "doublon@exemple.fr"))), "ajout d'utilisateurs");
+        Utilisateur renomme = new Utilisateur(1, "Alice Martin", "alice@exemple.fr");
+        renomme.setVersion(modele.chercherUtilisateurParId(1).getVersion());
+        Utilisateur perime = new Utilisateur(2, "Périmé", "bob@exemple.fr");
+        perime.setVersion(modele.chercherUtilisateurParId(2).getVersion() + 1);
+        egal(List.of(APPLIQUE, CONFLIT), modele.modifierUtilisateurs(List.of(renomme, perime)), "modification d'utilisateurs");
+        egal(List.of(APPLIQUE, INTROUVABLE), modele.supprimerUtilisateurs(List.of(2, 5)), "suppression d'utilisateurs");
+        egal("Alice Martin", modele.chercherUtilisateurParId(1).getNom(), "utilisateur modifié");
+    }
+
+    /**
+     * Un lot vide ne produit aucun résultat.
+     */
+    private static void lotsVides(Bibliotheque bibliotheque) {
+        egal(List.of(), bibliotheque.getLivreModel().ajouterLivres(List.of()), "lot de livres vide");
+        egal(List.of(), bibliotheque.getEmpruntModel().supprimerEmprunts(List.of()), "lot d'emprunts vide");
+        egal(List.of(), bibliotheque.getUtilisateurModel().modifierUtilisateurs(List.of()), "lot d'utilisateurs vide");
+    }
+
+    /**
+     * Les modifications par lot sont relues à l'identique au redémarrage, depuis le journal et le CSV
+     * puis depuis les instantanés écrits à la fermeture.
+     */
+    private static void relectureApresRedemarrage(Bibliotheque bibliotheque) throws Exception {
+        bibliotheque.getLivreModel().attendreEcriture().get(10, TimeUnit.SECONDS);
+        bibliotheque.getUtilisateurModel().attendreEcriture().get(10, TimeUnit.SECONDS);
+        String attendu = etat(bibliotheque);
+        verifier(attendu.contains("Titre 1 modifié") && attendu.contains("Alice Martin"), "état avant redémarrage : " + attendu);
+
+        Bibliotheque relue = new Bibliotheque();
+        egal(attendu, etat(relue), "état relu du journal et des CSV");
+        relue.fermer();
+        bibliotheque.getLivreModel().fermer();
+        bibliotheque.getUtilisateurModel().fermer();
+
+        Bibliotheque instantanee = new Bibliotheque();
+        egal(attendu, etat(instantanee), "état relu des instantanés");
+        instantanee.fermer();
+    }
+
+    /**
+     * Décrit le contenu des trois modèles, y compris les quantités disponibles et les versions.
+     *
+     * @param bibliotheque Le contexte.
+     * @return La description.
+     */
+    private static String etat(Bibliotheque bibliotheque) {
+        List<String> lignes = new ArrayList<>();
+        for (Livre livre : bibliotheque.getLivreModel().listerLivres()) {
+            lignes.add("livre " + livre.getId() + " " + livre.getTitre() + " " + livre.getQuantite() + " v" + livre.getVersion());
+        }
+        for (Emprunt emprunt : bibliotheque.getEmpruntModel().listerEmprunts()) {
+            lignes.add("emprunt " + emprunt.getId() + " " + emprunt.getLivreId() + " " + emprunt.getDateRetourPrevue()
+                    + " v" + emprunt.getVersion());
+        }
+        for (Utilisateur utilisateur : bibliotheque.getUtilisateurModel().listerUtilisateurs()) {
+            lignes.add("utilisateur " + utilisateur.getId() + " " + utilisateur.getNom() + " v" + utilisateur.getVersion());
+        }
+        return String.join("\n", lignes);
+    }
+
+    /**
+     * Construit un livre de test.
+     *
+     * @param id       L'identifiant.
+     * @param titre    Le titre.
+     * @param quantite La quantité disponible.
+     * @return Le livre.
+     */
+    private static Livre livre(int id, String titre, int quantite) {
+        return new Livre(id, "", titre, "Auteur " + id, 2000, "Roman", quantite);
+    }
+
+    /**
+     * Construit un emprunt en cours de test, pour l'utilisateur 1.
+     *
+     * @param id      L'identifiant.
+     * @param livreId L'identifiant du livre emprunté.
+     * @return L'emprunt.
+     */
+    private static Emprunt emprunt(int id, int livreId) {
+        return new Emprunt(id, livreId, 1, AUJOURD_HUI, AUJOURD_HUI.plusDays(14), null);
+    }
+}
@@ -0,0 +1,204 @@
+package util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link ChargeurCsvParallele} : les enregistrements placés à cheval sur les limites de blocs
+ * sont lus comme par une lecture séquentielle du fichier.
+ */
+public class ChargeurCsvParalleleTest {
+    private static final int MIN_CHAMPS = 3; // Nombre minimal de champs des enregistrements de test
+    private static final int MAX_CHAMPS = 4; // Nombre maximal de champs des enregistrements de test
+    private static final long TAILLE_BLOC = 1024 * 1024; // Taille des blocs pour un fichier de SEUIL octets
+
+    // Construit un enregistrement sous forme de liste de champs ; refuse ceux dont le premier champ est ERR
+    private static final Function<CsvReader, List<String>> ANALYSEUR = reader -> {
+        if (reader.egal(0, "ERR")) {
+            throw new IllegalArgumentException("Enregistrement refusé");
+        }
+        List<String> champs = new ArrayList<>(reader.nombreChamps());
+        for (int i = 0; i < reader.nombreChamps(); i++) {
+            champs.add(reader.texte(i));
+        }
+        return champs;
+    };
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws IOException Si un fichier temporaire ne peut pas être écrit ou lu.
+     */
+    public static void main(String[] args) throws IOException {
+        petitsFichiers();
+        enregistrementsAuxLimitesDeBlocs();
+        System.out.println("ChargeurCsvParalleleTest : OK");
+    }
+
+    /**
+     * Un fichier vide, réduit à l'en-tête ou plus petit qu'un bloc.
+     */
+    private static void petitsFichiers() throws IOException {
+        egal(List.of(), charger(new byte[0]), "fichier vide");
+        egal(List.of(), charger("a,b,c\n".getBytes(StandardCharsets.UTF_8)), "en-tête seul");
+        egal(List.of(List.of("1", "x", "y"), List.of("3", "\"", "z", "w")),
+                charger("a,b,c\n1,x,y\n2,trop\nERR,x,y\n3,\"\"\"\",z,w".getBytes(StandardCharsets.UTF_8)),
+                "petit fichier, lignes invalides ignorées, dernière ligne sans saut");
+    }
+
+    /**
+     * Chaque limite de bloc tombe sur un cas particulier : saut de ligne sur le dernier octet d'un bloc,
+     * champ entre guillemets contenant des sauts de ligne, caractère UTF-8 coupé, CRLF coupé,
+     * guillemet doublé coupé, et champ entre guillemets couvrant un bloc entier.
+     * Les fichiers font exactement {@link ChargeurCsvParallele#SEUIL} octets : les blocs font alors 1 Mo
+     * quel que soit le parallélisme, et chaque fichier a trois limites de blocs.
+     */
+    private static void enregistrementsAuxLimitesDeBlocs() throws IOException {
+        StringBuilder enorme = new StringBuilder("grand,\"");
+        for (int i = 0; enorme.length() < 3 * TAILLE_BLOC / 2; i++) {
+            enorme.append(i % 7 == 0 ? "\n" : i % 11 == 0 ? "\"\"" : "x,y");
+        }
+        List<Cas> cas = List.of(
+                new Cas(0, "debut,du,bloc\n"), // Le saut de ligne précédent occupe le dernier octet du bloc
+                new Cas(10, "q,\"ab\ncd\n\"\"e\"\"\n,fin\",z\n"), // Sauts de ligne et guillemets de part et d'autre
+                new Cas(5, "u,abéé,z\n"), // Le premier « é » commence sur le dernier octet du bloc
+                new Cas(7, "c,xy,z\r\n"), // Le CR est le dernier octet du bloc, le LF le premier du suivant
+                new Cas(5, "g,\"a\"\"b\",z\n"), // Le guillemet doublé est coupé par la limite
+                new Cas(100, enorme.append("\",z\n").toString()), // Champ entre guillemets couvrant un bloc entier
+                new Cas(3, "s,\"\n\",z\n")); // Saut de ligne entre guillemets sur le premier octet du bloc
+
+        ByteArrayOutputStream fichier = nouveauFichier();
+        int limite = 1;
+        for (Cas unCas : cas) {
+            byte[] octets = unCas.enregistrement().getBytes(StandardCharsets.UTF_8);
+            while (limite * TAILLE_BLOC - unCas.decalage() < fichier.size() + 5) {
+                limite++;
+            }
+            if (limite * TAILLE_BLOC - unCas.decalage() + octets.length > ChargeurCsvParallele.SEUIL - 100) {
+                verifierFichier(fichier);
+                fichier = nouveauFichier();
+                limite = 1;
+            }
+            remplirJusqua(fichier, limite * TAILLE_BLOC - unCas.decalage());
+            fichier.writeBytes(octets);
+        }
+        verifierFichier(fichier);
+    }
+
+    /**
+     * Commence un fichier de test : en-tête et enregistrements invalides.
+     *
+     * @return Le contenu en cours de construction.
+     */
+    private static ByteArrayOutputStream nouveauFichier() {
+        ByteArrayOutputStream fichier = new ByteArrayOutputStream();
+        ecrire(fichier, "id,valeur,suite\ntrop,peu\nERR,x,y\n");
+        return fichier;
+    }
+
+    /**
+     * Complète un fichier jusqu'à {@link ChargeurCsvParallele#SEUIL} octets, le dernier enregistrement n'ayant pas
+     * de saut de ligne, puis vérifie que le chargeur lit les mêmes enregistrements qu'une lecture séquentielle.
+     *
+     * @param fichier Le contenu en cours de construction.
+     */
+    private static void verifierFichier(ByteArrayOutputStream fichier) throws IOException {
+        String fin = "fin,du,fichier";
+        remplirJusqua(fichier, ChargeurCsvParallele.SEUIL - fin.length());
+        ecrire(fichier, fin);
+        byte[] contenu = fichier.toByteArray();
+        egal(ChargeurCsvParallele.SEUIL, contenu.length, "taille du fichier");
+        List<List<String>> attendus = lireSequentiellement(contenu);
+        List<List<String>> obtenus = charger(contenu);
+        egal(attendus.size(), obtenus.size(), "nombre d'enregistrements");
+        for (int i = 0; i < attendus.size(); i++) {
+            egal(attendus.get(i), obtenus.get(i), "enregistrement " + i);
+        }
+        egal(List.of("fin", "du", "fichier"), obtenus.get(obtenus.size() - 1), "dernier enregistrement");
+    }
+
+    /**
+     * Ajoute des enregistrements de remplissage jusqu'à une position exacte du fichier.
+     *
+     * @param fichier  Le contenu en cours de construction.
+     * @param position La position à atteindre, au moins cinq octets après la position courante.
+     */
+    private static void remplirJusqua(ByteArrayOutputStream fichier, long position) {
+        long reste = position - fichier.size();
+        verifier(reste >= 5, "remplissage trop court");
+        int numero = 0;
+        while (reste > 0) {
+            int longueur = reste > 1005 ? 1000 : (int) reste;
+            // "n," + bourrage + ",z\n" : 5 octets plus le bourrage
+            ecrire(fichier, (numero++ % 10) + "," + "p".repeat(longueur - 5) + ",z\n");
+            reste -= longueur;
+        }
+    }
+
+    /**
+     * Ajoute un texte encodé en UTF-8.
+     *
+     * @param fichier Le contenu en cours de construction.
+     * @param texte   Le texte.
+     */
+    private static void ecrire(ByteArrayOutputStream fichier, String texte) {
+        fichier.writeBytes(texte.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Charge un contenu avec le chargeur parallèle, depuis un fichier temporaire.
+     *
+     * @param contenu Le contenu du fichier.
+     * @return Les enregistrements chargés.
+     */
+    private static List<List<String>> charger(byte[] contenu) throws IOException {
+        Path fichier = Files.createTempFile("chargeur", ".csv");
+        try {
+            Files.write(fichier, contenu);
+            return ChargeurCsvParallele.charger(fichier, MIN_CHAMPS, MAX_CHAMPS, ANALYSEUR);
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    /**
+     * Lit un contenu d'un seul tenant avec {@link CsvReader}, en appliquant les mêmes règles que le chargeur.
+     *
+     * @param contenu Le contenu du fichier.
+     * @return Les enregistrements lus.
+     */
+    private static List<List<String>> lireSequentiellement(byte[] contenu) throws IOException {
+        List<List<String>> enregistrements = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(
+                new ByteArrayInputStream(contenu), StandardCharsets.UTF_8))) {
+            reader.lireEnregistrement(); // En-tête
+            while (reader.lireEnregistrement()) {
+                if (reader.nombreChamps() >= MIN_CHAMPS && reader.nombreChamps() <= MAX_CHAMPS && !reader.egal(0, "ERR")) {
+                    enregistrements.add(ANALYSEUR.apply(reader));
+                }
+            }
+        }
+        return enregistrements;
+    }
+
+    /**
+     * Enregistrement placé à cheval sur une limite de bloc.
+     *
+     * @param decalage       Le nombre d'octets de l'enregistrement situés avant la limite.
+     * @param enregistrement L'enregistrement, saut de ligne final compris.
+     */
+    private record Cas(int decalage, String enregistrement) {
+    }
+}
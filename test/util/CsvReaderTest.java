@@ -0,0 +1,218 @@
+package util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static util.Verifications.egal;
+import static util.Verifications.leve;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link CsvReader} : guillemets, fins de ligne CRLF, sauts de ligne dans les champs,
+ * lecture des entiers et des dates, et aller-retour avec {@link CsvWriter}.
+ */
+public class CsvReaderTest {
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws IOException Si la lecture échoue.
+     */
+    public static void main(String[] args) throws IOException {
+        champsSimplesEtVides();
+        guillemets();
+        finsDeLigneCrlf();
+        sautsDeLigneDansLesChamps();
+        entiers();
+        dates();
+        champLongSurPlusieursTampons();
+        allerRetourAleatoireAvecCsvWriter();
+        System.out.println("CsvReaderTest : OK");
+    }
+
+    /**
+     * Champs vides en début, au milieu et en fin d'enregistrement ; lignes vides ignorées ; dernière ligne sans saut.
+     */
+    private static void champsSimplesEtVides() throws IOException {
+        List<List<String>> lus = lire("a,b,c\n\n,x,,\n\nfin");
+        egal(List.of(List.of("a", "b", "c"), List.of("", "x", "", ""), List.of("fin")), lus, "enregistrements");
+    }
+
+    /**
+     * Virgules et guillemets doublés entre guillemets ; guillemet fermant manquant en fin de source.
+     */
+    private static void guillemets() throws IOException {
+        egal(List.of(List.of("a,b", "dit \"oui\"", "", "x\"y")), lire("\"a,b\",\"dit \"\"oui\"\"\",\"\",x\"y\n"),
+                "guillemets");
+        egal(List.of(List.of("ouvert", "sans fin\n")), lire("ouvert,\"sans fin\n"), "guillemet fermant manquant");
+    }
+
+    /**
+     * Les fins de ligne CRLF terminent les enregistrements, y compris à la fin de la source et sur une ligne vide ;
+     * un CR isolé fait partie du champ.
+     */
+    private static void finsDeLigneCrlf() throws IOException {
+        egal(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), lire("a,b\r\n\r\nc,d\r\ne\r\n"), "CRLF");
+        egal(List.of(List.of("a\rb", "c")), lire("a\rb,c\r\n"), "CR isolé");
+        egal(List.of(List.of("x\r\ny", "z")), lire("\"x\r\ny\",z\r\n"), "CRLF entre guillemets conservé");
+    }
+
+    /**
+     * Un champ entre guillemets peut contenir des sauts de ligne ; les numéros de ligne en tiennent compte.
+     */
+    private static void sautsDeLigneDansLesChamps() throws IOException {
+        try (CsvReader lecteur = new CsvReader(new StringReader("1,\"ligne 1\nligne 2\n\nligne 4\"\n2,b\n\n3,c\n"))) {
+            verifier(lecteur.lireEnregistrement(), "premier enregistrement");
+            egal("ligne 1\nligne 2\n\nligne 4", lecteur.texte(1), "champ multiligne");
+            egal(1, lecteur.numeroLigne(), "ligne du premier enregistrement");
+            verifier(lecteur.lireEnregistrement(), "deuxième enregistrement");
+            egal(5, lecteur.numeroLigne(), "ligne après un champ multiligne");
+            verifier(lecteur.lireEnregistrement(), "troisième enregistrement");
+            egal(7, lecteur.numeroLigne(), "ligne après une ligne vide");
+            verifier(lecteur.egal(1, "c"), "egal");
+            verifier(!lecteur.egal(1, "cc"), "egal sur une autre longueur");
+            egal("3,c", lecteur.enregistrementCourant(), "enregistrement courant");
+            verifier(!lecteur.lireEnregistrement(), "fin de la source");
+        }
+    }
+
+    /**
+     * Entiers signés, bornes de int et valeurs invalides.
+     */
+    private static void entiers() throws IOException {
+        try (CsvReader lecteur = new CsvReader(new StringReader("0,-12,+7,2147483647,-2147483648\n2147483648,-2147483649,,-,1a\n"))) {
+            lecteur.lireEnregistrement();
+            egal(0, lecteur.entier(0), "zéro");
+            egal(-12, lecteur.entier(1), "négatif");
+            egal(7, lecteur.entier(2), "signe plus");
+            egal(Integer.MAX_VALUE, lecteur.entier(3), "maximum");
+            egal(Integer.MIN_VALUE, lecteur.entier(4), "minimum");
+            lecteur.lireEnregistrement();
+            for (int champ = 0; champ < 5; champ++) {
+                int indice = champ;
+                leve(NumberFormatException.class, () -> lecteur.entier(indice), "entier invalide au champ " + champ);
+            }
+        }
+    }
+
+    /**
+     * Dates ISO lues directement, format inhabituel confié à l'analyseur standard, dates invalides.
+     */
+    private static void dates() throws IOException {
+        try (CsvReader lecteur = new CsvReader(new StringReader("2024-02-29,+10000-01-01,2023-02-29,2024-1a-01\n"))) {
+            lecteur.lireEnregistrement();
+            egal(LocalDate.of(2024, 2, 29), lecteur.date(0), "date ISO");
+            egal(LocalDate.of(10000, 1, 1), lecteur.date(1), "année sur plus de quatre chiffres");
+            leve(DateTimeException.class, () -> lecteur.date(2), "29 février d'une année non bissextile");
+            leve(DateTimeException.class, () -> lecteur.date(3), "chiffre invalide");
+        }
+    }
+
+    /**
+     * Un champ plus long que le tampon de lecture, suivi d'un CRLF coupé entre deux remplissages.
+     */
+    private static void champLongSurPlusieursTampons() throws IOException {
+        String long1 = "x".repeat(200_000);
+        String source = long1 + ",\"" + long1.replace('x', '"').replace("\"", "\"\"") + "\"\r\nfin\r\n";
+        egal(List.of(List.of(long1, "\"".repeat(200_000)), List.of("fin")), lire(source), "champ long");
+        for (int decoupe = 1; decoupe <= 3; decoupe++) {
+            egal(List.of(List.of("a", "b\nc"), List.of("d")), lire(new Morceaux(new StringReader("a,\"b\nc\"\r\nd\r\n"), decoupe)),
+                    "lecture par morceaux de " + decoupe);
+        }
+    }
+
+    /**
+     * Des enregistrements aléatoires écrits par {@link CsvWriter} sont relus à l'identique, la source étant livrée
+     * par petits morceaux pour couper les enregistrements à toutes les positions.
+     */
+    private static void allerRetourAleatoireAvecCsvWriter() throws IOException {
+        Random aleatoire = new Random(8);
+        List<List<String>> attendus = new ArrayList<>();
+        StringWriter sortie = new StringWriter();
+        try (CsvWriter ecrivain = new CsvWriter(sortie)) {
+            for (int i = 0; i < 2000; i++) {
+                List<String> enregistrement = new ArrayList<>();
+                int champs = 2 + aleatoire.nextInt(5); // Au moins deux champs : une ligne vide serait ignorée
+                for (int j = 0; j < champs; j++) {
+                    String valeur = champ(aleatoire);
+                    enregistrement.add(valeur);
+                    ecrivain.champ(valeur);
+                }
+                ecrivain.finLigne();
+                attendus.add(enregistrement);
+            }
+        }
+        egal(attendus, lire(new Morceaux(new StringReader(sortie.toString()), 7)), "aller-retour");
+    }
+
+    /**
+     * Tire une valeur de champ mêlant caractères ordinaires et caractères spéciaux du CSV.
+     *
+     * @param aleatoire Le générateur.
+     * @return La valeur.
+     */
+    private static String champ(Random aleatoire) {
+        int longueur = aleatoire.nextInt(8);
+        StringBuilder valeur = new StringBuilder(longueur);
+        for (int i = 0; i < longueur; i++) {
+            valeur.append("ab ,\"\n\ré".charAt(aleatoire.nextInt(8)));
+        }
+        return valeur.toString();
+    }
+
+    /**
+     * Lit tous les enregistrements d'un texte.
+     *
+     * @param texte Le texte CSV.
+     * @return Les enregistrements, chacun sous forme de liste de champs.
+     */
+    private static List<List<String>> lire(String texte) throws IOException {
+        return lire(new StringReader(texte));
+    }
+
+    /**
+     * Lit tous les enregistrements d'une source.
+     *
+     * @param source La source CSV.
+     * @return Les enregistrements, chacun sous forme de liste de champs.
+     */
+    private static List<List<String>> lire(Reader source) throws IOException {
+        List<List<String>> enregistrements = new ArrayList<>();
+        try (CsvReader lecteur = new CsvReader(source)) {
+            while (lecteur.lireEnregistrement()) {
+                List<String> champs = new ArrayList<>();
+                for (int i = 0; i < lecteur.nombreChamps(); i++) {
+                    champs.add(lecteur.texte(i));
+                }
+                enregistrements.add(champs);
+            }
+        }
+        return enregistrements;
+    }
+
+    /**
+     * Source qui ne livre que quelques caractères à chaque lecture, pour forcer de nombreux remplissages du tampon.
+     */
+    private static final class Morceaux extends FilterReader {
+        private final int taille; // Nombre maximal de caractères livrés par lecture
+
+        Morceaux(Reader source, int taille) {
+            super(source);
+            this.taille = taille;
+        }
+
+        @Override
+        public int read(char[] tampon, int debut, int longueur) throws IOException {
+            return super.read(tampon, debut, Math.min(longueur, taille));
+        }
+    }
+}
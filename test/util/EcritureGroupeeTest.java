@@ -0,0 +1,164 @@
+package util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link EcritureGroupee} : regroupement des modifications, modification pendant une écriture,
+ * échecs d'écriture et arrêt.
+ */
+public class EcritureGroupeeTest {
+    private static final long ATTENTE_MAX_S = 10; // Attente maximale d'une écriture, en secondes
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws Exception Si une écriture n'est pas terminée à temps ou si le thread est interrompu.
+     */
+    public static void main(String[] args) throws Exception {
+        rafaleEnUneEcriture();
+        modificationPendantUneEcriture();
+        echecsDEcriture();
+        fermetureSansAttendreLeDelai();
+        System.out.println("EcritureGroupeeTest : OK");
+    }
+
+    /**
+     * Une rafale de modifications reçues pendant le délai de latence ne donne qu'une écriture.
+     */
+    private static void rafaleEnUneEcriture() throws Exception {
+        AtomicInteger ecritures = new AtomicInteger();
+        EcritureGroupee groupee = new EcritureGroupee("rafale", () -> ecritures.incrementAndGet() > 0, 200);
+        try {
+            verifier(groupee.attendre().isDone(), "rien à écrire");
+            CompletableFuture<Void> premiere = groupee.signaler();
+            for (int i = 0; i < 500; i++) {
+                verifier(groupee.signaler() == premiere, "même promesse pour toute la rafale");
+            }
+            verifier(groupee.attendre() == premiere, "attendre retourne la promesse en attente");
+            premiere.get(ATTENTE_MAX_S, TimeUnit.SECONDS);
+            egal(1, ecritures.get(), "une seule écriture");
+            verifier(groupee.attendre().isDone(), "plus rien à écrire");
+        } finally {
+            groupee.fermer();
+        }
+        egal(1, ecritures.get(), "pas d'écriture à la fermeture sans modification");
+    }
+
+    /**
+     * Une modification signalée pendant une écriture est prise par l'écriture suivante ;
+     * attendre pendant l'écriture retourne la promesse de l'écriture en cours.
+     */
+    private static void modificationPendantUneEcriture() throws Exception {
+        AtomicInteger ecritures = new AtomicInteger();
+        CountDownLatch debut = new CountDownLatch(1);
+        CountDownLatch reprise = new CountDownLatch(1);
+        EcritureGroupee groupee = new EcritureGroupee("pendant", () -> {
+            if (ecritures.incrementAndGet() == 1) {
+                debut.countDown();
+                attendre(reprise);
+            }
+            return true;
+        }, 10);
+        try {
+            CompletableFuture<Void> premiere = groupee.signaler();
+            verifier(debut.await(ATTENTE_MAX_S, TimeUnit.SECONDS), "première écriture commencée");
+            verifier(groupee.attendre() == premiere, "attendre retourne l'écriture en cours");
+            CompletableFuture<Void> seconde = groupee.signaler();
+            verifier(seconde != premiere, "nouvelle promesse pendant l'écriture");
+            verifier(!premiere.isDone() && !seconde.isDone(), "écriture bloquée");
+            verifier(groupee.attendre() == seconde, "attendre retourne la promesse de la modification en attente");
+            reprise.countDown();
+            seconde.get(ATTENTE_MAX_S, TimeUnit.SECONDS);
+            verifier(premiere.isDone(), "première écriture terminée");
+            egal(2, ecritures.get(), "deux écritures");
+        } finally {
+            reprise.countDown();
+            groupee.fermer();
+        }
+    }
+
+    /**
+     * Une écriture qui retourne false ou lève une exception termine sa promesse en échec ;
+     * l'écriture suivante a lieu normalement.
+     */
+    private static void echecsDEcriture() throws Exception {
+        AtomicInteger ecritures = new AtomicInteger();
+        EcritureGroupee groupee = new EcritureGroupee("echecs", () -> switch (ecritures.incrementAndGet()) {
+            case 1 -> false;
+            case 2 -> throw new IllegalStateException("panne simulée");
+            default -> true;
+        }, 10);
+        try {
+            egal(IOException.class, cause(groupee.signaler()).getClass(), "écriture en échec");
+            egal("panne simulée", cause(groupee.signaler()).getMessage(), "exception de l'écriture transmise");
+            groupee.signaler().get(ATTENTE_MAX_S, TimeUnit.SECONDS);
+            egal(3, ecritures.get(), "écriture suivante effectuée");
+        } finally {
+            groupee.fermer();
+        }
+    }
+
+    /**
+     * La fermeture écrit les modifications en attente sans attendre le délai ; après l'arrêt, chaque modification
+     * est écrite immédiatement sur le thread appelant.
+     */
+    private static void fermetureSansAttendreLeDelai() throws Exception {
+        AtomicInteger ecritures = new AtomicInteger();
+        AtomicReference<Thread> dernierThread = new AtomicReference<>();
+        EcritureGroupee groupee = new EcritureGroupee("fermeture", () -> {
+            dernierThread.set(Thread.currentThread());
+            return ecritures.incrementAndGet() > 0;
+        }, 60_000);
+        CompletableFuture<Void> enAttente = groupee.signaler();
+        long debut = System.nanoTime();
+        groupee.fermer();
+        verifier(System.nanoTime() - debut < TimeUnit.SECONDS.toNanos(ATTENTE_MAX_S), "délai de latence ignoré à la fermeture");
+        verifier(enAttente.isDone() && !enAttente.isCompletedExceptionally(), "modification en attente écrite");
+        egal(1, ecritures.get(), "une écriture à la fermeture");
+
+        CompletableFuture<Void> apresArret = groupee.signaler();
+        verifier(apresArret.isDone(), "écriture immédiate après l'arrêt");
+        verifier(dernierThread.get() == Thread.currentThread(), "écriture sur le thread appelant après l'arrêt");
+        egal(2, ecritures.get(), "deux écritures");
+        verifier(groupee.attendre().isDone(), "rien en attente après l'arrêt");
+    }
+
+    /**
+     * Attend la fin d'une promesse qui doit échouer.
+     *
+     * @param promesse La promesse.
+     * @return La cause de l'échec.
+     */
+    private static Throwable cause(CompletableFuture<Void> promesse) throws InterruptedException, TimeoutException {
+        try {
+            promesse.get(ATTENTE_MAX_S, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("échec attendu");
+    }
+
+    /**
+     * Attend un signal depuis l'écriture, sans exception vérifiée.
+     *
+     * @param signal Le signal.
+     */
+    private static void attendre(CountDownLatch signal) {
+        try {
+            signal.await(ATTENTE_MAX_S, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package util;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static util.Verifications.egal;
+import static util.Verifications.leve;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link EnsembleIdentifiants} : limites de mots, de blocs et de segments, très grands identifiants,
+ * libération des segments vides, rangs et successeurs aux bornes, comparaison avec un {@link TreeSet}.
+ */
+public class EnsembleIdentifiantsTest {
+    private static final int SEGMENT = 1 << 18; // Nombre d'identifiants couverts par un segment
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        identifiantsNegatifs();
+        limitesDeMotsDeBlocsEtDeSegments();
+        identifiantMaximal();
+        segmentVideLibere();
+        comparaisonAleatoireAvecUnTreeSet();
+        System.out.println("EnsembleIdentifiantsTest : OK");
+    }
+
+    /**
+     * Un identifiant négatif est refusé à l'ajout, absent et sans effet au retrait ; apres part du début.
+     */
+    private static void identifiantsNegatifs() {
+        EnsembleIdentifiants ensemble = new EnsembleIdentifiants();
+        leve(IllegalArgumentException.class, () -> ensemble.ajouter(-1), "identifiant -1");
+        leve(IllegalArgumentException.class, () -> ensemble.ajouter(Integer.MIN_VALUE), "identifiant minimal");
+        ensemble.ajouter(0);
+        ensemble.retirer(-1);
+        verifier(!ensemble.contient(-1), "identifiant négatif absent");
+        egal(1, ensemble.taille(), "taille");
+        egal(0, ensemble.apres(-1), "apres(-1) part du début");
+        egal(0, ensemble.apres(Integer.MIN_VALUE), "apres d'un identifiant négatif part du début");
+        egal(-1, ensemble.apres(0), "pas de successeur");
+    }
+
+    /**
+     * Des identifiants placés de part et d'autre des limites de mots, de blocs et de segments
+     * sont retrouvés par rang et par successeur.
+     */
+    private static void limitesDeMotsDeBlocsEtDeSegments() {
+        int[] ids = {0, 63, 64, 4095, 4096, SEGMENT - 1, SEGMENT, 2 * SEGMENT - 1, 5 * SEGMENT + 4096};
+        EnsembleIdentifiants ensemble = new EnsembleIdentifiants();
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ensemble.ajouter(ids[i]);
+            ensemble.ajouter(ids[i]); // Un second ajout est sans effet
+        }
+        egal(ids.length, ensemble.taille(), "taille");
+        int precedent = -1;
+        for (int rang = 0; rang < ids.length; rang++) {
+            verifier(ensemble.contient(ids[rang]), "contient " + ids[rang]);
+            verifier(!ensemble.contient(ids[rang] + 1) || ids[rang] + 1 == ids[rang + 1], "voisin absent de " + ids[rang]);
+            egal(ids[rang], ensemble.ieme(rang), "rang " + rang);
+            egal(ids[rang], ensemble.apres(precedent), "successeur de " + precedent);
+            egal(ids[rang], ensemble.apres(ids[rang] - 1), "successeur immédiat de " + (ids[rang] - 1));
+            precedent = ids[rang];
+        }
+        egal(-1, ensemble.apres(precedent), "après le dernier");
+        egal(-1, ensemble.ieme(ids.length), "rang égal à la taille");
+        egal(-1, ensemble.ieme(-1), "rang négatif");
+        egal(-1, ensemble.ieme(Integer.MAX_VALUE), "rang maximal");
+        verifier(!ensemble.contient(6 * SEGMENT), "identifiant au-delà des segments alloués");
+
+        ensemble.retirer(SEGMENT - 1);
+        egal(SEGMENT, ensemble.apres(4096), "successeur dans le segment suivant");
+        egal(SEGMENT, ensemble.ieme(5), "rang après un retrait");
+        ensemble.effacer();
+        egal(0, ensemble.taille(), "taille après effacement");
+        egal(-1, ensemble.apres(-1), "ensemble vide");
+        egal(-1, ensemble.ieme(0), "rang dans un ensemble vide");
+    }
+
+    /**
+     * {@link Integer#MAX_VALUE} occupe le dernier bit du dernier segment, sans allouer les segments intermédiaires.
+     */
+    private static void identifiantMaximal() {
+        EnsembleIdentifiants ensemble = new EnsembleIdentifiants();
+        ensemble.ajouter(Integer.MAX_VALUE);
+        ensemble.ajouter(Integer.MAX_VALUE - 1);
+        ensemble.ajouter(3);
+        egal(2, segmentsAlloues(ensemble), "segments alloués");
+        egal(Integer.MAX_VALUE - 1, ensemble.apres(3), "successeur lointain");
+        egal(Integer.MAX_VALUE, ensemble.apres(Integer.MAX_VALUE - 1), "dernier bit");
+        egal(-1, ensemble.apres(Integer.MAX_VALUE), "après l'identifiant maximal");
+        egal(Integer.MAX_VALUE, ensemble.ieme(2), "rang de l'identifiant maximal");
+        ensemble.retirer(Integer.MAX_VALUE);
+        verifier(!ensemble.contient(Integer.MAX_VALUE), "identifiant maximal retiré");
+        egal(-1, ensemble.apres(Integer.MAX_VALUE - 1), "plus de successeur");
+    }
+
+    /**
+     * Un segment dont le dernier identifiant est retiré est libéré, puis réalloué au besoin ;
+     * les parcours passent par-dessus.
+     */
+    private static void segmentVideLibere() {
+        EnsembleIdentifiants ensemble = new EnsembleIdentifiants();
+        ensemble.ajouter(1);
+        ensemble.ajouter(SEGMENT + 10);
+        ensemble.ajouter(SEGMENT + 20);
+        ensemble.ajouter(3 * SEGMENT);
+        egal(3, segmentsAlloues(ensemble), "segments alloués");
+        ensemble.retirer(SEGMENT + 10);
+        egal(3, segmentsAlloues(ensemble), "segment encore occupé");
+        ensemble.retirer(SEGMENT + 20);
+        ensemble.retirer(SEGMENT + 20);
+        egal(2, segmentsAlloues(ensemble), "segment vide libéré");
+        egal(2, ensemble.taille(), "taille");
+        egal(3 * SEGMENT, ensemble.apres(1), "successeur par-dessus le segment libéré");
+        egal(3 * SEGMENT, ensemble.ieme(1), "rang par-dessus le segment libéré");
+        ensemble.ajouter(SEGMENT + 5);
+        egal(SEGMENT + 5, ensemble.apres(1), "segment réalloué");
+    }
+
+    /**
+     * Ajouts et retraits aléatoires, concentrés autour des limites de segments, comparés à un {@link TreeSet}.
+     */
+    private static void comparaisonAleatoireAvecUnTreeSet() {
+        Random aleatoire = new Random(23);
+        EnsembleIdentifiants ensemble = new EnsembleIdentifiants();
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            int id = identifiant(aleatoire);
+            if (aleatoire.nextInt(3) == 0) {
+                ensemble.retirer(id);
+                reference.remove(id);
+            } else {
+                ensemble.ajouter(id);
+                reference.add(id);
+            }
+            if (i % 500 == 0) {
+                comparer(ensemble, reference, aleatoire);
+            }
+        }
+        comparer(ensemble, reference, aleatoire);
+    }
+
+    /**
+     * Compare l'ensemble à la référence : taille, appartenance, parcours complet, rangs et successeurs.
+     *
+     * @param ensemble  L'ensemble testé.
+     * @param reference L'ensemble de référence.
+     * @param aleatoire Le générateur des identifiants sondés.
+     */
+    private static void comparer(EnsembleIdentifiants ensemble, TreeSet<Integer> reference, Random aleatoire) {
+        egal(reference.size(), ensemble.taille(), "taille");
+        List<Integer> parcourus = new ArrayList<>();
+        for (int id = ensemble.apres(-1); id >= 0; id = ensemble.apres(id)) {
+            parcourus.add(id);
+        }
+        egal(new ArrayList<>(reference), parcourus, "parcours complet");
+        for (int i = 0; i < 50; i++) {
+            int rang = aleatoire.nextInt(reference.size() + 2) - 1;
+            egal(rang >= 0 && rang < parcourus.size() ? parcourus.get(rang) : -1, ensemble.ieme(rang), "rang " + rang);
+            int id = identifiant(aleatoire);
+            egal(reference.contains(id), ensemble.contient(id), "contient " + id);
+            Integer suivant = reference.higher(id);
+            egal(suivant != null ? suivant : -1, ensemble.apres(id), "successeur de " + id);
+        }
+    }
+
+    /**
+     * Tire un identifiant proche d'une limite de segment, d'une limite de bloc ou des bornes.
+     *
+     * @param aleatoire Le générateur.
+     * @return L'identifiant, positif ou nul.
+     */
+    private static int identifiant(Random aleatoire) {
+        return switch (aleatoire.nextInt(4)) {
+            case 0 -> aleatoire.nextInt(9000); // Premiers blocs
+            case 1 -> Math.max(0, (1 + aleatoire.nextInt(6)) * SEGMENT + aleatoire.nextInt(200) - 100); // Limites de segments
+            case 2 -> Integer.MAX_VALUE - aleatoire.nextInt(300); // Dernier segment
+            default -> aleatoire.nextInt(Integer.MAX_VALUE);
+        };
+    }
+
+    /**
+     * Compte les segments alloués, pour vérifier qu'un segment vide est libéré.
+     * Le répertoire des segments est privé : il est lu par réflexion.
+     *
+     * @param ensemble L'ensemble.
+     * @return Le nombre de segments alloués.
+     */
+    private static int segmentsAlloues(EnsembleIdentifiants ensemble) {
+        try {
+            Field champ = EnsembleIdentifiants.class.getDeclaredField("segments");
+            champ.setAccessible(true);
+            int alloues = 0;
+            for (Object segment : (Object[]) champ.get(ensemble)) {
+                if (segment != null) {
+                    alloues++;
+                }
+            }
+            return alloues;
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError("Répertoire des segments introuvable", e);
+        }
+    }
+}
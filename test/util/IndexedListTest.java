@@ -0,0 +1,225 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static util.Verifications.egal;
+import static util.Verifications.leve;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link IndexedList} : accès par identifiant, cases vides, compactage et pagination.
+ */
+public class IndexedListTest {
+
+    /**
+     * Entité de test : un identifiant et une valeur.
+     *
+     * @param id     L'identifiant.
+     * @param valeur La valeur.
+     */
+    record Element(int id, String valeur) {
+    }
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        ajoutRefuseLesDoublons();
+        remplacementConserveLaPosition();
+        suppressionLaisseUneCaseVide();
+        compactageConserveOrdreEtIndex();
+        identifiantsNegatifs();
+        comparaisonAleatoireAvecUneListeOrdonnee();
+        pagesParRang();
+        pagesApresUnCurseurPendantDesModifications();
+        curseursInvalides();
+        System.out.println("IndexedListTest : OK");
+    }
+
+    /**
+     * Un identifiant déjà présent n'est pas ajouté une seconde fois.
+     */
+    private static void ajoutRefuseLesDoublons() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        verifier(liste.add(new Element(1, "a")), "premier ajout");
+        verifier(!liste.add(new Element(1, "b")), "doublon refusé");
+        egal(1, liste.size(), "taille");
+        egal("a", liste.get(1).valeur(), "l'original est conservé");
+        egal(1, liste.getIdMax(), "plus grand identifiant");
+    }
+
+    /**
+     * replace et put conservent la position d'une entité existante ; put ajoute une entité absente à la fin.
+     */
+    private static void remplacementConserveLaPosition() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        liste.add(new Element(3, "a"));
+        liste.add(new Element(1, "b"));
+        egal(null, liste.replace(new Element(2, "x")), "replace d'un absent");
+        egal("b", liste.replace(new Element(1, "c")).valeur(), "replace retourne l'ancienne version");
+        egal(null, liste.put(new Element(2, "d")), "put d'un absent");
+        liste.put(new Element(3, "e"));
+        egal(List.of(new Element(3, "e"), new Element(1, "c"), new Element(2, "d")), liste.toList(), "ordre d'insertion");
+    }
+
+    /**
+     * Une suppression retire l'entité de l'index et du parcours, sans décaler les autres.
+     */
+    private static void suppressionLaisseUneCaseVide() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        for (int id = 0; id < 5; id++) {
+            liste.add(new Element(id, "v" + id));
+        }
+        egal("v2", liste.remove(2).valeur(), "élément supprimé");
+        egal(null, liste.remove(2), "seconde suppression");
+        verifier(!liste.contains(2), "identifiant retiré");
+        egal(4, liste.size(), "taille");
+        egal(List.of(0, 1, 3, 4), ids(liste), "parcours sans la case vide");
+        liste.add(new Element(2, "w"));
+        egal(List.of(0, 1, 3, 4, 2), ids(liste), "un identifiant supprimé peut être ajouté à nouveau, à la fin");
+    }
+
+    /**
+     * Le compactage, déclenché par de nombreuses suppressions, conserve l'ordre d'insertion et les accès par identifiant.
+     */
+    private static void compactageConserveOrdreEtIndex() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        for (int id = 0; id < 100; id++) {
+            liste.add(new Element(id, "v" + id));
+        }
+        List<Integer> attendus = new ArrayList<>();
+        for (int id = 0; id < 100; id++) {
+            if (id % 3 == 0) {
+                attendus.add(id);
+            } else {
+                liste.remove(id); // 66 suppressions : le seuil de compactage est franchi
+            }
+        }
+        egal(attendus, ids(liste), "ordre après compactage");
+        for (int id : attendus) {
+            egal("v" + id, liste.get(id).valeur(), "accès par identifiant après compactage");
+        }
+        liste.replace(new Element(33, "nouveau"));
+        egal("nouveau", liste.toList().get(11).valeur(), "remplacement à la position compactée");
+        liste.remove(0);
+        egal(33, liste.size(), "taille");
+        egal(3, liste.iterator().next().id(), "premier élément");
+    }
+
+    /**
+     * Les identifiants négatifs sont indexés comme les autres.
+     */
+    private static void identifiantsNegatifs() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        liste.add(new Element(-5, "n"));
+        liste.add(new Element(Integer.MIN_VALUE, "min"));
+        egal("n", liste.get(-5).valeur(), "identifiant négatif");
+        egal("min", liste.get(Integer.MIN_VALUE).valeur(), "identifiant minimal");
+        egal(0, liste.getIdMax(), "le plus grand identifiant ignore les négatifs");
+        liste.clear();
+        egal(0, liste.size(), "taille après clear");
+        verifier(!liste.iterator().hasNext(), "parcours vide après clear");
+    }
+
+    /**
+     * Suite aléatoire d'ajouts, remplacements et suppressions comparée à une table ordonnée par insertion.
+     */
+    private static void comparaisonAleatoireAvecUneListeOrdonnee() {
+        Random aleatoire = new Random(42);
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        Map<Integer, Element> reference = new LinkedHashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int id = aleatoire.nextInt(500);
+            switch (aleatoire.nextInt(3)) {
+                case 0 -> egal(reference.putIfAbsent(id, new Element(id, "a" + i)) == null,
+                        liste.add(new Element(id, "a" + i)), "add");
+                case 1 -> {
+                    Element element = new Element(id, "r" + i);
+                    egal(reference.replace(id, element), liste.replace(element), "replace");
+                }
+                default -> egal(reference.remove(id), liste.remove(id), "remove");
+            }
+        }
+        egal(reference.size(), liste.size(), "taille");
+        egal(new ArrayList<>(reference.values()), liste.toList(), "contenu et ordre");
+    }
+
+    /**
+     * Les pages par rang suivent l'ordre des identifiants, quel que soit l'ordre d'insertion ;
+     * les identifiants négatifs n'y figurent pas.
+     */
+    private static void pagesParRang() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        for (int id : new int[]{5, 1, -2, 9, 3, 7}) {
+            liste.add(new Element(id, "v" + id));
+        }
+        egal(List.of(1, 3), ids(liste.page(0, 2)), "première page");
+        egal(List.of(5, 7), ids(liste.page(2, 2)), "deuxième page");
+        egal(List.of(9), ids(liste.page(4, 10)), "dernière page incomplète");
+        egal(List.of(), ids(liste.page(5, 1)), "rang au-delà de la fin");
+        egal(List.of(), ids(liste.page(0, 0)), "limite nulle");
+        liste.remove(3);
+        egal(List.of(5, 7), ids(liste.page(1, 2)), "page décalée par une suppression");
+        leve(IllegalArgumentException.class, () -> liste.page(-1, 1), "rang négatif");
+        leve(IllegalArgumentException.class, () -> liste.page(0, -1), "limite négative");
+    }
+
+    /**
+     * Un parcours à curseur pendant des ajouts et suppressions ne saute ni ne répète aucune entité présente
+     * du début à la fin du parcours, même si l'entité désignée par le curseur est supprimée.
+     */
+    private static void pagesApresUnCurseurPendantDesModifications() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        for (int id = 0; id < 20; id += 2) {
+            liste.add(new Element(id, "v" + id));
+        }
+        Page<Element> page = liste.pageApres(null, 3);
+        egal(List.of(0, 2, 4), ids(page.getElements()), "première page");
+        liste.remove(4); // Entité désignée par le curseur
+        liste.remove(8); // Entité pas encore lue
+        liste.add(new Element(1, "avant")); // Avant le curseur : pas lue
+        liste.add(new Element(5, "apres")); // Après le curseur : lue
+        page = liste.pageApres(page.getCurseurSuivant(), 3);
+        egal(List.of(5, 6, 10), ids(page.getElements()), "page après modifications");
+        page = liste.pageApres(page.getCurseurSuivant(), 4);
+        egal(List.of(12, 14, 16, 18), ids(page.getElements()), "page remplie exactement jusqu'à la fin");
+        egal(null, page.getCurseurSuivant(), "pas de page suivante");
+
+        Page<Element> vide = liste.pageApres(null, 0);
+        egal(List.of(), ids(vide.getElements()), "limite nulle");
+        egal(List.of(0, 1), ids(liste.pageApres(vide.getCurseurSuivant(), 2).getElements()), "reprise après une page vide");
+        egal(null, new IndexedList<Element>(Element::id).pageApres(null, 5).getCurseurSuivant(), "liste vide");
+    }
+
+    /**
+     * Un curseur qui n'a pas été produit par une page, ou une limite négative, sont refusés.
+     */
+    private static void curseursInvalides() {
+        IndexedList<Element> liste = new IndexedList<>(Element::id);
+        liste.add(new Element(1, "a"));
+        for (String curseur : new String[]{"", "!", "-2", "zzzzzzzzzzzz"}) {
+            leve(IllegalArgumentException.class, () -> liste.pageApres(curseur, 1), "curseur <" + curseur + ">");
+        }
+        leve(IllegalArgumentException.class, () -> liste.pageApres(null, -1), "limite négative");
+    }
+
+    /**
+     * Liste les identifiants dans l'ordre de parcours.
+     *
+     * @param liste La liste.
+     * @return Les identifiants.
+     */
+    static List<Integer> ids(Iterable<Element> liste) {
+        List<Integer> ids = new ArrayList<>();
+        for (Element element : liste) {
+            ids.add(element.id());
+        }
+        return ids;
+    }
+}
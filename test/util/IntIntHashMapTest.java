@@ -0,0 +1,122 @@
+package util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link IntIntHashMap} : collisions, suppression par décalage arrière et agrandissement.
+ */
+public class IntIntHashMapTest {
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        operationsDeBase();
+        suppressionDansUneGrappe();
+        grappeAutourDeLaFinDuTableau();
+        comparaisonAleatoireAvecHashMap();
+        System.out.println("IntIntHashMapTest : OK");
+    }
+
+    /**
+     * put, get, ajouter, remove et clear, y compris pour des clés négatives et extrêmes.
+     */
+    private static void operationsDeBase() {
+        IntIntHashMap table = new IntIntHashMap();
+        egal(-1, table.get(7, -1), "clé absente");
+        table.put(7, 70);
+        table.put(7, 71);
+        table.put(-3, 30);
+        table.put(Integer.MIN_VALUE, 1);
+        table.put(Integer.MAX_VALUE, 2);
+        egal(4, table.size(), "taille");
+        egal(71, table.get(7, -1), "valeur remplacée");
+        egal(30, table.get(-3, -1), "clé négative");
+        egal(1, table.get(Integer.MIN_VALUE, -1), "clé minimale");
+        egal(5, table.ajouter(8, 5), "ajouter sur une clé absente");
+        egal(3, table.ajouter(8, -2), "ajouter sur une clé présente");
+        verifier(table.remove(7), "suppression");
+        verifier(!table.remove(7), "seconde suppression");
+        verifier(!table.containsKey(7), "clé supprimée");
+        table.clear();
+        egal(0, table.size(), "taille après clear");
+        verifier(!table.containsKey(-3), "table vide après clear");
+    }
+
+    /**
+     * Supprimer le début d'une grappe de collisions ne rend pas les clés suivantes introuvables.
+     */
+    private static void suppressionDansUneGrappe() {
+        IntIntHashMap table = new IntIntHashMap(1000);
+        int[] cles = new int[200];
+        for (int i = 0; i < cles.length; i++) {
+            cles[i] = i << 16; // Même bits de poids faible : grappes longues selon le hachage
+            table.put(cles[i], i);
+        }
+        for (int i = 0; i < cles.length; i += 2) {
+            verifier(table.remove(cles[i]), "suppression " + i);
+        }
+        for (int i = 0; i < cles.length; i++) {
+            egal(i % 2 == 0 ? -1 : i, table.get(cles[i], -1), "clé " + i + " après suppressions");
+        }
+        egal(100, table.size(), "taille");
+    }
+
+    /**
+     * Une grappe qui dépasse la fin du tableau reste cohérente après suppression et agrandissement.
+     */
+    private static void grappeAutourDeLaFinDuTableau() {
+        Random aleatoire = new Random(7);
+        for (int essai = 0; essai < 200; essai++) {
+            IntIntHashMap table = new IntIntHashMap(4);
+            Map<Integer, Integer> reference = new HashMap<>();
+            for (int i = 0; i < 6; i++) {
+                int cle = aleatoire.nextInt(32);
+                table.put(cle, i);
+                reference.put(cle, i);
+            }
+            for (int cle : reference.keySet().toArray(new Integer[0])) {
+                if (aleatoire.nextBoolean()) {
+                    table.remove(cle);
+                    reference.remove(cle);
+                }
+            }
+            for (int cle = 0; cle < 32; cle++) {
+                egal(reference.getOrDefault(cle, -1).intValue(), table.get(cle, -1), "clé " + cle);
+            }
+        }
+    }
+
+    /**
+     * Suite aléatoire d'opérations comparée à {@link HashMap}, parcours compris.
+     */
+    private static void comparaisonAleatoireAvecHashMap() {
+        Random aleatoire = new Random(11);
+        IntIntHashMap table = new IntIntHashMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            int cle = aleatoire.nextInt(5000) - 2500;
+            switch (aleatoire.nextInt(4)) {
+                case 0 -> {
+                    table.put(cle, i);
+                    reference.put(cle, i);
+                }
+                case 1 -> egal(reference.merge(cle, 3, Integer::sum).intValue(), table.ajouter(cle, 3), "ajouter");
+                case 2 -> egal(reference.remove(cle) != null, table.remove(cle), "remove");
+                default -> egal(reference.getOrDefault(cle, Integer.MIN_VALUE).intValue(),
+                        table.get(cle, Integer.MIN_VALUE), "get");
+            }
+        }
+        egal(reference.size(), table.size(), "taille");
+        Map<Integer, Integer> parcourus = new HashMap<>();
+        table.pourChaque((cle, valeur) -> verifier(parcourus.put(cle, valeur) == null, "clé parcourue deux fois"));
+        egal(reference, parcourus, "parcours");
+    }
+}
@@ -0,0 +1,177 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link PrefixTrie} : scission et fusion des arêtes, maxima des sous-arbres, ordre des suggestions.
+ */
+public class PrefixTrieTest {
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        scissionDesAretes();
+        prefixeAuMilieuDUneArete();
+        fusionApresRetrait();
+        maximumRecalculeApresRetrait();
+        retraitsSansEffet();
+        comparaisonAleatoireAvecUneTable();
+        System.out.println("PrefixTrieTest : OK");
+    }
+
+    /**
+     * Des termes partageant un début scindent l'arête commune ; un terme peut se terminer sur le nœud intermédiaire.
+     */
+    private static void scissionDesAretes() {
+        PrefixTrie arbre = new PrefixTrie();
+        arbre.ajouter("test");
+        arbre.ajouter("team");
+        arbre.ajouter("te");
+        arbre.ajouter("Team");
+        egal(List.of(new PrefixTrie.Suggestion("team", 2), new PrefixTrie.Suggestion("te", 1),
+                new PrefixTrie.Suggestion("test", 1)), arbre.completer("TE", 10), "suggestions après scissions");
+        egal(List.of(new PrefixTrie.Suggestion("team", 2)), arbre.completer("tea", 10), "une seule branche");
+        egal(List.of(new PrefixTrie.Suggestion("team", 2)), arbre.completer("", 1), "préfixe vide, limite 1");
+    }
+
+    /**
+     * Un préfixe qui s'arrête au milieu d'une arête couvre le sous-arbre de cette arête ;
+     * un préfixe qui s'en écarte ne donne rien.
+     */
+    private static void prefixeAuMilieuDUneArete() {
+        PrefixTrie arbre = new PrefixTrie();
+        arbre.ajouter("bibliothèque");
+        arbre.ajouter("bibliographie");
+        egal(2, arbre.completer("bibli", 10).size(), "préfixe au bout de l'arête commune");
+        egal(List.of(new PrefixTrie.Suggestion("bibliothèque", 1)), arbre.completer("biblioth", 10), "milieu d'arête");
+        egal(List.of(), arbre.completer("biblix", 10), "divergence au milieu d'une arête");
+        egal(List.of(), arbre.completer("bibliothèques", 10), "préfixe plus long que le terme");
+        egal(List.of(), arbre.completer("bib", 0), "maximum nul");
+        egal(List.of(), arbre.completer(null, 5), "préfixe null");
+    }
+
+    /**
+     * Retirer un terme fusionne le nœud intermédiaire devenu inutile : les autres termes restent accessibles
+     * par tous leurs préfixes.
+     */
+    private static void fusionApresRetrait() {
+        PrefixTrie arbre = new PrefixTrie();
+        arbre.ajouter("roman");
+        arbre.ajouter("romance");
+        arbre.ajouter("rome");
+        arbre.retirer("romance");
+        egal(List.of(new PrefixTrie.Suggestion("roman", 1)), arbre.completer("roma", 10), "roman après retrait");
+        arbre.retirer("roman");
+        egal(List.of(new PrefixTrie.Suggestion("rome", 1)), arbre.completer("r", 10), "rome après fusion");
+        egal(List.of(new PrefixTrie.Suggestion("rome", 1)), arbre.completer("rom", 10), "préfixe dans l'arête fusionnée");
+        arbre.ajouter("romance");
+        egal(List.of(new PrefixTrie.Suggestion("romance", 1)), arbre.completer("roma", 10), "nouvelle scission");
+    }
+
+    /**
+     * Le maximum d'un sous-arbre baisse quand son terme le plus fréquent est retiré, ce qui rétablit l'ordre.
+     */
+    private static void maximumRecalculeApresRetrait() {
+        PrefixTrie arbre = new PrefixTrie();
+        for (int i = 0; i < 5; i++) {
+            arbre.ajouter("alpha");
+        }
+        for (int i = 0; i < 3; i++) {
+            arbre.ajouter("beta");
+        }
+        arbre.ajouter("alps");
+        egal("alpha", arbre.completer("", 1).get(0).terme(), "le plus fréquent d'abord");
+        for (int i = 0; i < 5; i++) {
+            arbre.retirer("alpha");
+        }
+        egal(List.of(new PrefixTrie.Suggestion("beta", 3), new PrefixTrie.Suggestion("alps", 1)),
+                arbre.completer("", 10), "ordre après recalcul du maximum");
+        arbre.ajouter("ALPHA");
+        egal("ALPHA", arbre.completer("alph", 1).get(0).terme(), "forme d'origine de la nouvelle première insertion");
+    }
+
+    /**
+     * Retirer un terme absent, un préfixe sans terme ou un terme déjà retiré ne modifie pas l'arbre.
+     */
+    private static void retraitsSansEffet() {
+        PrefixTrie arbre = new PrefixTrie();
+        arbre.ajouter("genre");
+        arbre.ajouter("general");
+        arbre.retirer("gen"); // Nœud intermédiaire sans terme
+        arbre.retirer("genres");
+        arbre.retirer("x");
+        arbre.retirer("");
+        arbre.retirer(null);
+        arbre.ajouter(null);
+        arbre.ajouter("");
+        egal(2, arbre.completer("gen", 10).size(), "arbre intact");
+        arbre.retirer("genre");
+        arbre.retirer("genre");
+        egal(List.of(new PrefixTrie.Suggestion("general", 1)), arbre.completer("g", 10), "retrait répété");
+    }
+
+    /**
+     * Ajouts et retraits aléatoires comparés à une table de compteurs : les suggestions sont celles
+     * des termes de plus grands compteurs.
+     */
+    private static void comparaisonAleatoireAvecUneTable() {
+        Random aleatoire = new Random(5);
+        PrefixTrie arbre = new PrefixTrie();
+        Map<String, Integer> comptes = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            String terme = terme(aleatoire);
+            if (aleatoire.nextInt(3) == 0) {
+                arbre.retirer(terme);
+                comptes.computeIfPresent(terme, (t, c) -> c == 1 ? null : c - 1);
+            } else {
+                arbre.ajouter(terme);
+                comptes.merge(terme, 1, Integer::sum);
+            }
+            if (i % 100 == 0) {
+                String prefixe = terme(aleatoire).substring(0, aleatoire.nextInt(3));
+                int maximum = 1 + aleatoire.nextInt(5);
+                List<PrefixTrie.Suggestion> obtenues = arbre.completer(prefixe, maximum);
+                List<Integer> attendus = new ArrayList<>();
+                comptes.forEach((t, c) -> {
+                    if (t.startsWith(prefixe)) {
+                        attendus.add(c);
+                    }
+                });
+                attendus.sort(Comparator.reverseOrder());
+                List<Integer> obtenus = new ArrayList<>();
+                for (PrefixTrie.Suggestion suggestion : obtenues) {
+                    verifier(suggestion.terme().startsWith(prefixe), "préfixe de " + suggestion);
+                    egal(comptes.get(suggestion.terme()).intValue(), suggestion.compte(), "compteur de " + suggestion.terme());
+                    obtenus.add(suggestion.compte());
+                }
+                egal(attendus.subList(0, Math.min(maximum, attendus.size())), obtenus, "compteurs pour " + prefixe);
+            }
+        }
+    }
+
+    /**
+     * Tire un terme court sur un petit alphabet, pour multiplier les préfixes communs.
+     *
+     * @param aleatoire Le générateur.
+     * @return Le terme, en minuscules.
+     */
+    private static String terme(Random aleatoire) {
+        int longueur = 2 + aleatoire.nextInt(5);
+        StringBuilder terme = new StringBuilder(longueur);
+        for (int i = 0; i < longueur; i++) {
+            terme.append((char) ('a' + aleatoire.nextInt(3)));
+        }
+        return terme.toString();
+    }
+}
@@ -0,0 +1,211 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link SnapshotWriter} et {@link SnapshotReader} : aller-retour, somme de contrôle,
+ * troncature, en-tête et fin d'instantané.
+ */
+public class SnapshotTest {
+    private static final String TYPE = "essai"; // Type de données des instantanés de test
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     * @throws IOException Si un fichier temporaire ne peut pas être écrit ou lu.
+     */
+    public static void main(String[] args) throws IOException {
+        Path dossier = Files.createTempDirectory("instantane");
+        try {
+            allerRetour(dossier.resolve("aller-retour.bin"));
+            octetModifie(dossier.resolve("modifie.bin"));
+            troncature(dossier.resolve("tronque.bin"));
+            enTeteRefuse(dossier.resolve("en-tete.bin"));
+            longueurDeChaineInvalide(dossier.resolve("longueur.bin"));
+            finDInstantane(dossier.resolve("fin.bin"));
+        } finally {
+            try (var fichiers = Files.list(dossier)) {
+                for (Path fichier : fichiers.toList()) {
+                    Files.delete(fichier);
+                }
+            }
+            Files.delete(dossier);
+        }
+        System.out.println("SnapshotTest : OK");
+    }
+
+    /**
+     * Les entiers, chaînes et dates écrits sont relus à l'identique, valeurs nulles et bornes comprises.
+     */
+    private static void allerRetour(Path fichier) throws IOException {
+        String longue = "é".repeat(1000); // Plus longue que le tampon de décodage initial
+        LocalDate lointaine = LocalDate.of(-100_000, 12, 31);
+        try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(fichier), TYPE, 3)) {
+            writer.entier(Integer.MIN_VALUE).texte(null).date(null);
+            writer.entier(-1).texte("").date(LocalDate.EPOCH);
+            writer.entier(Integer.MAX_VALUE).texte(longue).date(lointaine);
+        }
+        verifier(SnapshotReader.estValide(fichier, TYPE), "instantané valide");
+        try (SnapshotReader reader = new SnapshotReader(fichier.toString(), TYPE)) {
+            egal(3, reader.nombreEnregistrements(), "nombre d'enregistrements");
+            egal(Integer.MIN_VALUE, reader.entier(), "entier minimal");
+            egal(null, reader.texte(), "chaîne absente");
+            egal(null, reader.date(), "date absente");
+            egal(-1, reader.entier(), "entier égal à la longueur d'une chaîne absente");
+            egal("", reader.texte(), "chaîne vide");
+            egal(LocalDate.EPOCH, reader.date(), "époque");
+            egal(Integer.MAX_VALUE, reader.entier(), "entier maximal");
+            egal(longue, reader.texte(), "chaîne longue");
+            egal(lointaine, reader.date(), "date lointaine");
+            reader.verifierFin();
+        }
+    }
+
+    /**
+     * La modification de n'importe quel octet, somme de contrôle comprise, fait rejeter l'instantané.
+     */
+    private static void octetModifie(Path fichier) throws IOException {
+        try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(fichier), TYPE, 1)) {
+            writer.entier(42).texte("Les Misérables").date(LocalDate.of(2024, 2, 29));
+        }
+        byte[] original = Files.readAllBytes(fichier);
+        for (int position = 0; position < original.length; position++) {
+            byte[] modifie = original.clone();
+            modifie[position] ^= 0x10;
+            Files.write(fichier, modifie);
+            verifier(!SnapshotReader.estValide(fichier, TYPE), "octet " + position + " modifié accepté");
+            refuse(fichier, TYPE, "Somme de contrôle invalide");
+        }
+    }
+
+    /**
+     * Un instantané tronqué à n'importe quelle longueur est rejeté.
+     */
+    private static void troncature(Path fichier) throws IOException {
+        try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(fichier), TYPE, 2)) {
+            writer.entier(1).texte("a").entier(2).texte("b");
+        }
+        byte[] original = Files.readAllBytes(fichier);
+        for (int longueur = 0; longueur < original.length; longueur++) {
+            Files.write(fichier, Arrays.copyOf(original, longueur));
+            verifier(!SnapshotReader.estValide(fichier, TYPE), "instantané tronqué à " + longueur + " octets accepté");
+        }
+        Files.write(fichier, Arrays.copyOf(original, 19));
+        refuse(fichier, TYPE, "Taille d'instantané invalide");
+    }
+
+    /**
+     * Un nombre magique, une version ou un type inattendus font rejeter un instantané dont la somme est correcte.
+     */
+    private static void enTeteRefuse(Path fichier) throws IOException {
+        new SnapshotWriter(Files.newOutputStream(fichier), "livres", 0).close(); // En-tête seul
+        verifier(SnapshotReader.estValide(fichier, "livres"), "en-tête seul");
+        verifier(!SnapshotReader.estValide(fichier, TYPE), "autre type accepté");
+        refuse(fichier, TYPE, "Instantané d'un autre type de données");
+
+        byte[] original = Files.readAllBytes(fichier);
+        byte[] magique = original.clone();
+        magique[0] = 'X';
+        ecrireAvecSomme(fichier, magique);
+        refuse(fichier, "livres", "Fichier d'instantané non reconnu");
+
+        byte[] version = original.clone();
+        ByteBuffer.wrap(version).putInt(4, SnapshotWriter.VERSION + 1);
+        ecrireAvecSomme(fichier, version);
+        refuse(fichier, "livres", "Version d'instantané non prise en charge");
+    }
+
+    /**
+     * Une longueur de chaîne négative ou dépassant la fin de l'instantané est signalée par une {@link IOException}.
+     */
+    private static void longueurDeChaineInvalide(Path fichier) throws IOException {
+        for (int longueur : new int[]{-2, Integer.MIN_VALUE, 5, Integer.MAX_VALUE}) {
+            try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(fichier), TYPE, 1)) {
+                writer.entier(longueur).entier(0); // Longueur suivie de quatre octets seulement
+            }
+            try (SnapshotReader reader = new SnapshotReader(fichier.toString(), TYPE)) {
+                egal("Longueur de chaîne invalide: " + longueur, messageDErreur(reader::texte), "longueur " + longueur);
+            }
+        }
+    }
+
+    /**
+     * Lire au-delà du dernier enregistrement échoue ; {@link SnapshotReader#verifierFin()} signale les octets non lus.
+     */
+    private static void finDInstantane(Path fichier) throws IOException {
+        try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(fichier), TYPE, 1)) {
+            writer.entier(7).entier(8);
+        }
+        try (SnapshotReader reader = new SnapshotReader(fichier.toString(), TYPE)) {
+            reader.entier();
+            egal("Octets inattendus en fin d'instantané: 4", messageDErreur(reader::verifierFin), "octets superflus");
+            reader.entier();
+            reader.verifierFin();
+            egal("Instantané tronqué", messageDErreur(reader::entier), "lecture après la fin");
+            egal("Instantané tronqué", messageDErreur(reader::date), "date après la fin");
+        }
+    }
+
+    /**
+     * Vérifie que l'ouverture d'un instantané échoue avec un message commençant par le texte attendu.
+     *
+     * @param fichier Le fichier.
+     * @param type    Le type de données attendu.
+     * @param debut   Le début du message attendu.
+     */
+    private static void refuse(Path fichier, String type, String debut) {
+        String message = messageDErreur(() -> new SnapshotReader(fichier.toString(), type).close());
+        verifier(message != null && message.startsWith(debut), "attendu <" + debut + "...>, obtenu <" + message + ">");
+    }
+
+    /**
+     * Exécute une lecture qui doit échouer.
+     *
+     * @param lecture La lecture.
+     * @return Le message de l'{@link IOException} levée.
+     */
+    private static String messageDErreur(Lecture lecture) {
+        try {
+            lecture.executer();
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+        throw new AssertionError("IOException attendue");
+    }
+
+    /**
+     * Écrit un contenu suivi de sa somme de contrôle, comme le ferait {@link SnapshotWriter}.
+     *
+     * @param fichier Le fichier.
+     * @param contenu L'instantané complet, dont les 8 derniers octets sont remplacés par la somme.
+     */
+    private static void ecrireAvecSomme(Path fichier, byte[] contenu) throws IOException {
+        CRC32 somme = new CRC32();
+        somme.update(contenu, 0, contenu.length - 8);
+        ByteBuffer.wrap(contenu).putLong(contenu.length - 8, somme.getValue());
+        Files.write(fichier, contenu);
+    }
+
+    /**
+     * Lecture pouvant lever une {@link IOException}.
+     */
+    @FunctionalInterface
+    private interface Lecture {
+        /**
+         * Exécute la lecture.
+         *
+         * @throws IOException En cas d'erreur de lecture.
+         */
+        void executer() throws IOException;
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link TopK} : bornes de K, égalités, compteurs nuls ou négatifs, comparaison avec un tri complet.
+ */
+public class TopKTest {
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        bornesDeK();
+        egalitesParIdentifiant();
+        compteursNulsOuNegatifs();
+        comparaisonAleatoireAvecUnTri();
+        System.out.println("TopKTest : OK");
+    }
+
+    /**
+     * K nul, négatif ou supérieur au nombre d'identifiants ; agrégateur vide.
+     */
+    private static void bornesDeK() {
+        TopK topK = new TopK();
+        egal("[]", texte(topK.premiers(3)), "agrégateur vide");
+        topK.ajouter(7);
+        topK.ajouter(7);
+        topK.ajouter(3, 5);
+        egal(2, topK.taille(), "identifiants distincts");
+        egal(2, topK.compte(7), "compteur");
+        egal(0, topK.compte(8), "identifiant jamais compté");
+        egal("[]", texte(topK.premiers(0)), "K nul");
+        egal("[]", texte(topK.premiers(-1)), "K négatif");
+        egal("[[3, 5]]", texte(topK.premiers(1)), "K = 1");
+        egal("[[3, 5], [7, 2]]", texte(topK.premiers(Integer.MAX_VALUE)), "K supérieur au nombre d'identifiants");
+    }
+
+    /**
+     * À compteur égal, le plus petit identifiant l'emporte, y compris à la limite de K et pour les identifiants négatifs.
+     */
+    private static void egalitesParIdentifiant() {
+        TopK topK = new TopK(4);
+        for (int id : new int[]{40, -5, 12, 0, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            topK.ajouter(id, 3);
+        }
+        topK.ajouter(99, 4);
+        egal("[[99, 4], [-2147483648, 3], [-5, 3]]", texte(topK.premiers(3)), "égalité à la limite de K");
+        egal("[[99, 4], [-2147483648, 3], [-5, 3], [0, 3], [12, 3], [40, 3], [2147483647, 3]]", texte(topK.premiers(10)),
+                "toutes les égalités");
+    }
+
+    /**
+     * Les compteurs ramenés à zéro ou rendus négatifs ne sont jamais classés, même si K laisse de la place.
+     */
+    private static void compteursNulsOuNegatifs() {
+        TopK topK = new TopK();
+        topK.ajouter(1, 2);
+        topK.ajouter(2);
+        topK.ajouter(2, -1);
+        topK.ajouter(3, -4);
+        topK.ajouter(4, 1);
+        egal(0, topK.compte(2), "compteur ramené à zéro");
+        egal("[[1, 2], [4, 1]]", texte(topK.premiers(4)), "compteurs nuls et négatifs ignorés");
+        egal("[[1, 2]]", texte(topK.premiers(1)), "K plus petit que les compteurs positifs");
+    }
+
+    /**
+     * Des compteurs aléatoires, avec de nombreuses égalités, classés comme par un tri complet.
+     */
+    private static void comparaisonAleatoireAvecUnTri() {
+        Random aleatoire = new Random(20);
+        for (int essai = 0; essai < 200; essai++) {
+            TopK topK = new TopK();
+            Map<Integer, Integer> comptes = new HashMap<>();
+            int occurrences = aleatoire.nextInt(500);
+            for (int i = 0; i < occurrences; i++) {
+                int id = aleatoire.nextInt(100) - 50;
+                int nombre = aleatoire.nextInt(5) - 1;
+                topK.ajouter(id, nombre);
+                comptes.merge(id, nombre, Integer::sum);
+            }
+            List<int[]> attendus = new ArrayList<>();
+            comptes.forEach((id, compte) -> {
+                if (compte > 0) {
+                    attendus.add(new int[]{id, compte});
+                }
+            });
+            attendus.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+            int k = aleatoire.nextInt(20);
+            int[][] obtenus = topK.premiers(k);
+            verifier(Arrays.deepEquals(attendus.subList(0, Math.min(k, attendus.size())).toArray(new int[0][]), obtenus),
+                    "essai " + essai + ", K = " + k + " : obtenu " + texte(obtenus));
+        }
+    }
+
+    /**
+     * Met en forme des paires {identifiant, compteur}.
+     *
+     * @param paires Les paires.
+     * @return Le texte, par exemple {@code [[3, 5], [7, 2]]}.
+     */
+    private static String texte(int[][] paires) {
+        return Arrays.deepToString(paires);
+    }
+}
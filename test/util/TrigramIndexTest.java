@@ -0,0 +1,128 @@
+package util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static util.Verifications.egal;
+import static util.Verifications.verifier;
+
+/**
+ * Tests de {@link TrigramIndex} : requêtes courtes, casse, réindexation, collisions de clés.
+ */
+public class TrigramIndexTest {
+
+    /**
+     * Point d'entrée des tests.
+     *
+     * @param args Les arguments de la ligne de commande (non utilisés).
+     */
+    public static void main(String[] args) {
+        requeteTropCourte();
+        rechercheSansCasse();
+        reindexationEtRetrait();
+        collisionDeClesEcartee();
+        comparaisonAleatoireAvecContains();
+        System.out.println("TrigramIndexTest : OK");
+    }
+
+    /**
+     * Une requête de moins de trois caractères ne peut pas utiliser l'index.
+     */
+    private static void requeteTropCourte() {
+        TrigramIndex index = new TrigramIndex();
+        index.ajouter(1, "Java");
+        egal(null, index.rechercher("ja"), "requête de deux caractères");
+        egal(null, index.rechercher(""), "requête vide");
+        egal("[1]", Arrays.toString(index.rechercher("jav")), "requête de trois caractères");
+    }
+
+    /**
+     * La recherche ignore la casse et retourne les identifiants triés, quel que soit l'ordre d'ajout.
+     */
+    private static void rechercheSansCasse() {
+        TrigramIndex index = new TrigramIndex();
+        index.ajouter(30, "Le Petit Prince");
+        index.ajouter(10, "PRINCE de Machiavel");
+        index.ajouter(20, "Les Misérables");
+        index.ajouter(5, null);
+        egal("[10, 30]", Arrays.toString(index.rechercher("prince")), "casse ignorée, résultats triés");
+        egal("[20]", Arrays.toString(index.rechercher("MISÉR")), "caractères accentués");
+        egal("[]", Arrays.toString(index.rechercher("xyz")), "trigramme inconnu");
+        egal("[]", Arrays.toString(index.rechercher("petit machiavel")), "tous les trigrammes doivent être présents");
+    }
+
+    /**
+     * Réindexer un identifiant remplace son ancien texte ; retirer un identifiant absent est sans effet.
+     */
+    private static void reindexationEtRetrait() {
+        TrigramIndex index = new TrigramIndex();
+        index.ajouter(1, "aaaa"); // Trigramme répété
+        egal("[1]", Arrays.toString(index.rechercher("aaa")), "trigramme répété");
+        index.ajouter(1, "bbbb");
+        egal("[]", Arrays.toString(index.rechercher("aaa")), "ancien texte retiré");
+        egal("[1]", Arrays.toString(index.rechercher("bbb")), "nouveau texte indexé");
+        index.retirer(1);
+        index.retirer(1);
+        index.retirer(99);
+        egal("[]", Arrays.toString(index.rechercher("bbb")), "texte retiré");
+    }
+
+    /**
+     * Deux trigrammes différents de même clé ne produisent pas de faux positif : le texte est vérifié.
+     */
+    private static void collisionDeClesEcartee() {
+        TrigramIndex index = new TrigramIndex();
+        // (a << 20) ^ (b << 10) ^ c : changer le bit 0 de b et le bit 10 de c donne la même clé
+        String collision = "a" + (char) ('b' ^ 1) + (char) ('c' ^ (1 << 10));
+        index.ajouter(1, collision);
+        index.ajouter(2, "abc");
+        egal("[2]", Arrays.toString(index.rechercher("abc")), "faux positif écarté");
+        egal("[1]", Arrays.toString(index.rechercher(collision)), "texte en collision retrouvé");
+    }
+
+    /**
+     * Ajouts, réindexations et retraits aléatoires comparés à une recherche par {@link String#contains}.
+     */
+    private static void comparaisonAleatoireAvecContains() {
+        Random aleatoire = new Random(3);
+        TrigramIndex index = new TrigramIndex();
+        Map<Integer, String> textes = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int id = aleatoire.nextInt(300);
+            if (aleatoire.nextInt(4) == 0) {
+                index.retirer(id);
+                textes.remove(id);
+            } else {
+                String texte = texte(aleatoire, 3 + aleatoire.nextInt(12));
+                index.ajouter(id, texte);
+                textes.put(id, texte);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            String requete = texte(aleatoire, 3 + aleatoire.nextInt(3));
+            int[] attendus = textes.entrySet().stream()
+                    .filter(entree -> entree.getValue().toLowerCase().contains(requete.toLowerCase()))
+                    .mapToInt(Map.Entry::getKey).sorted().toArray();
+            int[] obtenus = index.rechercher(requete);
+            verifier(Arrays.equals(attendus, obtenus),
+                    "requête " + requete + " : attendu " + Arrays.toString(attendus) + ", obtenu " + Arrays.toString(obtenus));
+        }
+    }
+
+    /**
+     * Tire un texte sur un petit alphabet, pour que les requêtes aient des correspondances.
+     *
+     * @param aleatoire Le générateur.
+     * @param longueur  La longueur du texte.
+     * @return Le texte.
+     */
+    private static String texte(Random aleatoire, int longueur) {
+        StringBuilder texte = new StringBuilder(longueur);
+        for (int i = 0; i < longueur; i++) {
+            texte.append("abcAB ".charAt(aleatoire.nextInt(6)));
+        }
+        return texte.toString();
+    }
+}
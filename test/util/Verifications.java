@@ -0,0 +1,70 @@
+package util;
+
+import java.util.Objects;
+
+/**
+ * Vérifications utilisées par les tests, sans dépendance externe.
+ * Une vérification en échec lève une {@link AssertionError} décrivant l'écart.
+ */
+public final class Verifications {
+
+    private Verifications() {
+    }
+
+    /**
+     * Vérifie qu'une condition est vraie.
+     *
+     * @param condition La condition.
+     * @param message   La description de ce qui est vérifié.
+     */
+    public static void verifier(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Vérifie que deux valeurs sont égales au sens de {@link Objects#equals}.
+     *
+     * @param attendu La valeur attendue.
+     * @param obtenu  La valeur obtenue.
+     * @param message La description de ce qui est vérifié.
+     */
+    public static void egal(Object attendu, Object obtenu, String message) {
+        if (!Objects.equals(attendu, obtenu)) {
+            throw new AssertionError(message + " : attendu <" + attendu + ">, obtenu <" + obtenu + ">");
+        }
+    }
+
+    /**
+     * Vérifie que deux entiers sont égaux.
+     *
+     * @param attendu La valeur attendue.
+     * @param obtenu  La valeur obtenue.
+     * @param message La description de ce qui est vérifié.
+     */
+    public static void egal(long attendu, long obtenu, String message) {
+        if (attendu != obtenu) {
+            throw new AssertionError(message + " : attendu <" + attendu + ">, obtenu <" + obtenu + ">");
+        }
+    }
+
+    /**
+     * Vérifie qu'une action lève une exception d'un type donné.
+     *
+     * @param type    Le type d'exception attendu.
+     * @param action  L'action.
+     * @param message La description de ce qui est vérifié.
+     */
+    public static void leve(Class<? extends Throwable> type, Runnable action, String message) {
+        try {
+            action.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(message + " : exception inattendue " + e, e);
+        }
+        throw new AssertionError(message + " : aucune exception levée, " + type.getSimpleName() + " attendue");
+    }
+}